@@ -69,6 +69,7 @@ CREATE TABLE properties (
     country VARCHAR(50) DEFAULT 'USA',
     latitude DECIMAL(10, 8),
     longitude DECIMAL(11, 8),
+    geohash VARCHAR(12),
     square_footage INTEGER,
     bedrooms INTEGER,
     bathrooms DECIMAL(3, 1),
@@ -90,6 +91,108 @@ CREATE TABLE properties (
     deleted_at TIMESTAMP
 );
 
+-- Owner Statistics Rollup (maintained by property-service on every property/unit write)
+CREATE TABLE owner_stats (
+    owner_id VARCHAR(36) PRIMARY KEY,
+    published_count BIGINT NOT NULL DEFAULT 0,
+    draft_count BIGINT NOT NULL DEFAULT 0,
+    rented_count BIGINT NOT NULL DEFAULT 0,
+    maintenance_count BIGINT NOT NULL DEFAULT 0,
+    rented_revenue DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    total_units BIGINT NOT NULL DEFAULT 0,
+    rented_units BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Image Rendition Jobs (durable queue for property-service rendition workers)
+CREATE TABLE image_rendition_jobs (
+    image_id VARCHAR(36) PRIMARY KEY,
+    property_id VARCHAR(36) NOT NULL,
+    source_key VARCHAR(1000) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'RUNNING', 'FAILED')),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Image Blobs Table (content-addressed originals shared by duplicate uploads)
+CREATE TABLE image_blobs (
+    content_hash VARCHAR(64) PRIMARY KEY,
+    object_key VARCHAR(1000) NOT NULL UNIQUE,
+    size_bytes BIGINT NOT NULL,
+    width_pixels INTEGER,
+    height_pixels INTEGER,
+    format VARCHAR(10),
+    thumbnail_url VARCHAR(1000),
+    ref_count INTEGER NOT NULL DEFAULT 1 CHECK (ref_count >= 0),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Property Outbox Table (domain events written in the same transaction as the change, relayed to RabbitMQ)
+CREATE TABLE property_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL UNIQUE,
+    aggregate_id VARCHAR(36) NOT NULL,
+    sequence_number BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload BYTEA NOT NULL,
+    content_encoding VARCHAR(20),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (aggregate_id, sequence_number)
+);
+
+-- Property Outbox Sequences Table (last event sequence number per property)
+CREATE TABLE property_outbox_sequences (
+    aggregate_id VARCHAR(36) PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
+
+-- Property Import Jobs Table (bulk CSV/NDJSON imports; rows_committed is the resume checkpoint)
+CREATE TABLE property_import_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    owner_id VARCHAR(36) NOT NULL,
+    format VARCHAR(10) NOT NULL,
+    source_key VARCHAR(500) NOT NULL,
+    file_name VARCHAR(255),
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    rows_committed BIGINT NOT NULL DEFAULT 0,
+    properties_created BIGINT NOT NULL DEFAULT 0,
+    units_created BIGINT NOT NULL DEFAULT 0,
+    rows_failed BIGINT NOT NULL DEFAULT 0,
+    size_bytes BIGINT NOT NULL,
+    bytes_committed BIGINT NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+-- Property Import Refs Table (property created for each ref of a running import)
+CREATE TABLE property_import_refs (
+    job_id VARCHAR(36) NOT NULL REFERENCES property_import_jobs(id) ON DELETE CASCADE,
+    ref VARCHAR(255) NOT NULL,
+    property_id VARCHAR(36),
+    next_unit_number INTEGER NOT NULL DEFAULT 1,
+    failed_row BIGINT,
+    PRIMARY KEY (job_id, ref)
+);
+
+-- Property Import Errors Table (rejected rows of an import)
+CREATE TABLE property_import_errors (
+    job_id VARCHAR(36) NOT NULL REFERENCES property_import_jobs(id) ON DELETE CASCADE,
+    row_no BIGINT NOT NULL,
+    message VARCHAR(1000) NOT NULL,
+    PRIMARY KEY (job_id, row_no)
+);
+
 -- Tenants Table
 CREATE TABLE tenants (
     tenant_id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
@@ -421,11 +524,19 @@ CREATE INDEX idx_users_deleted_at ON users(deleted_at);
 -- Properties indexes
 CREATE INDEX idx_properties_owner_id ON properties(owner_id);
 CREATE INDEX idx_properties_location ON properties(city, state);
+CREATE INDEX idx_properties_city_lower ON properties(LOWER(city));
 CREATE INDEX idx_properties_status ON properties(property_status);
 CREATE INDEX idx_properties_type ON properties(property_type);
 CREATE INDEX idx_properties_coordinates ON properties(latitude, longitude);
+CREATE INDEX idx_properties_geohash ON properties(geohash varchar_pattern_ops);
 CREATE INDEX idx_properties_deleted_at ON properties(deleted_at);
 
+-- Image rendition job indexes
+CREATE INDEX idx_image_rendition_jobs_claimable ON image_rendition_jobs(available_at) WHERE status IN ('PENDING', 'RUNNING');
+CREATE INDEX idx_image_blobs_unreferenced ON image_blobs(updated_at) WHERE ref_count = 0;
+CREATE INDEX idx_property_outbox_available ON property_outbox(available_at);
+CREATE INDEX idx_property_import_jobs_claimable ON property_import_jobs(available_at) WHERE status IN ('PENDING', 'RUNNING');
+
 -- Tenants indexes
 CREATE INDEX idx_tenants_user_id ON tenants(user_id);
 CREATE INDEX idx_tenants_status ON tenants(status);
@@ -0,0 +1,20 @@
+package com.landlord.property.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Broadcast to every replica when a cache entry is evicted. A key of {@code *} clears the whole region.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage {
+
+    public static final String ALL_KEYS = "*";
+
+    private String originNodeId;
+    private String cacheName;
+    private String key;
+}
@@ -0,0 +1,93 @@
+package com.landlord.property.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Slf4j
+public class RedisRemoteCacheStore implements RemoteCacheStore {
+
+    private static final String KEY_PREFIX = "property-service::";
+    private static final int SCAN_BATCH_SIZE = 500;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic channel;
+
+    public RedisRemoteCacheStore(RedisTemplate<String, Object> redisTemplate,
+                                 RedisMessageListenerContainer listenerContainer,
+                                 String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.channel = new ChannelTopic(channel);
+    }
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        return redisTemplate.opsForValue().get(redisKey(cacheName, key));
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value, Duration ttl) {
+        redisTemplate.opsForValue().set(redisKey(cacheName, key), value, ttl);
+    }
+
+    @Override
+    public void evict(String cacheName, Object key) {
+        redisTemplate.delete(redisKey(cacheName, key));
+    }
+
+    /**
+     * Delete the region's keys with an incremental SCAN rather than KEYS, which walks the whole
+     * keyspace in one blocking call
+     */
+    @Override
+    public void clear(String cacheName) {
+        ScanOptions options = ScanOptions.scanOptions()
+            .match(KEY_PREFIX + cacheName + "::*")
+            .count(SCAN_BATCH_SIZE)
+            .build();
+        List<String> batch = new ArrayList<>();
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == SCAN_BATCH_SIZE) {
+                    redisTemplate.delete(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.delete(batch);
+        }
+    }
+
+    @Override
+    public void publishInvalidation(CacheInvalidationMessage message) {
+        redisTemplate.convertAndSend(channel.getTopic(), message);
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationMessage> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            Object payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (payload instanceof CacheInvalidationMessage) {
+                listener.accept((CacheInvalidationMessage) payload);
+            } else {
+                log.warn("Ignoring unexpected message on cache invalidation channel: {}", payload);
+            }
+        }, channel);
+    }
+
+    private String redisKey(String cacheName, Object key) {
+        return KEY_PREFIX + cacheName + "::" + key;
+    }
+}
@@ -0,0 +1,23 @@
+package com.landlord.property.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Shared (far) cache tier and invalidation channel used behind the local Caffeine tier.
+ * Implementations may throw on connectivity failures; {@link TwoTierCache} handles fallback.
+ */
+public interface RemoteCacheStore {
+
+    Object get(String cacheName, Object key);
+
+    void put(String cacheName, Object key, Object value, Duration ttl);
+
+    void evict(String cacheName, Object key);
+
+    void clear(String cacheName);
+
+    void publishInvalidation(CacheInvalidationMessage message);
+
+    void subscribe(Consumer<CacheInvalidationMessage> listener);
+}
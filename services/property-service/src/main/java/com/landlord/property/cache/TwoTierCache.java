@@ -0,0 +1,138 @@
+package com.landlord.property.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Near/far cache: a local Caffeine cache in front of a shared {@link RemoteCacheStore}.
+ * Reads fill the local tier from the remote tier; evictions are broadcast so every replica
+ * drops its local copy. Remote failures degrade to local-only operation.
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final CaffeineCache localCache;
+    private final Duration ttl;
+    private final RemoteCacheStore remoteStore;
+    private final TwoTierCacheManager cacheManager;
+
+    TwoTierCache(String name,
+                 CaffeineCache localCache,
+                 Duration ttl,
+                 RemoteCacheStore remoteStore,
+                 TwoTierCacheManager cacheManager) {
+        this.name = name;
+        this.localCache = localCache;
+        this.ttl = ttl;
+        this.remoteStore = remoteStore;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return localCache.getNativeCache();
+    }
+
+    public CaffeineCache getLocalCache() {
+        return localCache;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper local = localCache.get(key);
+        if (local != null) {
+            return local;
+        }
+
+        Object remoteValue = cacheManager.callRemote(() -> remoteStore.get(name, key), null);
+        if (remoteValue != null) {
+            localCache.put(key, remoteValue);
+            return new SimpleValueWrapper(remoteValue);
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        localCache.put(key, value);
+        if (value != null) {
+            cacheManager.callRemote(() -> {
+                remoteStore.put(name, key, value, ttl);
+                return null;
+            }, null);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        localCache.evict(key);
+        boolean evicted = cacheManager.callRemote(() -> {
+            remoteStore.evict(name, key);
+            remoteStore.publishInvalidation(cacheManager.invalidationFor(name, String.valueOf(key)));
+            return true;
+        }, false);
+        if (!evicted) {
+            // Otherwise the remote copy outlives the outage and is read back into local tiers
+            cacheManager.recordMissedEviction(name, key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        localCache.clear();
+        boolean cleared = cacheManager.callRemote(() -> {
+            remoteStore.clear(name);
+            remoteStore.publishInvalidation(cacheManager.invalidationFor(name, CacheInvalidationMessage.ALL_KEYS));
+            return true;
+        }, false);
+        if (!cleared) {
+            cacheManager.recordMissedClear(name);
+        }
+    }
+
+    void evictLocal(Object key) {
+        localCache.evict(key);
+    }
+
+    void clearLocal() {
+        localCache.clear();
+    }
+}
@@ -0,0 +1,196 @@
+package com.landlord.property.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Manages {@link TwoTierCache} regions and the shared remote tier.
+ * <p>
+ * When a remote call fails the manager switches to local-only mode and retries the remote
+ * tier after {@code retryInterval}. Evictions made while the remote tier is unreachable are
+ * recorded and replayed against it (and broadcast) before anything else is read from it, so
+ * the remote tier cannot hand the stale entries back. Invalidations published by other nodes
+ * while this node was cut off are lost, so local tiers are cleared on recovery as well.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager {
+
+    // Past this many missed keys a region is cleared on recovery instead of replayed key by key
+    static final int MAX_MISSED_EVICTIONS = 10_000;
+
+    private final RemoteCacheStore remoteStore;
+    private final long retryIntervalMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final AtomicBoolean remoteDown = new AtomicBoolean(false);
+    private final AtomicLong retryRemoteAt = new AtomicLong(0);
+    // Sets are only touched inside compute/remove on the map, which makes each update atomic
+    private final Map<String, Set<Object>> missedEvictions = new ConcurrentHashMap<>();
+    private final Set<String> missedClears = ConcurrentHashMap.newKeySet();
+
+    public TwoTierCacheManager(RemoteCacheStore remoteStore, Duration retryInterval) {
+        this.remoteStore = remoteStore;
+        this.retryIntervalMillis = retryInterval.toMillis();
+        callRemote(() -> {
+            remoteStore.subscribe(this::onInvalidation);
+            return null;
+        }, null);
+    }
+
+    public void registerCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache, Duration ttl) {
+        caches.put(name, new TwoTierCache(name, new CaffeineCache(name, localCache), ttl, remoteStore, this));
+    }
+
+    public void registerCache(String name, long maximumSize, Duration ttl) {
+        registerCache(name, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(), ttl);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    public boolean isRemoteAvailable() {
+        return !remoteDown.get();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    CacheInvalidationMessage invalidationFor(String cacheName, String key) {
+        return new CacheInvalidationMessage(nodeId, cacheName, key);
+    }
+
+    /**
+     * Run a remote-tier operation, falling back to {@code fallback} while the remote tier is unreachable
+     */
+    <T> T callRemote(Supplier<T> operation, T fallback) {
+        long now = System.currentTimeMillis();
+        if (remoteDown.get() && now < retryRemoteAt.get()) {
+            return fallback;
+        }
+
+        try {
+            if (remoteDown.get() || !missedEvictions.isEmpty() || !missedClears.isEmpty()) {
+                recover();
+            }
+            return operation.get();
+
+        } catch (RuntimeException e) {
+            retryRemoteAt.set(now + retryIntervalMillis);
+            if (remoteDown.compareAndSet(false, true)) {
+                log.warn("Remote cache tier unavailable, falling back to local-only caching: {}", e.getMessage());
+            }
+            return fallback;
+        }
+    }
+
+    /**
+     * Remember an eviction the remote tier did not get, to replay on recovery
+     */
+    void recordMissedEviction(String cacheName, Object key) {
+        missedEvictions.compute(cacheName, (name, keys) -> {
+            if (keys == null) {
+                keys = new HashSet<>();
+            }
+            keys.add(key);
+            if (keys.size() > MAX_MISSED_EVICTIONS) {
+                missedClears.add(name);
+                return null;
+            }
+            return keys;
+        });
+    }
+
+    /**
+     * Remember a clear the remote tier did not get, to replay on recovery
+     */
+    void recordMissedClear(String cacheName) {
+        missedClears.add(cacheName);
+        missedEvictions.remove(cacheName);
+    }
+
+    /**
+     * Replay missed evictions and clears against the remote tier, then leave local-only mode.
+     * Throws if the remote tier fails again; whatever was not replayed stays recorded.
+     */
+    private synchronized void recover() {
+        for (String cacheName : List.copyOf(missedClears)) {
+            missedClears.remove(cacheName);
+            try {
+                remoteStore.clear(cacheName);
+                remoteStore.publishInvalidation(invalidationFor(cacheName, CacheInvalidationMessage.ALL_KEYS));
+            } catch (RuntimeException e) {
+                missedClears.add(cacheName);
+                throw e;
+            }
+        }
+        for (String cacheName : List.copyOf(missedEvictions.keySet())) {
+            Set<Object> keys = missedEvictions.remove(cacheName);
+            if (keys == null) {
+                continue;
+            }
+            Iterator<Object> pending = keys.iterator();
+            try {
+                while (pending.hasNext()) {
+                    Object key = pending.next();
+                    remoteStore.evict(cacheName, key);
+                    remoteStore.publishInvalidation(invalidationFor(cacheName, String.valueOf(key)));
+                    pending.remove();
+                }
+            } catch (RuntimeException e) {
+                keys.forEach(key -> recordMissedEviction(cacheName, key));
+                throw e;
+            }
+        }
+        if (remoteDown.compareAndSet(true, false)) {
+            log.info("Remote cache tier reachable again, replayed missed evictions and cleared local caches");
+            caches.values().forEach(TwoTierCache::clearLocal);
+        }
+    }
+
+    void onInvalidation(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.getOriginNodeId())) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(message.getCacheName());
+        if (cache == null) {
+            return;
+        }
+
+        if (CacheInvalidationMessage.ALL_KEYS.equals(message.getKey())) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(message.getKey());
+        }
+        log.debug("Applied remote invalidation {}::{} from node {}", message.getCacheName(), message.getKey(), message.getOriginNodeId());
+    }
+}
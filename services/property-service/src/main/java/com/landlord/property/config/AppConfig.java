@@ -46,6 +46,8 @@ public class AppConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(messageConverter());
+        // Unroutable messages come back instead of being dropped, so the outbox relay can retry them
+        rabbitTemplate.setMandatory(true);
         return rabbitTemplate;
     }
 }
\ No newline at end of file
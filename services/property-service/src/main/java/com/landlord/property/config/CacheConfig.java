@@ -0,0 +1,152 @@
+package com.landlord.property.config;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.landlord.property.cache.RedisRemoteCacheStore;
+import com.landlord.property.cache.RemoteCacheStore;
+import com.landlord.property.cache.TwoTierCache;
+import com.landlord.property.cache.TwoTierCacheManager;
+import com.landlord.property.service.PropertyCacheService;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+public class CacheConfig {
+
+    @Value("${property.cache.ttl.properties:1800}")
+    private long propertiesTtlSeconds;
+
+    @Value("${property.cache.ttl.units:900}")
+    private long unitsTtlSeconds;
+
+    @Value("${property.cache.ttl.images:3600}")
+    private long imagesTtlSeconds;
+
+    @Value("${property.cache.ttl.statistics:300}")
+    private long statisticsTtlSeconds;
+
+    @Value("${property.cache.maximum-size:1000}")
+    private long maximumSize;
+
+    @Value("${property.cache.redis.retry-interval-ms:30000}")
+    private long redisRetryIntervalMillis;
+
+    /**
+     * One region per data type so each property.cache.ttl.* setting applies.
+     * With a remote store configured, each region is a local Caffeine near-cache in front of Redis;
+     * otherwise regions are local Caffeine only. Stats are recorded for the cache metrics binder.
+     */
+    @Bean
+    public CacheManager cacheManager(ObjectProvider<RemoteCacheStore> remoteCacheStore) {
+        RemoteCacheStore remoteStore = remoteCacheStore.getIfAvailable();
+
+        if (remoteStore != null) {
+            TwoTierCacheManager cacheManager = new TwoTierCacheManager(remoteStore, Duration.ofMillis(redisRetryIntervalMillis));
+            regionTtls().forEach((name, ttl) -> cacheManager.registerCache(name, buildCache(ttl), ttl));
+            return cacheManager;
+        }
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        regionTtls().forEach((name, ttl) -> cacheManager.registerCustomCache(name, buildCache(ttl)));
+        return cacheManager;
+    }
+
+    /**
+     * Export local-tier hit/miss/eviction stats for two-tier regions like plain Caffeine caches
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getNativeCache(), cache.getName(), tags);
+    }
+
+    private Map<String, Duration> regionTtls() {
+        Map<String, Duration> ttls = new LinkedHashMap<>();
+        ttls.put(PropertyCacheService.PROPERTIES, Duration.ofSeconds(propertiesTtlSeconds));
+        ttls.put(PropertyCacheService.UNITS, Duration.ofSeconds(unitsTtlSeconds));
+        ttls.put(PropertyCacheService.IMAGES, Duration.ofSeconds(imagesTtlSeconds));
+        ttls.put(PropertyCacheService.STATISTICS, Duration.ofSeconds(statisticsTtlSeconds));
+        return ttls;
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> buildCache(Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "property.cache.redis.enabled", havingValue = "true")
+    static class RedisCacheTierConfig {
+
+        @Value("${property.cache.redis.invalidation-channel:property-cache-invalidation}")
+        private String invalidationChannel;
+
+        @Bean
+        public RedisTemplate<String, Object> cacheRedisTemplate(RedisConnectionFactory connectionFactory) {
+            RedisTemplate<String, Object> template = new RedisTemplate<>();
+            template.setConnectionFactory(connectionFactory);
+            template.setKeySerializer(new StringRedisSerializer());
+            template.setValueSerializer(new GenericJackson2JsonRedisSerializer(cacheObjectMapper()));
+            return template;
+        }
+
+        /**
+         * Mapper for cached values and invalidation messages. Type ids read back from Redis are
+         * limited to this service's DTOs, entities and cache messages plus the JDK collection,
+         * number and date types they contain, so a writer to Redis cannot pick an arbitrary class.
+         */
+        static ObjectMapper cacheObjectMapper() {
+            PolymorphicTypeValidator typeValidator = BasicPolymorphicTypeValidator.builder()
+                    .allowIfSubType("com.landlord.property.dto.")
+                    .allowIfSubType("com.landlord.property.model.")
+                    .allowIfSubType("com.landlord.property.cache.")
+                    .allowIfSubType("java.util.")
+                    .allowIfSubType("java.math.")
+                    .allowIfSubType("java.time.")
+                    .build();
+
+            return new ObjectMapper()
+                    .registerModule(new JavaTimeModule())
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .activateDefaultTyping(typeValidator, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        }
+
+        @Bean
+        public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            return container;
+        }
+
+        @Bean
+        public RemoteCacheStore redisRemoteCacheStore(RedisTemplate<String, Object> cacheRedisTemplate,
+                                                      RedisMessageListenerContainer cacheInvalidationListenerContainer) {
+            return new RedisRemoteCacheStore(cacheRedisTemplate, cacheInvalidationListenerContainer, invalidationChannel);
+        }
+    }
+}
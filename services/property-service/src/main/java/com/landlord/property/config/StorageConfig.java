@@ -0,0 +1,43 @@
+package com.landlord.property.config;
+
+import com.landlord.property.storage.LocalObjectStore;
+import com.landlord.property.storage.ObjectStore;
+import com.landlord.property.storage.S3ObjectStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.nio.file.Path;
+
+/**
+ * Selects the object store backend with {@code property.storage.backend} ({@code s3} or {@code local})
+ */
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "property.storage.backend", havingValue = "s3", matchIfMissing = true)
+    public ObjectStore s3ObjectStore(@Value("${aws.s3.bucket-name}") String bucketName,
+                                     @Value("${aws.region}") String region,
+                                     @Value("${aws.access-key-id}") String accessKeyId,
+                                     @Value("${aws.secret-access-key}") String secretAccessKey) {
+        S3Client s3Client = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKeyId, secretAccessKey)))
+                .build();
+        return new S3ObjectStore(s3Client, bucketName, region);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "property.storage.backend", havingValue = "local")
+    public ObjectStore localObjectStore(
+            @Value("${property.storage.local.root-dir:${java.io.tmpdir}/landlord-property-storage}") String rootDir,
+            @Value("${property.storage.local.base-url:http://localhost:8080/files}") String baseUrl) {
+        return new LocalObjectStore(Path.of(rootDir), baseUrl);
+    }
+}
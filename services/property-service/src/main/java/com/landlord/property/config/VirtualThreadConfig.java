@@ -0,0 +1,88 @@
+package com.landlord.property.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in ({@code property.threads.virtual.enabled=true}, Java 21+): Tomcat request handling,
+ * {@code @Async} methods and async MVC responses run on virtual threads, and the DataSource is
+ * put behind an {@link AdmissionControlledDataSource} sized to the pool. Scheduled jobs and the
+ * upload and rendition pools stay on platform threads; they are bounded on purpose.
+ * The virtual thread API is looked up reflectively so the service still builds and runs on 17.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "property.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    public VirtualThreadConfig() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException(
+                "property.threads.virtual.enabled requires Java 21 or later, running on " + Runtime.version());
+        }
+        log.info("Running request handlers and @Async tasks on virtual threads");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+                  AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public static BeanPostProcessor dataSourceAdmissionPostProcessor(
+            @Value("${property.threads.virtual.db-admission-limit:${spring.datasource.hikari.maximum-pool-size:20}}") int limit,
+            @Value("${property.threads.virtual.db-admission-timeout-ms:${spring.datasource.hikari.connection-timeout:30000}}") long timeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlledDataSource)) {
+                    return new AdmissionControlledDataSource(dataSource, limit, timeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dataSourceAdmissionMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof AdmissionControlledDataSource admission) {
+                Gauge.builder("property.datasource.admission.waiting", admission, AdmissionControlledDataSource::getWaitingCount)
+                    .description("Threads waiting for a database connection permit")
+                    .register(registry);
+                Gauge.builder("property.datasource.admission.available", admission, AdmissionControlledDataSource::getAvailablePermits)
+                    .description("Unused database connection permits")
+                    .register(registry);
+            }
+        };
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not available on " + Runtime.version(), e);
+        }
+    }
+}
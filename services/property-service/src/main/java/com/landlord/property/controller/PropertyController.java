@@ -1,17 +1,40 @@
 package com.landlord.property.controller;
 
 import com.landlord.property.dto.*;
+import com.landlord.property.exception.InvalidPropertyDataException;
+import com.landlord.property.exception.PropertyNotFoundException;
+import com.landlord.property.exception.PropertyUnitNotFoundException;
+import com.landlord.property.exception.PropertyVersionConflictException;
+import com.landlord.property.exception.ResponseAbortedException;
+import com.landlord.property.exporter.PropertyExportService;
+import com.landlord.property.importer.ImportFormat;
+import com.landlord.property.service.ImageContentService;
 import com.landlord.property.service.PropertyService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -19,11 +42,19 @@ import java.util.Map;
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 public class PropertyController {
 
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final PropertyService propertyService;
+    private final ImageContentService imageContentService;
+    private final PropertyExportService propertyExportService;
 
     @Autowired
-    public PropertyController(PropertyService propertyService) {
+    public PropertyController(PropertyService propertyService,
+                              ImageContentService imageContentService,
+                              PropertyExportService propertyExportService) {
         this.propertyService = propertyService;
+        this.imageContentService = imageContentService;
+        this.propertyExportService = propertyExportService;
     }
 
     // Property CRUD Operations
@@ -89,6 +120,50 @@ public class PropertyController {
         }
     }
 
+    /**
+     * Partially update a property with a JSON merge patch; only the supplied fields are written.
+     * Send If-Match with the version from a previous response to reject the patch if the property
+     * changed since. {@code expand} adds units, images and/or stats to the response.
+     */
+    @PatchMapping(value = "/{propertyId}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<PatchResponseDto> patchProperty(
+            @PathVariable String propertyId,
+            @RequestBody Map<String, Object> patch,
+            @RequestParam(required = false) Set<String> expand,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader("X-User-ID") String userId) {
+        
+        log.info("Patching property: {} fields {} for user: {}", propertyId, patch.keySet(), userId);
+        
+        try {
+            PatchResponseDto result = propertyService.patchProperty(propertyId, userId, patch, parseIfMatch(ifMatch), expand);
+            return ResponseEntity.ok().eTag(String.valueOf(result.getVersion())).body(result);
+            
+        } catch (PropertyNotFoundException | InvalidPropertyDataException | PropertyVersionConflictException e) {
+            // 404, 400 and 412 with the reason, from GlobalExceptionHandler
+            throw e;
+        } catch (Exception e) {
+            log.error("Error patching property: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // The version an If-Match header asks for; null when absent or "*"
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new InvalidPropertyDataException("If-Match must carry a single version, e.g. \"3\"");
+        }
+    }
+
     /**
      * Delete property (soft delete)
      */
@@ -109,22 +184,102 @@ public class PropertyController {
         }
     }
 
+    /**
+     * Restore a deleted property with its units and images
+     */
+    @PostMapping("/{propertyId}/restore")
+    public ResponseEntity<Void> restoreProperty(
+            @PathVariable String propertyId,
+            @RequestHeader("X-User-ID") String userId) {
+
+        log.info("Restoring property: {} for user: {}", propertyId, userId);
+
+        try {
+            propertyService.restoreProperty(propertyId, userId);
+            return ResponseEntity.noContent().build();
+
+        } catch (Exception e) {
+            log.error("Error restoring property: {}", e.getMessage(), e);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Delete many properties (soft delete) in one request
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkPropertyResultDto> deleteProperties(
+            @Valid @RequestBody BulkPropertyRequestDto request,
+            @RequestHeader("X-User-ID") String userId) {
+
+        log.info("Bulk deleting {} properties for user: {}", request.getPropertyIds().size(), userId);
+
+        try {
+            return ResponseEntity.ok(propertyService.deleteProperties(request.getPropertyIds(), userId));
+
+        } catch (Exception e) {
+            log.error("Error bulk deleting properties: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Restore many deleted properties in one request
+     */
+    @PostMapping("/bulk-restore")
+    public ResponseEntity<BulkPropertyResultDto> restoreProperties(
+            @Valid @RequestBody BulkPropertyRequestDto request,
+            @RequestHeader("X-User-ID") String userId) {
+
+        log.info("Bulk restoring {} properties for user: {}", request.getPropertyIds().size(), userId);
+
+        try {
+            return ResponseEntity.ok(propertyService.restoreProperties(request.getPropertyIds(), userId));
+
+        } catch (Exception e) {
+            log.error("Error bulk restoring properties: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // Property Search and Listing
 
     /**
      * Search properties with filters
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<PropertyResponseDto>> searchProperties(
+    public ResponseEntity<?> searchProperties(
             @Valid PropertySearchCriteriaDto criteria,
-            @Valid PaginationDto pagination) {
+            @Valid PaginationDto pagination,
+            @RequestParam(defaultValue = "false") boolean facets) {
         
         log.debug("Searching properties with criteria: {}", criteria);
         
         try {
+            if (pagination.isCursorMode()) {
+                if (facets) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Facets are not supported in cursor mode"));
+                }
+                return ResponseEntity.ok(pagination.isCardView()
+                    ? propertyService.searchPropertyCardsByCursor(criteria, pagination)
+                    : propertyService.searchPropertiesByCursor(criteria, pagination));
+            }
+            if (pagination.isCardView()) {
+                if (facets) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Facets are not supported in card view"));
+                }
+                return ResponseEntity.ok(propertyService.searchPropertyCards(criteria, pagination));
+            }
+            if (facets) {
+                PropertySearchResultDto result = propertyService.searchPropertiesWithFacets(criteria, pagination);
+                return ResponseEntity.ok(result);
+            }
             Page<PropertyResponseDto> properties = propertyService.searchProperties(criteria, pagination);
             return ResponseEntity.ok(properties);
             
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid search pagination: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Error searching properties: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -135,16 +290,27 @@ public class PropertyController {
      * Get properties by owner
      */
     @GetMapping("/owner/{ownerId}")
-    public ResponseEntity<Page<PropertyResponseDto>> getPropertiesByOwner(
+    public ResponseEntity<?> getPropertiesByOwner(
             @PathVariable String ownerId,
             @Valid PaginationDto pagination) {
         
         log.debug("Getting properties for owner: {}", ownerId);
         
         try {
+            if (pagination.isCursorMode()) {
+                return ResponseEntity.ok(pagination.isCardView()
+                    ? propertyService.getPropertyCardsByOwnerCursor(ownerId, pagination)
+                    : propertyService.getPropertiesByOwnerCursor(ownerId, pagination));
+            }
+            if (pagination.isCardView()) {
+                return ResponseEntity.ok(propertyService.getPropertyCardsByOwner(ownerId, pagination));
+            }
             Page<PropertyResponseDto> properties = propertyService.getPropertiesByOwner(ownerId, pagination);
             return ResponseEntity.ok(properties);
             
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid owner listing pagination: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Error getting properties by owner: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -155,22 +321,82 @@ public class PropertyController {
      * Get properties for authenticated user
      */
     @GetMapping("/my-properties")
-    public ResponseEntity<Page<PropertyResponseDto>> getMyProperties(
+    public ResponseEntity<?> getMyProperties(
             @Valid PaginationDto pagination,
             @RequestHeader("X-User-ID") String userId) {
         
         log.debug("Getting properties for authenticated user: {}", userId);
         
         try {
+            if (pagination.isCursorMode()) {
+                return ResponseEntity.ok(pagination.isCardView()
+                    ? propertyService.getPropertyCardsByOwnerCursor(userId, pagination)
+                    : propertyService.getPropertiesByOwnerCursor(userId, pagination));
+            }
+            if (pagination.isCardView()) {
+                return ResponseEntity.ok(propertyService.getPropertyCardsByOwner(userId, pagination));
+            }
             Page<PropertyResponseDto> properties = propertyService.getPropertiesByOwner(userId, pagination);
             return ResponseEntity.ok(properties);
             
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid listing pagination: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Error getting user properties: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Stream all of the user's properties with units and images as NDJSON or CSV. Written
+     * synchronously so large portfolios are not cut off by the async request timeout; gzipped
+     * on the fly when the client accepts it.
+     */
+    @GetMapping("/export")
+    public void exportProperties(
+            @RequestParam(defaultValue = "NDJSON") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader("X-User-ID") String userId,
+            HttpServletResponse response) throws IOException {
+        
+        ImportFormat exportFormat;
+        try {
+            exportFormat = ImportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "format must be NDJSON or CSV");
+            return;
+        }
+        log.info("Exporting properties for user: {} as {}", userId, exportFormat);
+        
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        response.setContentType(exportFormat == ImportFormat.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("properties." + exportFormat.extension()).build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        
+        try {
+            OutputStream out = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024, true)
+                : response.getOutputStream();
+            propertyExportService.export(userId, exportFormat, out);
+            // Only a complete export gets the gzip trailer, so a failed one cannot pass as whole
+            out.close();
+            
+        } catch (Exception e) {
+            log.error("Error exporting properties for user {}: {}", userId, e.getMessage(), e);
+            if (response.isCommitted()) {
+                // Abort the connection so a truncated plain export cannot end like a complete one
+                throw new ResponseAbortedException("Export for user " + userId + " failed after streaming began", e);
+            }
+            response.reset();
+            response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+    }
+
     // Image Management
 
     /**
@@ -221,11 +447,88 @@ public class PropertyController {
         }
     }
 
+    /**
+     * Stream an image's bytes for private listings. Supports a single byte range, and answers
+     * If-None-Match with 304 using the content-hash ETag.
+     */
+    @GetMapping("/{propertyId}/images/{imageId}/content")
+    public ResponseEntity<StreamingResponseBody> getPropertyImageContent(
+            @PathVariable String propertyId,
+            @PathVariable String imageId,
+            @RequestParam(defaultValue = "false") boolean thumbnail,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            @RequestHeader("X-User-ID") String userId) {
+        
+        log.debug("Getting content of image: {} for property: {}", imageId, propertyId);
+        
+        try {
+            ImageContentService.ImageContent content = imageContentService.describe(propertyId, imageId, userId, thumbnail);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setCacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePrivate());
+            headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (content.etag() != null) {
+                headers.setETag(content.etag());
+            }
+            
+            if (ImageContentService.matches(ifNoneMatch, content.etag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+            }
+            
+            long start = 0;
+            long length = content.length();
+            HttpStatus status = HttpStatus.OK;
+            // If-Range must be a strong match, otherwise the whole representation is sent
+            boolean rangeApplies = range != null && (ifRange == null || ifRange.equals(content.etag()));
+            if (rangeApplies) {
+                List<HttpRange> ranges = parseRanges(range);
+                // Several ranges would need multipart/byteranges; sending everything is allowed instead
+                if (ranges.size() == 1) {
+                    HttpRange requested = ranges.get(0);
+                    if (content.length() == 0 || requested.getRangeStart(content.length()) >= content.length()) {
+                        headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + content.length());
+                        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+                    }
+                    start = requested.getRangeStart(content.length());
+                    length = requested.getRangeEnd(content.length()) - start + 1;
+                    headers.set(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + start + "-" + (start + length - 1) + "/" + content.length());
+                    status = HttpStatus.PARTIAL_CONTENT;
+                }
+            }
+            
+            InputStream in = imageContentService.open(content, start, length);
+            headers.setContentType(MediaType.parseMediaType(content.contentType()));
+            headers.setContentLength(length);
+            StreamingResponseBody body = out -> {
+                try (in) {
+                    in.transferTo(out);
+                }
+            };
+            return ResponseEntity.status(status).headers(headers).body(body);
+            
+        } catch (Exception e) {
+            log.error("Error getting image content: {}", e.getMessage(), e);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // An unparseable Range header is ignored and the whole image sent
+    private List<HttpRange> parseRanges(String range) {
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring invalid Range header: {}", range);
+            return List.of();
+        }
+    }
+
     /**
      * Upload multiple property images
      */
     @PostMapping("/{propertyId}/images/batch")
-    public ResponseEntity<Map<String, Object>> uploadPropertyImagesBatch(
+    public ResponseEntity<BatchImageUploadResultDto> uploadPropertyImagesBatch(
             @PathVariable String propertyId,
             @RequestParam("files") MultipartFile[] files,
             @RequestParam(defaultValue = "INTERIOR") String imageType,
@@ -235,24 +538,16 @@ public class PropertyController {
         
         try {
             if (files == null || files.length == 0) {
-                return ResponseEntity.badRequest().body(Map.of("error", "No files provided"));
+                return ResponseEntity.badRequest().build();
             }
             
-            Map<String, String> uploadedImages = new java.util.HashMap<>();
-            
-            for (int i = 0; i < files.length; i++) {
-                MultipartFile file = files[i];
-                if (!file.isEmpty()) {
-                    String imageUrl = propertyService.uploadPropertyImage(propertyId, userId, file, imageType, false);
-                    uploadedImages.put("image_" + i, imageUrl);
-                }
-            }
-            
-            return ResponseEntity.ok(Map.of("uploadedImages", uploadedImages));
+            BatchImageUploadResultDto result = propertyService.uploadPropertyImages(propertyId, userId, List.of(files), imageType);
+            // Partial success is still a success; per-file status is in the body
+            return result.getUploaded() > 0 ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
             
         } catch (Exception e) {
             log.error("Error uploading batch images: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().build();
         }
     }
 
@@ -279,6 +574,31 @@ public class PropertyController {
         }
     }
 
+    /**
+     * Create and update many units of a property in one request
+     */
+    @PostMapping("/{propertyId}/units/bulk")
+    public ResponseEntity<BulkUnitResultDto> applyUnits(
+            @PathVariable String propertyId,
+            @Valid @RequestBody BulkUnitRequestDto request,
+            @RequestHeader("X-User-ID") String userId) {
+
+        log.info("Applying {} unit rows to property: {}", request.getUnits().size(), propertyId);
+
+        try {
+            BulkUnitResultDto result = propertyService.applyUnits(propertyId, userId, request.getUnits());
+            // Partial success is still a success; per-row status is in the body
+            return result.getFailed() < request.getUnits().size()
+                ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+
+        } catch (PropertyNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("Error applying bulk units: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Update a unit
      */
@@ -301,6 +621,31 @@ public class PropertyController {
         }
     }
 
+    /**
+     * Partially update a unit with a JSON merge patch; If-Match works as for properties
+     */
+    @PatchMapping(value = "/{propertyId}/units/{unitId}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<PatchResponseDto> patchUnit(
+            @PathVariable String propertyId,
+            @PathVariable String unitId,
+            @RequestBody Map<String, Object> patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader("X-User-ID") String userId) {
+        
+        log.info("Patching unit: {} fields {} for property: {}", unitId, patch.keySet(), propertyId);
+        
+        try {
+            PatchResponseDto result = propertyService.patchUnit(unitId, propertyId, userId, patch, parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(String.valueOf(result.getVersion())).body(result);
+            
+        } catch (PropertyUnitNotFoundException | InvalidPropertyDataException | PropertyVersionConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error patching unit: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get a unit
      */
@@ -344,30 +689,23 @@ public class PropertyController {
     }
 
     /**
-     * Get all units for a property
+     * List a property's units with optional filters, a page at a time (cursor from the previous page)
      */
     @GetMapping("/{propertyId}/units")
-    public ResponseEntity<Page<PropertyResponseDto.PropertyUnitResponseDto>> getPropertyUnits(
+    public ResponseEntity<CursorPageDto<PropertyResponseDto.PropertyUnitResponseDto>> getPropertyUnits(
             @PathVariable String propertyId,
+            @Valid UnitSearchCriteriaDto criteria,
             @Valid PaginationDto pagination,
             @RequestHeader("X-User-ID") String userId) {
         
         log.debug("Getting units for property: {}", propertyId);
         
         try {
-            // First verify the user owns the property
-            propertyService.getProperty(propertyId, userId);
-            
-            // Get units - this is a simplified implementation
-            // In a real implementation, you'd have a proper repository method
-            PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
-            criteria.setOwnerId(userId);
-            
-            Page<PropertyResponseDto> properties = propertyService.searchProperties(criteria, pagination);
-            
-            // For now, return empty page - this would be implemented with proper unit repository
-            return ResponseEntity.ok(Page.empty());
+            return ResponseEntity.ok(propertyService.listUnits(propertyId, userId, criteria, pagination));
             
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid unit listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error getting property units: {}", e.getMessage(), e);
             return ResponseEntity.notFound().build();
@@ -0,0 +1,92 @@
+package com.landlord.property.controller;
+
+import com.landlord.property.dto.PropertyImportJobDto;
+import com.landlord.property.exception.InvalidPropertyDataException;
+import com.landlord.property.importer.PropertyImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/properties/imports")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+public class PropertyImportController {
+
+    private final PropertyImportService propertyImportService;
+
+    @Autowired
+    public PropertyImportController(PropertyImportService propertyImportService) {
+        this.propertyImportService = propertyImportService;
+    }
+
+    /**
+     * Upload a CSV or NDJSON file of properties and units; the import runs in the background
+     */
+    @PostMapping
+    public ResponseEntity<PropertyImportJobDto> startImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @RequestHeader("X-User-ID") String userId) {
+
+        log.info("Import upload from user: {} ({} bytes)", userId, file.getSize());
+
+        try {
+            PropertyImportJobDto job = propertyImportService.startImport(userId, file, format);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+
+        } catch (InvalidPropertyDataException e) {
+            log.warn("Rejected import upload: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error starting import: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get import progress and rejected rows
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<PropertyImportJobDto> getImport(
+            @PathVariable String jobId,
+            @RequestHeader("X-User-ID") String userId) {
+
+        try {
+            return propertyImportService.getJob(jobId, userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+
+        } catch (Exception e) {
+            log.error("Error getting import {}: {}", jobId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Resume a failed import from its last committed row
+     */
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<PropertyImportJobDto> resumeImport(
+            @PathVariable String jobId,
+            @RequestHeader("X-User-ID") String userId) {
+
+        log.info("Resuming import: {} for user: {}", jobId, userId);
+
+        try {
+            if (!propertyImportService.resume(jobId, userId)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            return propertyImportService.getJob(jobId, userId)
+                .map(job -> ResponseEntity.status(HttpStatus.ACCEPTED).body(job))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+
+        } catch (Exception e) {
+            log.error("Error resuming import {}: {}", jobId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
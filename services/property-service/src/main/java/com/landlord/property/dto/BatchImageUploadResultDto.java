@@ -0,0 +1,46 @@
+package com.landlord.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch image upload. Files succeed or fail independently; each entry reports
+ * its own status and how long its upload took.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchImageUploadResultDto {
+
+    private String propertyId;
+    private int uploaded;
+    private int failed;
+    private long totalDurationMs;
+    private List<FileResult> files;
+
+    public enum Status {
+        UPLOADED,
+        FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FileResult {
+        private int index;
+        private String fileName;
+        private Status status;
+        private String imageId;
+        private String imageUrl;
+        private Integer displayOrder;
+        private Long sizeBytes;
+        private long durationMs;
+        private String error;
+    }
+}
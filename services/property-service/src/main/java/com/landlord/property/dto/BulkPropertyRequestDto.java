@@ -0,0 +1,23 @@
+package com.landlord.property.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Property ids for a bulk delete or restore
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPropertyRequestDto {
+
+    @NotEmpty(message = "At least one property ID is required")
+    @Size(max = 1000, message = "No more than 1000 properties per request")
+    private List<@NotBlank String> propertyIds;
+}
@@ -0,0 +1,25 @@
+package com.landlord.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk delete or restore. Ids that were unknown, owned by someone else or already in
+ * the requested state are listed as skipped; the rest were changed together with their units and images.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkPropertyResultDto {
+
+    private int requested;
+    private List<String> propertyIds;
+    private List<String> skipped;
+    private int units;
+    private int images;
+}
@@ -0,0 +1,23 @@
+package com.landlord.property.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Units to create or update in one request. Rows are validated one by one so a bad row is
+ * reported in the result instead of rejecting the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUnitRequestDto {
+
+    @NotEmpty(message = "At least one unit is required")
+    @Size(max = 1000, message = "No more than 1000 units per request")
+    private List<BulkUnitRowDto> units;
+}
@@ -0,0 +1,45 @@
+package com.landlord.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk unit request. Rows succeed or fail independently; each entry reports its
+ * own status in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUnitResultDto {
+
+    private String propertyId;
+    private int created;
+    private int updated;
+    private int failed;
+    private long totalDurationMs;
+    private List<RowResult> rows;
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowResult {
+        private int index;
+        private Status status;
+        private String unitId;
+        private String unitNumber;
+        private Long version;
+        private String error;
+    }
+}
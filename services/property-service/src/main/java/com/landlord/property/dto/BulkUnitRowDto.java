@@ -0,0 +1,38 @@
+package com.landlord.property.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * One row of a bulk unit request. Without an {@code id} the row creates a unit and a blank unit
+ * number is assigned; with one it updates that unit, and only the fields present are changed.
+ * {@code version}, when given, must match the stored unit.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BulkUnitRowDto extends PropertyUnitCreateDto {
+
+    private String id;
+    private Long version;
+
+    public BulkUnitRowDto() {
+        // Absent means unchanged on update, so no field may start out with the create defaults;
+        // creates get them back in PropertyUnitBulkService
+        setUtilitiesIncluded(null);
+        setPetFriendly(null);
+        setFurnished(null);
+        setParkingAssigned(null);
+        setStorageAssigned(null);
+        setBalcony(null);
+        setTerrace(null);
+        setGardenAccess(null);
+        setMinimumLeaseMonths(null);
+        setMaximumLeaseMonths(null);
+        setBackgroundCheckRequired(null);
+        setCreditScoreMinimum(null);
+        setIncomeMultipleRequired(null);
+        setIsAvailable(null);
+        setIsPremium(null);
+        setStatus(null);
+    }
+}
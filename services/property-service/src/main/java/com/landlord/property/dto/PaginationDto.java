@@ -2,6 +2,8 @@ package com.landlord.property.dto;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -24,6 +26,22 @@ public class PaginationDto {
     @Size(max = 10, message = "Order must not exceed 10 characters")
     private String order = "desc"; // asc or desc
 
+    @Pattern(regexp = "^(?i)(offset|cursor)$", message = "Mode must be offset or cursor")
+    private String mode = "offset"; // offset (page/limit) or cursor (keyset)
+
+    @Size(max = 200, message = "Cursor must not exceed 200 characters")
+    private String cursor; // opaque cursor from the previous cursor-mode response
+
+    @Pattern(regexp = "^(?i)(full|card)$", message = "View must be full or card")
+    private String view = "full"; // full (PropertyResponseDto) or card (PropertyCardDto) for property listings
+
+    public PaginationDto(int page, int limit, String sort, String order) {
+        this.page = page;
+        this.limit = limit;
+        this.sort = sort;
+        this.order = order;
+    }
+
     public int getOffset() {
         return (page - 1) * limit;
     }
@@ -34,4 +52,12 @@ public class PaginationDto {
         }
         return sort;
     }
-}
\ No newline at end of file
+
+    public boolean isCursorMode() {
+        return "cursor".equalsIgnoreCase(mode) || (cursor != null && !cursor.isEmpty());
+    }
+
+    public boolean isCardView() {
+        return "card".equalsIgnoreCase(view);
+    }
+}
@@ -0,0 +1,36 @@
+package com.landlord.property.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Result of a merge patch: the new version and the fields that were written, without re-reading
+ * the rest of the resource. Units, images and stats are only present when asked for with {@code expand}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PatchResponseDto {
+
+    private String id;
+    private String propertyId;
+    private Long version;
+    private LocalDateTime updatedAt;
+    private List<String> changed;
+    private String status;
+    private BigDecimal monthlyRent;
+
+    private List<PropertyResponseDto.PropertyUnitResponseDto> units;
+    private List<PropertyResponseDto.PropertyImageDto> images;
+    private Double occupancyRate;
+    private BigDecimal totalMonthlyRevenue;
+}
@@ -0,0 +1,41 @@
+package com.landlord.property.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.landlord.property.repository.PropertyCardView;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Listing card for {@code view=card}: just what a search or portfolio grid shows, without the
+ * units, images and statistics of PropertyResponseDto.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PropertyCardDto {
+
+    private String id;
+    private String name;
+    private BigDecimal monthlyRent;
+    private String city;
+    private Integer bedrooms;
+    private String thumbnailUrl;
+    private Double distanceMiles; // set for proximity searches only
+
+    public static PropertyCardDto fromView(PropertyCardView view) {
+        return PropertyCardDto.builder()
+            .id(view.getId())
+            .name(view.getName())
+            .monthlyRent(view.getMonthlyRent())
+            .city(view.getCity())
+            .bedrooms(view.getBedrooms())
+            .thumbnailUrl(view.getThumbnailUrl())
+            .build();
+    }
+}
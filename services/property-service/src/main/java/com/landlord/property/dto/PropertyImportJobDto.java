@@ -0,0 +1,52 @@
+package com.landlord.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of a bulk import. Counters cover committed chunks only; a resumed job continues
+ * after {@code rowsCommitted}. Rejected rows are listed with the reason, in row order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyImportJobDto {
+
+    private String jobId;
+    private String fileName;
+    private String format;
+    private Status status;
+    private long rowsCommitted;
+    private long propertiesCreated;
+    private long unitsCreated;
+    private long rowsFailed;
+    private long sizeBytes;
+    private long bytesCommitted;
+    private Double percentComplete;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+    private List<RowError> errors;
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private String message;
+    }
+}
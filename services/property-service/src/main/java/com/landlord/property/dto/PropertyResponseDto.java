@@ -67,6 +67,7 @@ public class PropertyResponseDto {
     private Double occupancyRate;
     private BigDecimal totalMonthlyRevenue;
     private String addressDisplay;
+    private Double distanceMiles; // set for proximity searches only
 
     @Data
     @NoArgsConstructor
@@ -142,6 +143,7 @@ public class PropertyResponseDto {
         private String displayName;
         private List<String> imageUrls;
         private String primaryImageUrl;
+        private String primaryThumbnailUrl;
         private List<PropertyImageDto> images;
     }
 
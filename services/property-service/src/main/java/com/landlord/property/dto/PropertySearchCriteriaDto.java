@@ -163,4 +163,8 @@ public class PropertySearchCriteriaDto {
     
     // Energy efficiency
     private String energyEfficiencyRating;
+
+    public boolean isGeoSearch() {
+        return latitude != null && longitude != null && radiusMiles != null;
+    }
 }
\ No newline at end of file
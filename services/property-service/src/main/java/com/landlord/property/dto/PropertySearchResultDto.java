@@ -0,0 +1,21 @@
+package com.landlord.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+/**
+ * Search page plus facet counts over the whole filtered set (not just the page).
+ * Facets map facet name (propertyType, status, bedrooms, rentBand, city) to value counts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertySearchResultDto {
+
+    private Page<PropertyResponseDto> results;
+    private Map<String, Map<String, Long>> facets;
+}
@@ -0,0 +1,49 @@
+package com.landlord.property.dto;
+
+import com.landlord.property.model.PropertyUnit;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Filters for listing the units of one property; every field is optional
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnitSearchCriteriaDto {
+
+    private PropertyUnit.UnitStatus status;
+
+    @Min(value = 0, message = "Minimum bedrooms cannot be negative")
+    @Max(value = 20, message = "Minimum bedrooms is too high")
+    private Integer minBedrooms;
+
+    @Min(value = 0, message = "Maximum bedrooms cannot be negative")
+    @Max(value = 20, message = "Maximum bedrooms is too high")
+    private Integer maxBedrooms;
+
+    @DecimalMin(value = "0.0", message = "Minimum rent must be positive")
+    @DecimalMax(value = "99999.99", message = "Minimum rent is too high")
+    private BigDecimal minRent;
+
+    @DecimalMin(value = "0.0", message = "Maximum rent must be positive")
+    @DecimalMax(value = "99999.99", message = "Maximum rent is too high")
+    private BigDecimal maxRent;
+
+    @Min(value = 0, message = "Floor number cannot be negative")
+    @Max(value = 200, message = "Floor number is too high")
+    private Integer floor;
+
+    private Boolean available;
+
+    // Units free to move into on or before this date (no availableFrom counts as free now)
+    private LocalDate availableBy;
+}
@@ -92,6 +92,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(PropertyVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflict(PropertyVersionConflictException ex, WebRequest request) {
+        log.warn("Version conflict: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .error("Version Conflict")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(String.valueOf(ex.getCurrentVersion()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(FileUploadException.class)
     public ResponseEntity<ErrorResponse> handleFileUpload(FileUploadException ex, WebRequest request) {
         log.error("File upload error: {}", ex.getMessage(), ex);
@@ -159,6 +176,12 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ResponseAbortedException.class)
+    public void handleResponseAborted(ResponseAbortedException ex) {
+        // Part of the body is already out; an error body would be appended to it as if it were data
+        throw ex;
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, WebRequest request) {
         log.error("Unexpected error occurred: {}", ex.getMessage(), ex);
@@ -0,0 +1,18 @@
+package com.landlord.property.exception;
+
+/**
+ * The row is no longer at the version the caller expected
+ */
+public class PropertyVersionConflictException extends RuntimeException {
+
+    private final long currentVersion;
+
+    public PropertyVersionConflictException(String message, long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
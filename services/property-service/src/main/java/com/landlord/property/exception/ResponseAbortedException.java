@@ -0,0 +1,11 @@
+package com.landlord.property.exception;
+
+/**
+ * A streamed response failed after its headers were sent. It is left to the servlet container,
+ * which closes the connection instead of ending the body, so the client sees a truncated transfer.
+ */
+public class ResponseAbortedException extends RuntimeException {
+    public ResponseAbortedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
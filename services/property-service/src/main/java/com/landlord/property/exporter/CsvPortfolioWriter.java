@@ -0,0 +1,109 @@
+package com.landlord.property.exporter;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV in the layout the importer reads: a {@code ref} column holding the property id,
+ * the property's fields, then {@code unit.*} fields. A property takes one row per unit (one row if
+ * it has none); only its first row carries the property fields and the space-separated
+ * {@code imageUrls}.
+ */
+class CsvPortfolioWriter implements PortfolioWriter {
+
+    static final String IMAGE_URL_PATH = "imageUrl";
+
+    private final Writer writer;
+    private final List<ExportColumns.ExportColumn> propertyColumns;
+    private final List<ExportColumns.ExportColumn> unitColumns;
+    private final StringBuilder line = new StringBuilder(1024);
+
+    CsvPortfolioWriter(OutputStream out,
+                       List<ExportColumns.ExportColumn> propertyColumns,
+                       List<ExportColumns.ExportColumn> unitColumns) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.propertyColumns = propertyColumns;
+        this.unitColumns = unitColumns;
+
+        line.append("ref");
+        for (ExportColumns.ExportColumn column : propertyColumns) {
+            line.append(',').append(column.path());
+        }
+        for (ExportColumns.ExportColumn column : unitColumns) {
+            line.append(",unit.").append(column.path());
+        }
+        line.append(",imageUrls");
+        endLine();
+    }
+
+    @Override
+    public void write(ExportRow property, List<ExportRow> units, List<ExportRow> images) throws IOException {
+        int rows = Math.max(1, units.size());
+        for (int i = 0; i < rows; i++) {
+            appendValue(property.propertyId());
+            for (ExportColumns.ExportColumn column : propertyColumns) {
+                line.append(',');
+                if (i == 0) {
+                    appendValue(property.values().get(column.path()));
+                }
+            }
+            ExportRow unit = i < units.size() ? units.get(i) : null;
+            for (ExportColumns.ExportColumn column : unitColumns) {
+                line.append(',');
+                if (unit != null) {
+                    appendValue(unit.values().get(column.path()));
+                }
+            }
+            line.append(',');
+            if (i == 0 && !images.isEmpty()) {
+                StringBuilder urls = new StringBuilder();
+                for (ExportRow image : images) {
+                    Object url = image.values().get(IMAGE_URL_PATH);
+                    if (url != null) {
+                        urls.append(urls.length() > 0 ? " " : "").append(url);
+                    }
+                }
+                appendValue(urls.toString());
+            }
+            endLine();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            return;
+        }
+        String text;
+        if (value instanceof BigDecimal number) {
+            text = number.toPlainString();
+        } else if (value instanceof RawValue raw) {
+            text = String.valueOf(raw.rawValue());
+        } else {
+            text = value.toString();
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            line.append('"').append(text.replace("\"", "\"\"")).append('"');
+        } else {
+            line.append(text);
+        }
+    }
+
+    private void endLine() throws IOException {
+        line.append("\r\n");
+        writer.write(line.toString());
+        line.setLength(0);
+    }
+}
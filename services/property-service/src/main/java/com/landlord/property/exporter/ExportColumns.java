@@ -0,0 +1,81 @@
+package com.landlord.property.exporter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Transient;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The columns of an entity's table and the field path each one has in the API, read from the
+ * JPA mapping: {@code city} is {@code address.city}, {@code bedrooms} is {@code details.bedrooms}.
+ * Exports then use the same names as the create and response DTOs without a hand-kept column list,
+ * and merge patches find the column behind each field they touch.
+ */
+public final class ExportColumns {
+
+    public record ExportColumn(String name, String path, boolean json) {
+    }
+
+    private ExportColumns() {
+    }
+
+    /**
+     * Mapped columns of {@code entity} and its superclasses, superclass fields first, minus {@code excluded}
+     */
+    public static List<ExportColumn> of(Class<?> entity, Set<String> excluded) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> type = entity; type != null && type != Object.class; type = type.getSuperclass()) {
+            hierarchy.add(0, type);
+        }
+        List<ExportColumn> columns = new ArrayList<>();
+        for (Class<?> type : hierarchy) {
+            collect(type, "", columns);
+        }
+        columns.removeIf(column -> excluded.contains(column.name()));
+        return List.copyOf(columns);
+    }
+
+    /**
+     * {@code alias.column} for each column, comma separated
+     */
+    static String selectList(String alias, List<ExportColumn> columns) {
+        return columns.stream().map(column -> alias + "." + column.name()).collect(Collectors.joining(", "));
+    }
+
+    private static void collect(Class<?> type, String prefix, List<ExportColumn> columns) {
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                    || field.isAnnotationPresent(Transient.class)) {
+                continue;
+            }
+            if (field.isAnnotationPresent(Embedded.class)) {
+                collect(field.getType(), prefix + field.getName() + ".", columns);
+                continue;
+            }
+            Column column = field.getAnnotation(Column.class);
+            String name = column != null && !column.name().isEmpty() ? column.name() : snakeCase(field.getName());
+            boolean json = column != null && column.columnDefinition().toLowerCase().startsWith("json");
+            columns.add(new ExportColumn(name, prefix + field.getName(), json));
+        }
+    }
+
+    /**
+     * Same rule as Spring's CamelCaseToUnderscoresNamingStrategy, which names unannotated columns
+     */
+    static String snakeCase(String name) {
+        StringBuilder builder = new StringBuilder(name.replace('.', '_'));
+        for (int i = 1; i < builder.length() - 1; i++) {
+            if (Character.isLowerCase(builder.charAt(i - 1)) && Character.isUpperCase(builder.charAt(i))
+                    && Character.isLowerCase(builder.charAt(i + 1))) {
+                builder.insert(i++, '_');
+            }
+        }
+        return builder.toString().toLowerCase();
+    }
+}
@@ -0,0 +1,10 @@
+package com.landlord.property.exporter;
+
+import java.util.Map;
+
+/**
+ * One exported table row: the property it belongs to and its values by field path. JSON columns
+ * hold a Jackson {@code RawValue} so they are written as JSON rather than as a quoted string.
+ */
+record ExportRow(String propertyId, Map<String, Object> values) {
+}
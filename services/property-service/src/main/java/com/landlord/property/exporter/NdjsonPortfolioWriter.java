@@ -0,0 +1,73 @@
+package com.landlord.property.exporter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One JSON object per line: the property's fields nested as in the API, plus {@code units} and
+ * {@code images} arrays
+ */
+class NdjsonPortfolioWriter implements PortfolioWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+
+    NdjsonPortfolioWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are separated by the newline written after each object, not the default space
+        this.generator.setRootValueSeparator(null);
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void write(ExportRow property, List<ExportRow> units, List<ExportRow> images) throws IOException {
+        Map<String, Object> object = nest(property.values());
+        object.put("units", nestAll(units));
+        object.put("images", nestAll(images));
+        writer.writeValue(generator, object);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    private static List<Map<String, Object>> nestAll(List<ExportRow> rows) {
+        List<Map<String, Object>> nested = new ArrayList<>(rows.size());
+        for (ExportRow row : rows) {
+            nested.add(nest(row.values()));
+        }
+        return nested;
+    }
+
+    /**
+     * Turn {@code address.city} style paths into nested objects
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> nest(Map<String, Object> values) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        values.forEach((path, value) -> {
+            Map<String, Object> target = root;
+            int start = 0;
+            int dot;
+            while ((dot = path.indexOf('.', start)) >= 0) {
+                target = (Map<String, Object>) target.computeIfAbsent(path.substring(start, dot),
+                    key -> new LinkedHashMap<String, Object>());
+                start = dot + 1;
+            }
+            target.put(path.substring(start), value);
+        });
+        return root;
+    }
+}
@@ -0,0 +1,14 @@
+package com.landlord.property.exporter;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Serializes one property at a time with its units and images. {@link #flush()} pushes what has
+ * been written through to the response; the underlying stream is never closed.
+ */
+interface PortfolioWriter extends Flushable {
+
+    void write(ExportRow property, List<ExportRow> units, List<ExportRow> images) throws IOException;
+}
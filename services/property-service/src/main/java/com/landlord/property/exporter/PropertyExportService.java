@@ -0,0 +1,197 @@
+package com.landlord.property.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.landlord.property.importer.ImportFormat;
+import com.landlord.property.model.Property;
+import com.landlord.property.model.PropertyImage;
+import com.landlord.property.model.PropertyUnit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.util.PGobject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Streams an owner's whole portfolio as NDJSON or CSV. Properties, units and images are read
+ * with three forward-only cursors ordered by property id and merged, so the export costs three
+ * queries and holds one property's rows in memory however large the portfolio is. The cursors
+ * share one read-only REPEATABLE READ transaction, so they see the same snapshot.
+ */
+@Slf4j
+@Service
+public class PropertyExportService {
+
+    static final List<ExportColumns.ExportColumn> PROPERTY_COLUMNS =
+        ExportColumns.of(Property.class, Set.of("owner_id"));
+
+    static final List<ExportColumns.ExportColumn> UNIT_COLUMNS =
+        ExportColumns.of(PropertyUnit.class, Set.of("property_id", "deleted_at", "deleted_by", "version"));
+
+    static final List<ExportColumns.ExportColumn> IMAGE_COLUMNS =
+        ExportColumns.of(PropertyImage.class, Set.of("property_id", "deleted_at", "deleted_by", "version"));
+
+    private static final String PROPERTIES_SQL =
+        "SELECT p.id AS export_property_id, " + ExportColumns.selectList("p", PROPERTY_COLUMNS) + " FROM properties p " +
+        "WHERE p.owner_id = ? AND p.deleted_at IS NULL ORDER BY p.id";
+
+    private static final String UNITS_SQL =
+        "SELECT p.id AS export_property_id, " + ExportColumns.selectList("u", UNIT_COLUMNS) + " FROM property_units u " +
+        "JOIN properties p ON p.id = u.property_id " +
+        "WHERE p.owner_id = ? AND p.deleted_at IS NULL AND u.deleted_at IS NULL ORDER BY p.id, u.unit_number, u.id";
+
+    private static final String IMAGES_SQL =
+        "SELECT p.id AS export_property_id, " + ExportColumns.selectList("i", IMAGE_COLUMNS) + " FROM property_images i " +
+        "JOIN properties p ON p.id = i.property_id " +
+        "WHERE p.owner_id = ? AND p.deleted_at IS NULL AND i.deleted_at IS NULL ORDER BY p.id, i.display_order, i.id";
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter propertiesExported;
+
+    @Value("${property.export.flush-every-rows:100}")
+    private int flushEveryRows = 100;
+
+    @Autowired
+    public PropertyExportService(DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${property.export.fetch-size:500}") int fetchSize) {
+        // Postgres only streams a result set with a fetch size inside a transaction
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.propertiesExported = Counter.builder("property.export.properties")
+            .description("Properties written to portfolio exports")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Write every live property of the owner to {@code out}, flushing every {@code flush-every-rows}
+     * properties. Returns the number of properties written; {@code out} is left open.
+     */
+    public long export(String ownerId, ImportFormat format, OutputStream out) throws IOException {
+        PortfolioWriter writer = format == ImportFormat.CSV
+            ? new CsvPortfolioWriter(out, PROPERTY_COLUMNS, UNIT_COLUMNS)
+            : new NdjsonPortfolioWriter(out, objectMapper);
+        long started = System.nanoTime();
+
+        Long written;
+        try {
+            written = transactionTemplate.execute(status -> {
+                try (Stream<ExportRow> properties = cursorTemplate.queryForStream(PROPERTIES_SQL, rowMapper(PROPERTY_COLUMNS), ownerId);
+                     Stream<ExportRow> units = cursorTemplate.queryForStream(UNITS_SQL, rowMapper(UNIT_COLUMNS), ownerId);
+                     Stream<ExportRow> images = cursorTemplate.queryForStream(IMAGES_SQL, rowMapper(IMAGE_COLUMNS), ownerId)) {
+                    return writeAll(writer, properties.iterator(), new ChildCursor(units.iterator()),
+                        new ChildCursor(images.iterator()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+
+        long count = written != null ? written : 0;
+        log.info("Exported {} properties for owner {} as {} in {} ms",
+            count, ownerId, format, (System.nanoTime() - started) / 1_000_000);
+        return count;
+    }
+
+    private long writeAll(PortfolioWriter writer, Iterator<ExportRow> properties,
+                          ChildCursor units, ChildCursor images) throws IOException {
+        long count = 0;
+        while (properties.hasNext()) {
+            ExportRow property = properties.next();
+            writer.write(property, units.takeFor(property.propertyId()), images.takeFor(property.propertyId()));
+            propertiesExported.increment();
+            if (++count % flushEveryRows == 0) {
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    private static RowMapper<ExportRow> rowMapper(List<ExportColumns.ExportColumn> columns) {
+        return (rs, rowNum) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (ExportColumns.ExportColumn column : columns) {
+                Object value;
+                if (column.json()) {
+                    String json = rs.getString(column.name());
+                    value = json != null ? new RawValue(json) : null;
+                } else {
+                    value = exportValue(rs.getObject(column.name()));
+                }
+                if (value != null) {
+                    values.put(column.path(), value);
+                }
+            }
+            return new ExportRow(rs.getString("export_property_id"), values);
+        };
+    }
+
+    private static Object exportValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate().toString();
+        }
+        if (value instanceof UUID || value instanceof PGobject) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    /**
+     * A child cursor ordered like the property cursor: hands out the rows of one property at a time
+     */
+    static final class ChildCursor {
+        private final Iterator<ExportRow> rows;
+        private ExportRow next;
+
+        ChildCursor(Iterator<ExportRow> rows) {
+            this.rows = rows;
+            this.next = rows.hasNext() ? rows.next() : null;
+        }
+
+        List<ExportRow> takeFor(String propertyId) {
+            List<ExportRow> taken = new ArrayList<>();
+            while (next != null && next.propertyId().equals(propertyId)) {
+                taken.add(next);
+                next = rows.hasNext() ? rows.next() : null;
+            }
+            return taken;
+        }
+    }
+}
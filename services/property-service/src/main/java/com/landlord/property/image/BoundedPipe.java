@@ -0,0 +1,159 @@
+package com.landlord.property.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory pipe between one writer and one reader thread. Replaces
+ * PipedInputStream/PipedOutputStream, which block with synchronized/wait and so pin the carrier
+ * when the writer is a virtual thread; this one blocks on a {@link ReentrantLock}.
+ * Closing the sink signals end of stream; closing the source makes further writes fail.
+ */
+public final class BoundedPipe {
+
+    private final byte[] buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final InputStream source = new Source();
+    private final OutputStream sink = new Sink();
+
+    private int readPosition;
+    private int count;
+    private boolean sinkClosed;
+    private boolean sourceClosed;
+
+    public BoundedPipe(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    public InputStream source() {
+        return source;
+    }
+
+    public OutputStream sink() {
+        return sink;
+    }
+
+    private final class Sink extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            lock.lock();
+            try {
+                while (len > 0) {
+                    while (count == buffer.length && !sourceClosed && !sinkClosed) {
+                        await(notFull);
+                    }
+                    if (sinkClosed) {
+                        throw new IOException("Pipe closed");
+                    }
+                    if (sourceClosed) {
+                        throw new IOException("Pipe reader closed");
+                    }
+                    int writePosition = (readPosition + count) % buffer.length;
+                    int chunk = Math.min(len, Math.min(buffer.length - count, buffer.length - writePosition));
+                    System.arraycopy(b, off, buffer, writePosition, chunk);
+                    count += chunk;
+                    off += chunk;
+                    len -= chunk;
+                    notEmpty.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                sinkClosed = true;
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final class Source extends InputStream {
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            lock.lock();
+            try {
+                while (count == 0) {
+                    if (sourceClosed) {
+                        throw new IOException("Pipe closed");
+                    }
+                    if (sinkClosed) {
+                        return -1;
+                    }
+                    await(notEmpty);
+                }
+                int chunk = Math.min(len, Math.min(count, buffer.length - readPosition));
+                System.arraycopy(buffer, readPosition, b, off, chunk);
+                readPosition = (readPosition + chunk) % buffer.length;
+                count -= chunk;
+                notFull.signal();
+                return chunk;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int available() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                sourceClosed = true;
+                count = 0;
+                notFull.signalAll();
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static void await(Condition condition) throws InterruptedIOException {
+        try {
+            condition.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting on pipe");
+        }
+    }
+}
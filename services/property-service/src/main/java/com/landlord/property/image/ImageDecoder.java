@@ -0,0 +1,179 @@
+package com.landlord.property.image;
+
+import org.imgscalr.Scalr;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Streaming image decode helpers for the upload pipeline and the rendition workers.
+ * Dimensions and format come from the image header; pixels are decoded with source subsampling so
+ * the raster held in memory is sized to the largest rendition rather than to the original.
+ */
+public final class ImageDecoder {
+
+    private ImageDecoder() {
+    }
+
+    /**
+     * Read width, height and format from the image header without decoding pixels.
+     * Returns null when no reader understands the stream.
+     */
+    public static ImageInfo probe(InputStream in) throws IOException {
+        ImageInputStream iis = ImageIO.createImageInputStream(in);
+        if (iis == null) {
+            return null;
+        }
+        try {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                return new ImageInfo(reader.getWidth(0), reader.getHeight(0), normalizeFormat(reader.getFormatName()));
+            } finally {
+                reader.dispose();
+            }
+        } finally {
+            iis.close();
+        }
+    }
+
+    /**
+     * Header facts plus a subsampled preview whose longest edge is at least {@code maxEdge}
+     * (or the full image when it is smaller). Returns null when no reader understands the stream.
+     */
+    public static DecodedImage decode(InputStream in, int maxEdge) throws IOException {
+        ImageInputStream iis = ImageIO.createImageInputStream(in);
+        if (iis == null) {
+            return null;
+        }
+        try {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                String format = normalizeFormat(reader.getFormatName());
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = subsamplingFor(width, height, maxEdge);
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                BufferedImage preview = reader.read(0, param);
+                return new DecodedImage(width, height, format, preview);
+            } finally {
+                reader.dispose();
+            }
+        } finally {
+            iis.close();
+        }
+    }
+
+    /**
+     * Largest integer subsampling that still leaves twice the target edge, so the final
+     * resample has enough source pixels to filter from
+     */
+    static int subsamplingFor(int width, int height, int maxEdge) {
+        int longest = Math.max(width, height);
+        return Math.max(1, longest / (maxEdge * 2));
+    }
+
+    /**
+     * Resize an image to the given width, keeping its aspect ratio and never upscaling
+     */
+    public static BufferedImage resizeToWidth(BufferedImage source, int width) {
+        if (source.getWidth() <= width) {
+            return source;
+        }
+        return Scalr.resize(source, Scalr.Method.QUALITY, Scalr.Mode.FIT_TO_WIDTH, width);
+    }
+
+    /**
+     * Whether an ImageIO writer is registered for the format (WebP needs a plugin on the classpath)
+     */
+    public static boolean canEncode(String format) {
+        return ImageIO.getImageWritersByFormatName(format).hasNext();
+    }
+
+    /**
+     * Encode a rendition in the given format. This is the only full buffer the pipeline holds per image.
+     */
+    public static byte[] encode(BufferedImage image, String format, float quality) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer for format " + format);
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (types != null && types.length > 0 && param.getCompressionType() == null) {
+                    param.setCompressionType(types[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(isJpeg(format) ? withoutAlpha(image) : image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean isJpeg(String format) {
+        return "jpg".equalsIgnoreCase(format) || "jpeg".equalsIgnoreCase(format);
+    }
+
+    /**
+     * JPEG has no alpha channel; flatten transparent sources onto white before encoding
+     */
+    private static BufferedImage withoutAlpha(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.drawImage(image, 0, 0, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private static String normalizeFormat(String formatName) {
+        String format = formatName.toLowerCase(Locale.ROOT);
+        return "jpeg".equals(format) ? "jpg" : format;
+    }
+
+    public record ImageInfo(int width, int height, String format) {
+    }
+
+    public record DecodedImage(int width, int height, String format, BufferedImage preview) {
+    }
+}
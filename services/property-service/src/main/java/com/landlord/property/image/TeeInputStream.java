@@ -0,0 +1,97 @@
+package com.landlord.property.image;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Copies every byte read from the source to a branch stream and counts them, so one pass over an
+ * upload can feed both the decoder and the object store. Skips are read through rather than seeked
+ * past so the branch always receives the complete byte sequence.
+ */
+public class TeeInputStream extends FilterInputStream {
+
+    private static final int SKIP_BUFFER_SIZE = 8192;
+
+    private final OutputStream branch;
+    private long count;
+
+    public TeeInputStream(InputStream source, OutputStream branch) {
+        super(source);
+        this.branch = branch;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            branch.write(b);
+            count++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = super.read(buffer, offset, length);
+        if (n > 0) {
+            branch.write(buffer, offset, n);
+            count += n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] scratch = new byte[(int) Math.min(SKIP_BUFFER_SIZE, Math.max(n, 1))];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(scratch, 0, (int) Math.min(scratch.length, n - skipped));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // Not supported: a reset would replay bytes into the branch
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Read the remainder of the source so the branch receives every byte, even when the
+     * decoder stopped before the end of the file.
+     */
+    public void drain() throws IOException {
+        byte[] scratch = new byte[SKIP_BUFFER_SIZE];
+        while (read(scratch, 0, scratch.length) != -1) {
+            // bytes are forwarded to the branch by read()
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            branch.close();
+        }
+    }
+}
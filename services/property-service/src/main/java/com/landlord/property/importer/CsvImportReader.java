@@ -0,0 +1,161 @@
+package com.landlord.property.importer;
+
+import com.landlord.property.image.TeeInputStream;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV: a header row, quoted fields may hold commas, doubled quotes and line breaks.
+ * Header names are DTO field paths: {@code address.city} nests into {@code address},
+ * {@code unit.*} columns describe one unit on the row, and {@code ref} groups rows into a property.
+ * Empty cells are left out so DTO defaults apply. Row numbers count records after the header.
+ */
+class CsvImportReader implements ImportRecordReader {
+
+    static final String REF_COLUMN = "ref";
+    static final String UNIT_PREFIX = "unit.";
+
+    private final TeeInputStream counter;
+    private final BufferedReader reader;
+    private final List<String> header;
+    private final StringBuilder field = new StringBuilder();
+    private long rowNumber;
+    private boolean unterminatedQuote;
+
+    CsvImportReader(InputStream in) throws IOException {
+        this.counter = new TeeInputStream(in, OutputStream.nullOutputStream());
+        this.reader = new BufferedReader(new InputStreamReader(counter, StandardCharsets.UTF_8), 64 * 1024);
+        List<String> columns = readRow();
+        if (columns == null || unterminatedQuote) {
+            throw new IOException("CSV import has no readable header row");
+        }
+        List<String> trimmed = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            trimmed.add(column.strip());
+        }
+        if (!trimmed.isEmpty() && trimmed.get(0).startsWith("\uFEFF")) {
+            trimmed.set(0, trimmed.get(0).substring(1));
+        }
+        this.header = List.copyOf(trimmed);
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        List<String> row;
+        do {
+            row = readRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0).isEmpty());
+        rowNumber++;
+
+        if (unterminatedQuote) {
+            return ImportRecord.failed(rowNumber, "Unterminated quoted field");
+        }
+        if (row.size() > header.size()) {
+            return ImportRecord.failed(rowNumber, "Row has " + row.size() + " fields but the header has " + header.size());
+        }
+        String ref = null;
+        Map<String, Object> property = new LinkedHashMap<>();
+        Map<String, Object> unit = new LinkedHashMap<>();
+        for (int i = 0; i < row.size(); i++) {
+            String value = row.get(i);
+            String column = header.get(i);
+            if (value.isEmpty() || column.isEmpty()) {
+                continue;
+            }
+            if (REF_COLUMN.equals(column)) {
+                ref = value;
+            } else if (column.startsWith(UNIT_PREFIX)) {
+                putPath(unit, column.substring(UNIT_PREFIX.length()), value);
+            } else {
+                putPath(property, column, value);
+            }
+        }
+        return new ImportRecord(rowNumber, ref, property, unit.isEmpty() ? List.of() : List.of(unit), null);
+    }
+
+    @Override
+    public long bytesRead() {
+        return counter.getCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Read one record, or null at end of input. A quoted field may span lines.
+     */
+    private List<String> readRow() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> row = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    unterminatedQuote = true;
+                    break;
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        row.add(field.toString());
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void putPath(Map<String, Object> target, String path, String value) {
+        int dot = path.indexOf('.');
+        if (dot < 0) {
+            target.put(path, value);
+            return;
+        }
+        Object child = target.computeIfAbsent(path.substring(0, dot), key -> new LinkedHashMap<String, Object>());
+        if (child instanceof Map<?, ?> map) {
+            putPath((Map<String, Object>) map, path.substring(dot + 1), value);
+        }
+    }
+}
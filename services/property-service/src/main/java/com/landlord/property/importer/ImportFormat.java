@@ -0,0 +1,39 @@
+package com.landlord.property.importer;
+
+import java.util.Locale;
+
+/**
+ * Supported import file formats
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    /**
+     * Pick the format from an explicit name, else the content type, else the file extension
+     */
+    public static ImportFormat detect(String format, String contentType, String fileName) {
+        if (format != null && !format.isBlank()) {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        }
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/csv")) {
+            return CSV;
+        }
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+            return NDJSON;
+        }
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the import format of '" + fileName + "'; pass format=CSV or format=NDJSON");
+    }
+
+    public String extension() {
+        return this == CSV ? "csv" : "ndjson";
+    }
+}
@@ -0,0 +1,27 @@
+package com.landlord.property.importer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One parsed row of an import file. Rows sharing a {@code ref} belong to the same property:
+ * the first one creates it from {@code property}, every row may add {@code units}.
+ * A row that could not be parsed carries {@code error} instead.
+ */
+public record ImportRecord(long rowNumber,
+                           String ref,
+                           Map<String, Object> property,
+                           List<Map<String, Object>> units,
+                           String error) {
+
+    static ImportRecord failed(long rowNumber, String error) {
+        return new ImportRecord(rowNumber, null, Map.of(), List.of(), error);
+    }
+
+    /**
+     * Rows without a ref stand alone: each creates its own property
+     */
+    public String refOrRowKey() {
+        return ref != null ? ref : "#" + rowNumber;
+    }
+}
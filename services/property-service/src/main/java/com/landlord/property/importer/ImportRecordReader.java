@@ -0,0 +1,28 @@
+package com.landlord.property.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Pull parser over an import file: one {@link ImportRecord} per call, so files of any size
+ * are read in constant memory.
+ */
+public interface ImportRecordReader extends Closeable {
+
+    /**
+     * The next record, or null at the end of the file
+     */
+    ImportRecord next() throws IOException;
+
+    /**
+     * Bytes consumed from the underlying stream so far (read-ahead included)
+     */
+    long bytesRead();
+
+    static ImportRecordReader open(ImportFormat format, InputStream in, ObjectMapper objectMapper) throws IOException {
+        return format == ImportFormat.CSV ? new CsvImportReader(in) : new NdjsonImportReader(in, objectMapper);
+    }
+}
@@ -0,0 +1,94 @@
+package com.landlord.property.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.landlord.property.image.TeeInputStream;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Newline-delimited JSON: each line is a property in the shape of PropertyCreateDto plus an
+ * optional {@code ref}; its {@code units} array (or a single {@code unit}) adds units. Later lines
+ * with the same ref only add units. Row numbers are line numbers; blank lines are skipped.
+ */
+class NdjsonImportReader implements ImportRecordReader {
+
+    private static final TypeReference<Map<String, Object>> FIELDS = new TypeReference<>() {
+    };
+
+    private final TeeInputStream counter;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+
+    NdjsonImportReader(InputStream in, ObjectMapper objectMapper) {
+        this.counter = new TeeInputStream(in, OutputStream.nullOutputStream());
+        this.reader = new BufferedReader(new InputStreamReader(counter, StandardCharsets.UTF_8), 64 * 1024);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            return ImportRecord.failed(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return ImportRecord.failed(lineNumber, "Expected a JSON object");
+        }
+
+        Map<String, Object> property = objectMapper.convertValue(node, FIELDS);
+        Object ref = property.remove(CsvImportReader.REF_COLUMN);
+        List<Map<String, Object>> units = new ArrayList<>();
+        if (!addUnits(property.remove("units"), units) || !addUnits(property.remove("unit"), units)) {
+            return ImportRecord.failed(lineNumber, "units must be an array of objects");
+        }
+        return new ImportRecord(lineNumber, ref == null ? null : ref.toString(), property, units, null);
+    }
+
+    @Override
+    public long bytesRead() {
+        return counter.getCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean addUnits(Object value, List<Map<String, Object>> units) {
+        if (value == null) {
+            return true;
+        }
+        List<?> items = value instanceof List<?> list ? list : List.of(value);
+        for (Object item : items) {
+            if (!(item instanceof Map<?, ?>)) {
+                return false;
+            }
+            units.add((Map<String, Object>) item);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,715 @@
+package com.landlord.property.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.landlord.property.dto.PropertyCreateDto;
+import com.landlord.property.dto.PropertyImportJobDto;
+import com.landlord.property.dto.PropertyUnitCreateDto;
+import com.landlord.property.exception.FileUploadException;
+import com.landlord.property.exception.InvalidPropertyDataException;
+import com.landlord.property.mapper.PropertyMapper;
+import com.landlord.property.mapper.PropertyUnitMapper;
+import com.landlord.property.model.Property;
+import com.landlord.property.model.PropertyUnit;
+import com.landlord.property.outbox.PropertyEventType;
+import com.landlord.property.outbox.PropertyOutbox;
+import com.landlord.property.repository.PropertyRepository;
+import com.landlord.property.search.PropertyKeywordIndex;
+import com.landlord.property.service.OwnerStatsService;
+import com.landlord.property.service.PropertyCacheService;
+import com.landlord.property.storage.ObjectStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk import of properties and units from CSV or NDJSON. The upload is stored as-is and a job row
+ * is queued; workers stream the file and commit it in chunks of {@code chunk-size} rows, each chunk
+ * in its own transaction together with its checkpoint. A job that fails or loses its worker resumes
+ * after the last committed row. Rows are validated with the same constraints as the create API;
+ * rejected rows are recorded with the reason and do not stop the import.
+ */
+@Slf4j
+@Service
+public class PropertyImportService {
+
+    static final String SOURCE_PREFIX = "imports/";
+
+    private static final String INSERT_JOB_SQL =
+        "INSERT INTO property_import_jobs (id, owner_id, format, source_key, file_name, status, rows_committed, " +
+        "properties_created, units_created, rows_failed, size_bytes, bytes_committed, attempts, lease_token, available_at, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, 'PENDING', 0, 0, 0, 0, ?, 0, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+
+    private static final String SELECT_JOB_SQL =
+        "SELECT id, file_name, format, status, rows_committed, properties_created, units_created, rows_failed, size_bytes, " +
+        "bytes_committed, last_error, created_at, updated_at, completed_at FROM property_import_jobs WHERE id = ? AND owner_id = ?";
+
+    private static final String SELECT_ERRORS_SQL =
+        "SELECT row_no, message FROM property_import_errors WHERE job_id = ? ORDER BY row_no LIMIT ?";
+
+    // Pending jobs and RUNNING jobs whose lease has expired; the lease is carried in available_at.
+    // lease_token only ever goes up, so every claim gets a token no earlier claim holds.
+    private static final String CLAIM_SQL =
+        "UPDATE property_import_jobs SET status = 'RUNNING', attempts = attempts + 1, lease_token = lease_token + 1, " +
+        "available_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond'), updated_at = CURRENT_TIMESTAMP " +
+        "WHERE id IN (SELECT id FROM property_import_jobs " +
+        "WHERE status IN ('PENDING', 'RUNNING') AND available_at <= CURRENT_TIMESTAMP " +
+        "ORDER BY available_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "RETURNING id, owner_id, format, source_key, rows_committed, rows_failed, attempts, lease_token";
+
+    // Fenced by lease_token rather than attempts, which resume resets: a worker whose lease was
+    // taken over cannot commit another chunk
+    private static final String CHECKPOINT_SQL =
+        "UPDATE property_import_jobs SET rows_committed = ?, properties_created = properties_created + ?, " +
+        "units_created = units_created + ?, rows_failed = rows_failed + ?, bytes_committed = LEAST(?, size_bytes), " +
+        "available_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond'), updated_at = CURRENT_TIMESTAMP " +
+        "WHERE id = ? AND lease_token = ? AND status = 'RUNNING'";
+
+    private static final String COMPLETE_SQL =
+        "UPDATE property_import_jobs SET status = 'COMPLETED', bytes_committed = size_bytes, last_error = NULL, " +
+        "completed_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND lease_token = ? AND status = 'RUNNING'";
+
+    private static final String RETRY_SQL =
+        "UPDATE property_import_jobs SET status = 'PENDING', last_error = ?, " +
+        "available_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond'), updated_at = CURRENT_TIMESTAMP " +
+        "WHERE id = ? AND lease_token = ? AND status = 'RUNNING'";
+
+    private static final String FAIL_SQL =
+        "UPDATE property_import_jobs SET status = 'FAILED', last_error = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND lease_token = ? AND status = 'RUNNING'";
+
+    // Resets the retry budget only; lease_token keeps counting so a stale worker stays fenced
+    private static final String RESUME_SQL =
+        "UPDATE property_import_jobs SET status = 'PENDING', attempts = 0, available_at = CURRENT_TIMESTAMP, " +
+        "updated_at = CURRENT_TIMESTAMP WHERE id = ? AND owner_id = ? AND status = 'FAILED'";
+
+    private static final String SELECT_REFS_SQL =
+        "SELECT ref, property_id, next_unit_number, failed_row FROM property_import_refs WHERE job_id = ?";
+
+    private static final String UPSERT_REF_SQL =
+        "INSERT INTO property_import_refs (job_id, ref, property_id, next_unit_number, failed_row) VALUES (?, ?, ?, ?, ?) " +
+        "ON CONFLICT (job_id, ref) DO UPDATE SET property_id = EXCLUDED.property_id, " +
+        "next_unit_number = EXCLUDED.next_unit_number, failed_row = EXCLUDED.failed_row";
+
+    private static final String DELETE_REFS_SQL =
+        "DELETE FROM property_import_refs WHERE job_id = ?";
+
+    private static final String INSERT_ERROR_SQL =
+        "INSERT INTO property_import_errors (job_id, row_no, message) VALUES (?, ?, ?) ON CONFLICT (job_id, row_no) DO NOTHING";
+
+    private static final long RETRY_BASE_DELAY_MS = 30_000;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectStore objectStore;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PropertyRepository propertyRepository;
+    private final PropertyMapper propertyMapper;
+    private final PropertyUnitMapper propertyUnitMapper;
+    private final PropertyUnitBulkWriter unitWriter;
+    private final OwnerStatsService ownerStatsService;
+    private final PropertyOutbox propertyOutbox;
+    private final PropertyKeywordIndex propertyKeywordIndex;
+    private final PropertyCacheService propertyCacheService;
+    private final ExecutorService workers;
+    private final ThreadPoolExecutor dispatcher;
+    private final Semaphore freeWorkers;
+    private final Counter rowsImported;
+    private final Counter rowsRejected;
+    private final Timer chunkTimer;
+
+    @Value("${property.import.chunk-size:5000}")
+    private int chunkSize = 5000;
+
+    @Value("${property.import.lease-ms:300000}")
+    private long leaseMs = 300_000;
+
+    @Value("${property.import.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${property.import.max-recorded-errors:1000}")
+    private int maxRecordedErrors = 1000;
+
+    @Value("${property.import.max-size:536870912}")
+    private long maxSize = 536_870_912L;
+
+    @Autowired
+    public PropertyImportService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectStore objectStore,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 PropertyRepository propertyRepository,
+                                 PropertyMapper propertyMapper,
+                                 PropertyUnitMapper propertyUnitMapper,
+                                 PropertyUnitBulkWriter unitWriter,
+                                 OwnerStatsService ownerStatsService,
+                                 PropertyOutbox propertyOutbox,
+                                 PropertyKeywordIndex propertyKeywordIndex,
+                                 PropertyCacheService propertyCacheService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${property.import.workers:2}") int workerCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectStore = objectStore;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.propertyRepository = propertyRepository;
+        this.propertyMapper = propertyMapper;
+        this.propertyUnitMapper = propertyUnitMapper;
+        this.unitWriter = unitWriter;
+        this.ownerStatsService = ownerStatsService;
+        this.propertyOutbox = propertyOutbox;
+        this.propertyKeywordIndex = propertyKeywordIndex;
+        this.propertyCacheService = propertyCacheService;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "property-import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.freeWorkers = new Semaphore(workerCount);
+        // Wake-ups coalesce: at most one dispatch queued behind the one running
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+            runnable -> {
+                Thread thread = new Thread(runnable, "property-import-dispatch");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+        this.rowsImported = Counter.builder("property.import.rows")
+            .description("Import rows committed")
+            .register(meterRegistry);
+        this.rowsRejected = Counter.builder("property.import.rows.rejected")
+            .description("Import rows rejected by parsing or validation")
+            .register(meterRegistry);
+        this.chunkTimer = Timer.builder("property.import.chunk.duration")
+            .description("Time to validate and commit one chunk of import rows")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        workers.shutdown();
+    }
+
+    /**
+     * Store the uploaded file and queue an import job for it; returns the job in PENDING state
+     */
+    public PropertyImportJobDto startImport(String ownerId, MultipartFile file, String format) {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidPropertyDataException("Import file is empty");
+        }
+        if (file.getSize() > maxSize) {
+            throw new InvalidPropertyDataException("Import file exceeds the maximum size of " + maxSize + " bytes");
+        }
+        ImportFormat importFormat;
+        try {
+            importFormat = ImportFormat.detect(format, file.getContentType(), file.getOriginalFilename());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPropertyDataException(e.getMessage(), e);
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        String key = SOURCE_PREFIX + jobId + "." + importFormat.extension();
+        try (InputStream in = file.getInputStream()) {
+            objectStore.put(key, in, file.getSize(), file.getContentType(), Map.of("owner-id", ownerId));
+        } catch (Exception e) {
+            log.error("Failed to store import file for owner {}: {}", ownerId, e.getMessage(), e);
+            throw new FileUploadException("Failed to store import file: " + e.getMessage(), e);
+        }
+
+        jdbcTemplate.update(INSERT_JOB_SQL, jobId, ownerId, importFormat.name(), key,
+            file.getOriginalFilename(), file.getSize());
+        log.info("Queued {} import {} for owner {} ({} bytes)", importFormat, jobId, ownerId, file.getSize());
+        wakeUp();
+
+        return getJob(jobId, ownerId).orElseThrow();
+    }
+
+    /**
+     * Progress of an owner's import job with the first rejected rows
+     */
+    public Optional<PropertyImportJobDto> getJob(String jobId, String ownerId) {
+        List<PropertyImportJobDto> jobs = jdbcTemplate.query(SELECT_JOB_SQL, (rs, rowNum) -> {
+            long sizeBytes = rs.getLong("size_bytes");
+            long bytesCommitted = rs.getLong("bytes_committed");
+            PropertyImportJobDto.Status status = PropertyImportJobDto.Status.valueOf(rs.getString("status"));
+            return PropertyImportJobDto.builder()
+                .jobId(rs.getString("id"))
+                .fileName(rs.getString("file_name"))
+                .format(rs.getString("format"))
+                .status(status)
+                .rowsCommitted(rs.getLong("rows_committed"))
+                .propertiesCreated(rs.getLong("properties_created"))
+                .unitsCreated(rs.getLong("units_created"))
+                .rowsFailed(rs.getLong("rows_failed"))
+                .sizeBytes(sizeBytes)
+                .bytesCommitted(bytesCommitted)
+                .percentComplete(status == PropertyImportJobDto.Status.COMPLETED || sizeBytes == 0 ? 100.0
+                    : Math.round(1000.0 * bytesCommitted / sizeBytes) / 10.0)
+                .lastError(rs.getString("last_error"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .completedAt(toLocalDateTime(rs.getTimestamp("completed_at")))
+                .build();
+        }, jobId, ownerId);
+        if (jobs.isEmpty()) {
+            return Optional.empty();
+        }
+        PropertyImportJobDto job = jobs.get(0);
+        job.setErrors(jdbcTemplate.query(SELECT_ERRORS_SQL, (rs, rowNum) ->
+            new PropertyImportJobDto.RowError(rs.getLong("row_no"), rs.getString("message")), jobId, maxRecordedErrors));
+        return Optional.of(job);
+    }
+
+    /**
+     * Queue a FAILED job again; it continues after its last committed row. Returns false if the
+     * job does not exist or is not FAILED.
+     */
+    public boolean resume(String jobId, String ownerId) {
+        boolean resumed = jdbcTemplate.update(RESUME_SQL, jobId, ownerId) > 0;
+        if (resumed) {
+            log.info("Resuming import {} for owner {}", jobId, ownerId);
+            wakeUp();
+        }
+        return resumed;
+    }
+
+    /**
+     * Run a dispatch on the dispatcher thread without waiting for the next poll
+     */
+    public void wakeUp() {
+        dispatcher.execute(this::dispatch);
+    }
+
+    /**
+     * Claim as many jobs as there are idle workers and hand them out
+     */
+    @Scheduled(fixedDelayString = "${property.import.poll-interval-ms:5000}")
+    public synchronized void dispatch() {
+        try {
+            int slots = freeWorkers.availablePermits();
+            if (slots == 0) {
+                return;
+            }
+            List<ImportJob> jobs = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new ImportJob(
+                rs.getString("id"),
+                rs.getString("owner_id"),
+                ImportFormat.valueOf(rs.getString("format")),
+                rs.getString("source_key"),
+                rs.getLong("rows_committed"),
+                rs.getLong("rows_failed"),
+                rs.getInt("attempts"),
+                rs.getLong("lease_token")), leaseMs, slots);
+
+            for (ImportJob job : jobs) {
+                freeWorkers.acquireUninterruptibly();
+                workers.execute(() -> {
+                    try {
+                        run(job);
+                    } finally {
+                        freeWorkers.release();
+                    }
+                });
+            }
+
+        } catch (Exception e) {
+            log.error("Failed to dispatch import jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stream the job's file from its checkpoint to the end, one committed chunk at a time
+     */
+    void run(ImportJob job) {
+        if (job.attempts() > maxAttempts) {
+            markFailed(job, "Lease expired on the final attempt");
+            return;
+        }
+        try (InputStream in = objectStore.get(job.sourceKey());
+             ImportRecordReader reader = ImportRecordReader.open(job.format(), in, objectMapper)) {
+
+            ImportRun run = new ImportRun(job, loadRefs(job.id()));
+            List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                if (record.rowNumber() <= job.rowsCommitted()) {
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() >= chunkSize) {
+                    commitChunk(run, chunk, reader.bytesRead());
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(run, chunk, reader.bytesRead());
+            }
+
+            if (jdbcTemplate.update(COMPLETE_SQL, job.id(), job.leaseToken()) == 0) {
+                throw new LeaseLostException(job.id());
+            }
+            jdbcTemplate.update(DELETE_REFS_SQL, job.id());
+            deleteSourceQuietly(job.sourceKey());
+            log.info("Import {} completed on attempt {}: {} properties and {} units created in this run, {} rows rejected in total",
+                job.id(), job.attempts(), run.propertiesCreated, run.unitsCreated, run.rowsFailed);
+
+        } catch (LeaseLostException e) {
+            log.warn("Import {} lost its lease on attempt {}; another worker continues it", job.id(), job.attempts());
+        } catch (Exception e) {
+            retryOrFail(job, e);
+        }
+    }
+
+    /**
+     * Validate a chunk and commit its properties, units, rejected rows and checkpoint together
+     */
+    private void commitChunk(ImportRun run, List<ImportRecord> records, long bytesRead) {
+        Timer.Sample sample = Timer.start();
+        ImportJob job = run.job;
+        ChunkResult result = transactionTemplate.execute(status -> {
+            ChunkResult chunk = new ChunkResult();
+            for (ImportRecord record : records) {
+                importRecord(run, record, chunk);
+            }
+            if (!chunk.properties.isEmpty()) {
+                propertyRepository.flush();
+            }
+            unitWriter.insert(chunk.units);
+
+            List<Object[]> refArgs = new ArrayList<>(chunk.touchedRefs.size());
+            for (String ref : chunk.touchedRefs) {
+                RefState state = run.refs.get(ref);
+                refArgs.add(new Object[]{job.id(), ref, state.propertyId, state.nextUnitNumber, state.failedRow});
+            }
+            if (!refArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_REF_SQL, refArgs);
+            }
+
+            List<Object[]> errorArgs = new ArrayList<>();
+            long recorded = run.rowsFailed;
+            for (PropertyImportJobDto.RowError error : chunk.errors) {
+                if (recorded++ >= maxRecordedErrors) {
+                    break;
+                }
+                errorArgs.add(new Object[]{job.id(), error.getRow(), truncate(error.getMessage())});
+            }
+            if (!errorArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ERROR_SQL, errorArgs);
+            }
+
+            publishCreated(job.ownerId(), chunk);
+
+            long lastRow = records.get(records.size() - 1).rowNumber();
+            if (jdbcTemplate.update(CHECKPOINT_SQL, lastRow, chunk.properties.size(), chunk.units.size(),
+                    chunk.errors.size(), bytesRead, leaseMs, job.id(), job.leaseToken()) == 0) {
+                throw new LeaseLostException(job.id());
+            }
+            return chunk;
+        });
+        sample.stop(chunkTimer);
+
+        run.propertiesCreated += result.properties.size();
+        run.unitsCreated += result.units.size();
+        run.rowsFailed += result.errors.size();
+        rowsImported.increment(records.size() - result.errors.size());
+        rowsRejected.increment(result.errors.size());
+        log.debug("Import {} committed {} rows: {} properties, {} units, {} rejected",
+            job.id(), records.size(), result.properties.size(), result.units.size(), result.errors.size());
+    }
+
+    /**
+     * Apply one row: the first row of a ref creates its property, every accepted row adds its units.
+     * A row is accepted or rejected as a whole.
+     */
+    private void importRecord(ImportRun run, ImportRecord record, ChunkResult chunk) {
+        if (record.error() != null) {
+            chunk.reject(record, record.error());
+            return;
+        }
+        String key = record.refOrRowKey();
+        RefState state = run.refs.get(key);
+        if (state != null && state.failedRow != null) {
+            chunk.reject(record, "Property '" + key + "' was rejected at row " + state.failedRow);
+            return;
+        }
+
+        Property property = null;
+        List<String> problems = new ArrayList<>();
+        if (state == null) {
+            PropertyCreateDto createDto = convert(record.property(), PropertyCreateDto.class, problems);
+            if (createDto != null) {
+                createDto.setUnits(null);
+                createDto.setImages(null);
+                validate(createDto, "", problems);
+                if (problems.isEmpty()) {
+                    property = toProperty(createDto, run.job.ownerId());
+                }
+            }
+        }
+
+        int nextUnitNumber = state != null ? state.nextUnitNumber : 1;
+        List<PropertyUnitCreateDto> unitDtos = new ArrayList<>(record.units().size());
+        for (int i = 0; i < record.units().size(); i++) {
+            Map<String, Object> fields = new LinkedHashMap<>(record.units().get(i));
+            Object unitNumber = fields.get("unitNumber");
+            if (unitNumber == null || unitNumber.toString().isBlank()) {
+                fields.put("unitNumber", String.valueOf(nextUnitNumber++));
+            } else {
+                nextUnitNumber = Math.max(nextUnitNumber, numericUnitNumber(unitNumber.toString()) + 1);
+            }
+            PropertyUnitCreateDto unitDto = convert(fields, PropertyUnitCreateDto.class, problems);
+            if (unitDto != null) {
+                validate(unitDto, record.units().size() > 1 ? "units[" + i + "]." : "unit.", problems);
+                unitDtos.add(unitDto);
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            chunk.reject(record, String.join("; ", problems));
+            if (state == null && record.ref() != null) {
+                RefState failed = new RefState(null, 1, record.rowNumber());
+                run.refs.put(key, failed);
+                chunk.touchedRefs.add(key);
+            }
+            return;
+        }
+
+        String propertyId;
+        if (property != null) {
+            Property saved = propertyRepository.save(property);
+            chunk.properties.add(saved);
+            propertyId = saved.getId();
+        } else {
+            propertyId = state.propertyId;
+        }
+        for (PropertyUnitCreateDto unitDto : unitDtos) {
+            PropertyUnit unit = propertyUnitMapper.createDtoToEntity(unitDto, propertyId);
+            unit.setId(UUID.randomUUID().toString());
+            chunk.units.add(unit);
+        }
+        if (record.ref() != null) {
+            run.refs.put(key, new RefState(propertyId, nextUnitNumber, null));
+            chunk.touchedRefs.add(key);
+        }
+    }
+
+    private Property toProperty(PropertyCreateDto createDto, String ownerId) {
+        Property property = propertyMapper.createDtoToEntity(createDto, ownerId);
+        property.setViewCount(0);
+        property.setInquiryCount(0);
+        property.setFavoriteCount(0);
+        if (createDto.getMetaData() != null) {
+            property.setMetaData(propertyMapper.mapMetaData(createDto.getMetaData()));
+        }
+        return property;
+    }
+
+    /**
+     * Owner statistics, change events, search index and caches for what the chunk created
+     */
+    private void publishCreated(String ownerId, ChunkResult chunk) {
+        List<PropertyUnit.UnitStatus> unitStatuses = new ArrayList<>(chunk.units.size());
+        List<PropertyOutbox.Event> rented = new ArrayList<>();
+        Set<String> propertiesWithNewUnits = new LinkedHashSet<>();
+        for (PropertyUnit unit : chunk.units) {
+            unitStatuses.add(unit.getStatus());
+            propertiesWithNewUnits.add(unit.getPropertyId());
+            if (unit.getStatus() == PropertyUnit.UnitStatus.RENTED) {
+                rented.add(new PropertyOutbox.Event(unit.getPropertyId(), eventData(
+                    "unitId", unit.getId(),
+                    "unitNumber", unit.getUnitNumber(),
+                    "monthlyRent", unit.getMonthlyRent())));
+            }
+        }
+        if (chunk.properties.isEmpty() && chunk.units.isEmpty()) {
+            return;
+        }
+
+        List<PropertyOutbox.Event> created = new ArrayList<>(chunk.properties.size());
+        List<String> createdIds = new ArrayList<>(chunk.properties.size());
+        for (Property property : chunk.properties) {
+            createdIds.add(property.getId());
+            created.add(new PropertyOutbox.Event(property.getId(), eventData(
+                "name", property.getName(),
+                "propertyType", property.getPropertyType(),
+                "status", property.getStatus(),
+                "monthlyRent", property.getMonthlyRent())));
+        }
+
+        ownerStatsService.recordCreated(ownerId, chunk.properties, unitStatuses);
+        propertyOutbox.recordAll(PropertyEventType.PROPERTY_CREATED, ownerId, created);
+        propertyOutbox.recordAll(PropertyEventType.UNIT_RENTED, ownerId, rented);
+        propertyKeywordIndex.reindexAfterCommit(createdIds);
+        propertyCacheService.evictStatistics(ownerId);
+        createdIds.forEach(propertiesWithNewUnits::remove);
+        propertiesWithNewUnits.forEach(propertyCacheService::evictUnits);
+    }
+
+    private <T> T convert(Map<String, Object> fields, Class<T> type, List<String> problems) {
+        try {
+            return objectMapper.convertValue(fields, type);
+        } catch (IllegalArgumentException e) {
+            String message = e.getMessage();
+            int detail = message != null ? message.indexOf(" (through reference chain") : -1;
+            problems.add(detail > 0 ? message.substring(0, detail) : message);
+            return null;
+        }
+    }
+
+    private <T> void validate(T dto, String prefix, List<String> problems) {
+        Set<String> messages = new TreeSet<>();
+        for (ConstraintViolation<T> violation : validator.validate(dto)) {
+            messages.add(prefix + violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        problems.addAll(messages);
+    }
+
+    private Map<String, RefState> loadRefs(String jobId) {
+        Map<String, RefState> refs = new HashMap<>();
+        jdbcTemplate.query(SELECT_REFS_SQL, rs -> {
+            long failedRow = rs.getLong("failed_row");
+            refs.put(rs.getString("ref"), new RefState(
+                rs.getString("property_id"),
+                rs.getInt("next_unit_number"),
+                rs.wasNull() ? null : failedRow));
+        }, jobId);
+        return refs;
+    }
+
+    private void retryOrFail(ImportJob job, Exception e) {
+        if (job.attempts() >= maxAttempts) {
+            markFailed(job, e.getMessage());
+            return;
+        }
+        long delayMs = RETRY_BASE_DELAY_MS * job.attempts() * job.attempts();
+        log.warn("Import attempt {} for job {} failed, retrying in {} ms: {}",
+            job.attempts(), job.id(), delayMs, e.getMessage(), e);
+        jdbcTemplate.update(RETRY_SQL, truncate(e.getMessage()), delayMs, job.id(), job.leaseToken());
+    }
+
+    private void markFailed(ImportJob job, String error) {
+        log.error("Giving up on import {} after {} attempts: {}", job.id(), job.attempts(), error);
+        jdbcTemplate.update(FAIL_SQL, truncate(error), job.id(), job.leaseToken());
+    }
+
+    private void deleteSourceQuietly(String key) {
+        try {
+            objectStore.delete(key);
+        } catch (Exception e) {
+            log.warn("Failed to delete import file {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static int numericUnitNumber(String unitNumber) {
+        try {
+            return Integer.parseInt(unitNumber.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Map<String, Object> eventData(Object... keysAndValues) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            data.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return data;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    record ImportJob(String id, String ownerId, ImportFormat format, String sourceKey,
+                     long rowsCommitted, long rowsFailed, int attempts, long leaseToken) {
+    }
+
+    /**
+     * Where a ref stands: its property once created, the next generated unit number, or the row
+     * that rejected it
+     */
+    private record RefState(String propertyId, int nextUnitNumber, Long failedRow) {
+    }
+
+    /**
+     * State carried across the chunks of one run
+     */
+    private static final class ImportRun {
+        private final ImportJob job;
+        private final Map<String, RefState> refs;
+        private long propertiesCreated;
+        private long unitsCreated;
+        private long rowsFailed;
+
+        private ImportRun(ImportJob job, Map<String, RefState> refs) {
+            this.job = job;
+            this.refs = refs;
+            this.rowsFailed = job.rowsFailed();
+        }
+    }
+
+    private static final class ChunkResult {
+        private final List<Property> properties = new ArrayList<>();
+        private final List<PropertyUnit> units = new ArrayList<>();
+        private final List<PropertyImportJobDto.RowError> errors = new ArrayList<>();
+        private final Set<String> touchedRefs = new LinkedHashSet<>();
+
+        private void reject(ImportRecord record, String message) {
+            errors.add(new PropertyImportJobDto.RowError(record.rowNumber(), message));
+        }
+    }
+
+    /**
+     * Another worker claimed the job after this one's lease expired
+     */
+    private static final class LeaseLostException extends RuntimeException {
+        private LeaseLostException(String jobId) {
+            super("Lease on import job " + jobId + " was lost");
+        }
+    }
+}
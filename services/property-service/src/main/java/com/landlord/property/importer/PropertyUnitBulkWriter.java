@@ -0,0 +1,187 @@
+package com.landlord.property.importer;
+
+import com.landlord.property.model.PropertyUnit;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Inserts and updates many units on the caller's transaction without going through the persistence
+ * context. Up to {@code copy-threshold-rows} units go in as one JDBC batch; larger sets are streamed
+ * with Postgres COPY, which skips per-row statement overhead. Ids must already be set.
+ */
+@Component
+public class PropertyUnitBulkWriter {
+
+    private record Column(String name, Function<PropertyUnit, Object> value, boolean jsonb) {
+    }
+
+    private static final List<Column> COLUMNS = List.of(
+        new Column("id", PropertyUnit::getId, false),
+        new Column("property_id", PropertyUnit::getPropertyId, false),
+        new Column("unit_number", PropertyUnit::getUnitNumber, false),
+        new Column("floor_number", PropertyUnit::getFloorNumber, false),
+        new Column("building_section", PropertyUnit::getBuildingSection, false),
+        new Column("sqft", PropertyUnit::getSqft, false),
+        new Column("bedrooms", PropertyUnit::getBedrooms, false),
+        new Column("bathrooms", PropertyUnit::getBathrooms, false),
+        new Column("half_bathrooms", PropertyUnit::getHalfBathrooms, false),
+        new Column("monthly_rent", PropertyUnit::getMonthlyRent, false),
+        new Column("security_deposit", PropertyUnit::getSecurityDeposit, false),
+        new Column("pet_deposit", PropertyUnit::getPetDeposit, false),
+        new Column("utilities_included", PropertyUnit::getUtilitiesIncluded, false),
+        new Column("pet_friendly", PropertyUnit::getPetFriendly, false),
+        new Column("furnished", PropertyUnit::getFurnished, false),
+        new Column("parking_assigned", PropertyUnit::getParkingAssigned, false),
+        new Column("storage_assigned", PropertyUnit::getStorageAssigned, false),
+        new Column("balcony", PropertyUnit::getBalcony, false),
+        new Column("terrace", PropertyUnit::getTerrace, false),
+        new Column("garden_access", PropertyUnit::getGardenAccess, false),
+        new Column("view_type", PropertyUnit::getViewType, false),
+        new Column("window_orientation", PropertyUnit::getWindowOrientation, false),
+        new Column("appliances_included", PropertyUnit::getAppliancesIncluded, true),
+        new Column("special_features", PropertyUnit::getSpecialFeatures, true),
+        new Column("accessibility_features", PropertyUnit::getAccessibilityFeatures, true),
+        new Column("available_from", PropertyUnit::getAvailableFrom, false),
+        new Column("minimum_lease_months", PropertyUnit::getMinimumLeaseMonths, false),
+        new Column("maximum_lease_months", PropertyUnit::getMaximumLeaseMonths, false),
+        new Column("background_check_required", PropertyUnit::getBackgroundCheckRequired, false),
+        new Column("credit_score_minimum", PropertyUnit::getCreditScoreMinimum, false),
+        new Column("income_multiple_required", PropertyUnit::getIncomeMultipleRequired, false),
+        new Column("application_fee", PropertyUnit::getApplicationFee, false),
+        new Column("hold_deposit", PropertyUnit::getHoldDeposit, false),
+        new Column("is_available", PropertyUnit::getIsAvailable, false),
+        new Column("is_premium", PropertyUnit::getIsPremium, false),
+        new Column("premium_until", PropertyUnit::getPremiumUntil, false),
+        new Column("notes", PropertyUnit::getNotes, false),
+        new Column("lease_terms", PropertyUnit::getLeaseTerms, true),
+        new Column("restrictions", PropertyUnit::getRestrictions, true),
+        new Column("status", unit -> unit.getStatus() != null ? unit.getStatus().name() : null, false),
+        new Column("created_by", PropertyUnit::getCreatedBy, false),
+        new Column("version", unit -> unit.getVersion() != null ? unit.getVersion() : 0L, false));
+
+    private static final String COLUMN_LIST = COLUMNS.stream().map(Column::name).collect(Collectors.joining(", "));
+
+    static final String INSERT_SQL = "INSERT INTO property_units (" + COLUMN_LIST + ") VALUES (" +
+        COLUMNS.stream().map(column -> column.jsonb() ? "CAST(? AS jsonb)" : "?").collect(Collectors.joining(", ")) + ")";
+
+    // Null fields keep the stored value, like the field-by-field copy in PropertyService.updateUnit
+    private static final List<Column> UPDATABLE_COLUMNS = COLUMNS.stream()
+        .filter(column -> !Set.of("id", "property_id", "created_by", "version").contains(column.name()))
+        .toList();
+
+    static final String UPDATE_SQL = "UPDATE property_units SET " +
+        UPDATABLE_COLUMNS.stream()
+            .map(column -> column.name() + " = COALESCE(" + (column.jsonb() ? "CAST(? AS jsonb)" : "?") + ", " + column.name() + ")")
+            .collect(Collectors.joining(", ")) +
+        ", version = COALESCE(version, 0) + 1 " +
+        "WHERE id = ? AND property_id = ? AND version IS NOT DISTINCT FROM ? AND deleted_at IS NULL";
+
+    static final String COPY_SQL = "COPY property_units (" + COLUMN_LIST + ") FROM STDIN WITH (FORMAT csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${property.import.copy-threshold-rows:1000}")
+    private int copyThresholdRows = 1000;
+
+    @Autowired
+    public PropertyUnitBulkWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert the units; returns how many rows were written
+     */
+    public long insert(List<PropertyUnit> units) {
+        if (units.isEmpty()) {
+            return 0;
+        }
+        if (units.size() > copyThresholdRows) {
+            return copy(units);
+        }
+        List<Object[]> args = new ArrayList<>(units.size());
+        for (PropertyUnit unit : units) {
+            Object[] row = new Object[COLUMNS.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = COLUMNS.get(i).value().apply(unit);
+            }
+            args.add(row);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+        return units.size();
+    }
+
+    /**
+     * Update the non-null fields of each unit as one JDBC batch, guarded by the unit's version.
+     * Returns the per-unit row counts, in order; 0 means the unit was deleted or changed since it was read.
+     */
+    public int[] update(List<PropertyUnit> units) {
+        if (units.isEmpty()) {
+            return new int[0];
+        }
+        List<Object[]> args = new ArrayList<>(units.size());
+        for (PropertyUnit unit : units) {
+            Object[] row = new Object[UPDATABLE_COLUMNS.size() + 3];
+            for (int i = 0; i < UPDATABLE_COLUMNS.size(); i++) {
+                row[i] = UPDATABLE_COLUMNS.get(i).value().apply(unit);
+            }
+            row[UPDATABLE_COLUMNS.size()] = unit.getId();
+            row[UPDATABLE_COLUMNS.size() + 1] = unit.getPropertyId();
+            row[UPDATABLE_COLUMNS.size() + 2] = unit.getVersion();
+            args.add(row);
+        }
+        return jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+    }
+
+    private long copy(List<PropertyUnit> units) {
+        String csv = toCsv(units);
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv));
+            } catch (IOException e) {
+                throw new SQLException("COPY into property_units failed: " + e.getMessage(), e);
+            }
+        });
+        return copied != null ? copied : 0;
+    }
+
+    /**
+     * COPY csv rows: unquoted empty is NULL, every string is quoted so an empty string stays empty
+     */
+    static String toCsv(List<PropertyUnit> units) {
+        StringBuilder csv = new StringBuilder(units.size() * 256);
+        for (PropertyUnit unit : units) {
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                Object value = COLUMNS.get(i).value().apply(unit);
+                if (value instanceof String text) {
+                    csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else if (value instanceof BigDecimal number) {
+                    csv.append(number.toPlainString());
+                } else if (value instanceof LocalDateTime time) {
+                    csv.append(time);
+                } else if (value != null) {
+                    csv.append(value);
+                }
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.landlord.property.model;
 
+import com.landlord.property.util.GeoHash;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -20,7 +21,10 @@ import java.util.UUID;
     @Index(name = "idx_properties_type", columnList = "property_type"),
     @Index(name = "idx_properties_city", columnList = "city"),
     @Index(name = "idx_properties_zip_code", columnList = "zip_code"),
-    @Index(name = "idx_properties_created_at", columnList = "created_at")
+    @Index(name = "idx_properties_created_at", columnList = "created_at"),
+    @Index(name = "idx_properties_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_properties_owner_created_at_id", columnList = "owner_id, created_at, id"),
+    @Index(name = "idx_properties_geohash", columnList = "geohash")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class Property extends BaseEntity {
@@ -100,13 +104,14 @@ public class Property extends BaseEntity {
     @Column(name = "application_fee", precision = 8, scale = 2)
     private BigDecimal applicationFee;
 
-    @Column(name = "view_count", nullable = false)
+    // Counters are only written by PropertyCounterService's batched flush, never by an entity save
+    @Column(name = "view_count", nullable = false, updatable = false)
     private Integer viewCount = 0;
 
-    @Column(name = "inquiry_count", nullable = false)
+    @Column(name = "inquiry_count", nullable = false, updatable = false)
     private Integer inquiryCount = 0;
 
-    @Column(name = "favorite_count", nullable = false)
+    @Column(name = "favorite_count", nullable = false, updatable = false)
     private Integer favoriteCount = 0;
 
     @Column(name = "is_featured")
@@ -121,6 +126,9 @@ public class Property extends BaseEntity {
     @Column(name = "longitude")
     private Double longitude;
 
+    @Column(name = "geohash", length = 12)
+    private String geohash; // derived from latitude/longitude for proximity search
+
     @Column(name = "google_maps_url", length = 1000)
     private String googleMapsUrl;
 
@@ -141,6 +149,15 @@ public class Property extends BaseEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Keep the geohash in sync with the coordinates on every write
+     */
+    @PrePersist
+    @PreUpdate
+    void updateGeohash() {
+        this.geohash = GeoHash.encode(latitude, longitude);
+    }
+
     public enum PropertyType {
         APARTMENT,
         HOUSE,
@@ -48,6 +48,9 @@ public class PropertyImage extends BaseEntity {
     @Column(name = "format", length = 20)
     private String format; // jpg, png, webp, etc.
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 of the original bytes, hex encoded
+
     @Column(name = "display_order", nullable = false)
     private Integer displayOrder = 0;
 
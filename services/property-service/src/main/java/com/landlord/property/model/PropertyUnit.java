@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 @Table(name = "property_units", indexes = {
     @Index(name = "idx_property_units_property_id", columnList = "property_id"),
     @Index(name = "idx_property_units_unit_number", columnList = "unit_number"),
-    @Index(name = "idx_property_units_status", columnList = "status")
+    @Index(name = "idx_property_units_status", columnList = "status"),
+    @Index(name = "idx_property_units_property_unit_number", columnList = "property_id, unit_number, id")
 })
 public class PropertyUnit extends BaseEntity {
 
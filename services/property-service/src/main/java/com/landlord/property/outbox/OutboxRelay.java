@@ -0,0 +1,286 @@
+package com.landlord.property.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes property_outbox rows to RabbitMQ. A pass claims a batch in id order and sends it in
+ * rounds: each round sends the next event of every property in the batch without waiting between
+ * messages, then waits for their publisher confirms before the next round. The rows the broker
+ * acknowledged are deleted. Delivery is at least once: consumers deduplicate on
+ * {@code x-aggregate-id} and {@code x-aggregate-sequence}.
+ * <p>
+ * Per-property order holds because only one instance relays at a time (advisory lock held for
+ * the pass) and a property never has more than one unconfirmed event in flight. When an event
+ * fails, the property's later events are not sent; the failed one backs off and the rest are not
+ * claimed until it has been published.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    static final String AGGREGATE_ID_HEADER = "x-aggregate-id";
+    static final String SEQUENCE_HEADER = "x-aggregate-sequence";
+
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    // Skip events queued behind an earlier event of the same property that is backing off
+    private static final String CLAIM_SQL =
+        "SELECT o.id, o.event_id, o.aggregate_id, o.sequence_number, o.event_type, o.payload, o.content_encoding, o.attempts " +
+        "FROM property_outbox o WHERE o.available_at <= CURRENT_TIMESTAMP AND NOT EXISTS (" +
+        "SELECT 1 FROM property_outbox e WHERE e.aggregate_id = o.aggregate_id " +
+        "AND e.sequence_number < o.sequence_number AND e.available_at > CURRENT_TIMESTAMP) " +
+        "ORDER BY o.id LIMIT ?";
+
+    private static final String DELETE_SQL = "DELETE FROM property_outbox WHERE id = ?";
+
+    private static final String RETRY_SQL =
+        "UPDATE property_outbox SET attempts = attempts + 1, last_error = ?, " +
+        "available_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond') WHERE id = ?";
+
+    private static final RowMapper<OutboxEvent> EVENT_ROW_MAPPER = (rs, rowNum) -> new OutboxEvent(
+        rs.getLong("id"),
+        rs.getString("event_id"),
+        rs.getString("aggregate_id"),
+        rs.getLong("sequence_number"),
+        rs.getString("event_type"),
+        rs.getBytes("payload"),
+        rs.getString("content_encoding"),
+        rs.getInt("attempts"));
+
+    private static final long RETRY_BASE_DELAY_MS = 1_000;
+    private static final long RETRY_MAX_DELAY_MS = 300_000;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final String exchange;
+    private final String routingKey;
+    private final ThreadPoolExecutor dispatcher;
+    private final Counter published;
+    private final Counter failed;
+    private final Timer batchTimer;
+
+    @Value("${property.outbox.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${property.outbox.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs = 5_000;
+
+    @Autowired
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       RabbitTemplate rabbitTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${property.outbox.exchange:}") String exchange,
+                       @Value("${property.outbox.routing-key:${rabbitmq.queue.property-events:property-events}}") String routingKey) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        // Wake-ups coalesce: at most one pass queued behind the one running
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+            runnable -> {
+                Thread thread = new Thread(runnable, "outbox-relay");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+        this.published = Counter.builder("property.outbox.published")
+            .description("Outbox events confirmed by the broker")
+            .register(meterRegistry);
+        this.failed = Counter.builder("property.outbox.publish.failures")
+            .description("Outbox events nacked, returned or unconfirmed, to be retried")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("property.outbox.batch.duration")
+            .description("Time to publish one outbox batch and collect its confirms")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Run a relay pass on the relay thread without waiting for the next poll
+     */
+    public void wakeUp() {
+        dispatcher.execute(this::relay);
+    }
+
+    /**
+     * Publish batches until the outbox is drained or a batch has failures
+     */
+    @Scheduled(fixedDelayString = "${property.outbox.poll-interval-ms:1000}")
+    public synchronized void relay() {
+        try {
+            Boolean more;
+            do {
+                more = transactionTemplate.execute(status -> relayBatch());
+            } while (Boolean.TRUE.equals(more));
+
+        } catch (Exception e) {
+            log.error("Failed to relay outbox events: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * One pass, inside a transaction that holds the relay lock.
+     * Returns whether a full batch went out cleanly, so another may be waiting.
+     */
+    boolean relayBatch() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class, RELAY_LOCK_KEY))) {
+            return false;
+        }
+        List<OutboxEvent> events = jdbcTemplate.query(CLAIM_SQL, EVENT_ROW_MAPPER, batchSize);
+        if (events.isEmpty()) {
+            return false;
+        }
+
+        Timer.Sample sample = Timer.start();
+        Map<String, Deque<OutboxEvent>> unsent = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            unsent.computeIfAbsent(event.aggregateId(), id -> new ArrayDeque<>()).add(event);
+        }
+
+        List<Object[]> delivered = new ArrayList<>(events.size());
+        int held = 0;
+        String sendError = null;
+        while (!unsent.isEmpty()) {
+            // One event per property per round, so a property's next event waits for this one's confirm
+            List<OutboxEvent> round = new ArrayList<>(unsent.size());
+            List<CorrelationData> correlations = new ArrayList<>(unsent.size());
+            for (Deque<OutboxEvent> propertyEvents : unsent.values()) {
+                OutboxEvent event = propertyEvents.peekFirst();
+                round.add(event);
+                if (sendError != null) {
+                    continue;
+                }
+                CorrelationData correlation = new CorrelationData(event.eventId());
+                try {
+                    rabbitTemplate.send(exchange, routingKey, toMessage(event), correlation);
+                    correlations.add(correlation);
+                } catch (AmqpException e) {
+                    // Usually the connection; the rest of the batch would fail the same way
+                    sendError = e.getMessage();
+                }
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+            for (int i = 0; i < round.size(); i++) {
+                OutboxEvent event = round.get(i);
+                String error = i < correlations.size() ? awaitConfirm(correlations.get(i), deadline) : sendError;
+                if (error == null) {
+                    delivered.add(new Object[]{event.id()});
+                    Deque<OutboxEvent> propertyEvents = unsent.get(event.aggregateId());
+                    propertyEvents.removeFirst();
+                    if (propertyEvents.isEmpty()) {
+                        unsent.remove(event.aggregateId());
+                    }
+                    continue;
+                }
+                // The property's later events stay unsent in the outbox behind this one
+                unsent.remove(event.aggregateId());
+                held++;
+                long delayMs = retryDelayMs(event.attempts());
+                log.warn("Outbox event {} ({} #{} of property {}) not published, retrying in {} ms: {}",
+                    event.eventId(), event.eventType(), event.sequence(), event.aggregateId(), delayMs, error);
+                jdbcTemplate.update(RETRY_SQL, truncate(error), delayMs, event.id());
+                failed.increment();
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, delivered);
+            published.increment(delivered.size());
+        }
+        sample.stop(batchTimer);
+        log.debug("Relayed {} of {} outbox events", delivered.size(), events.size());
+        return held == 0 && events.size() == batchSize;
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(event.eventId());
+        properties.setType(event.eventType());
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        if (event.contentEncoding() != null) {
+            properties.setContentEncoding(event.contentEncoding());
+        }
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setHeader(AGGREGATE_ID_HEADER, event.aggregateId());
+        properties.setHeader(SEQUENCE_HEADER, event.sequence());
+        return new Message(event.payload(), properties);
+    }
+
+    private String awaitConfirm(CorrelationData correlation, long deadlineNanos) {
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                .get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                return "Nacked by broker: " + confirm.getReason();
+            }
+            if (correlation.getReturned() != null) {
+                return "Returned as unroutable: " + correlation.getReturned().getReplyText();
+            }
+            return null;
+
+        } catch (TimeoutException e) {
+            return "No publisher confirm within " + confirmTimeoutMs + " ms";
+        } catch (ExecutionException e) {
+            return e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted waiting for publisher confirm";
+        }
+    }
+
+    private static long retryDelayMs(int attempts) {
+        return Math.min(RETRY_MAX_DELAY_MS, RETRY_BASE_DELAY_MS << Math.min(attempts, 20));
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    record OutboxEvent(long id, String eventId, String aggregateId, long sequence, String eventType,
+                       byte[] payload, String contentEncoding, int attempts) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.landlord.property.outbox;
+
+/**
+ * Domain events published on the property-events queue. Every event is keyed by its property,
+ * so unit and image events are ordered together with the property they belong to.
+ */
+public enum PropertyEventType {
+    PROPERTY_CREATED,
+    PROPERTY_UPDATED,
+    PROPERTY_STATUS_CHANGED,
+    PROPERTY_RENT_CHANGED,
+    PROPERTY_DELETED,
+    PROPERTY_RESTORED,
+    UNIT_RENTED,
+    UNIT_DELETED,
+    IMAGE_ADDED,
+    IMAGE_DELETED
+}
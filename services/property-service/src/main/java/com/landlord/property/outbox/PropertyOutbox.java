@@ -0,0 +1,133 @@
+package com.landlord.property.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.landlord.property.exception.DatabaseException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes domain events to property_outbox in the caller's transaction, so an event exists
+ * exactly when the change it describes commits. Each property has its own sequence; taking the
+ * next number locks the property's sequence row until commit, so sequence order is commit order.
+ * Payloads above {@code compress-threshold-bytes} are stored and published gzipped.
+ */
+@Component
+public class PropertyOutbox {
+
+    static final String GZIP = "gzip";
+
+    private static final String INSERT_SQL =
+        "WITH seq AS (INSERT INTO property_outbox_sequences (aggregate_id, last_sequence) VALUES (?, 1) " +
+        "ON CONFLICT (aggregate_id) DO UPDATE SET last_sequence = property_outbox_sequences.last_sequence + 1 " +
+        "RETURNING last_sequence) " +
+        "INSERT INTO property_outbox (event_id, aggregate_id, sequence_number, event_type, payload, content_encoding, " +
+        "attempts, available_at, created_at) " +
+        "SELECT ?, ?, last_sequence, ?, ?, ?, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay outboxRelay;
+
+    @Value("${property.outbox.compress-threshold-bytes:1024}")
+    private int compressThresholdBytes = 1024;
+
+    @Autowired
+    public PropertyOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, OutboxRelay outboxRelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.outboxRelay = outboxRelay;
+    }
+
+    /**
+     * Record an event for a property. Must run inside the transaction making the change;
+     * the relay is woken once it commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(PropertyEventType type, String propertyId, String ownerId, Map<String, Object> data) {
+        jdbcTemplate.update(INSERT_SQL, insertArgs(type, propertyId, ownerId, data));
+        wakeRelayAfterCommit();
+    }
+
+    /**
+     * Record many events in a single batch; events of the same property keep their list order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(PropertyEventType type, String ownerId, List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(events.size());
+        for (Event event : events) {
+            args.add(insertArgs(type, event.propertyId(), ownerId, event.data()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+        wakeRelayAfterCommit();
+    }
+
+    private Object[] insertArgs(PropertyEventType type, String propertyId, String ownerId, Map<String, Object> data) {
+        String eventId = UUID.randomUUID().toString();
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("eventId", eventId);
+        envelope.put("type", type.name());
+        envelope.put("propertyId", propertyId);
+        envelope.put("ownerId", ownerId);
+        envelope.put("occurredAt", Instant.now().toString());
+        envelope.put("data", data);
+
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(envelope);
+        } catch (JsonProcessingException e) {
+            throw new DatabaseException("Failed to serialize " + type + " event: " + e.getMessage(), e);
+        }
+        String encoding = null;
+        if (payload.length >= compressThresholdBytes) {
+            payload = gzip(payload);
+            encoding = GZIP;
+        }
+
+        return new Object[]{propertyId, eventId, propertyId, type.name(), payload, encoding};
+    }
+
+    private void wakeRelayAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxRelay.wakeUp();
+                }
+            });
+        }
+    }
+
+    static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public record Event(String propertyId, Map<String, Object> data) {
+    }
+}
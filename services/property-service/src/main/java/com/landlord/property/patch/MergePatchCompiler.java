@@ -0,0 +1,221 @@
+package com.landlord.property.patch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.landlord.property.exception.InvalidPropertyDataException;
+import com.landlord.property.exporter.ExportColumns;
+import jakarta.persistence.Column;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.lang.reflect.Field;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles a JSON merge patch (RFC 7396) into the SET list of an UPDATE that names only the columns
+ * the patch touches. A member set to null clears its column; a nested object patches the embedded
+ * fields it names. The update DTO decides which fields are patchable and how they are validated;
+ * the entity mapping decides the column and whether it may be cleared.
+ *
+ * An object patched into a JSON column is merged into the stored object one level deep, dropping
+ * keys set to null. Anything else replaces the stored value.
+ */
+public class MergePatchCompiler {
+
+    /**
+     * SET list and its arguments in patch order, plus the typed value written for each field path
+     */
+    public record CompiledPatch(List<String> paths, String assignments, List<Object> args, Map<String, Object> values) {
+
+        public boolean touches(String path) {
+            return values.containsKey(path);
+        }
+
+        public boolean touchesAny(Collection<String> candidates) {
+            return candidates.stream().anyMatch(values::containsKey);
+        }
+
+        public Object value(String path) {
+            return values.get(path);
+        }
+    }
+
+    private record Target(String path, String column, boolean json, boolean nullable,
+                          Class<?> beanType, String property, Class<?> type) {
+    }
+
+    private final String alias;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Target> targets = new LinkedHashMap<>();
+    private final Set<String> columnPaths = new HashSet<>();
+    private final Set<String> embeddedPaths = new HashSet<>();
+
+    /**
+     * @param alias alias of the updated table in the statement the assignments go into
+     */
+    public MergePatchCompiler(Class<?> entity, Class<?> dto, String alias, Validator validator, ObjectMapper objectMapper) {
+        this.alias = alias;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        for (ExportColumns.ExportColumn column : ExportColumns.of(entity, Set.of())) {
+            String path = column.path();
+            columnPaths.add(path);
+            for (int dot = path.indexOf('.'); dot > 0; dot = path.indexOf('.', dot + 1)) {
+                embeddedPaths.add(path.substring(0, dot));
+            }
+            Field entityField = field(entity, path);
+            Field dtoField = field(dto, path);
+            if (entityField == null || dtoField == null) {
+                continue;
+            }
+            Column mapping = entityField.getAnnotation(Column.class);
+            targets.put(path, new Target(path, column.name(), column.json(), mapping == null || mapping.nullable(),
+                dtoField.getDeclaringClass(), dtoField.getName(), dtoField.getType()));
+        }
+    }
+
+    /**
+     * Compile the patch; throws InvalidPropertyDataException naming the first field that is unknown,
+     * read-only, required or invalid
+     */
+    public CompiledPatch compile(Map<String, Object> patch) {
+        if (patch == null || patch.isEmpty()) {
+            throw new InvalidPropertyDataException("Patch contains no fields");
+        }
+        List<String> assignments = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        Map<String, Object> values = new LinkedHashMap<>();
+        collect(patch, "", assignments, args, values);
+        return new CompiledPatch(List.copyOf(values.keySet()), String.join(", ", assignments), args, values);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collect(Map<String, Object> patch, String prefix,
+                         List<String> assignments, List<Object> args, Map<String, Object> values) {
+        for (Map.Entry<String, Object> member : patch.entrySet()) {
+            String path = prefix + member.getKey();
+            Object value = member.getValue();
+            Target target = targets.get(path);
+
+            if (target == null && embeddedPaths.contains(path)) {
+                if (!(value instanceof Map)) {
+                    throw new InvalidPropertyDataException("Field must be an object: " + path);
+                }
+                collect((Map<String, Object>) value, path + ".", assignments, args, values);
+                continue;
+            }
+            if (target == null) {
+                throw new InvalidPropertyDataException(
+                    (columnPaths.contains(path) ? "Field cannot be patched: " : "Unknown field: ") + path);
+            }
+            if (value == null && !target.nullable()) {
+                throw new InvalidPropertyDataException("Field cannot be removed: " + path);
+            }
+
+            if (target.json()) {
+                assignments.add(jsonAssignment(target, value));
+                args.add(jsonText(target, value));
+                values.put(path, value);
+            } else {
+                Object typed = convert(target, value);
+                validate(target, typed);
+                assignments.add(target.column() + " = ?");
+                args.add(bindValue(typed));
+                values.put(path, typed);
+            }
+        }
+    }
+
+    private String jsonAssignment(Target target, Object value) {
+        String column = target.column();
+        if (!(value instanceof Map)) {
+            return column + " = CAST(? AS jsonb)";
+        }
+        String stored = alias + "." + column;
+        return column + " = (SELECT jsonb_object_agg(e.key, e.value) FROM jsonb_each(" +
+            "CASE WHEN jsonb_typeof(" + stored + ") = 'object' THEN " + stored + " ELSE CAST('{}' AS jsonb) END" +
+            " || CAST(? AS jsonb)) e WHERE e.value <> CAST('null' AS jsonb))";
+    }
+
+    // JSON text for a jsonb column; string fields of the DTO already hold JSON text
+    private String jsonText(Target target, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (Map.class.isAssignableFrom(target.type()) && !(value instanceof Map)) {
+            throw new InvalidPropertyDataException("Field must be an object: " + target.path());
+        }
+        try {
+            if (value instanceof String text && target.type() == String.class) {
+                objectMapper.readTree(text);
+                return text;
+            }
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new InvalidPropertyDataException("Field must be valid JSON: " + target.path(), e);
+        }
+    }
+
+    private Object convert(Target target, Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.convertValue(value, target.type());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPropertyDataException("Invalid value for field: " + target.path(), e);
+        }
+    }
+
+    private void validate(Target target, Object value) {
+        Set<? extends ConstraintViolation<?>> violations =
+            validator.validateValue(target.beanType(), target.property(), value);
+        if (!violations.isEmpty()) {
+            throw new InvalidPropertyDataException(target.path() + ": " + violations.iterator().next().getMessage());
+        }
+    }
+
+    private static Object bindValue(Object value) {
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return Timestamp.valueOf(dateTime);
+        }
+        return value;
+    }
+
+    // Field at a dotted path, following each segment's declared type; null when any segment is missing
+    private static Field field(Class<?> root, String path) {
+        Class<?> type = root;
+        Field field = null;
+        for (String segment : path.split("\\.")) {
+            field = declaredField(type, segment);
+            if (field == null) {
+                return null;
+            }
+            type = field.getType();
+        }
+        return field;
+    }
+
+    private static Field declaredField(Class<?> type, String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                // keep looking in the superclass
+            }
+        }
+        return null;
+    }
+}
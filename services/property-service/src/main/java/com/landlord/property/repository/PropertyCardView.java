@@ -0,0 +1,25 @@
+package com.landlord.property.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Interface projection of the columns a listing card shows, read together with the primary image
+ * in one joined query. createdAt is only selected to encode the next keyset cursor.
+ */
+public interface PropertyCardView {
+
+    String getId();
+
+    String getName();
+
+    BigDecimal getMonthlyRent();
+
+    String getCity();
+
+    Integer getBedrooms();
+
+    String getThumbnailUrl();
+
+    LocalDateTime getCreatedAt();
+}
@@ -3,6 +3,7 @@ package com.landlord.property.repository;
 import com.landlord.property.model.PropertyImage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -10,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +23,12 @@ public interface PropertyImageRepository extends JpaRepository<PropertyImage, St
      */
     List<PropertyImage> findByPropertyIdAndDeletedAtIsNull(String propertyId);
 
+    /**
+     * Find all images for a batch of properties (page hydration)
+     */
+    @Query("SELECT pi FROM PropertyImage pi WHERE pi.propertyId IN (:propertyIds) AND pi.deletedAt IS NULL ORDER BY pi.propertyId, pi.displayOrder ASC, pi.createdAt ASC")
+    List<PropertyImage> findByPropertyIdInOrderByDisplayOrder(@Param("propertyIds") Collection<String> propertyIds);
+
     /**
      * Find images for a specific unit
      */
@@ -44,6 +52,12 @@ public interface PropertyImageRepository extends JpaRepository<PropertyImage, St
     @Query("SELECT pi FROM PropertyImage pi WHERE pi.unitId = :unitId AND pi.isPrimary = true AND pi.deletedAt IS NULL")
     Optional<PropertyImage> findPrimaryByUnitId(@Param("unitId") String unitId);
 
+    /**
+     * Find primary images for a batch of units (unit listing)
+     */
+    @Query("SELECT pi FROM PropertyImage pi WHERE pi.unitId IN (:unitIds) AND pi.isPrimary = true AND pi.deletedAt IS NULL")
+    List<PropertyImage> findPrimaryByUnitIdIn(@Param("unitIds") Collection<String> unitIds);
+
     /**
      * Find images by type
      */
@@ -74,6 +88,17 @@ public interface PropertyImageRepository extends JpaRepository<PropertyImage, St
     @Query("SELECT COALESCE(MAX(pi.displayOrder), 0) + 1 FROM PropertyImage pi WHERE pi.propertyId = :propertyId AND pi.deletedAt IS NULL")
     Integer getNextDisplayOrder(@Param("propertyId") String propertyId);
 
+    /**
+     * Lock the property row and get its next display order. The lock is held until the calling
+     * transaction ends, so concurrent uploads to the same property take consecutive orders.
+     * Empty when the property does not exist or is deleted.
+     */
+    @Query(value = "WITH locked AS (SELECT id FROM properties WHERE id = :propertyId AND deleted_at IS NULL FOR UPDATE) " +
+        "SELECT COALESCE(MAX(pi.display_order), 0) + 1 FROM locked " +
+        "LEFT JOIN property_images pi ON pi.property_id = locked.id AND pi.deleted_at IS NULL GROUP BY locked.id",
+        nativeQuery = true)
+    Optional<Integer> lockNextDisplayOrder(@Param("propertyId") String propertyId);
+
     /**
      * Get next display order for unit
      */
@@ -171,7 +196,7 @@ public interface PropertyImageRepository extends JpaRepository<PropertyImage, St
      * Find images requiring thumbnail generation
      */
     @Query("SELECT pi FROM PropertyImage pi WHERE pi.thumbnailUrl IS NULL AND pi.deletedAt IS NULL")
-    List<PropertyImage> findImagesMissingThumbnails();
+    Slice<PropertyImage> findImagesMissingThumbnails(Pageable pageable);
 
     /**
      * Reorder images for property
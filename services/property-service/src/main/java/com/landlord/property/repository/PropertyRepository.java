@@ -3,17 +3,32 @@ package com.landlord.property.repository;
 import com.landlord.property.model.Property;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, String> {
+public interface PropertyRepository extends JpaRepository<Property, String>, PropertySearchRepository {
+
+    /**
+     * Card columns joined to at most one image: the property's own primary image, not a unit's, and
+     * the lowest displayOrder then id if several are flagged primary. Falls back to the full image
+     * when it has no thumbnail.
+     */
+    String CARD_SELECT = "SELECT p.id AS id, p.name AS name, p.monthlyRent AS monthlyRent, " +
+           "p.address.city AS city, p.details.bedrooms AS bedrooms, " +
+           "COALESCE(pi.thumbnailUrl, pi.imageUrl) AS thumbnailUrl, p.createdAt AS createdAt " +
+           "FROM Property p LEFT JOIN PropertyImage pi ON pi.id = (" +
+           "SELECT pi2.id FROM PropertyImage pi2 WHERE pi2.propertyId = p.id AND pi2.unitId IS NULL " +
+           "AND pi2.isPrimary = true AND pi2.deletedAt IS NULL " +
+           "ORDER BY pi2.displayOrder, pi2.id LIMIT 1) ";
 
     /**
      * Find all properties for a specific owner
@@ -99,31 +114,54 @@ public interface PropertyRepository extends JpaRepository<Property, String> {
     Page<Property> findByAvailableFromAfter(@Param("date") java.time.LocalDateTime date, Pageable pageable);
 
     /**
-     * Advanced search with multiple criteria
+     * Keyset page of owner properties (first page), newest first
      */
-    @Query("SELECT p FROM Property p WHERE " +
-           "(:ownerId IS NULL OR p.ownerId = :ownerId) AND " +
-           "(:status IS NULL OR p.status = :status) AND " +
-           "(:propertyType IS NULL OR p.propertyType = :propertyType) AND " +
-           "(:city IS NULL OR LOWER(p.address.city) LIKE LOWER(CONCAT('%', :city, '%'))) AND " +
-           "(:state IS NULL OR p.address.state = :state) AND " +
-           "(:minRent IS NULL OR p.monthlyRent >= :minRent) AND " +
-           "(:maxRent IS NULL OR p.monthlyRent <= :maxRent) AND " +
-           "(:bedrooms IS NULL OR p.details.bedrooms = :bedrooms) AND " +
-           "(:bathrooms IS NULL OR p.details.bathrooms = :bathrooms) AND " +
-           "(:keyword IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
-           "p.deletedAt IS NULL")
-    Page<Property> advancedSearch(
+    @Query("SELECT p FROM Property p WHERE p.ownerId = :ownerId AND p.deletedAt IS NULL " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Property> findOwnerSlice(@Param("ownerId") String ownerId, Pageable pageable);
+
+    /**
+     * Keyset page of owner properties seeking past the (createdAt, id) of the previous page's last row
+     */
+    @Query("SELECT p FROM Property p WHERE p.ownerId = :ownerId AND p.deletedAt IS NULL AND " +
+           "(p.createdAt, p.id) < (:createdAt, :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Property> findOwnerSliceAfter(
+            @Param("ownerId") String ownerId,
+            @Param("createdAt") java.time.LocalDateTime createdAt,
+            @Param("id") String id,
+            Pageable pageable);
+
+    /**
+     * Cards for the given ids in one query, in no particular order
+     */
+    @Query(CARD_SELECT + "WHERE p.id IN (:ids)")
+    List<PropertyCardView> findCardsByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * Page of owner property cards
+     */
+    @Query(value = CARD_SELECT + "WHERE p.ownerId = :ownerId AND p.deletedAt IS NULL",
+           countQuery = "SELECT COUNT(p) FROM Property p WHERE p.ownerId = :ownerId AND p.deletedAt IS NULL")
+    Page<PropertyCardView> findCardsByOwnerId(@Param("ownerId") String ownerId, Pageable pageable);
+
+    /**
+     * Keyset page of owner property cards (first page), newest first
+     */
+    @Query(CARD_SELECT + "WHERE p.ownerId = :ownerId AND p.deletedAt IS NULL " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PropertyCardView> findOwnerCardSlice(@Param("ownerId") String ownerId, Pageable pageable);
+
+    /**
+     * Keyset page of owner property cards seeking past the (createdAt, id) of the previous page's last row
+     */
+    @Query(CARD_SELECT + "WHERE p.ownerId = :ownerId AND p.deletedAt IS NULL AND " +
+           "(p.createdAt, p.id) < (:createdAt, :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PropertyCardView> findOwnerCardSliceAfter(
             @Param("ownerId") String ownerId,
-            @Param("status") Property.PropertyStatus status,
-            @Param("propertyType") Property.PropertyType propertyType,
-            @Param("city") String city,
-            @Param("state") String state,
-            @Param("minRent") Double minRent,
-            @Param("maxRent") Double maxRent,
-            @Param("bedrooms") Integer bedrooms,
-            @Param("bathrooms") Double bathrooms,
-            @Param("keyword") String keyword,
+            @Param("createdAt") java.time.LocalDateTime createdAt,
+            @Param("id") String id,
             Pageable pageable);
 
     /**
@@ -0,0 +1,40 @@
+package com.landlord.property.repository;
+
+import com.landlord.property.dto.PropertySearchCriteriaDto;
+import com.landlord.property.util.GeoHash;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Search queries built from only the criteria actually supplied (see PropertyCriteriaCompiler).
+ * Methods return property ids; callers load and hydrate the page they need.
+ */
+public interface PropertySearchRepository {
+
+    /**
+     * One page of matching ids in the pageable's sort order, with the total match count
+     */
+    Page<String> searchIds(PropertySearchCriteriaDto criteria, Pageable pageable);
+
+    /**
+     * Keyset page of matching ids, newest first, seeking past (createdAt, id); a null cursor returns the first page
+     */
+    Slice<String> searchIdsAfter(PropertySearchCriteriaDto criteria, LocalDateTime cursorCreatedAt, String cursorId, int limit);
+
+    /**
+     * Subset of the given ids (keyword index matches) that pass the non-keyword filters
+     */
+    List<String> filterIds(PropertySearchCriteriaDto criteria, Collection<String> ids);
+
+    /**
+     * Proximity candidates as (id, latitude, longitude) rows: geohash cell prefilter plus bounding box
+     * with the other filters applied. Exact distance is computed by the caller.
+     */
+    List<Object[]> findNearbyCandidates(PropertySearchCriteriaDto criteria, boolean includeKeyword,
+                                        List<String> cells, GeoHash.BoundingBox box);
+}
@@ -0,0 +1,122 @@
+package com.landlord.property.repository;
+
+import com.landlord.property.dto.PropertySearchCriteriaDto;
+import com.landlord.property.search.PropertyCriteriaCompiler;
+import com.landlord.property.search.PropertyCriteriaCompiler.CompiledCriteria;
+import com.landlord.property.util.GeoHash;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC implementation of PropertySearchRepository; picked up by Spring Data as a fragment of PropertyRepository
+ */
+public class PropertySearchRepositoryImpl implements PropertySearchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PropertyCriteriaCompiler criteriaCompiler;
+
+    @Autowired
+    public PropertySearchRepositoryImpl(JdbcTemplate jdbcTemplate, PropertyCriteriaCompiler criteriaCompiler) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.criteriaCompiler = criteriaCompiler;
+    }
+
+    @Override
+    public Page<String> searchIds(PropertySearchCriteriaDto criteria, Pageable pageable) {
+        CompiledCriteria compiled = criteriaCompiler.compile(criteria, true);
+
+        List<Object> args = new ArrayList<>(compiled.args());
+        args.add(pageable.getPageSize());
+        args.add(pageable.getOffset());
+        List<String> ids = jdbcTemplate.queryForList(
+            "SELECT p.id FROM properties p WHERE " + compiled.where() +
+                criteriaCompiler.orderBy(pageable.getSort()) + " LIMIT ? OFFSET ?",
+            String.class, args.toArray());
+
+        return PageableExecutionUtils.getPage(ids, pageable, () -> jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM properties p WHERE " + compiled.where(), Long.class, compiled.argsArray()));
+    }
+
+    @Override
+    public Slice<String> searchIdsAfter(PropertySearchCriteriaDto criteria, LocalDateTime cursorCreatedAt,
+                                        String cursorId, int limit) {
+        CompiledCriteria compiled = criteriaCompiler.compile(criteria, true);
+
+        StringBuilder sql = new StringBuilder("SELECT p.id FROM properties p WHERE ").append(compiled.where());
+        List<Object> args = new ArrayList<>(compiled.args());
+        if (cursorCreatedAt != null) {
+            sql.append(" AND (p.created_at, p.id) < (?, ?)");
+            args.add(Timestamp.valueOf(cursorCreatedAt));
+            args.add(cursorId);
+        }
+        sql.append(" ORDER BY p.created_at DESC, p.id DESC LIMIT ?");
+        // One extra row tells us whether another slice exists without a COUNT
+        args.add(limit + 1);
+
+        List<String> ids = jdbcTemplate.queryForList(sql.toString(), String.class, args.toArray());
+        boolean hasNext = ids.size() > limit;
+        return new SliceImpl<>(hasNext ? ids.subList(0, limit) : ids, Pageable.ofSize(limit), hasNext);
+    }
+
+    @Override
+    public List<String> filterIds(PropertySearchCriteriaDto criteria, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CompiledCriteria compiled = criteriaCompiler.compile(criteria, false);
+        String sql = "SELECT p.id FROM properties p WHERE p.id = ANY(?) AND " + compiled.where();
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("varchar", ids.toArray()));
+            int index = 2;
+            for (Object arg : compiled.args()) {
+                statement.setObject(index++, arg);
+            }
+            return statement;
+        }, (rs, rowNum) -> rs.getString(1));
+    }
+
+    @Override
+    public List<Object[]> findNearbyCandidates(PropertySearchCriteriaDto criteria, boolean includeKeyword,
+                                               List<String> cells, GeoHash.BoundingBox box) {
+        CompiledCriteria compiled = criteriaCompiler.compile(criteria, includeKeyword);
+
+        StringBuilder sql = new StringBuilder("SELECT p.id, p.latitude, p.longitude FROM properties p WHERE ");
+        List<Object> args = new ArrayList<>();
+        if (!cells.isEmpty()) {
+            sql.append("(");
+            for (int i = 0; i < cells.size(); i++) {
+                sql.append(i == 0 ? "" : " OR ").append("p.geohash LIKE ?");
+                args.add(cells.get(i) + "%");
+            }
+            sql.append(") AND ");
+        }
+        sql.append("p.latitude BETWEEN ? AND ?");
+        args.add(box.minLat());
+        args.add(box.maxLat());
+        if (box.minLng() != null) {
+            sql.append(" AND p.longitude BETWEEN ? AND ?");
+            args.add(box.minLng());
+            args.add(box.maxLng());
+        }
+        sql.append(" AND ").append(compiled.where());
+        args.addAll(compiled.args());
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new Object[] {
+            rs.getString(1), rs.getDouble(2), rs.getDouble(3)
+        }, args.toArray());
+    }
+}
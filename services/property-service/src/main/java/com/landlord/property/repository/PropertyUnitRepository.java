@@ -8,18 +8,24 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface PropertyUnitRepository extends JpaRepository<PropertyUnit, String> {
+public interface PropertyUnitRepository extends JpaRepository<PropertyUnit, String>, PropertyUnitSearchRepository {
 
     /**
      * Find all units for a specific property
      */
     List<PropertyUnit> findByPropertyIdAndDeletedAtIsNull(String propertyId);
 
+    /**
+     * Find all units for a batch of properties (page hydration)
+     */
+    List<PropertyUnit> findByPropertyIdInAndDeletedAtIsNull(Collection<String> propertyIds);
+
     /**
      * Find units by status
      */
@@ -176,6 +182,17 @@ public interface PropertyUnitRepository extends JpaRepository<PropertyUnit, Stri
            "FROM PropertyUnit pu WHERE pu.propertyId = :propertyId AND pu.deletedAt IS NULL")
     Double getOccupancyRateByPropertyId(@Param("propertyId") String propertyId);
 
+    /**
+     * Get occupancy rate and rented revenue for a batch of properties.
+     * Each row is [propertyId, occupancyRate, totalMonthlyRevenue]; properties without units are absent.
+     */
+    @Query("SELECT pu.propertyId, " +
+           "COUNT(CASE WHEN pu.status = 'RENTED' THEN 1 END) * 100.0 / COUNT(pu), " +
+           "COALESCE(SUM(CASE WHEN pu.status = 'RENTED' THEN pu.monthlyRent ELSE 0 END), 0) " +
+           "FROM PropertyUnit pu WHERE pu.propertyId IN (:propertyIds) AND pu.deletedAt IS NULL " +
+           "GROUP BY pu.propertyId")
+    List<Object[]> getUnitAggregatesByPropertyIds(@Param("propertyIds") Collection<String> propertyIds);
+
     /**
      * Find units with specific appliance
      */
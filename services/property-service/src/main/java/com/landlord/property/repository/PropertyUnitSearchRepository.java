@@ -0,0 +1,18 @@
+package com.landlord.property.repository;
+
+import com.landlord.property.dto.UnitSearchCriteriaDto;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Unit listing queries built from only the criteria actually supplied. Methods return unit ids;
+ * callers load the page they need.
+ */
+public interface PropertyUnitSearchRepository {
+
+    /**
+     * Keyset page of a property's live unit ids ordered by (unitNumber, id), seeking past the cursor;
+     * a null cursor returns the first page
+     */
+    Slice<String> searchUnitIdsAfter(String propertyId, UnitSearchCriteriaDto criteria,
+                                     String cursorUnitNumber, String cursorId, int limit);
+}
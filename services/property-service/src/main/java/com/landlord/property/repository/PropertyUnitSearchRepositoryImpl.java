@@ -0,0 +1,82 @@
+package com.landlord.property.repository;
+
+import com.landlord.property.dto.UnitSearchCriteriaDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC implementation of PropertyUnitSearchRepository; picked up by Spring Data as a fragment of PropertyUnitRepository
+ */
+public class PropertyUnitSearchRepositoryImpl implements PropertyUnitSearchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PropertyUnitSearchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Slice<String> searchUnitIdsAfter(String propertyId, UnitSearchCriteriaDto criteria,
+                                            String cursorUnitNumber, String cursorId, int limit) {
+        StringBuilder sql = new StringBuilder(
+            "SELECT u.id FROM property_units u WHERE u.property_id = ? AND u.deleted_at IS NULL");
+        List<Object> args = new ArrayList<>();
+        args.add(propertyId);
+
+        if (criteria.getStatus() != null) {
+            sql.append(" AND u.status = ?");
+            args.add(criteria.getStatus().name());
+        }
+        if (criteria.getMinBedrooms() != null) {
+            sql.append(" AND u.bedrooms >= ?");
+            args.add(criteria.getMinBedrooms());
+        }
+        if (criteria.getMaxBedrooms() != null) {
+            sql.append(" AND u.bedrooms <= ?");
+            args.add(criteria.getMaxBedrooms());
+        }
+        if (criteria.getMinRent() != null) {
+            sql.append(" AND u.monthly_rent >= ?");
+            args.add(criteria.getMinRent());
+        }
+        if (criteria.getMaxRent() != null) {
+            sql.append(" AND u.monthly_rent <= ?");
+            args.add(criteria.getMaxRent());
+        }
+        if (criteria.getFloor() != null) {
+            sql.append(" AND u.floor_number = ?");
+            args.add(criteria.getFloor());
+        }
+        if (criteria.getAvailable() != null) {
+            sql.append(" AND u.is_available = ?");
+            args.add(criteria.getAvailable());
+        }
+        if (criteria.getAvailableBy() != null) {
+            sql.append(" AND (u.available_from IS NULL OR u.available_from < ?)");
+            args.add(Timestamp.valueOf(criteria.getAvailableBy().plusDays(1).atStartOfDay()));
+        }
+
+        // Row comparison seeks straight into the (property_id, unit_number, id) index, so every page
+        // costs the same however deep it is
+        if (cursorUnitNumber != null) {
+            sql.append(" AND (u.unit_number, u.id) > (?, ?)");
+            args.add(cursorUnitNumber);
+            args.add(cursorId);
+        }
+        sql.append(" ORDER BY u.unit_number, u.id LIMIT ?");
+        // One extra row tells us whether another slice exists without a COUNT
+        args.add(limit + 1);
+
+        List<String> ids = jdbcTemplate.queryForList(sql.toString(), String.class, args.toArray());
+        boolean hasNext = ids.size() > limit;
+        return new SliceImpl<>(hasNext ? ids.subList(0, limit) : ids, Pageable.ofSize(limit), hasNext);
+    }
+}
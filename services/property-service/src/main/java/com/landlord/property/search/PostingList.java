@@ -0,0 +1,148 @@
+package com.landlord.property.search;
+
+import java.util.Arrays;
+
+/**
+ * Immutable sorted set of document ids stored as delta-encoded varints.
+ * Dense posting lists take one or two bytes per entry instead of four.
+ * Appends write into spare capacity of a buffer shared with the list they extend, so adding ids one at
+ * a time costs amortized O(1) bytes copied. Not safe for concurrent {@code with} calls; callers serialize writes.
+ */
+public final class PostingList {
+
+    private static final int MAX_VARINT_BYTES = 5;
+
+    public static final PostingList EMPTY = new PostingList(new Buffer(new byte[0], 0), 0, 0, -1);
+
+    private final Buffer buffer;
+    private final int length;
+    private final int size;
+    private final int last;
+
+    private PostingList(Buffer buffer, int length, int size, int last) {
+        this.buffer = buffer;
+        this.length = length;
+        this.size = size;
+        this.last = last;
+    }
+
+    /**
+     * Encode a strictly ascending array of document ids
+     */
+    public static PostingList of(int[] sortedDocIds, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        byte[] bytes = new byte[count * MAX_VARINT_BYTES];
+        int position = 0;
+        int previous = -1;
+        for (int i = 0; i < count; i++) {
+            position = writeVarint(bytes, position, sortedDocIds[i] - previous);
+            previous = sortedDocIds[i];
+        }
+        return new PostingList(new Buffer(Arrays.copyOf(bytes, position), position), position, count, previous);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copy with docId added; appending past the last id is the common case and avoids a re-encode
+     */
+    public PostingList with(int docId) {
+        if (docId > last) {
+            Buffer target = buffer;
+            // Write in place only at the end of the buffer and only if no other list has taken those bytes;
+            // otherwise move to a buffer of double the size so later appends find room again
+            if (target.used != length || target.bytes.length - length < MAX_VARINT_BYTES) {
+                target = new Buffer(Arrays.copyOf(buffer.bytes, Math.max(length * 2, length + MAX_VARINT_BYTES)), length);
+            }
+            int position = writeVarint(target.bytes, length, docId - last);
+            target.used = position;
+            return new PostingList(target, position, size + 1, docId);
+        }
+
+        int[] docIds = toArray();
+        int index = Arrays.binarySearch(docIds, docId);
+        if (index >= 0) {
+            return this;
+        }
+        int insertAt = -index - 1;
+        int[] updated = new int[docIds.length + 1];
+        System.arraycopy(docIds, 0, updated, 0, insertAt);
+        updated[insertAt] = docId;
+        System.arraycopy(docIds, insertAt, updated, insertAt + 1, docIds.length - insertAt);
+        return of(updated, updated.length);
+    }
+
+    /**
+     * Copy with docId removed
+     */
+    public PostingList without(int docId) {
+        if (docId > last) {
+            return this;
+        }
+        int[] docIds = toArray();
+        int index = Arrays.binarySearch(docIds, docId);
+        if (index < 0) {
+            return this;
+        }
+        int[] updated = new int[docIds.length - 1];
+        System.arraycopy(docIds, 0, updated, 0, index);
+        System.arraycopy(docIds, index + 1, updated, index, docIds.length - index - 1);
+        return of(updated, updated.length);
+    }
+
+    public int[] toArray() {
+        int[] docIds = new int[size];
+        int position = 0;
+        int previous = -1;
+        for (int i = 0; i < size; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.bytes[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            previous += delta;
+            docIds[i] = previous;
+        }
+        return docIds;
+    }
+
+    /**
+     * Encoded size in bytes
+     */
+    public int byteSize() {
+        return length;
+    }
+
+    /**
+     * Encoded bytes and how far into them a list has written; only the list ending at {@code used} may append
+     */
+    private static final class Buffer {
+        private final byte[] bytes;
+        private int used;
+
+        private Buffer(byte[] bytes, int used) {
+            this.bytes = bytes;
+            this.used = used;
+        }
+    }
+
+    private static int writeVarint(byte[] buffer, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+}
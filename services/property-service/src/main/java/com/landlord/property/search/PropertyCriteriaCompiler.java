@@ -0,0 +1,195 @@
+package com.landlord.property.search;
+
+import com.landlord.property.dto.PropertySearchCriteriaDto;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Compiles PropertySearchCriteriaDto into a SQL WHERE clause over the properties table (alias p)
+ * containing only the predicates actually supplied, so the planner can pick the matching index
+ * instead of seeing a catch-all of "(:x IS NULL OR ...)" clauses.
+ *
+ * The clause text depends only on which filters are set, so it is cached by filter bitmask:
+ * a given shape always produces the identical SQL string and the driver's prepared statement
+ * cache stays hot.
+ */
+@Component
+public class PropertyCriteriaCompiler {
+
+    /**
+     * Supported filters. Declaration order fixes both the bit and the predicate/parameter order.
+     * Filters with no placeholder are flags: present when the extractor returns a non-null value.
+     */
+    public enum Filter {
+        OWNER_ID("p.owner_id = ?", PropertySearchCriteriaDto::getOwnerId),
+        STATUS("p.status = ?", c -> c.getStatus() != null ? c.getStatus().name() : null),
+        PROPERTY_TYPE("p.property_type = ?", c -> c.getPropertyType() != null ? c.getPropertyType().name() : null),
+        CITY("LOWER(p.city) = LOWER(?)", PropertySearchCriteriaDto::getCity),
+        STATE("p.state = ?", PropertySearchCriteriaDto::getState),
+        ZIP_CODE("p.zip_code = ?", PropertySearchCriteriaDto::getZipCode),
+        MIN_RENT("p.monthly_rent >= ?", PropertySearchCriteriaDto::getMinRent),
+        MAX_RENT("p.monthly_rent <= ?", PropertySearchCriteriaDto::getMaxRent),
+        MIN_SECURITY_DEPOSIT("p.security_deposit >= ?", PropertySearchCriteriaDto::getMinSecurityDeposit),
+        MAX_SECURITY_DEPOSIT("p.security_deposit <= ?", PropertySearchCriteriaDto::getMaxSecurityDeposit),
+        MIN_BEDROOMS("p.bedrooms >= ?", PropertySearchCriteriaDto::getMinBedrooms),
+        MAX_BEDROOMS("p.bedrooms <= ?", PropertySearchCriteriaDto::getMaxBedrooms),
+        MIN_BATHROOMS("p.bathrooms >= ?", PropertySearchCriteriaDto::getMinBathrooms),
+        MAX_BATHROOMS("p.bathrooms <= ?", PropertySearchCriteriaDto::getMaxBathrooms),
+        MIN_SQFT("p.total_sqft >= ?", PropertySearchCriteriaDto::getMinSquareFootage),
+        MAX_SQFT("p.total_sqft <= ?", PropertySearchCriteriaDto::getMaxSquareFootage),
+        UTILITIES_INCLUDED("p.utilities_included = ?", PropertySearchCriteriaDto::getUtilitiesIncluded),
+        PET_FRIENDLY("p.pet_friendly = ?", PropertySearchCriteriaDto::getPetFriendly),
+        FURNISHED("p.furnished = ?", PropertySearchCriteriaDto::getFurnished),
+        PARKING_AVAILABLE("p.parking_available = ?",
+            c -> c.getParkingAvailable() != null ? c.getParkingAvailable() : c.getHasParking()),
+        SMOKE_FREE("p.smoke_free = ?", PropertySearchCriteriaDto::getSmokeFree),
+        IS_AVAILABLE("p.is_available = ?", PropertySearchCriteriaDto::getIsAvailable),
+        IS_FEATURED("p.is_featured = ?", PropertySearchCriteriaDto::getIsFeatured),
+        AVAILABLE_FROM("p.available_from >= ?", c -> startOfDay(c.getAvailableFrom())),
+        AVAILABLE_TO("p.available_from < ?", c -> startOfNextDay(c.getAvailableTo())),
+        CREATED_FROM("p.created_at >= ?", c -> startOfDay(c.getCreatedFrom())),
+        CREATED_TO("p.created_at < ?", c -> startOfNextDay(c.getCreatedTo())),
+        UPDATED_FROM("p.updated_at >= ?", c -> startOfDay(c.getUpdatedFrom())),
+        UPDATED_TO("p.updated_at < ?", c -> startOfNextDay(c.getUpdatedTo())),
+        MIN_CREDIT_SCORE("p.credit_score_minimum >= ?", PropertySearchCriteriaDto::getMinCreditScore),
+        MIN_INCOME_MULTIPLE("p.income_multiple >= ?", PropertySearchCriteriaDto::getMinIncomeMultiple),
+        MIN_LEASE_MONTHS("p.lease_min_months >= ?", PropertySearchCriteriaDto::getMinLeaseMonths),
+        MAX_LEASE_MONTHS("p.lease_max_months <= ?", PropertySearchCriteriaDto::getMaxLeaseMonths),
+        MIN_VIEW_COUNT("p.view_count >= ?", PropertySearchCriteriaDto::getMinViewCount),
+        MAX_VIEW_COUNT("p.view_count <= ?", PropertySearchCriteriaDto::getMaxViewCount),
+        HAS_SECURITY_DEPOSIT("p.security_deposit > 0", c -> flag(c.getHasSecurityDeposit(), true)),
+        NO_SECURITY_DEPOSIT("(p.security_deposit IS NULL OR p.security_deposit = 0)", c -> flag(c.getHasSecurityDeposit(), false)),
+        HAS_PET_DEPOSIT("p.pet_deposit > 0", c -> flag(c.getHasPetDeposit(), true)),
+        NO_PET_DEPOSIT("(p.pet_deposit IS NULL OR p.pet_deposit = 0)", c -> flag(c.getHasPetDeposit(), false)),
+        HAS_APPLICATION_FEE("p.application_fee > 0", c -> flag(c.getHasApplicationFee(), true)),
+        NO_APPLICATION_FEE("(p.application_fee IS NULL OR p.application_fee = 0)", c -> flag(c.getHasApplicationFee(), false)),
+        HAS_OUTDOOR_SPACE("p.outdoor_space IS NOT NULL", c -> flag(c.getHasOutdoorSpace(), true)),
+        NO_OUTDOOR_SPACE("p.outdoor_space IS NULL", c -> flag(c.getHasOutdoorSpace(), false)),
+        AIR_CONDITIONING("p.air_conditioning = ?", PropertySearchCriteriaDto::getAirConditioning),
+        HEATING_TYPE("p.heating_type = ?", PropertySearchCriteriaDto::getHeatingType),
+        COOLING_TYPE("p.cooling_type = ?", PropertySearchCriteriaDto::getCoolingType),
+        ENERGY_RATING("p.energy_efficiency_rating = ?", PropertySearchCriteriaDto::getEnergyEfficiencyRating),
+        HAS_IMAGES("EXISTS (SELECT 1 FROM property_images i WHERE i.property_id = p.id AND i.deleted_at IS NULL)",
+            c -> flag(c.getHasImages(), true)),
+        NO_IMAGES("NOT EXISTS (SELECT 1 FROM property_images i WHERE i.property_id = p.id AND i.deleted_at IS NULL)",
+            c -> flag(c.getHasImages(), false)),
+        // SQL fallback only; the keyword index handles this when it is ready
+        KEYWORD("(LOWER(p.name) LIKE ? OR LOWER(p.description) LIKE ?)",
+            c -> c.getSearchKeyword() != null && !c.getSearchKeyword().trim().isEmpty()
+                ? "%" + c.getSearchKeyword().trim().toLowerCase() + "%" : null);
+
+        private final String predicate;
+        private final Function<PropertySearchCriteriaDto, Object> extractor;
+        private final int placeholders;
+
+        Filter(String predicate, Function<PropertySearchCriteriaDto, Object> extractor) {
+            this.predicate = predicate;
+            this.extractor = extractor;
+            this.placeholders = (int) predicate.chars().filter(ch -> ch == '?').count();
+        }
+
+        public String getPredicate() {
+            return predicate;
+        }
+
+        long bit() {
+            return 1L << ordinal();
+        }
+    }
+
+    private static final Filter[] FILTERS = Filter.values();
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+        "createdAt", "p.created_at",
+        "updatedAt", "p.updated_at",
+        "monthlyRent", "p.monthly_rent",
+        "listingPrice", "p.listing_price",
+        "name", "p.name",
+        "viewCount", "p.view_count",
+        "availableFrom", "p.available_from");
+
+    private final Map<Long, String> whereByShape = new ConcurrentHashMap<>();
+
+    /**
+     * Compile the supplied filters. includeKeyword=false leaves keyword matching to the caller
+     * (keyword index); the deleted_at guard is always present.
+     */
+    public CompiledCriteria compile(PropertySearchCriteriaDto criteria, boolean includeKeyword) {
+        long shape = 0;
+        List<Object> args = new ArrayList<>();
+
+        for (Filter filter : FILTERS) {
+            if (filter == Filter.KEYWORD && !includeKeyword) {
+                continue;
+            }
+            Object value = filter.extractor.apply(criteria);
+            if (value == null) {
+                continue;
+            }
+            shape |= filter.bit();
+            for (int i = 0; i < filter.placeholders; i++) {
+                args.add(value);
+            }
+        }
+
+        String where = whereByShape.computeIfAbsent(shape, PropertyCriteriaCompiler::buildWhere);
+        return new CompiledCriteria(shape, where, args);
+    }
+
+    /**
+     * ORDER BY for a whitelisted sort field with id as tiebreaker; unknown fields sort by created_at
+     */
+    public String orderBy(Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.desc("createdAt"));
+        String column = SORT_COLUMNS.getOrDefault(order.getProperty(), "p.created_at");
+        String direction = order.isAscending() ? "ASC" : "DESC";
+        return " ORDER BY " + column + " " + direction + ", p.id " + direction;
+    }
+
+    /**
+     * Number of distinct filter combinations compiled so far
+     */
+    public int cachedShapes() {
+        return whereByShape.size();
+    }
+
+    private static String buildWhere(long shape) {
+        StringBuilder where = new StringBuilder("p.deleted_at IS NULL");
+        for (Filter filter : FILTERS) {
+            if ((shape & filter.bit()) != 0) {
+                where.append(" AND ").append(filter.predicate);
+            }
+        }
+        return where.toString();
+    }
+
+    private static Object flag(Boolean value, boolean expected) {
+        return value != null && value == expected ? Boolean.TRUE : null;
+    }
+
+    private static Timestamp startOfDay(LocalDate date) {
+        return date != null ? Timestamp.valueOf(date.atStartOfDay()) : null;
+    }
+
+    private static Timestamp startOfNextDay(LocalDate date) {
+        return date != null ? Timestamp.valueOf(date.plusDays(1).atStartOfDay()) : null;
+    }
+
+    /**
+     * WHERE clause text (without the keyword) plus positional arguments in placeholder order
+     */
+    public record CompiledCriteria(long shape, String where, List<Object> args) {
+
+        public Object[] argsArray() {
+            return args.toArray();
+        }
+    }
+}
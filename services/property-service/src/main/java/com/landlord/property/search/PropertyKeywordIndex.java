@@ -0,0 +1,491 @@
+package com.landlord.property.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over property name, description, city and unit features.
+ * Keyword search resolves to ranked property ids here instead of LIKE '%keyword%' scans;
+ * callers hydrate the ids from the database.
+ *
+ * Rebuilt at startup from a streaming scan, updated after commit from the service write paths,
+ * and refreshed periodically from properties.updated_at to pick up writes made on other nodes.
+ */
+@Slf4j
+@Component
+public class PropertyKeywordIndex {
+
+    static final float NAME_WEIGHT = 3.0f;
+    static final float CITY_WEIGHT = 2.0f;
+    static final float DESCRIPTION_WEIGHT = 1.0f;
+    static final float UNIT_FEATURE_WEIGHT = 1.0f;
+
+    // Field paths (as in the update DTOs) whose values the index holds; writes that touch none of them skip the reindex
+    public static final Set<String> INDEXED_PROPERTY_FIELDS = Set.of("name", "description", "address.city");
+    public static final Set<String> INDEXED_UNIT_FIELDS =
+        Set.of("viewType", "appliancesIncluded", "specialFeatures", "accessibilityFeatures");
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int REINDEX_CHUNK_SIZE = 500;
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private static final String SCAN_PROPERTIES_SQL =
+        "SELECT id, name, description, city FROM properties WHERE deleted_at IS NULL";
+    private static final String SCAN_UNITS_SQL =
+        "SELECT property_id, view_type, appliances_included, special_features, accessibility_features " +
+        "FROM property_units WHERE deleted_at IS NULL";
+    private static final String CHANGED_PROPERTIES_SQL =
+        "SELECT id FROM properties WHERE updated_at > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock; replaced wholesale by a rebuild
+    private IndexData data = new IndexData();
+
+    private volatile boolean ready;
+    private volatile LocalDateTime refreshWatermark;
+
+    @Value("${property.search.index.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${property.search.index.max-matches:10000}")
+    private int maxMatches = 10000;
+
+    @Autowired
+    public PropertyKeywordIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * True once the startup build has completed; until then callers fall back to SQL LIKE
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getMaxMatches() {
+        return maxMatches;
+    }
+
+    /**
+     * Property ids matching every query token (prefix match), best match first
+     */
+    public List<String> search(String query, int limit) {
+        List<String> tokens = KeywordTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = null;
+            for (String token : tokens) {
+                BitSet tokenMatches = data.match(token);
+                if (matches == null) {
+                    matches = tokenMatches;
+                } else {
+                    matches.and(tokenMatches);
+                }
+                if (matches.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            List<ScoredDoc> scored = new ArrayList<>(matches.cardinality());
+            for (int docId = matches.nextSetBit(0); docId >= 0; docId = matches.nextSetBit(docId + 1)) {
+                scored.add(new ScoredDoc(docId, data.score(docId, tokens)));
+            }
+            scored.sort(Comparator.comparingDouble(ScoredDoc::score).reversed()
+                .thenComparingInt(ScoredDoc::docId));
+
+            List<String> result = new ArrayList<>(Math.min(limit, scored.size()));
+            for (int i = 0; i < scored.size() && result.size() < limit; i++) {
+                result.add(data.propertyIds.get(scored.get(i).docId()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the indexed terms of a property
+     */
+    public void index(String propertyId, String name, String description, String city, List<String> unitFeatures) {
+        Map<String, Float> terms = documentTerms(name, description, city, unitFeatures);
+
+        lock.writeLock().lock();
+        try {
+            data.put(propertyId, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String propertyId) {
+        lock.writeLock().lock();
+        try {
+            data.remove(propertyId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reindex a property once the current transaction commits (immediately if none is active)
+     */
+    public void reindexAfterCommit(String propertyId) {
+        reindexAfterCommit(List.of(propertyId));
+    }
+
+    /**
+     * Reindex several properties in one pass once the current transaction commits
+     */
+    public void reindexAfterCommit(Collection<String> propertyIds) {
+        if (!enabled || propertyIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reindex(propertyIds);
+                }
+            });
+        } else {
+            reindex(propertyIds);
+        }
+    }
+
+    /**
+     * Reload the given properties and their units from the database and reindex them;
+     * deleted or missing properties are removed from the index.
+     */
+    public void reindex(Collection<String> ids) {
+        List<String> pending = new ArrayList<>(new LinkedHashSet<>(ids));
+        try {
+            for (int from = 0; from < pending.size(); from += REINDEX_CHUNK_SIZE) {
+                reindexChunk(pending.subList(from, Math.min(from + REINDEX_CHUNK_SIZE, pending.size())));
+            }
+        } catch (Exception e) {
+            // The periodic refresh or next rebuild brings the index back in line
+            log.error("Failed to reindex {} properties: {}", pending.size(), e.getMessage(), e);
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Build a fresh index from a streaming scan and swap it in
+     */
+    @Scheduled(fixedDelayString = "${property.search.index.rebuild-interval-ms:3600000}",
+               initialDelayString = "${property.search.index.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        LocalDateTime scanStart = LocalDateTime.now();
+
+        try {
+            IndexBuilder builder = new IndexBuilder();
+            Map<String, List<String>> unitFeatures = new HashMap<>();
+
+            // Streaming reads need a transaction on PostgreSQL for the fetch size to take effect
+            readOnlyTransaction.executeWithoutResult(status -> {
+                stream(SCAN_UNITS_SQL, rs -> unitFeatures
+                    .computeIfAbsent(rs.getString("property_id"), id -> new ArrayList<>())
+                    .add(unitFeatureText(rs)));
+                stream(SCAN_PROPERTIES_SQL, rs -> {
+                    String id = rs.getString("id");
+                    builder.add(id, documentTerms(rs.getString("name"), rs.getString("description"),
+                        rs.getString("city"), unitFeatures.remove(id)));
+                });
+            });
+            IndexData fresh = builder.build();
+
+            lock.writeLock().lock();
+            try {
+                data = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            // Anything written during the scan is picked up by the next refresh
+            refreshWatermark = scanStart;
+            ready = true;
+            log.info("Built keyword index: {} properties, {} terms, {} posting bytes in {} ms",
+                fresh.liveDocs, fresh.postings.size(), fresh.postingBytes(), System.currentTimeMillis() - started);
+
+        } catch (Exception e) {
+            log.error("Failed to build keyword index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reindex properties changed since the last refresh (writes from other nodes)
+     */
+    @Scheduled(fixedDelayString = "${property.search.index.refresh-interval-ms:10000}")
+    public void refresh() {
+        LocalDateTime watermark = refreshWatermark;
+        if (!enabled || !ready || watermark == null) {
+            return;
+        }
+        LocalDateTime refreshStart = LocalDateTime.now();
+
+        try {
+            List<String> changed = jdbcTemplate.queryForList(CHANGED_PROPERTIES_SQL, String.class,
+                Timestamp.valueOf(watermark));
+            if (!changed.isEmpty()) {
+                reindex(changed);
+                log.debug("Refreshed keyword index for {} properties", changed.size());
+            }
+            refreshWatermark = refreshStart;
+        } catch (Exception e) {
+            log.error("Failed to refresh keyword index: {}", e.getMessage(), e);
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return data.liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Helper methods
+
+    private void reindexChunk(List<String> ids) {
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+
+        Map<String, List<String>> unitFeatures = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT property_id, view_type, appliances_included, special_features, accessibility_features " +
+            "FROM property_units WHERE deleted_at IS NULL AND property_id IN (" + placeholders + ")",
+            (RowCallbackHandler) rs -> unitFeatures
+                .computeIfAbsent(rs.getString("property_id"), id -> new ArrayList<>())
+                .add(unitFeatureText(rs)),
+            args);
+
+        Set<String> seen = new HashSet<>();
+        jdbcTemplate.query(
+            "SELECT id, name, description, city FROM properties " +
+            "WHERE deleted_at IS NULL AND id IN (" + placeholders + ")",
+            (RowCallbackHandler) rs -> {
+                String id = rs.getString("id");
+                seen.add(id);
+                index(id, rs.getString("name"), rs.getString("description"), rs.getString("city"),
+                    unitFeatures.get(id));
+            },
+            args);
+
+        for (String id : ids) {
+            if (!seen.contains(id)) {
+                remove(id);
+            }
+        }
+    }
+
+    private void stream(String sql, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, handler);
+    }
+
+    private static void addTerms(Map<String, Float> terms, String text, float weight) {
+        for (String token : KeywordTokenizer.tokenize(text)) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+
+    private static Map<String, Float> documentTerms(String name, String description, String city,
+                                                    List<String> unitFeatures) {
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, name, NAME_WEIGHT);
+        addTerms(terms, description, DESCRIPTION_WEIGHT);
+        addTerms(terms, city, CITY_WEIGHT);
+        if (unitFeatures != null) {
+            unitFeatures.forEach(text -> addTerms(terms, text, UNIT_FEATURE_WEIGHT));
+        }
+        return terms;
+    }
+
+    private static String unitFeatureText(ResultSet rs) throws SQLException {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (String column : new String[]{"view_type", "appliances_included", "special_features", "accessibility_features"}) {
+            String value = rs.getString(column);
+            if (value != null) {
+                joiner.add(value);
+            }
+        }
+        return joiner.toString();
+    }
+
+    private record ScoredDoc(int docId, double score) {
+    }
+
+    /**
+     * Dictionary, forward index (doc -> weighted terms) and compressed posting lists.
+     * Doc ids are dense ints assigned on first sight and not reused until the next rebuild.
+     */
+    private static final class IndexData {
+
+        private final Map<String, Integer> docIds = new HashMap<>();
+        private final List<String> propertyIds = new ArrayList<>();
+        private final List<Map<String, Float>> docTerms = new ArrayList<>();
+        private final TreeMap<String, PostingList> postings = new TreeMap<>();
+        private int liveDocs;
+
+        void put(String propertyId, Map<String, Float> terms) {
+            remove(propertyId);
+            Integer docId = docIds.get(propertyId);
+            if (docId == null) {
+                docId = propertyIds.size();
+                propertyIds.add(propertyId);
+                docTerms.add(null);
+                docIds.put(propertyId, docId);
+            }
+            int id = docId;
+            docTerms.set(id, terms);
+            for (String term : terms.keySet()) {
+                postings.compute(term, (key, existing) -> (existing == null ? PostingList.EMPTY : existing).with(id));
+            }
+            liveDocs++;
+        }
+
+        void remove(String propertyId) {
+            Integer docId = docIds.get(propertyId);
+            if (docId == null || docTerms.get(docId) == null) {
+                return;
+            }
+            for (String term : docTerms.get(docId).keySet()) {
+                PostingList updated = postings.get(term).without(docId);
+                if (updated.isEmpty()) {
+                    postings.remove(term);
+                } else {
+                    postings.put(term, updated);
+                }
+            }
+            docTerms.set(docId, null);
+            liveDocs--;
+        }
+
+        /**
+         * Docs containing the token, or any term it prefixes once it is long enough
+         */
+        BitSet match(String token) {
+            BitSet matches = new BitSet(propertyIds.size());
+            Collection<PostingList> lists = token.length() < MIN_PREFIX_LENGTH
+                ? Optional.ofNullable(postings.get(token)).map(List::of).orElse(List.of())
+                : postings.subMap(token, true, token + Character.MAX_VALUE, true).values();
+            for (PostingList list : lists) {
+                for (int docId : list.toArray()) {
+                    matches.set(docId);
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * Sum over query tokens of the best field-weighted tf-idf among the document terms the token matches
+         */
+        double score(int docId, List<String> tokens) {
+            Map<String, Float> terms = docTerms.get(docId);
+            double score = 0;
+            for (String token : tokens) {
+                double best = 0;
+                for (Map.Entry<String, Float> term : terms.entrySet()) {
+                    if (term.getKey().startsWith(token)) {
+                        double idf = Math.log(1 + (double) liveDocs / postings.get(term.getKey()).size());
+                        // Exact token matches rank above prefix expansions
+                        double exactBoost = term.getKey().length() == token.length() ? 1.0 : 0.5;
+                        best = Math.max(best, term.getValue() * idf * exactBoost);
+                    }
+                }
+                score += best;
+            }
+            return score;
+        }
+
+        long postingBytes() {
+            return postings.values().stream().mapToLong(PostingList::byteSize).sum();
+        }
+    }
+
+    /**
+     * Bulk load for a rebuild. Doc ids are collected per term and each posting list is encoded once,
+     * rather than extending a common term's list once per document. The scan yields each id once.
+     */
+    private static final class IndexBuilder {
+
+        private final IndexData data = new IndexData();
+        private final Map<String, DocIdBuffer> docIdsByTerm = new HashMap<>();
+
+        void add(String propertyId, Map<String, Float> terms) {
+            int docId = data.propertyIds.size();
+            data.propertyIds.add(propertyId);
+            data.docTerms.add(terms);
+            data.docIds.put(propertyId, docId);
+            data.liveDocs++;
+            for (String term : terms.keySet()) {
+                docIdsByTerm.computeIfAbsent(term, key -> new DocIdBuffer()).add(docId);
+            }
+        }
+
+        IndexData build() {
+            // Doc ids are handed out in scan order, so every buffer is already ascending
+            docIdsByTerm.forEach((term, buffer) -> data.postings.put(term, PostingList.of(buffer.docIds, buffer.count)));
+            docIdsByTerm.clear();
+            return data;
+        }
+    }
+
+    private static final class DocIdBuffer {
+
+        private int[] docIds = new int[4];
+        private int count;
+
+        void add(int docId) {
+            if (count == docIds.length) {
+                docIds = Arrays.copyOf(docIds, count * 2);
+            }
+            docIds[count++] = docId;
+        }
+    }
+}
@@ -1,79 +1,104 @@
 package com.landlord.property.service;
 
 import com.landlord.property.exception.FileUploadException;
+import com.landlord.property.image.BoundedPipe;
+import com.landlord.property.image.ImageDecoder;
+import com.landlord.property.image.TeeInputStream;
+import com.landlord.property.storage.ObjectStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
-import software.amazon.awssdk.core.ResponseInputStream;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.*;
-import software.amazon.awssdk.transfer.s3.S3TransferManager;
-import software.amazon.awssdk.transfer.s3.model.CompletedUpload;
-import software.amazon.awssdk.transfer.s3.model.UploadRequest;
-
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.image.BufferedImage;
+
 import java.io.*;
-import java.net.URL;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
 public class FileUploadService {
 
-    private final S3Client s3Client;
-    private final S3TransferManager transferManager;
-    private final String bucketName;
-    private final String region;
+    private static final int PIPE_BUFFER_BYTES = 256 * 1024;
 
-    public FileUploadService(
-            @Value("${aws.s3.bucket-name}") String bucketName,
-            @Value("${aws.region}") String region,
-            @Value("${aws.access-key-id}") String accessKeyId,
-            @Value("${aws.secret-access-key}") String secretAccessKey) {
-        
-        this.bucketName = bucketName;
-        this.region = region;
-        
-        AwsBasicCredentials credentials = AwsBasicCredentials.create(accessKeyId, secretAccessKey);
-        
-        this.s3Client = S3Client.builder()
-                .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(credentials))
-                .build();
-                
-        this.transferManager = S3TransferManager.builder()
-                .s3Client(s3Client)
-                .build();
+    private final ObjectStore objectStore;
+    private final ImageBlobStore imageBlobStore;
+    private final ExecutorService uploadExecutor;
+    private final ExecutorService batchExecutor;
+    private final Counter dedupeHits;
+    private final Counter dedupeMisses;
+
+    @Value("${property.image.dedupe.purge-grace-ms:86400000}")
+    private long purgeGraceMs = 86_400_000;
+
+    @Value("${property.image.dedupe.purge-batch-size:200}")
+    private int purgeBatchSize = 200;
+
+    @Autowired
+    public FileUploadService(ObjectStore objectStore,
+                             ImageBlobStore imageBlobStore,
+                             MeterRegistry meterRegistry,
+                             @Value("${property.image.upload.concurrency:8}") int uploadConcurrency) {
+        this.objectStore = objectStore;
+        this.imageBlobStore = imageBlobStore;
+        this.uploadExecutor = newPool("object-upload-", uploadConcurrency);
+        // Batch files are read on their own pool; each holds one upload thread while its put runs
+        this.batchExecutor = newPool("image-batch-", uploadConcurrency);
+
+        this.dedupeHits = Counter.builder("property.image.dedupe.hits")
+            .description("Image uploads whose bytes were already stored")
+            .register(meterRegistry);
+        this.dedupeMisses = Counter.builder("property.image.dedupe.misses")
+            .description("Image uploads stored as a new object")
+            .register(meterRegistry);
+        Gauge.builder("property.image.dedupe.hit.rate", this, FileUploadService::dedupeHitRate)
+            .description("Fraction of image uploads served by an existing object")
+            .register(meterRegistry);
+    }
+
+    private static ExecutorService newPool(String namePrefix, int size) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdown();
+        uploadExecutor.shutdown();
     }
 
     /**
-     * Upload property image to S3
+     * Upload property image to storage, reusing the stored object when the same bytes were uploaded before
      */
-    public String uploadPropertyImage(MultipartFile file, String propertyId, String imageType) {
+    public StoredImage uploadPropertyImage(MultipartFile file, String propertyId, String imageType) {
         validateImageFile(file);
         
         try {
-            String fileName = generateFileName("property", propertyId, imageType, file.getOriginalFilename());
-            String key = "properties/" + propertyId + "/images/" + fileName;
-            
-            // Upload original image
-            uploadFileToS3(key, file.getInputStream(), file.getContentType(), file.getSize());
-            
-            // Generate and upload thumbnail
-            String thumbnailKey = generateThumbnailKey(key);
-            uploadThumbnail(file.getInputStream(), thumbnailKey, file.getContentType());
-            
-            // Return public URL
-            return getPublicUrl(key);
+            return storeDeduplicated(file);
             
         } catch (Exception e) {
             log.error("Failed to upload property image for property {}: {}", propertyId, e.getMessage(), e);
@@ -82,24 +107,35 @@ public class FileUploadService {
     }
 
     /**
-     * Upload unit image to S3
+     * Upload several property images concurrently, bounded by {@code property.image.upload.concurrency}.
+     * Files succeed or fail independently; results come back in input order with per-file timings.
      */
-    public String uploadUnitImage(MultipartFile file, String propertyId, String unitId, String imageType) {
+    public List<BatchUpload> uploadPropertyImages(List<MultipartFile> files, String propertyId, String imageType) {
+        List<CompletableFuture<BatchUpload>> uploads = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            uploads.add(CompletableFuture.supplyAsync(() -> timedUpload(file, propertyId, imageType), batchExecutor));
+        }
+        return uploads.stream().map(CompletableFuture::join).toList();
+    }
+
+    private BatchUpload timedUpload(MultipartFile file, String propertyId, String imageType) {
+        long start = System.nanoTime();
+        try {
+            StoredImage image = uploadPropertyImage(file, propertyId, imageType);
+            return new BatchUpload(image, null, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            return new BatchUpload(null, e.getMessage(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Upload unit image to storage, reusing the stored object when the same bytes were uploaded before
+     */
+    public StoredImage uploadUnitImage(MultipartFile file, String propertyId, String unitId, String imageType) {
         validateImageFile(file);
         
         try {
-            String fileName = generateFileName("unit", unitId, imageType, file.getOriginalFilename());
-            String key = "properties/" + propertyId + "/units/" + unitId + "/images/" + fileName;
-            
-            // Upload original image
-            uploadFileToS3(key, file.getInputStream(), file.getContentType(), file.getSize());
-            
-            // Generate and upload thumbnail
-            String thumbnailKey = generateThumbnailKey(key);
-            uploadThumbnail(file.getInputStream(), thumbnailKey, file.getContentType());
-            
-            // Return public URL
-            return getPublicUrl(key);
+            return storeDeduplicated(file);
             
         } catch (Exception e) {
             log.error("Failed to upload unit image for unit {}: {}", unitId, e.getMessage(), e);
@@ -108,7 +144,7 @@ public class FileUploadService {
     }
 
     /**
-     * Upload general document to S3
+     * Upload general document to storage
      */
     public String uploadDocument(MultipartFile file, String category, String referenceId) {
         validateFile(file);
@@ -117,7 +153,7 @@ public class FileUploadService {
             String fileName = generateFileName(category, referenceId, "document", file.getOriginalFilename());
             String key = "documents/" + category + "/" + referenceId + "/" + fileName;
             
-            uploadFileToS3(key, file.getInputStream(), file.getContentType(), file.getSize());
+            uploadToStore(key, file.getInputStream(), file.getContentType(), file.getSize(), file.getOriginalFilename());
             
             return getPublicUrl(key);
             
@@ -128,58 +164,96 @@ public class FileUploadService {
     }
 
     /**
-     * Get file from S3
+     * Upload an encoded rendition next to its original and return its public URL
+     */
+    public String uploadRendition(String originalKey, int width, String format, byte[] bytes) {
+        String key = generateRenditionKey(originalKey, width, format);
+        try {
+            objectStore.put(key, new ByteArrayInputStream(bytes), bytes.length,
+                "image/" + ("jpg".equals(format) ? "jpeg" : format), Map.of());
+            log.debug("Uploaded rendition to storage: {}", key);
+            return getPublicUrl(key);
+            
+        } catch (Exception e) {
+            log.error("Failed to upload rendition to storage: {}", key, e);
+            throw new FileUploadException("Failed to upload rendition: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Object key for a public URL produced by this service
+     */
+    public String keyFromUrl(String url) {
+        return objectStore.keyFromUrl(url);
+    }
+
+    /**
+     * Drop an image's reference to its stored original. Shared originals are deleted by the purge
+     * once nothing references them; originals stored before deduplication are deleted right away.
+     */
+    public void releaseImage(String contentHash, String imageUrl) {
+        String key = keyFromUrl(imageUrl);
+        if (contentHash != null && imageBlobStore.release(contentHash, key)) {
+            return;
+        }
+        deleteFile(key);
+    }
+
+    /**
+     * Delete originals and renditions that have been unreferenced for longer than the grace period
+     */
+    @Scheduled(fixedDelayString = "${property.image.dedupe.purge-interval-ms:600000}",
+               initialDelayString = "${property.image.dedupe.purge-interval-ms:600000}")
+    public void purgeUnreferencedImages() {
+        try {
+            List<String> keys = imageBlobStore.claimUnreferenced(purgeGraceMs, purgeBatchSize);
+            for (String key : keys) {
+                deleteFile(key);
+                deleteRenditions(key);
+            }
+            if (!keys.isEmpty()) {
+                log.info("Purged {} unreferenced images", keys.size());
+            }
+
+        } catch (Exception e) {
+            log.error("Failed to purge unreferenced images: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get file from storage
      */
     public InputStream downloadFile(String key) {
         try {
-            GetObjectRequest request = GetObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .build();
-                    
-            ResponseInputStream<GetObjectResponse> response = s3Client.getObject(request);
-            return response;
+            return objectStore.get(key);
             
         } catch (Exception e) {
-            log.error("Failed to download file from S3: {}", key, e);
+            log.error("Failed to download file from storage: {}", key, e);
             throw new FileUploadException("Failed to download file: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Delete file from S3
+     * Delete file from storage
      */
     public void deleteFile(String key) {
         try {
-            DeleteObjectRequest request = DeleteObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .build();
-                    
-            s3Client.deleteObject(request);
-            log.info("Successfully deleted file from S3: {}", key);
+            objectStore.delete(key);
+            log.info("Successfully deleted file from storage: {}", key);
             
         } catch (Exception e) {
-            log.error("Failed to delete file from S3: {}", key, e);
+            log.error("Failed to delete file from storage: {}", key, e);
             throw new FileUploadException("Failed to delete file: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Check if file exists in S3
+     * Check if file exists in storage
      */
     public boolean fileExists(String key) {
         try {
-            HeadObjectRequest request = HeadObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .build();
-                    
-            s3Client.headObject(request);
-            return true;
+            return objectStore.exists(key);
             
-        } catch (NoSuchKeyException e) {
-            return false;
         } catch (Exception e) {
             log.error("Error checking file existence: {}", key, e);
             return false;
@@ -223,81 +297,131 @@ public class FileUploadService {
         }
     }
 
-    private void uploadFileToS3(String key, InputStream inputStream, String contentType, long fileSize) {
-        try {
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .contentType(contentType)
-                    .metadata(java.util.Map.of(
-                        "original-filename", inputStream.toString(),
-                        "upload-timestamp", LocalDateTime.now().toString()
-                    ))
-                    .build();
-            
-            UploadRequest uploadRequest = UploadRequest.builder()
-                    .requestBody(RequestBody.fromInputStream(inputStream, fileSize))
-                    .putObjectRequest(request)
-                    .build();
-            
-            CompletedUpload upload = transferManager.upload(uploadRequest).completionFuture().join();
-            log.info("Successfully uploaded file to S3: {}", key);
-            
+    /**
+     * Content-addressed store: originals are registered by the SHA-256 of their bytes, so a duplicate
+     * upload takes a reference on the existing object (and its renditions) instead of keeping a copy.
+     * The digest is taken in the same pass that streams the bytes to a fresh generation key; once it
+     * is known, the upload is either registered or dropped in favour of the blob already stored.
+     */
+    private StoredImage storeDeduplicated(MultipartFile file) throws Exception {
+        StoredImage stored = storeImage(file, generateContentKey(file.getOriginalFilename()));
+        String contentHash = stored.contentHash();
+
+        Optional<ImageBlobStore.Blob> existing = imageBlobStore.acquire(contentHash);
+        if (existing.isPresent()) {
+            dedupeHits.increment();
+            ImageBlobStore.Blob blob = existing.get();
+            log.info("Upload matches stored image {}; reusing it", blob.objectKey());
+            deleteFile(stored.key());
+            return fromBlob(blob);
+        }
+
+        dedupeMisses.increment();
+        ImageBlobStore.Blob registered = imageBlobStore.register(stored);
+        if (!stored.key().equals(registered.objectKey())) {
+            // A concurrent first upload of the same bytes registered its object first; share that one
+            deleteFile(stored.key());
+            return fromBlob(registered);
+        }
+        return stored;
+    }
+
+    private StoredImage fromBlob(ImageBlobStore.Blob blob) {
+        return new StoredImage(blob.objectKey(), getPublicUrl(blob.objectKey()), blob.thumbnailUrl(),
+            blob.sizeBytes(), blob.contentHash(), blob.width(), blob.height(), blob.format());
+    }
+
+    private double dedupeHitRate() {
+        double total = dedupeHits.count() + dedupeMisses.count();
+        return total == 0 ? 0 : dedupeHits.count() / total;
+    }
+
+    /**
+     * Single pass over the upload: bytes are read once, hashed and counted, and teed through a
+     * bounded pipe to the store put running on the upload pool while the image header is probed from
+     * the same stream. Renditions are produced later by {@link ImageRenditionService}.
+     */
+    private StoredImage storeImage(MultipartFile file, String key) throws Exception {
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        BoundedPipe boundedPipe = new BoundedPipe(PIPE_BUFFER_BYTES);
+        InputStream storeSide = boundedPipe.source();
+        OutputStream pipe = boundedPipe.sink();
+
+        Future<?> put = uploadExecutor.submit(() -> {
+            // Closing the read side unblocks the writer if the put fails part way
+            try (storeSide) {
+                objectStore.put(key, storeSide, file.getSize(), file.getContentType(), metadata(file.getOriginalFilename()));
+            }
+            return null;
+        });
+
+        ImageDecoder.ImageInfo info;
+        long sizeBytes;
+        try (TeeInputStream tee = new TeeInputStream(new DigestInputStream(file.getInputStream(), sha256), pipe)) {
+            info = probeQuietly(tee, key);
+            tee.drain();
+            sizeBytes = tee.getCount();
         } catch (Exception e) {
-            log.error("Failed to upload file to S3: {}", key, e);
-            throw new FileUploadException("Failed to upload to S3: " + e.getMessage(), e);
+            put.cancel(true);
+            pipe.close();
+            throw e;
         }
+
+        awaitUpload(put, key);
+        log.info("Successfully uploaded file to storage: {} ({} bytes)", key, sizeBytes);
+
+        return new StoredImage(
+            key,
+            getPublicUrl(key),
+            null,
+            sizeBytes,
+            HexFormat.of().formatHex(sha256.digest()),
+            info != null ? info.width() : null,
+            info != null ? info.height() : null,
+            info != null ? info.format() : getFileExtension(file.getOriginalFilename()).toLowerCase());
     }
 
-    private void uploadThumbnail(InputStream originalImageStream, String thumbnailKey, String contentType) {
+    private ImageDecoder.ImageInfo probeQuietly(InputStream in, String key) {
         try {
-            // Create thumbnail
-            BufferedImage originalImage = ImageIO.read(originalImageStream);
-            if (originalImage == null) {
-                log.warn("Could not read image for thumbnail generation");
-                return;
+            ImageDecoder.ImageInfo info = ImageDecoder.probe(in);
+            if (info == null) {
+                log.warn("No image reader available for {}; storing original without metadata", key);
             }
-            
-            // Generate thumbnail (max 400x400 pixels)
-            int maxSize = 400;
-            int originalWidth = originalImage.getWidth();
-            int originalHeight = originalImage.getHeight();
-            
-            double ratio = Math.min((double) maxSize / originalWidth, (double) maxSize / originalHeight);
-            int thumbnailWidth = (int) (originalWidth * ratio);
-            int thumbnailHeight = (int) (originalHeight * ratio);
-            
-            BufferedImage thumbnail = new BufferedImage(thumbnailWidth, thumbnailHeight, BufferedImage.TYPE_INT_RGB);
-            Graphics2D g = thumbnail.createGraphics();
-            g.drawImage(originalImage, 0, 0, thumbnailWidth, thumbnailHeight, null);
-            g.dispose();
-            
-            // Convert to bytes
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(thumbnail, "jpg", baos);
-            byte[] thumbnailBytes = baos.toByteArray();
-            
-            // Upload thumbnail
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(thumbnailKey)
-                    .contentType("image/jpeg")
-                    .build();
-            
-            UploadRequest uploadRequest = UploadRequest.builder()
-                    .requestBody(RequestBody.fromBytes(thumbnailBytes))
-                    .putObjectRequest(request)
-                    .build();
-            
-            transferManager.upload(uploadRequest).completionFuture().join();
-            log.info("Successfully uploaded thumbnail to S3: {}", thumbnailKey);
+            return info;
+        } catch (Exception e) {
+            // Don't fail the entire upload if the header can't be read
+            log.warn("Could not read image header {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void awaitUpload(Future<?> put, String key) throws InterruptedException {
+        try {
+            put.get();
+        } catch (ExecutionException e) {
+            log.error("Failed to upload file to storage: {}", key, e.getCause());
+            throw new FileUploadException("Failed to upload to storage: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void uploadToStore(String key, InputStream inputStream, String contentType, long fileSize, String originalFilename) {
+        try {
+            objectStore.put(key, inputStream, fileSize, contentType, metadata(originalFilename));
+            log.info("Successfully uploaded file to storage: {}", key);
             
         } catch (Exception e) {
-            log.warn("Failed to generate/upload thumbnail: {}", thumbnailKey, e);
-            // Don't fail the entire upload if thumbnail fails
+            log.error("Failed to upload file to storage: {}", key, e);
+            throw new FileUploadException("Failed to upload to storage: " + e.getMessage(), e);
         }
     }
 
+    private Map<String, String> metadata(String originalFilename) {
+        return Map.of(
+            "original-filename", originalFilename != null ? originalFilename : "",
+            "upload-timestamp", LocalDateTime.now().toString()
+        );
+    }
+
     private String generateFileName(String category, String id, String type, String originalFilename) {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
         String uuid = UUID.randomUUID().toString().substring(0, 8);
@@ -306,14 +430,36 @@ public class FileUploadService {
         return String.format("%s_%s_%s_%s.%s", category, id, type, timestamp + uuid, extension);
     }
 
-    private String generateThumbnailKey(String originalKey) {
+    private String generateContentKey(String originalFilename) {
+        String extension = getFileExtension(originalFilename).toLowerCase();
+        if ("jpeg".equals(extension)) {
+            extension = "jpg";
+        }
+        // A fresh generation per stored object keeps a re-upload after a purge claim from reusing the key being deleted
+        String generation = UUID.randomUUID().toString().replace("-", "");
+        return "images/" + generation.substring(0, 2) + "/" + generation + "." + extension;
+    }
+
+    private String generateRenditionKey(String originalKey, int width, String format) {
+        return renditionPrefix(originalKey) + width + "." + format;
+    }
+
+    private String renditionPrefix(String originalKey) {
         String directory = originalKey.substring(0, originalKey.lastIndexOf('/'));
         String filename = originalKey.substring(originalKey.lastIndexOf('/') + 1);
-        return directory + "/thumbnails/thumb_" + filename;
+        int dot = filename.lastIndexOf('.');
+        String baseName = dot == -1 ? filename : filename.substring(0, dot);
+        return directory + "/renditions/" + baseName + "_";
+    }
+
+    private void deleteRenditions(String originalKey) {
+        for (String rendition : objectStore.list(renditionPrefix(originalKey))) {
+            deleteFile(rendition);
+        }
     }
 
     private String getPublicUrl(String key) {
-        return String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, key);
+        return objectStore.publicUrl(key);
     }
 
     private String getFileExtension(String filename) {
@@ -322,4 +468,22 @@ public class FileUploadService {
         }
         return filename.substring(filename.lastIndexOf('.') + 1);
     }
-}
\ No newline at end of file
+
+    /**
+     * Result of an image upload: where the original lives plus the facts read while streaming it.
+     * thumbnailUrl is set only when a deduplicated original already has renditions.
+     */
+    public record StoredImage(String key, String url, String thumbnailUrl, long sizeBytes, String contentHash,
+                              Integer width, Integer height, String format) {
+    }
+
+    /**
+     * One file of a batch upload: the stored image, or the error that stopped it
+     */
+    public record BatchUpload(StoredImage image, String error, long durationMs) {
+
+        public boolean succeeded() {
+            return image != null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.landlord.property.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reference-counted registry of stored image originals (image_blobs), keyed by SHA-256 of the bytes.
+ * Every PropertyImage that points at a blob holds one reference. A blob whose count drops to zero
+ * is kept for a grace period, so a concurrent upload of the same bytes can revive it, and is then
+ * claimed for deletion. Object keys are unique per stored generation, so an upload that stores the
+ * same bytes again after a claim writes a new object that the purge of the old one cannot touch.
+ */
+@Component
+public class ImageBlobStore {
+
+    private static final String BLOB_COLUMNS =
+        "content_hash, object_key, size_bytes, width_pixels, height_pixels, format, thumbnail_url";
+
+    private static final String ACQUIRE_SQL =
+        "UPDATE image_blobs SET ref_count = ref_count + 1, updated_at = CURRENT_TIMESTAMP " +
+        "WHERE content_hash = ? RETURNING " + BLOB_COLUMNS;
+
+    // Two first uploads of the same bytes may race; the loser adds its reference to the winner's row
+    private static final String REGISTER_SQL =
+        "INSERT INTO image_blobs (content_hash, object_key, size_bytes, width_pixels, height_pixels, format, " +
+        "ref_count, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (content_hash) DO UPDATE SET ref_count = image_blobs.ref_count + 1, updated_at = CURRENT_TIMESTAMP " +
+        "RETURNING " + BLOB_COLUMNS;
+
+    private static final String RELEASE_SQL =
+        "UPDATE image_blobs SET ref_count = GREATEST(ref_count - 1, 0), updated_at = CURRENT_TIMESTAMP " +
+        "WHERE content_hash = ? AND object_key = ?";
+
+    private static final String CLAIM_UNREFERENCED_SQL =
+        "DELETE FROM image_blobs WHERE content_hash IN (SELECT content_hash FROM image_blobs " +
+        "WHERE ref_count = 0 AND updated_at < CURRENT_TIMESTAMP - (? * INTERVAL '1 millisecond') " +
+        "LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING object_key";
+
+    private static final String SET_THUMBNAIL_SQL =
+        "UPDATE image_blobs SET thumbnail_url = ? WHERE object_key = ?";
+
+    private static final String FIND_THUMBNAIL_SQL =
+        "SELECT thumbnail_url FROM image_blobs WHERE object_key = ? AND thumbnail_url IS NOT NULL";
+
+    private static final RowMapper<Blob> BLOB_ROW_MAPPER = (rs, rowNum) -> new Blob(
+        rs.getString("content_hash"),
+        rs.getString("object_key"),
+        rs.getLong("size_bytes"),
+        (Integer) rs.getObject("width_pixels"),
+        (Integer) rs.getObject("height_pixels"),
+        rs.getString("format"),
+        rs.getString("thumbnail_url"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ImageBlobStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Take a reference on an existing blob with these bytes, if there is one
+     */
+    public Optional<Blob> acquire(String contentHash) {
+        List<Blob> blobs = jdbcTemplate.query(ACQUIRE_SQL, BLOB_ROW_MAPPER, contentHash);
+        return blobs.stream().findFirst();
+    }
+
+    /**
+     * Record a freshly stored original holding one reference. Returns the registered blob, whose
+     * object key differs from the stored one when a concurrent upload of the same bytes won.
+     */
+    public Blob register(FileUploadService.StoredImage stored) {
+        return jdbcTemplate.queryForObject(REGISTER_SQL, BLOB_ROW_MAPPER, stored.contentHash(), stored.key(),
+            stored.sizeBytes(), stored.width(), stored.height(), stored.format());
+    }
+
+    /**
+     * Drop one reference. Returns false when the object is not a registered blob
+     * (images stored before deduplication), in which case the caller owns the object.
+     */
+    public boolean release(String contentHash, String objectKey) {
+        return jdbcTemplate.update(RELEASE_SQL, contentHash, objectKey) > 0;
+    }
+
+    /**
+     * Remove up to {@code limit} blobs that have had no references for at least {@code graceMs}
+     * and return their object keys for deletion
+     */
+    public List<String> claimUnreferenced(long graceMs, int limit) {
+        return jdbcTemplate.queryForList(CLAIM_UNREFERENCED_SQL, String.class, graceMs, limit);
+    }
+
+    public void setThumbnailUrl(String objectKey, String thumbnailUrl) {
+        jdbcTemplate.update(SET_THUMBNAIL_SQL, thumbnailUrl, objectKey);
+    }
+
+    /**
+     * Thumbnail already rendered for this original, if any
+     */
+    public Optional<String> findThumbnailUrl(String objectKey) {
+        return jdbcTemplate.queryForList(FIND_THUMBNAIL_SQL, String.class, objectKey).stream().findFirst();
+    }
+
+    public record Blob(String contentHash, String objectKey, long sizeBytes, Integer width, Integer height,
+                       String format, String thumbnailUrl) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.landlord.property.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.landlord.property.exception.PropertyImageNotFoundException;
+import com.landlord.property.exception.PropertyNotFoundException;
+import com.landlord.property.model.PropertyImage;
+import com.landlord.property.repository.PropertyImageRepository;
+import com.landlord.property.repository.PropertyRepository;
+import com.landlord.property.storage.ObjectStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Serves stored image bytes for owners of private listings that can't use public bucket URLs.
+ * Originals stream straight from the object store; thumbnails small enough are kept in a
+ * size-bounded in-memory cache, since listing grids request the same few repeatedly.
+ */
+@Slf4j
+@Service
+public class ImageContentService {
+
+    private final PropertyRepository propertyRepository;
+    private final PropertyImageRepository propertyImageRepository;
+    private final ObjectStore objectStore;
+    private final Cache<String, byte[]> thumbnailCache;
+    private final long maxCachedThumbnailBytes;
+
+    @Autowired
+    public ImageContentService(PropertyRepository propertyRepository,
+                               PropertyImageRepository propertyImageRepository,
+                               ObjectStore objectStore,
+                               @Value("${property.image.content.thumbnail-cache-bytes:16777216}") long thumbnailCacheBytes,
+                               @Value("${property.image.content.max-cached-thumbnail-bytes:262144}") long maxCachedThumbnailBytes) {
+        this.propertyRepository = propertyRepository;
+        this.propertyImageRepository = propertyImageRepository;
+        this.objectStore = objectStore;
+        this.maxCachedThumbnailBytes = maxCachedThumbnailBytes;
+        this.thumbnailCache = Caffeine.newBuilder()
+            .maximumWeight(thumbnailCacheBytes)
+            .weigher((String key, byte[] bytes) -> bytes.length)
+            .build();
+    }
+
+    /**
+     * Look up what to serve for an image without reading its bytes. Falls back to the original
+     * when a thumbnail is requested but has not been rendered yet.
+     */
+    public ImageContent describe(String propertyId, String imageId, String ownerId, boolean thumbnail) {
+        propertyRepository.findById(propertyId)
+            .filter(property -> !property.isDeleted() && property.getOwnerId().equals(ownerId))
+            .orElseThrow(() -> new PropertyNotFoundException("Property not found or access denied"));
+
+        PropertyImage image = propertyImageRepository.findById(imageId)
+            .filter(candidate -> !candidate.isDeleted() && propertyId.equals(candidate.getPropertyId()))
+            .orElseThrow(() -> new PropertyImageNotFoundException("Image not found"));
+
+        if (thumbnail && image.getThumbnailUrl() != null) {
+            String key = objectStore.keyFromUrl(image.getThumbnailUrl());
+            byte[] cached = thumbnailCache.getIfPresent(key);
+            long length = cached != null ? cached.length : objectStore.size(key);
+            return new ImageContent(key, etag(image.getContentHash(), "thumbnail"), "image/jpeg", length, true, cached);
+        }
+
+        String key = objectStore.keyFromUrl(image.getImageUrl());
+        long length = image.getFileSizeBytes() != null ? image.getFileSizeBytes() : objectStore.size(key);
+        return new ImageContent(key, etag(image.getContentHash(), "original"), contentType(image.getFormat()), length, false, null);
+    }
+
+    /**
+     * Open {@code length} bytes of the content starting at {@code offset}
+     */
+    public InputStream open(ImageContent content, long offset, long length) {
+        if (content.cached() != null) {
+            return new ByteArrayInputStream(content.cached(), (int) offset, (int) length);
+        }
+        if (content.thumbnail() && content.length() <= maxCachedThumbnailBytes) {
+            byte[] bytes = thumbnailCache.get(content.key(), this::readAll);
+            return new ByteArrayInputStream(bytes, (int) offset, (int) length);
+        }
+        if (offset == 0 && length == content.length()) {
+            return objectStore.get(content.key());
+        }
+        return objectStore.get(content.key(), offset, length);
+    }
+
+    /**
+     * If-None-Match check. Comparison is weak, as the header requires, so a W/ prefix is ignored.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private byte[] readAll(String key) {
+        try (InputStream in = objectStore.get(key)) {
+            return in.readAllBytes();
+        } catch (Exception e) {
+            log.error("Failed to read thumbnail {}: {}", key, e.getMessage());
+            throw new PropertyImageNotFoundException("Image content not available", e);
+        }
+    }
+
+    // Content-addressed, so the hash identifies the bytes; images stored before hashing get no ETag
+    private static String etag(String contentHash, String variant) {
+        return contentHash != null ? "\"" + contentHash + "-" + variant + "\"" : null;
+    }
+
+    private static String contentType(String format) {
+        if (format == null) {
+            return "application/octet-stream";
+        }
+        return switch (format.toLowerCase()) {
+            case "jpg", "jpeg" -> "image/jpeg";
+            case "png" -> "image/png";
+            case "webp" -> "image/webp";
+            case "gif" -> "image/gif";
+            default -> "application/octet-stream";
+        };
+    }
+
+    /**
+     * What to send for one image: object key, strong ETag (null when unknown), type and size.
+     * {@code cached} holds the bytes when the thumbnail cache already had them.
+     */
+    public record ImageContent(String key, String etag, String contentType, long length,
+                               boolean thumbnail, byte[] cached) {
+    }
+}
@@ -0,0 +1,400 @@
+package com.landlord.property.service;
+
+import com.landlord.property.image.ImageDecoder;
+import com.landlord.property.model.PropertyImage;
+import com.landlord.property.repository.PropertyImageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Produces the responsive rendition ladder for uploaded images off the request path.
+ * Jobs live in image_rendition_jobs so they survive restarts: a claim leases a job for
+ * {@code lease-ms}, and a job whose worker died is claimed again once its lease expires.
+ * Completing a job sets {@link PropertyImage#getThumbnailUrl()} on the image and on every image
+ * sharing its deduplicated original, and removes the job row.
+ */
+@Slf4j
+@Service
+public class ImageRenditionService {
+
+    static final String THUMBNAIL_FORMAT = "jpg";
+
+    private static final String ENQUEUE_SQL =
+        "INSERT INTO image_rendition_jobs (image_id, property_id, source_key, status, attempts, available_at, created_at, updated_at) " +
+        "VALUES (?, ?, ?, 'PENDING', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (image_id) DO NOTHING";
+
+    // Pending jobs and RUNNING jobs whose lease has expired; the lease is carried in available_at
+    private static final String CLAIM_SQL =
+        "UPDATE image_rendition_jobs SET status = 'RUNNING', attempts = attempts + 1, " +
+        "available_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond'), updated_at = CURRENT_TIMESTAMP " +
+        "WHERE image_id IN (SELECT image_id FROM image_rendition_jobs " +
+        "WHERE status IN ('PENDING', 'RUNNING') AND available_at <= CURRENT_TIMESTAMP " +
+        "ORDER BY available_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "RETURNING image_id, property_id, source_key, attempts";
+
+    // Images deduplicated onto the same original share its renditions
+    private static final String SET_THUMBNAIL_SQL =
+        "UPDATE property_images SET thumbnail_url = ?, version = COALESCE(version, 0) + 1 " +
+        "WHERE id = ? OR (thumbnail_url IS NULL AND content_hash = " +
+        "(SELECT content_hash FROM image_blobs WHERE object_key = ?)) RETURNING property_id";
+
+    private static final String DELETE_JOB_SQL =
+        "DELETE FROM image_rendition_jobs WHERE image_id = ?";
+
+    private static final String RETRY_SQL =
+        "UPDATE image_rendition_jobs SET status = 'PENDING', last_error = ?, " +
+        "available_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond'), updated_at = CURRENT_TIMESTAMP WHERE image_id = ?";
+
+    private static final String FAIL_SQL =
+        "UPDATE image_rendition_jobs SET status = 'FAILED', last_error = ?, updated_at = CURRENT_TIMESTAMP WHERE image_id = ?";
+
+    private static final long RETRY_BASE_DELAY_MS = 30_000;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FileUploadService fileUploadService;
+    private final ImageBlobStore imageBlobStore;
+    private final PropertyImageRepository propertyImageRepository;
+    private final PropertyCacheService propertyCacheService;
+    private final List<Integer> widths;
+    private final List<String> formats;
+    private final int thumbnailWidth;
+    private final float quality;
+    private final ExecutorService workers;
+    private final ThreadPoolExecutor dispatcher;
+    private final Semaphore freeWorkers;
+    private final Counter completed;
+    private final Counter failed;
+    private final Timer renderTimer;
+
+    @Value("${property.image.renditions.lease-ms:300000}")
+    private long leaseMs = 300_000;
+
+    @Value("${property.image.renditions.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${property.image.renditions.sweep-batch-size:500}")
+    private int sweepBatchSize = 500;
+
+    @Autowired
+    public ImageRenditionService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 FileUploadService fileUploadService,
+                                 ImageBlobStore imageBlobStore,
+                                 PropertyImageRepository propertyImageRepository,
+                                 PropertyCacheService propertyCacheService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${property.image.renditions.widths:160,400,800,1600}") List<Integer> widths,
+                                 @Value("${property.image.renditions.formats:jpg,webp}") List<String> formats,
+                                 @Value("${property.image.renditions.thumbnail-width:400}") int thumbnailWidth,
+                                 @Value("${property.image.renditions.quality:0.82}") float quality,
+                                 @Value("${property.image.renditions.workers:4}") int workerCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.fileUploadService = fileUploadService;
+        this.imageBlobStore = imageBlobStore;
+        this.propertyImageRepository = propertyImageRepository;
+        this.propertyCacheService = propertyCacheService;
+        this.thumbnailWidth = thumbnailWidth;
+        this.quality = quality;
+
+        // Largest first, so each rendition is resized from the previous one
+        TreeSet<Integer> ladder = new TreeSet<>(Comparator.reverseOrder());
+        ladder.addAll(widths);
+        ladder.add(thumbnailWidth);
+        this.widths = List.copyOf(ladder);
+
+        List<String> encodable = new ArrayList<>();
+        for (String format : formats) {
+            if (ImageDecoder.canEncode(format)) {
+                encodable.add(format);
+            } else {
+                log.warn("No ImageIO writer for rendition format '{}'; it will be skipped", format);
+            }
+        }
+        if (!encodable.contains(THUMBNAIL_FORMAT)) {
+            encodable.add(0, THUMBNAIL_FORMAT);
+        }
+        this.formats = List.copyOf(encodable);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "image-rendition-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.freeWorkers = new Semaphore(workerCount);
+        // Wake-ups coalesce: at most one dispatch queued behind the one running
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+            runnable -> {
+                Thread thread = new Thread(runnable, "image-rendition-dispatch");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+        this.completed = Counter.builder("property.image.renditions.completed")
+            .description("Rendition jobs completed")
+            .register(meterRegistry);
+        this.failed = Counter.builder("property.image.renditions.failed")
+            .description("Rendition jobs given up after exhausting their attempts")
+            .register(meterRegistry);
+        this.renderTimer = Timer.builder("property.image.renditions.duration")
+            .description("Time to download, decode, encode and upload one image's renditions")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        workers.shutdown();
+    }
+
+    /**
+     * Queue renditions for an image. Call inside the transaction that saves the image;
+     * workers are woken once it commits.
+     */
+    public void enqueue(String imageId, String propertyId, String sourceKey) {
+        jdbcTemplate.update(ENQUEUE_SQL, imageId, propertyId, sourceKey);
+        wakeUpAfterCommit();
+    }
+
+    /**
+     * Queue renditions for several images of one property in a single batched insert
+     */
+    public void enqueueAll(String propertyId, Map<String, String> sourceKeysByImageId) {
+        if (sourceKeysByImageId.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(sourceKeysByImageId.size());
+        sourceKeysByImageId.forEach((imageId, sourceKey) -> args.add(new Object[]{imageId, propertyId, sourceKey}));
+        jdbcTemplate.batchUpdate(ENQUEUE_SQL, args);
+        wakeUpAfterCommit();
+    }
+
+    private void wakeUpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        } else {
+            wakeUp();
+        }
+    }
+
+    /**
+     * Run a dispatch on the dispatcher thread without waiting for the next poll
+     */
+    public void wakeUp() {
+        dispatcher.execute(this::dispatch);
+    }
+
+    /**
+     * Claim as many jobs as there are idle workers and hand them out
+     */
+    @Scheduled(fixedDelayString = "${property.image.renditions.poll-interval-ms:5000}")
+    public synchronized void dispatch() {
+        try {
+            int slots = freeWorkers.availablePermits();
+            if (slots == 0) {
+                return;
+            }
+            List<RenditionJob> jobs = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new RenditionJob(
+                rs.getString("image_id"),
+                rs.getString("property_id"),
+                rs.getString("source_key"),
+                rs.getInt("attempts")), leaseMs, slots);
+
+            for (RenditionJob job : jobs) {
+                freeWorkers.acquireUninterruptibly();
+                workers.execute(() -> {
+                    try {
+                        process(job);
+                    } finally {
+                        freeWorkers.release();
+                    }
+                });
+            }
+
+        } catch (Exception e) {
+            log.error("Failed to dispatch rendition jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepOnStartup() {
+        sweep();
+    }
+
+    /**
+     * Backfill: queue a job for every live image that has no thumbnail and no job yet
+     */
+    @Scheduled(fixedDelayString = "${property.image.renditions.sweep-interval-ms:600000}",
+               initialDelayString = "${property.image.renditions.sweep-interval-ms:600000}")
+    public void sweep() {
+        try {
+            int enqueued = 0;
+            Pageable pageable = PageRequest.of(0, sweepBatchSize, Sort.by("id"));
+            Slice<PropertyImage> slice;
+            do {
+                slice = propertyImageRepository.findImagesMissingThumbnails(pageable);
+                List<Object[]> args = new ArrayList<>();
+                for (PropertyImage image : slice) {
+                    args.add(new Object[]{image.getId(), image.getPropertyId(), fileUploadService.keyFromUrl(image.getImageUrl())});
+                }
+                if (!args.isEmpty()) {
+                    // Rewritten batched inserts report SUCCESS_NO_INFO rather than a row count
+                    for (int count : jdbcTemplate.batchUpdate(ENQUEUE_SQL, args)) {
+                        enqueued += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+                    }
+                }
+                pageable = slice.nextPageable();
+            } while (slice.hasNext());
+
+            if (enqueued > 0) {
+                log.info("Queued renditions for {} images missing thumbnails", enqueued);
+                wakeUp();
+            }
+
+        } catch (Exception e) {
+            log.error("Rendition backfill sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Render one job and record the outcome; failures are retried with backoff until
+     * {@code max-attempts} is reached, then the job is parked as FAILED.
+     */
+    void process(RenditionJob job) {
+        if (job.attempts() > maxAttempts) {
+            markFailed(job, "Lease expired on the final attempt");
+            return;
+        }
+        Optional<String> rendered = imageBlobStore.findThumbnailUrl(job.sourceKey());
+        if (rendered.isPresent()) {
+            complete(job, rendered.get());
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            ImageDecoder.DecodedImage decoded;
+            try (InputStream in = fileUploadService.downloadFile(job.sourceKey())) {
+                decoded = ImageDecoder.decode(in, widths.get(0));
+            }
+            if (decoded == null) {
+                markFailed(job, "No image reader for " + job.sourceKey());
+                return;
+            }
+
+            String thumbnailUrl = null;
+            BufferedImage current = decoded.preview();
+            for (int width : widths) {
+                current = ImageDecoder.resizeToWidth(current, width);
+                for (String format : formats) {
+                    byte[] bytes = ImageDecoder.encode(current, format, quality);
+                    String url = fileUploadService.uploadRendition(job.sourceKey(), width, format, bytes);
+                    if (width == thumbnailWidth && THUMBNAIL_FORMAT.equals(format)) {
+                        thumbnailUrl = url;
+                    }
+                }
+            }
+            complete(job, thumbnailUrl);
+
+        } catch (Exception e) {
+            retryOrFail(job, e);
+        } finally {
+            sample.stop(renderTimer);
+        }
+    }
+
+    private void complete(RenditionJob job, String thumbnailUrl) {
+        List<String> propertyIds = transactionTemplate.execute(status -> {
+            imageBlobStore.setThumbnailUrl(job.sourceKey(), thumbnailUrl);
+            List<String> updated = jdbcTemplate.queryForList(SET_THUMBNAIL_SQL, String.class,
+                thumbnailUrl, job.imageId(), job.sourceKey());
+            jdbcTemplate.update(DELETE_JOB_SQL, job.imageId());
+            return updated;
+        });
+        Set<String> affected = new LinkedHashSet<>();
+        affected.add(job.propertyId());
+        if (propertyIds != null) {
+            affected.addAll(propertyIds);
+        }
+        affected.forEach(propertyCacheService::evictImages);
+        completed.increment();
+        log.debug("Renditions ready for image {}", job.imageId());
+    }
+
+    private void retryOrFail(RenditionJob job, Exception e) {
+        if (job.attempts() >= maxAttempts) {
+            markFailed(job, e.getMessage());
+            return;
+        }
+        long delayMs = RETRY_BASE_DELAY_MS * job.attempts() * job.attempts();
+        log.warn("Rendition attempt {} for image {} failed, retrying in {} ms: {}",
+            job.attempts(), job.imageId(), delayMs, e.getMessage());
+        jdbcTemplate.update(RETRY_SQL, truncate(e.getMessage()), delayMs, job.imageId());
+    }
+
+    private void markFailed(RenditionJob job, String error) {
+        log.error("Giving up on renditions for image {} after {} attempts: {}", job.imageId(), job.attempts(), error);
+        jdbcTemplate.update(FAIL_SQL, truncate(error), job.imageId());
+        failed.increment();
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    record RenditionJob(String imageId, String propertyId, String sourceKey, int attempts) {
+    }
+}
@@ -0,0 +1,336 @@
+package com.landlord.property.service;
+
+import com.landlord.property.model.Property;
+import com.landlord.property.model.PropertyUnit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-owner statistics rollup (owner_stats). Property and unit writes apply deltas to the owner's row
+ * in the same transaction, so reading statistics is a single primary-key lookup. A scheduled
+ * reconciliation recomputes drifted rows from the base tables.
+ */
+@Slf4j
+@Service
+public class OwnerStatsService {
+
+    private static final String UPSERT_DELTA_SQL =
+        "INSERT INTO owner_stats (owner_id, published_count, draft_count, rented_count, maintenance_count, " +
+        "rented_revenue, total_units, rented_units, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (owner_id) DO UPDATE SET " +
+        "published_count = owner_stats.published_count + EXCLUDED.published_count, " +
+        "draft_count = owner_stats.draft_count + EXCLUDED.draft_count, " +
+        "rented_count = owner_stats.rented_count + EXCLUDED.rented_count, " +
+        "maintenance_count = owner_stats.maintenance_count + EXCLUDED.maintenance_count, " +
+        "rented_revenue = owner_stats.rented_revenue + EXCLUDED.rented_revenue, " +
+        "total_units = owner_stats.total_units + EXCLUDED.total_units, " +
+        "rented_units = owner_stats.rented_units + EXCLUDED.rented_units, " +
+        "updated_at = CURRENT_TIMESTAMP";
+
+    private static final String SELECT_STATS_SQL =
+        "SELECT published_count, draft_count, rented_count, maintenance_count, rented_revenue, total_units, rented_units " +
+        "FROM owner_stats WHERE owner_id = ?";
+
+    // Actual figures per owner from the base tables; units joined pre-aggregated per property
+    private static final String ACTUAL_STATS_SELECT =
+        "SELECT p.owner_id, " +
+        "COUNT(*) FILTER (WHERE p.status = 'PUBLISHED') AS published_count, " +
+        "COUNT(*) FILTER (WHERE p.status = 'DRAFT') AS draft_count, " +
+        "COUNT(*) FILTER (WHERE p.status = 'RENTED') AS rented_count, " +
+        "COUNT(*) FILTER (WHERE p.status = 'MAINTENANCE') AS maintenance_count, " +
+        "COALESCE(SUM(p.monthly_rent) FILTER (WHERE p.status = 'RENTED'), 0) AS rented_revenue, " +
+        "COALESCE(SUM(u.total_units), 0) AS total_units, " +
+        "COALESCE(SUM(u.rented_units), 0) AS rented_units " +
+        "FROM properties p LEFT JOIN (" +
+        "SELECT property_id, COUNT(*) AS total_units, COUNT(*) FILTER (WHERE status = 'RENTED') AS rented_units " +
+        "FROM property_units WHERE deleted_at IS NULL GROUP BY property_id" +
+        ") u ON u.property_id = p.id WHERE p.deleted_at IS NULL ";
+
+    private static final String FIND_DRIFTED_SQL =
+        "SELECT COALESCE(a.owner_id, s.owner_id) FROM (" + ACTUAL_STATS_SELECT + "GROUP BY p.owner_id) a " +
+        "FULL JOIN owner_stats s ON s.owner_id = a.owner_id WHERE " +
+        "(COALESCE(a.published_count, 0), COALESCE(a.draft_count, 0), COALESCE(a.rented_count, 0), " +
+        "COALESCE(a.maintenance_count, 0), COALESCE(a.rented_revenue, 0), COALESCE(a.total_units, 0), COALESCE(a.rented_units, 0)) " +
+        "IS DISTINCT FROM " +
+        "(COALESCE(s.published_count, 0), COALESCE(s.draft_count, 0), COALESCE(s.rented_count, 0), " +
+        "COALESCE(s.maintenance_count, 0), COALESCE(s.rented_revenue, 0), COALESCE(s.total_units, 0), COALESCE(s.rented_units, 0)) " +
+        "OR s.owner_id IS NULL LIMIT ?";
+
+    private static final String LOCK_ROW_SQL =
+        "INSERT INTO owner_stats (owner_id, published_count, draft_count, rented_count, maintenance_count, " +
+        "rented_revenue, total_units, rented_units, updated_at) VALUES (?, 0, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (owner_id) DO NOTHING";
+
+    private static final String REPLACE_SQL =
+        "UPDATE owner_stats SET published_count = ?, draft_count = ?, rented_count = ?, maintenance_count = ?, " +
+        "rented_revenue = ?, total_units = ?, rented_units = ?, updated_at = CURRENT_TIMESTAMP WHERE owner_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PropertyCacheService propertyCacheService;
+    private final Counter driftRepaired;
+
+    @Value("${property.stats.reconcile-batch-size:500}")
+    private int reconcileBatchSize = 500;
+
+    @Autowired
+    public OwnerStatsService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PropertyCacheService propertyCacheService,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.propertyCacheService = propertyCacheService;
+        this.driftRepaired = Counter.builder("property.owner_stats.drift.repaired")
+            .description("Owner statistics rows found out of step with the base tables and rebuilt")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Apply a property status/rent change. A null status means the property did not exist
+     * (created) or no longer exists (deleted).
+     */
+    public void recordPropertyChange(String ownerId,
+                                     Property.PropertyStatus oldStatus, BigDecimal oldRent,
+                                     Property.PropertyStatus newStatus, BigDecimal newRent) {
+        Delta delta = Delta.ofProperty(newStatus, newRent).minus(Delta.ofProperty(oldStatus, oldRent));
+        apply(ownerId, delta);
+    }
+
+    /**
+     * Apply a unit status change; null means the unit was created or deleted
+     */
+    public void recordUnitChange(String ownerId, PropertyUnit.UnitStatus oldStatus, PropertyUnit.UnitStatus newStatus) {
+        apply(ownerId, Delta.ofUnit(newStatus).minus(Delta.ofUnit(oldStatus)));
+    }
+
+    /**
+     * Apply the removal of several units at once (property deleted)
+     */
+    public void recordUnitsRemoved(String ownerId, Collection<PropertyUnit.UnitStatus> statuses) {
+        Delta delta = Delta.ZERO;
+        for (PropertyUnit.UnitStatus status : statuses) {
+            delta = delta.minus(Delta.ofUnit(status));
+        }
+        apply(ownerId, delta);
+    }
+
+    /**
+     * Apply many unit status changes at once (bulk unit writes): each entry of {@code oldStatuses}
+     * is taken away and each entry of {@code newStatuses} added
+     */
+    public void recordUnitChanges(String ownerId, Collection<PropertyUnit.UnitStatus> oldStatuses,
+                                  Collection<PropertyUnit.UnitStatus> newStatuses) {
+        Delta delta = Delta.ZERO;
+        for (PropertyUnit.UnitStatus status : newStatuses) {
+            delta = delta.plus(Delta.ofUnit(status));
+        }
+        for (PropertyUnit.UnitStatus status : oldStatuses) {
+            delta = delta.minus(Delta.ofUnit(status));
+        }
+        apply(ownerId, delta);
+    }
+
+    /**
+     * Apply a cascade delete (removed) or restore of whole properties and their units as one delta
+     */
+    public void recordCascade(String ownerId, Collection<PropertyCascadeService.CascadedProperty> properties, boolean removed) {
+        Delta delta = Delta.ZERO;
+        for (PropertyCascadeService.CascadedProperty property : properties) {
+            delta = delta.plus(Delta.ofProperty(property.status(), property.monthlyRent()));
+            for (PropertyUnit.UnitStatus status : property.unitStatuses()) {
+                delta = delta.plus(Delta.ofUnit(status));
+            }
+        }
+        apply(ownerId, removed ? Delta.ZERO.minus(delta) : delta);
+    }
+
+    /**
+     * Apply the creation of many properties and units at once (bulk import)
+     */
+    public void recordCreated(String ownerId, Collection<Property> properties, Collection<PropertyUnit.UnitStatus> unitStatuses) {
+        Delta delta = Delta.ZERO;
+        for (Property property : properties) {
+            delta = delta.plus(Delta.ofProperty(property.getStatus(), property.getMonthlyRent()));
+        }
+        for (PropertyUnit.UnitStatus status : unitStatuses) {
+            delta = delta.plus(Delta.ofUnit(status));
+        }
+        apply(ownerId, delta);
+    }
+
+    /**
+     * Statistics for the owner from the rollup row; an owner with no row yet is reconciled first
+     */
+    public Map<String, Object> getStatistics(String ownerId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_STATS_SQL, ownerId);
+        if (rows.isEmpty()) {
+            reconcileOwner(ownerId);
+            rows = jdbcTemplate.queryForList(SELECT_STATS_SQL, ownerId);
+        }
+        return toStatistics(rows.isEmpty() ? Map.of() : rows.get(0));
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * Find rows that disagree with the base tables (or are missing) and rebuild them
+     */
+    @Scheduled(fixedDelayString = "${property.stats.reconcile-interval-ms:3600000}",
+               initialDelayString = "${property.stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            List<String> drifted = jdbcTemplate.queryForList(FIND_DRIFTED_SQL, String.class, reconcileBatchSize);
+            int repaired = 0;
+            for (String ownerId : drifted) {
+                if (reconcileOwner(ownerId)) {
+                    repaired++;
+                }
+            }
+            if (repaired > 0) {
+                log.warn("Repaired owner statistics drift for {} owners", repaired);
+            }
+
+        } catch (Exception e) {
+            log.error("Owner statistics reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Rebuild one owner's row under its row lock. Writers hold the same lock until they commit,
+     * so the recount cannot miss an in-flight delta. Returns true when the row was changed.
+     */
+    boolean reconcileOwner(String ownerId) {
+        Boolean changed = transactionTemplate.execute(status -> {
+            jdbcTemplate.update(LOCK_ROW_SQL, ownerId);
+            Map<String, Object> current = jdbcTemplate.queryForMap(SELECT_STATS_SQL + " FOR UPDATE", ownerId);
+            List<Map<String, Object>> actualRows = jdbcTemplate.queryForList(
+                ACTUAL_STATS_SELECT + "AND p.owner_id = ? GROUP BY p.owner_id", ownerId);
+            Delta actual = actualRows.isEmpty() ? Delta.ZERO : Delta.fromRow(actualRows.get(0));
+
+            if (actual.equals(Delta.fromRow(current))) {
+                return false;
+            }
+            jdbcTemplate.update(REPLACE_SQL, actual.published(), actual.draft(), actual.rented(), actual.maintenance(),
+                actual.rentedRevenue(), actual.totalUnits(), actual.rentedUnits(), ownerId);
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(changed)) {
+            driftRepaired.increment();
+            propertyCacheService.evictStatistics(ownerId);
+            log.debug("Rebuilt owner statistics for {}", ownerId);
+            return true;
+        }
+        return false;
+    }
+
+    private void apply(String ownerId, Delta delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        jdbcTemplate.update(UPSERT_DELTA_SQL, ownerId, delta.published(), delta.draft(), delta.rented(),
+            delta.maintenance(), delta.rentedRevenue(), delta.totalUnits(), delta.rentedUnits());
+    }
+
+    private static Map<String, Object> toStatistics(Map<String, Object> row) {
+        Delta stats = Delta.fromRow(row);
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("totalProperties", stats.published());
+        statistics.put("draftProperties", stats.draft());
+        statistics.put("rentedProperties", stats.rented());
+        statistics.put("maintenanceProperties", stats.maintenance());
+        statistics.put("totalMonthlyRevenue", stats.rentedRevenue().doubleValue());
+        statistics.put("totalUnits", stats.totalUnits());
+        statistics.put("rentedUnits", stats.rentedUnits());
+        if (stats.totalUnits() > 0) {
+            statistics.put("averageOccupancyRate", stats.rentedUnits() * 100.0 / stats.totalUnits());
+        }
+        return statistics;
+    }
+
+    /**
+     * One owner's contribution to each rollup column (also used for whole rows)
+     */
+    record Delta(long published, long draft, long rented, long maintenance, BigDecimal rentedRevenue,
+                 long totalUnits, long rentedUnits) {
+
+        static final Delta ZERO = new Delta(0, 0, 0, 0, BigDecimal.ZERO, 0, 0);
+
+        static Delta ofProperty(Property.PropertyStatus status, BigDecimal monthlyRent) {
+            if (status == null) {
+                return ZERO;
+            }
+            return new Delta(
+                status == Property.PropertyStatus.PUBLISHED ? 1 : 0,
+                status == Property.PropertyStatus.DRAFT ? 1 : 0,
+                status == Property.PropertyStatus.RENTED ? 1 : 0,
+                status == Property.PropertyStatus.MAINTENANCE ? 1 : 0,
+                status == Property.PropertyStatus.RENTED && monthlyRent != null ? monthlyRent : BigDecimal.ZERO,
+                0, 0);
+        }
+
+        static Delta ofUnit(PropertyUnit.UnitStatus status) {
+            if (status == null) {
+                return ZERO;
+            }
+            return new Delta(0, 0, 0, 0, BigDecimal.ZERO, 1, status == PropertyUnit.UnitStatus.RENTED ? 1 : 0);
+        }
+
+        static Delta fromRow(Map<String, Object> row) {
+            return new Delta(
+                longValue(row.get("published_count")),
+                longValue(row.get("draft_count")),
+                longValue(row.get("rented_count")),
+                longValue(row.get("maintenance_count")),
+                row.get("rented_revenue") != null
+                    ? new BigDecimal(row.get("rented_revenue").toString()).stripTrailingZeros() : BigDecimal.ZERO,
+                longValue(row.get("total_units")),
+                longValue(row.get("rented_units")));
+        }
+
+        Delta plus(Delta other) {
+            return new Delta(published + other.published, draft + other.draft, rented + other.rented,
+                maintenance + other.maintenance, rentedRevenue.add(other.rentedRevenue),
+                totalUnits + other.totalUnits, rentedUnits + other.rentedUnits);
+        }
+
+        Delta minus(Delta other) {
+            return new Delta(published - other.published, draft - other.draft, rented - other.rented,
+                maintenance - other.maintenance, rentedRevenue.subtract(other.rentedRevenue),
+                totalUnits - other.totalUnits, rentedUnits - other.rentedUnits);
+        }
+
+        boolean isZero() {
+            return published == 0 && draft == 0 && rented == 0 && maintenance == 0
+                && rentedRevenue.signum() == 0 && totalUnits == 0 && rentedUnits == 0;
+        }
+
+        private static long longValue(Object value) {
+            return value == null ? 0 : ((Number) value).longValue();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.landlord.property.service;
+
+import com.landlord.property.dto.PropertyResponseDto;
+import com.landlord.property.model.PropertyImage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for assembled property details, the unit/image lists they are built from
+ * and per-owner statistics.
+ * Evictions are applied immediately and again after commit so a concurrent reader cannot
+ * re-populate an entry with pre-commit data.
+ */
+@Slf4j
+@Service
+public class PropertyCacheService {
+
+    public static final String PROPERTIES = "properties";
+    public static final String UNITS = "units";
+    public static final String IMAGES = "images";
+    public static final String STATISTICS = "statistics";
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public PropertyCacheService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public PropertyResponseDto getProperty(String propertyId, Supplier<PropertyResponseDto> loader) {
+        return get(PROPERTIES, propertyId, loader);
+    }
+
+    public List<PropertyResponseDto.PropertyUnitResponseDto> getUnits(String propertyId,
+                                                                      Supplier<List<PropertyResponseDto.PropertyUnitResponseDto>> loader) {
+        return get(UNITS, propertyId, loader);
+    }
+
+    public List<PropertyImage> getImages(String propertyId, Supplier<List<PropertyImage>> loader) {
+        return get(IMAGES, propertyId, loader);
+    }
+
+    public Map<String, Object> getStatistics(String ownerId, Supplier<Map<String, Object>> loader) {
+        return get(STATISTICS, ownerId, loader);
+    }
+
+    /**
+     * Evict the assembled property detail (property row changed)
+     */
+    public void evictProperty(String propertyId) {
+        evict(propertyId, PROPERTIES);
+    }
+
+    /**
+     * Evict units and the property detail that embeds them
+     */
+    public void evictUnits(String propertyId) {
+        evict(propertyId, UNITS, PROPERTIES);
+    }
+
+    /**
+     * Evict images and the property detail that embeds them
+     */
+    public void evictImages(String propertyId) {
+        evict(propertyId, IMAGES, PROPERTIES);
+    }
+
+    /**
+     * Evict every region for a property (property deleted)
+     */
+    public void evictAll(String propertyId) {
+        evict(propertyId, PROPERTIES, UNITS, IMAGES);
+    }
+
+    /**
+     * Evict owner statistics (a property or unit of this owner changed)
+     */
+    public void evictStatistics(String ownerId) {
+        evict(ownerId, STATISTICS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String cacheName, String key, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+
+        try {
+            return (T) cache.get(key, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            // Surface the loader's own exception (e.g. PropertyNotFoundException)
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void evict(String key, String... cacheNames) {
+        evictNow(key, cacheNames);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(key, cacheNames);
+                }
+            });
+        }
+    }
+
+    private void evictNow(String key, String... cacheNames) {
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(key);
+            }
+        }
+        log.debug("Evicted {} for key: {}", String.join(",", cacheNames), key);
+    }
+}
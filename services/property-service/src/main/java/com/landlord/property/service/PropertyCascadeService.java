@@ -0,0 +1,201 @@
+package com.landlord.property.service;
+
+import com.landlord.property.model.Property;
+import com.landlord.property.model.PropertyUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Soft deletes and restores whole properties with set-based UPDATEs: one statement each for the
+ * properties, their units and their property and unit images, however many properties or units
+ * are involved. Every row of a cascade is stamped with the transaction timestamp, so a restore
+ * brings back exactly the children the delete took and leaves earlier individual deletes alone.
+ */
+@Slf4j
+@Service
+public class PropertyCascadeService {
+
+    private static final String DELETE_PROPERTIES_SQL =
+        "UPDATE properties SET deleted_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP " +
+        "WHERE owner_id = ? AND id = ANY(?) AND deleted_at IS NULL " +
+        "RETURNING id, status, monthly_rent";
+
+    private static final String DELETE_UNITS_SQL =
+        "UPDATE property_units SET deleted_at = CURRENT_TIMESTAMP " +
+        "WHERE property_id = ANY(?) AND deleted_at IS NULL " +
+        "RETURNING property_id, status";
+
+    private static final String DELETE_IMAGES_SQL =
+        "UPDATE property_images SET deleted_at = CURRENT_TIMESTAMP " +
+        "WHERE (property_id = ANY(?) OR unit_id IN (SELECT u.id FROM property_units u WHERE u.property_id = ANY(?))) " +
+        "AND deleted_at IS NULL";
+
+    // Children first: they are matched against the parent's deleted_at, which the last statement clears
+    private static final String RESTORE_UNITS_SQL =
+        "UPDATE property_units u SET deleted_at = NULL FROM properties p " +
+        "WHERE u.property_id = p.id AND p.owner_id = ? AND p.id = ANY(?) " +
+        "AND p.deleted_at IS NOT NULL AND u.deleted_at = p.deleted_at " +
+        "RETURNING u.property_id, u.status";
+
+    private static final String RESTORE_IMAGES_SQL =
+        "UPDATE property_images i SET deleted_at = NULL FROM properties p " +
+        "WHERE p.owner_id = ? AND p.id = ANY(?) AND p.deleted_at IS NOT NULL AND i.deleted_at = p.deleted_at " +
+        "AND (i.property_id = p.id OR i.unit_id IN (SELECT u.id FROM property_units u WHERE u.property_id = p.id))";
+
+    private static final String RESTORE_PROPERTIES_SQL =
+        "UPDATE properties SET deleted_at = NULL, updated_at = CURRENT_TIMESTAMP " +
+        "WHERE owner_id = ? AND id = ANY(?) AND deleted_at IS NOT NULL " +
+        "RETURNING id, status, monthly_rent";
+
+    private static final String DELETE_UNIT_SQL =
+        "UPDATE property_units SET deleted_at = CURRENT_TIMESTAMP " +
+        "WHERE id = ? AND property_id = ? AND deleted_at IS NULL";
+
+    private static final String DELETE_UNIT_IMAGES_SQL =
+        "UPDATE property_images SET deleted_at = CURRENT_TIMESTAMP WHERE unit_id = ? AND deleted_at IS NULL";
+
+    private static final RowMapper<CascadedProperty> PROPERTY_ROW_MAPPER = (rs, rowNum) -> new CascadedProperty(
+        rs.getString("id"),
+        Property.PropertyStatus.valueOf(rs.getString("status")),
+        rs.getBigDecimal("monthly_rent"),
+        new ArrayList<>());
+
+    private static final RowMapper<UnitRow> UNIT_ROW_MAPPER = (rs, rowNum) -> new UnitRow(
+        rs.getString("property_id"),
+        PropertyUnit.UnitStatus.valueOf(rs.getString("status")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PropertyCascadeService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A property a cascade deleted or restored, with the statuses of the units that went with it
+     */
+    public record CascadedProperty(String id, Property.PropertyStatus status, BigDecimal monthlyRent,
+                                   List<PropertyUnit.UnitStatus> unitStatuses) {
+    }
+
+    public record CascadeResult(List<CascadedProperty> properties, int images) {
+
+        public List<String> propertyIds() {
+            return properties.stream().map(CascadedProperty::id).toList();
+        }
+
+        public int units() {
+            return properties.stream().mapToInt(property -> property.unitStatuses().size()).sum();
+        }
+
+        public boolean isEmpty() {
+            return properties.isEmpty();
+        }
+    }
+
+    private record UnitRow(String propertyId, PropertyUnit.UnitStatus status) {
+    }
+
+    /**
+     * Soft delete the owner's live properties among {@code propertyIds} with their units and images.
+     * Ids that are unknown, already deleted or owned by someone else are skipped.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public CascadeResult softDeleteProperties(String ownerId, Collection<String> propertyIds) {
+        if (propertyIds.isEmpty()) {
+            return new CascadeResult(List.of(), 0);
+        }
+        List<CascadedProperty> properties = queryWithIds(DELETE_PROPERTIES_SQL, PROPERTY_ROW_MAPPER, ownerId, propertyIds);
+        if (properties.isEmpty()) {
+            return new CascadeResult(properties, 0);
+        }
+
+        List<String> deletedIds = properties.stream().map(CascadedProperty::id).toList();
+        List<UnitRow> units = queryWithIds(DELETE_UNITS_SQL, UNIT_ROW_MAPPER, null, deletedIds);
+        int images = jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DELETE_IMAGES_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", deletedIds.toArray()));
+            statement.setArray(2, connection.createArrayOf("varchar", deletedIds.toArray()));
+            return statement;
+        });
+
+        attachUnits(properties, units);
+        log.debug("Cascade deleted {} properties, {} units and {} images for owner {}",
+            properties.size(), units.size(), images, ownerId);
+        return new CascadeResult(properties, images);
+    }
+
+    /**
+     * Restore the owner's deleted properties among {@code propertyIds} together with the units and
+     * images their delete cascaded to. Ids that are unknown, live or owned by someone else are skipped.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public CascadeResult restoreProperties(String ownerId, Collection<String> propertyIds) {
+        if (propertyIds.isEmpty()) {
+            return new CascadeResult(List.of(), 0);
+        }
+        List<UnitRow> units = queryWithIds(RESTORE_UNITS_SQL, UNIT_ROW_MAPPER, ownerId, propertyIds);
+        int images = jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RESTORE_IMAGES_SQL);
+            statement.setString(1, ownerId);
+            statement.setArray(2, connection.createArrayOf("varchar", propertyIds.toArray()));
+            return statement;
+        });
+        List<CascadedProperty> properties = queryWithIds(RESTORE_PROPERTIES_SQL, PROPERTY_ROW_MAPPER, ownerId, propertyIds);
+
+        attachUnits(properties, units);
+        log.debug("Cascade restored {} properties, {} units and {} images for owner {}",
+            properties.size(), units.size(), images, ownerId);
+        return new CascadeResult(properties, images);
+    }
+
+    /**
+     * Soft delete one unit and the images attached to it. Returns false when the unit was not live.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean softDeleteUnit(String unitId, String propertyId) {
+        if (jdbcTemplate.update(DELETE_UNIT_SQL, unitId, propertyId) == 0) {
+            return false;
+        }
+        jdbcTemplate.update(DELETE_UNIT_IMAGES_SQL, unitId);
+        return true;
+    }
+
+    private <T> List<T> queryWithIds(String sql, RowMapper<T> rowMapper, String ownerId, Collection<String> ids) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            int index = 1;
+            if (ownerId != null) {
+                statement.setString(index++, ownerId);
+            }
+            statement.setArray(index, connection.createArrayOf("varchar", ids.toArray()));
+            return statement;
+        }, rowMapper);
+    }
+
+    private static void attachUnits(List<CascadedProperty> properties, List<UnitRow> units) {
+        Map<String, CascadedProperty> byId = new HashMap<>();
+        for (CascadedProperty property : properties) {
+            byId.put(property.id(), property);
+        }
+        for (UnitRow unit : units) {
+            CascadedProperty property = byId.get(unit.propertyId());
+            if (property != null) {
+                property.unitStatuses().add(unit.status());
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.landlord.property.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accumulates view/inquiry/favorite counters in memory and flushes coalesced deltas
+ * to the properties table in one JDBC batch per interval, so reads never write the
+ * property row or bump its version. Deltas are only added inside the map's per-key
+ * compute and drained by removing the entry, so an increment racing a flush lands
+ * either in the drained deltas or in a fresh entry, never in neither.
+ */
+@Slf4j
+@Service
+public class PropertyCounterService {
+
+    private static final String FLUSH_SQL =
+        "UPDATE properties SET " +
+        "view_count = GREATEST(view_count + ?, 0), " +
+        "inquiry_count = GREATEST(inquiry_count + ?, 0), " +
+        "favorite_count = GREATEST(favorite_count + ?, 0) " +
+        "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, Counters> pending = new ConcurrentHashMap<>();
+    private final AtomicLong lastFlushMillis = new AtomicLong(System.currentTimeMillis());
+    private final Timer flushTimer;
+
+    @Autowired
+    public PropertyCounterService(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushTimer = Timer.builder("property.counters.flush")
+            .description("Time taken to flush coalesced property counters")
+            .register(meterRegistry);
+        Gauge.builder("property.counters.flush.lag", lastFlushMillis,
+                last -> (System.currentTimeMillis() - last.get()) / 1000.0)
+            .description("Seconds since property counters were last flushed successfully")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("property.counters.pending", pending, Map::size)
+            .description("Properties with counter deltas awaiting flush")
+            .register(meterRegistry);
+    }
+
+    public void recordView(String propertyId) {
+        adjust(propertyId, 1, 0, 0);
+    }
+
+    public void recordInquiry(String propertyId) {
+        adjust(propertyId, 0, 1, 0);
+    }
+
+    public void recordFavorite(String propertyId) {
+        adjust(propertyId, 0, 0, 1);
+    }
+
+    public void adjust(String propertyId, long views, long inquiries, long favorites) {
+        if (views == 0 && inquiries == 0 && favorites == 0) {
+            return;
+        }
+        pending.compute(propertyId, (id, counters) -> {
+            Counters target = counters != null ? counters : new Counters();
+            target.views += views;
+            target.inquiries += inquiries;
+            target.favorites += favorites;
+            return target;
+        });
+    }
+
+    /**
+     * Flush accumulated deltas with a single batched UPDATE
+     */
+    @Scheduled(fixedDelayString = "${property.counters.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+
+        for (String propertyId : pending.keySet()) {
+            // Removing takes the same per-key lock as adjust, so no delta is added to a drained entry
+            Counters counters = pending.remove(propertyId);
+            if (counters == null || (counters.views == 0 && counters.inquiries == 0 && counters.favorites == 0)) {
+                continue;
+            }
+            batch.add(new Object[]{counters.views, counters.inquiries, counters.favorites, propertyId});
+        }
+
+        if (batch.isEmpty()) {
+            lastFlushMillis.set(System.currentTimeMillis());
+            return;
+        }
+
+        try {
+            // All-or-nothing so a failed flush can be re-queued without double counting
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(
+                status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch)));
+            lastFlushMillis.set(System.currentTimeMillis());
+            log.debug("Flushed counters for {} properties", batch.size());
+
+        } catch (Exception e) {
+            log.error("Failed to flush property counters, re-queueing {} deltas: {}", batch.size(), e.getMessage(), e);
+            for (Object[] row : batch) {
+                adjust((String) row[3], (Long) row[0], (Long) row[1], (Long) row[2]);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing property counters before shutdown");
+        flush();
+    }
+
+    // Only read or written inside the pending map's compute/remove for its key
+    private static final class Counters {
+        private long views;
+        private long inquiries;
+        private long favorites;
+    }
+}
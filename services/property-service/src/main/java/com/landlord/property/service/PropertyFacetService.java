@@ -0,0 +1,139 @@
+package com.landlord.property.service;
+
+import com.landlord.property.dto.PropertySearchCriteriaDto;
+import com.landlord.property.search.PropertyCriteriaCompiler;
+import com.landlord.property.search.PropertyCriteriaCompiler.CompiledCriteria;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Facet counts (type, status, bedroom bucket, rent band, city) for a filtered property set,
+ * computed in a single GROUPING SETS aggregation instead of one count query per facet.
+ */
+@Slf4j
+@Service
+public class PropertyFacetService {
+
+    public static final String PROPERTY_TYPE = "propertyType";
+    public static final String STATUS = "status";
+    public static final String BEDROOMS = "bedrooms";
+    public static final String RENT_BAND = "rentBand";
+    public static final String CITY = "city";
+
+    private static final String FACET_SELECT =
+        "SELECT property_type, status, bedroom_bucket, rent_band, city, " +
+        "GROUPING(property_type) AS g_type, GROUPING(status) AS g_status, GROUPING(bedroom_bucket) AS g_bedrooms, " +
+        "GROUPING(rent_band) AS g_rent, GROUPING(city) AS g_city, COUNT(*) AS cnt FROM (" +
+        "SELECT p.property_type, p.status, " +
+        "CASE WHEN p.bedrooms IS NULL THEN 'unknown' WHEN p.bedrooms >= 4 THEN '4+' ELSE CAST(p.bedrooms AS VARCHAR) END AS bedroom_bucket, " +
+        "CASE WHEN p.monthly_rent IS NULL THEN 'unknown' " +
+        "WHEN p.monthly_rent < 1000 THEN '0-999' " +
+        "WHEN p.monthly_rent < 2000 THEN '1000-1999' " +
+        "WHEN p.monthly_rent < 3000 THEN '2000-2999' " +
+        "ELSE '3000+' END AS rent_band, " +
+        "p.city FROM properties p ";
+
+    private static final String FACET_GROUPING =
+        ") f GROUP BY GROUPING SETS ((property_type), (status), (bedroom_bucket), (rent_band), (city))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PropertyCriteriaCompiler criteriaCompiler;
+
+    @Value("${property.search.facets.max-cities:20}")
+    private int maxCities = 20;
+
+    @Autowired
+    public PropertyFacetService(JdbcTemplate jdbcTemplate, PropertyCriteriaCompiler criteriaCompiler) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.criteriaCompiler = criteriaCompiler;
+    }
+
+    /**
+     * Facets over the properties matching the SQL-side search filters
+     */
+    public Map<String, Map<String, Long>> computeFacets(PropertySearchCriteriaDto criteria) {
+        CompiledCriteria compiled = criteriaCompiler.compile(criteria, true);
+
+        FacetCollector collector = new FacetCollector();
+        jdbcTemplate.query(FACET_SELECT + "WHERE " + compiled.where() + FACET_GROUPING, collector, compiled.argsArray());
+        return collector.toFacets(maxCities);
+    }
+
+    /**
+     * Facets over an already resolved id set (keyword index or proximity matches), passed as one array
+     */
+    public Map<String, Map<String, Long>> computeFacets(Collection<String> propertyIds) {
+        FacetCollector collector = new FacetCollector();
+        if (propertyIds.isEmpty()) {
+            return collector.toFacets(maxCities);
+        }
+
+        String sql = FACET_SELECT +
+            "WHERE p.id = ANY(?) AND p.deleted_at IS NULL" +
+            FACET_GROUPING;
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            Array ids = connection.createArrayOf("varchar", propertyIds.toArray());
+            statement.setArray(1, ids);
+            return statement;
+        }, collector);
+        return collector.toFacets(maxCities);
+    }
+
+    /**
+     * Routes each grouping-set row to its facet using the GROUPING() flags
+     */
+    static class FacetCollector implements RowCallbackHandler {
+
+        private final Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+
+        FacetCollector() {
+            for (String facet : List.of(PROPERTY_TYPE, STATUS, BEDROOMS, RENT_BAND, CITY)) {
+                facets.put(facet, new LinkedHashMap<>());
+            }
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long count = rs.getLong("cnt");
+            if (rs.getInt("g_type") == 0) {
+                add(PROPERTY_TYPE, rs.getString("property_type"), count);
+            } else if (rs.getInt("g_status") == 0) {
+                add(STATUS, rs.getString("status"), count);
+            } else if (rs.getInt("g_bedrooms") == 0) {
+                add(BEDROOMS, rs.getString("bedroom_bucket"), count);
+            } else if (rs.getInt("g_rent") == 0) {
+                add(RENT_BAND, rs.getString("rent_band"), count);
+            } else if (rs.getInt("g_city") == 0) {
+                add(CITY, rs.getString("city"), count);
+            }
+        }
+
+        void add(String facet, String value, long count) {
+            facets.get(facet).merge(value != null ? value : "unknown", count, Long::sum);
+        }
+
+        /**
+         * Values sorted by count (descending); city is cut to the most common maxCities
+         */
+        Map<String, Map<String, Long>> toFacets(int maxCities) {
+            Map<String, Map<String, Long>> sorted = new LinkedHashMap<>();
+            facets.forEach((facet, counts) -> sorted.put(facet, counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(CITY.equals(facet) ? maxCities : Long.MAX_VALUE)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new))));
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.landlord.property.service;
+
+import com.landlord.property.util.GeoHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills the geohash column for rows written before it existed (or by other writers),
+ * in small batches on startup. New writes set it through the entity lifecycle callback.
+ */
+@Slf4j
+@Component
+public class PropertyGeohashBackfill {
+
+    private static final String SELECT_SQL =
+        "SELECT id, latitude, longitude FROM properties " +
+        "WHERE geohash IS NULL AND latitude IS NOT NULL AND longitude IS NOT NULL LIMIT ?";
+
+    private static final String UPDATE_SQL = "UPDATE properties SET geohash = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${property.geo.backfill-batch-size:500}")
+    private int batchSize = 500;
+
+    @Autowired
+    public PropertyGeohashBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int total = 0;
+            int updated;
+            do {
+                updated = backfillBatch();
+                total += updated;
+            } while (updated == batchSize);
+
+            if (total > 0) {
+                log.info("Backfilled geohash for {} properties", total);
+            }
+        } catch (Exception e) {
+            // Proximity search misses these rows until the next start; do not block startup
+            log.error("Failed to backfill property geohashes: {}", e.getMessage(), e);
+        }
+    }
+
+    int backfillBatch() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_SQL, batchSize);
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            String geohash = GeoHash.encode(
+                ((Number) row.get("latitude")).doubleValue(),
+                ((Number) row.get("longitude")).doubleValue(),
+                GeoHash.MAX_PRECISION);
+            batch.add(new Object[]{geohash, row.get("id")});
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+        }
+        return batch.size();
+    }
+}
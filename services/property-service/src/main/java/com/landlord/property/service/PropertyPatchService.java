@@ -0,0 +1,185 @@
+package com.landlord.property.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.landlord.property.dto.PropertyUnitCreateDto;
+import com.landlord.property.dto.PropertyUpdateDto;
+import com.landlord.property.exception.InvalidPropertyDataException;
+import com.landlord.property.exception.PropertyNotFoundException;
+import com.landlord.property.exception.PropertyUnitNotFoundException;
+import com.landlord.property.exception.PropertyVersionConflictException;
+import com.landlord.property.model.Property;
+import com.landlord.property.model.PropertyUnit;
+import com.landlord.property.patch.MergePatchCompiler;
+import com.landlord.property.util.GeoHash;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies merge patches to a property or unit as one UPDATE of only the patched columns. The
+ * pre-image needed for statistics and events comes back from the same statement, read from a
+ * row-locking CTE, so a patch never loads the entity. With an expected version the UPDATE also
+ * requires the row to still be at that version.
+ */
+@Slf4j
+@Service
+public class PropertyPatchService {
+
+    private static final String PATCH_PROPERTY_SQL =
+        "WITH old AS (SELECT id, status AS old_status, monthly_rent AS old_rent FROM properties " +
+        "WHERE id = ? AND owner_id = ? AND deleted_at IS NULL FOR UPDATE) " +
+        "UPDATE properties p SET %s, updated_at = CURRENT_TIMESTAMP, version = COALESCE(p.version, 0) + 1 " +
+        "FROM old WHERE p.id = old.id%s " +
+        "RETURNING p.id, p.name, old.old_status, p.status, old.old_rent, p.monthly_rent, p.version, p.updated_at";
+
+    private static final String PROPERTY_VERSION_SQL =
+        "SELECT COALESCE(version, 0) FROM properties WHERE id = ? AND owner_id = ? AND deleted_at IS NULL";
+
+    private static final String PATCH_UNIT_SQL =
+        "WITH old AS (SELECT u.id, u.status AS old_status FROM property_units u " +
+        "JOIN properties p ON p.id = u.property_id " +
+        "WHERE u.id = ? AND u.property_id = ? AND p.owner_id = ? AND u.deleted_at IS NULL AND p.deleted_at IS NULL " +
+        "FOR UPDATE OF u) " +
+        "UPDATE property_units u SET %s, version = COALESCE(u.version, 0) + 1 " +
+        "FROM old WHERE u.id = old.id%s " +
+        "RETURNING u.id, u.property_id, u.unit_number, old.old_status, u.status, u.monthly_rent, u.version";
+
+    private static final String UNIT_VERSION_SQL =
+        "SELECT COALESCE(u.version, 0) FROM property_units u JOIN properties p ON p.id = u.property_id " +
+        "WHERE u.id = ? AND u.property_id = ? AND p.owner_id = ? AND u.deleted_at IS NULL AND p.deleted_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MergePatchCompiler propertyCompiler;
+    private final MergePatchCompiler unitCompiler;
+
+    @Autowired
+    public PropertyPatchService(JdbcTemplate jdbcTemplate, Validator validator, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.propertyCompiler = new MergePatchCompiler(Property.class, PropertyUpdateDto.class, "p", validator, objectMapper);
+        this.unitCompiler = new MergePatchCompiler(PropertyUnit.class, PropertyUnitCreateDto.class, "u", validator, objectMapper);
+    }
+
+    public record PatchedProperty(String id, String name, List<String> changed,
+                                  Property.PropertyStatus oldStatus, Property.PropertyStatus status,
+                                  BigDecimal oldRent, BigDecimal monthlyRent,
+                                  long version, LocalDateTime updatedAt) {
+
+        public boolean statusChanged() {
+            return oldStatus != status;
+        }
+
+        public boolean rentChanged() {
+            return oldRent == null ? monthlyRent != null : monthlyRent == null || oldRent.compareTo(monthlyRent) != 0;
+        }
+    }
+
+    public record PatchedUnit(String id, String propertyId, String unitNumber, List<String> changed,
+                              PropertyUnit.UnitStatus oldStatus, PropertyUnit.UnitStatus status,
+                              BigDecimal monthlyRent, long version) {
+    }
+
+    /**
+     * Patch the owner's property; {@code expectedVersion} may be null to skip the version check
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PatchedProperty patchProperty(String propertyId, String ownerId, Map<String, Object> patch, Long expectedVersion) {
+        MergePatchCompiler.CompiledPatch compiled = propertyCompiler.compile(patch);
+        String assignments = compiled.assignments();
+        List<Object> args = new ArrayList<>();
+        args.add(propertyId);
+        args.add(ownerId);
+        args.addAll(compiled.args());
+
+        // The geohash is derived in Java, so it needs both coordinates from the patch itself
+        if (compiled.touches("latitude") || compiled.touches("longitude")) {
+            if (!compiled.touches("latitude") || !compiled.touches("longitude")) {
+                throw new InvalidPropertyDataException("latitude and longitude must be patched together");
+            }
+            assignments += ", geohash = ?";
+            args.add(GeoHash.encode((Double) compiled.value("latitude"), (Double) compiled.value("longitude")));
+        }
+        if (expectedVersion != null) {
+            args.add(expectedVersion);
+        }
+
+        String sql = String.format(PATCH_PROPERTY_SQL, assignments,
+            expectedVersion != null ? " AND COALESCE(p.version, 0) = ?" : "");
+        List<PatchedProperty> patched = jdbcTemplate.query(sql, (rs, rowNum) -> new PatchedProperty(
+            rs.getString("id"),
+            rs.getString("name"),
+            compiled.paths(),
+            Property.PropertyStatus.valueOf(rs.getString("old_status")),
+            Property.PropertyStatus.valueOf(rs.getString("status")),
+            rs.getBigDecimal("old_rent"),
+            rs.getBigDecimal("monthly_rent"),
+            rs.getLong("version"),
+            toLocalDateTime(rs.getTimestamp("updated_at"))), args.toArray());
+
+        if (patched.isEmpty()) {
+            List<Long> current = jdbcTemplate.queryForList(PROPERTY_VERSION_SQL, Long.class, propertyId, ownerId);
+            if (current.isEmpty()) {
+                throw new PropertyNotFoundException("Property not found or access denied");
+            }
+            throw new PropertyVersionConflictException(
+                "Property has changed since version " + expectedVersion + "; current version is " + current.get(0),
+                current.get(0));
+        }
+        log.debug("Patched property {} columns {} to version {}", propertyId, compiled.paths(), patched.get(0).version());
+        return patched.get(0);
+    }
+
+    /**
+     * Patch a unit of the owner's property; {@code expectedVersion} may be null to skip the version check
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PatchedUnit patchUnit(String unitId, String propertyId, String ownerId, Map<String, Object> patch, Long expectedVersion) {
+        MergePatchCompiler.CompiledPatch compiled = unitCompiler.compile(patch);
+        List<Object> args = new ArrayList<>();
+        args.add(unitId);
+        args.add(propertyId);
+        args.add(ownerId);
+        args.addAll(compiled.args());
+        if (expectedVersion != null) {
+            args.add(expectedVersion);
+        }
+
+        String sql = String.format(PATCH_UNIT_SQL, compiled.assignments(),
+            expectedVersion != null ? " AND COALESCE(u.version, 0) = ?" : "");
+        List<PatchedUnit> patched = jdbcTemplate.query(sql, (rs, rowNum) -> new PatchedUnit(
+            rs.getString("id"),
+            rs.getString("property_id"),
+            rs.getString("unit_number"),
+            compiled.paths(),
+            PropertyUnit.UnitStatus.valueOf(rs.getString("old_status")),
+            PropertyUnit.UnitStatus.valueOf(rs.getString("status")),
+            rs.getBigDecimal("monthly_rent"),
+            rs.getLong("version")), args.toArray());
+
+        if (patched.isEmpty()) {
+            List<Long> current = jdbcTemplate.queryForList(UNIT_VERSION_SQL, Long.class, unitId, propertyId, ownerId);
+            if (current.isEmpty()) {
+                throw new PropertyUnitNotFoundException("Unit not found or access denied");
+            }
+            throw new PropertyVersionConflictException(
+                "Unit has changed since version " + expectedVersion + "; current version is " + current.get(0),
+                current.get(0));
+        }
+        log.debug("Patched unit {} columns {} to version {}", unitId, compiled.paths(), patched.get(0).version());
+        return patched.get(0);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
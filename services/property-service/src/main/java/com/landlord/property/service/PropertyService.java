@@ -6,15 +6,25 @@ import com.landlord.property.mapper.PropertyImageMapper;
 import com.landlord.property.mapper.PropertyMapper;
 import com.landlord.property.mapper.PropertyUnitMapper;
 import com.landlord.property.model.*;
+import com.landlord.property.outbox.PropertyEventType;
+import com.landlord.property.outbox.PropertyOutbox;
 import com.landlord.property.repository.*;
+import com.landlord.property.search.PropertyKeywordIndex;
+import com.landlord.property.util.GeoHash;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,6 +32,9 @@ import java.util.stream.Collectors;
 @Transactional
 public class PropertyService {
 
+    private static final int ID_BATCH_SIZE = 1000;
+    private static final Set<String> PATCH_EXPANSIONS = Set.of("units", "images", "stats");
+
     private final PropertyRepository propertyRepository;
     private final PropertyUnitRepository propertyUnitRepository;
     private final PropertyImageRepository propertyImageRepository;
@@ -29,6 +42,17 @@ public class PropertyService {
     private final PropertyUnitMapper propertyUnitMapper;
     private final PropertyImageMapper propertyImageMapper;
     private final FileUploadService fileUploadService;
+    private final PropertyCounterService propertyCounterService;
+    private final PropertyCacheService propertyCacheService;
+    private final PropertyKeywordIndex propertyKeywordIndex;
+    private final PropertyFacetService propertyFacetService;
+    private final OwnerStatsService ownerStatsService;
+    private final ImageRenditionService imageRenditionService;
+    private final PropertyOutbox propertyOutbox;
+    private final PropertyCascadeService propertyCascadeService;
+    private final PropertyUnitBulkService propertyUnitBulkService;
+    private final PropertyPatchService propertyPatchService;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public PropertyService(PropertyRepository propertyRepository,
@@ -37,7 +61,18 @@ public class PropertyService {
                           PropertyMapper propertyMapper,
                           PropertyUnitMapper propertyUnitMapper,
                           PropertyImageMapper propertyImageMapper,
-                          FileUploadService fileUploadService) {
+                          FileUploadService fileUploadService,
+                          PropertyCounterService propertyCounterService,
+                          PropertyCacheService propertyCacheService,
+                          PropertyKeywordIndex propertyKeywordIndex,
+                          PropertyFacetService propertyFacetService,
+                          OwnerStatsService ownerStatsService,
+                          ImageRenditionService imageRenditionService,
+                          PropertyOutbox propertyOutbox,
+                          PropertyCascadeService propertyCascadeService,
+                          PropertyUnitBulkService propertyUnitBulkService,
+                          PropertyPatchService propertyPatchService,
+                          PlatformTransactionManager transactionManager) {
         this.propertyRepository = propertyRepository;
         this.propertyUnitRepository = propertyUnitRepository;
         this.propertyImageRepository = propertyImageRepository;
@@ -45,6 +80,17 @@ public class PropertyService {
         this.propertyUnitMapper = propertyUnitMapper;
         this.propertyImageMapper = propertyImageMapper;
         this.fileUploadService = fileUploadService;
+        this.propertyCounterService = propertyCounterService;
+        this.propertyCacheService = propertyCacheService;
+        this.propertyKeywordIndex = propertyKeywordIndex;
+        this.propertyFacetService = propertyFacetService;
+        this.ownerStatsService = ownerStatsService;
+        this.imageRenditionService = imageRenditionService;
+        this.propertyOutbox = propertyOutbox;
+        this.propertyCascadeService = propertyCascadeService;
+        this.propertyUnitBulkService = propertyUnitBulkService;
+        this.propertyPatchService = propertyPatchService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     // Property CRUD Operations
@@ -64,15 +110,22 @@ public class PropertyService {
             }
             
             Property savedProperty = propertyRepository.save(property);
+            ownerStatsService.recordPropertyChange(ownerId, null, null, savedProperty.getStatus(), savedProperty.getMonthlyRent());
+            propertyCacheService.evictStatistics(ownerId);
+            propertyKeywordIndex.reindexAfterCommit(savedProperty.getId());
+            propertyOutbox.record(PropertyEventType.PROPERTY_CREATED, savedProperty.getId(), ownerId, eventData(
+                "name", savedProperty.getName(),
+                "propertyType", savedProperty.getPropertyType(),
+                "status", savedProperty.getStatus(),
+                "monthlyRent", savedProperty.getMonthlyRent()));
             log.info("Property created successfully with ID: {}", savedProperty.getId());
             
-            // Create units if provided
+            // Create units if provided, as one batch
             List<PropertyUnitResponseDto> createdUnits = new ArrayList<>();
             if (createDto.getUnits() != null && !createDto.getUnits().isEmpty()) {
-                for (PropertyUnitCreateDto unitDto : createDto.getUnits()) {
-                    PropertyUnitResponseDto unit = createUnitInternal(savedProperty.getId(), unitDto);
-                    createdUnits.add(unit);
-                }
+                propertyRepository.flush();
+                List<PropertyUnit> units = propertyUnitBulkService.createUnits(savedProperty.getId(), ownerId, createDto.getUnits());
+                createdUnits = propertyUnitMapper.entitiesToResponseDtos(units);
             }
             
             // Upload images if provided
@@ -97,11 +150,10 @@ public class PropertyService {
         log.info("Updating property: {} for owner: {}", propertyId, ownerId);
         
         Property property = findPropertyByIdAndOwner(propertyId, ownerId);
+        Property.PropertyStatus oldStatus = property.getStatus();
+        BigDecimal oldRent = property.getMonthlyRent();
         
         try {
-            // Update properties
-            Property updatedData = propertyMapper.updateDtoToEntity(updateDto);
-            
             // Update fields if they are not null
             if (updateDto.getName() != null) property.setName(updateDto.getName());
             if (updateDto.getDescription() != null) property.setDescription(updateDto.getDescription());
@@ -133,36 +185,22 @@ public class PropertyService {
             if (updateDto.getNotes() != null) property.setNotes(updateDto.getNotes());
             if (updateDto.getMetaData() != null) property.setMetaData(propertyMapper.mapMetaData(updateDto.getMetaData()));
             
-            // Handle counter updates
-            if (Boolean.TRUE.equals(updateDto.getIncrementViewCount())) {
-                property.setViewCount(property.getViewCount() + 1);
-            }
-            if (Boolean.TRUE.equals(updateDto.getIncrementInquiryCount())) {
-                property.setInquiryCount(property.getInquiryCount() + 1);
-            }
-            if (Boolean.TRUE.equals(updateDto.getIncrementFavoriteCount())) {
-                property.setFavoriteCount(property.getFavoriteCount() + 1);
-            }
-            if (Boolean.TRUE.equals(updateDto.getDecrementViewCount()) && property.getViewCount() > 0) {
-                property.setViewCount(property.getViewCount() - 1);
-            }
-            if (Boolean.TRUE.equals(updateDto.getDecrementInquiryCount()) && property.getInquiryCount() > 0) {
-                property.setInquiryCount(property.getInquiryCount() - 1);
-            }
-            if (Boolean.TRUE.equals(updateDto.getDecrementFavoriteCount()) && property.getFavoriteCount() > 0) {
-                property.setFavoriteCount(property.getFavoriteCount() - 1);
-            }
+            // Counter updates are coalesced and flushed asynchronously (floored at zero on flush)
+            propertyCounterService.adjust(propertyId,
+                counterDelta(updateDto.getIncrementViewCount(), updateDto.getDecrementViewCount()),
+                counterDelta(updateDto.getIncrementInquiryCount(), updateDto.getDecrementInquiryCount()),
+                counterDelta(updateDto.getIncrementFavoriteCount(), updateDto.getDecrementFavoriteCount()));
             
             Property savedProperty = propertyRepository.save(property);
+            ownerStatsService.recordPropertyChange(ownerId, oldStatus, oldRent,
+                savedProperty.getStatus(), savedProperty.getMonthlyRent());
+            propertyCacheService.evictProperty(propertyId);
+            propertyCacheService.evictStatistics(ownerId);
+            propertyKeywordIndex.reindexAfterCommit(propertyId);
+            recordPropertyUpdated(savedProperty, oldStatus, oldRent);
             log.info("Property updated successfully: {}", propertyId);
             
-            // Get related data for response
-            List<PropertyImage> images = propertyImageRepository.findByPropertyIdAndDeletedAtIsNull(propertyId);
-            List<PropertyUnitResponseDto> units = getUnitsForProperty(propertyId);
-            Double occupancyRate = calculateOccupancyRate(propertyId);
-            BigDecimal totalRevenue = calculateTotalMonthlyRevenue(propertyId);
-            
-            return PropertyResponseDto.fromEntityWithImages(savedProperty, images, units, occupancyRate, totalRevenue);
+            return buildPropertyResponse(savedProperty);
             
         } catch (Exception e) {
             log.error("Error updating property: {}", e.getMessage(), e);
@@ -170,60 +208,162 @@ public class PropertyService {
         }
     }
 
-    public PropertyResponseDto getProperty(String propertyId, String ownerId) {
-        log.debug("Getting property: {} for owner: {}", propertyId, ownerId);
-        
-        Property property = findPropertyByIdAndOwner(propertyId, ownerId);
+    /**
+     * Apply a JSON merge patch as one UPDATE of the patched columns, without loading the property.
+     * Returns the new version and the changed fields; units, images and stats only when expanded.
+     */
+    public PatchResponseDto patchProperty(String propertyId, String ownerId, Map<String, Object> patch,
+                                          Long expectedVersion, Set<String> expand) {
+        log.info("Patching property: {} for owner: {}", propertyId, ownerId);
         
+        Set<String> expansions = patchExpansions(expand);
         try {
-            // Increment view count
-            property.setViewCount(property.getViewCount() + 1);
-            propertyRepository.save(property);
+            PropertyPatchService.PatchedProperty patched =
+                propertyPatchService.patchProperty(propertyId, ownerId, patch, expectedVersion);
+            propertyCacheService.evictProperty(propertyId);
+            if (patched.statusChanged() || patched.rentChanged()) {
+                ownerStatsService.recordPropertyChange(ownerId, patched.oldStatus(), patched.oldRent(),
+                    patched.status(), patched.monthlyRent());
+                propertyCacheService.evictStatistics(ownerId);
+            }
+            if (PropertyKeywordIndex.INDEXED_PROPERTY_FIELDS.stream().anyMatch(patched.changed()::contains)) {
+                propertyKeywordIndex.reindexAfterCommit(propertyId);
+            }
+            recordPropertyUpdated(propertyId, ownerId, patched.name(), patched.version(),
+                patched.oldStatus(), patched.status(), patched.oldRent(), patched.monthlyRent());
             
-            // Get related data
-            List<PropertyImage> images = propertyImageRepository.findByPropertyIdAndDeletedAtIsNull(propertyId);
-            List<PropertyUnitResponseDto> units = getUnitsForProperty(propertyId);
-            Double occupancyRate = calculateOccupancyRate(propertyId);
-            BigDecimal totalRevenue = calculateTotalMonthlyRevenue(propertyId);
+            PatchResponseDto.PatchResponseDtoBuilder response = PatchResponseDto.builder()
+                .id(patched.id())
+                .version(patched.version())
+                .updatedAt(patched.updatedAt())
+                .changed(patched.changed())
+                .status(patched.status().name())
+                .monthlyRent(patched.monthlyRent());
+            if (expansions.contains("units")) {
+                response.units(getUnitsForProperty(propertyId));
+            }
+            if (expansions.contains("images")) {
+                response.images(getImagesForProperty(propertyId).stream()
+                    .map(PropertyResponseDto.PropertyImageDto::fromEntity)
+                    .collect(Collectors.toList()));
+            }
+            if (expansions.contains("stats")) {
+                response.occupancyRate(calculateOccupancyRate(propertyId))
+                    .totalMonthlyRevenue(calculateTotalMonthlyRevenue(propertyId));
+            }
+            return response.build();
             
-            return PropertyResponseDto.fromEntityWithImages(property, images, units, occupancyRate, totalRevenue);
+        } catch (PropertyNotFoundException | InvalidPropertyDataException | PropertyVersionConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error patching property: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to patch property: " + e.getMessage(), e);
+        }
+    }
+
+    public PropertyResponseDto getProperty(String propertyId, String ownerId) {
+        log.debug("Getting property: {} for owner: {}", propertyId, ownerId);
+        
+        PropertyResponseDto property;
+        try {
+            property = propertyCacheService.getProperty(propertyId, () -> buildPropertyResponse(
+                propertyRepository.findById(propertyId)
+                    .filter(entity -> !entity.isDeleted())
+                    .orElseThrow(() -> new PropertyNotFoundException("Property not found or access denied"))));
             
+        } catch (PropertyNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error getting property: {}", e.getMessage(), e);
             throw new DatabaseException("Failed to get property: " + e.getMessage(), e);
         }
+        
+        if (!ownerId.equals(property.getOwnerId())) {
+            throw new PropertyNotFoundException("Property not found or access denied");
+        }
+        
+        // Record the view without writing the property row; flushed in batches
+        propertyCounterService.recordView(propertyId);
+        return property;
     }
 
     public void deleteProperty(String propertyId, String ownerId) {
         log.info("Deleting property: {} for owner: {}", propertyId, ownerId);
         
-        Property property = findPropertyByIdAndOwner(propertyId, ownerId);
-        
         try {
-            // Soft delete property
-            int updatedRows = propertyRepository.softDeleteById(propertyId);
-            if (updatedRows == 0) {
-                throw new PropertyNotFoundException("Property not found or already deleted");
+            // Property, units and all their images in three statements
+            PropertyCascadeService.CascadeResult result = propertyCascadeService.softDeleteProperties(ownerId, List.of(propertyId));
+            if (result.isEmpty()) {
+                throw new PropertyNotFoundException("Property not found or access denied");
             }
+            recordCascade(ownerId, result, true);
+            log.info("Property deleted successfully: {} ({} units, {} images)", propertyId, result.units(), result.images());
             
-            // Delete all images
-            propertyImageRepository.softDeleteByPropertyId(propertyId);
-            
-            // Soft delete all units
-            List<PropertyUnit> units = propertyUnitRepository.findByPropertyIdAndDeletedAtIsNull(propertyId);
-            for (PropertyUnit unit : units) {
-                propertyUnitRepository.softDeleteById(unit.getId());
-                propertyImageRepository.softDeleteByPropertyId(propertyId); // Unit images are also deleted
+        } catch (Exception e) {
+            log.error("Error deleting property: {}", e.getMessage(), e);
+            if (e instanceof PropertyNotFoundException) {
+                throw e;
             }
+            throw new DatabaseException("Failed to delete property: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Soft delete many of the owner's properties with their units and images in one transaction
+     */
+    public BulkPropertyResultDto deleteProperties(List<String> propertyIds, String ownerId) {
+        log.info("Bulk deleting {} properties for owner: {}", propertyIds.size(), ownerId);
+        
+        try {
+            Set<String> requested = new LinkedHashSet<>(propertyIds);
+            PropertyCascadeService.CascadeResult result = propertyCascadeService.softDeleteProperties(ownerId, requested);
+            recordCascade(ownerId, result, true);
+            return bulkResult(requested, result);
             
-            log.info("Property deleted successfully: {}", propertyId);
+        } catch (Exception e) {
+            log.error("Error bulk deleting properties: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to delete properties: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Restore a deleted property with the units and images its delete took with it
+     */
+    public void restoreProperty(String propertyId, String ownerId) {
+        log.info("Restoring property: {} for owner: {}", propertyId, ownerId);
+        
+        try {
+            PropertyCascadeService.CascadeResult result = propertyCascadeService.restoreProperties(ownerId, List.of(propertyId));
+            if (result.isEmpty()) {
+                throw new PropertyNotFoundException("Deleted property not found or access denied");
+            }
+            recordCascade(ownerId, result, false);
+            log.info("Property restored successfully: {} ({} units, {} images)", propertyId, result.units(), result.images());
             
         } catch (Exception e) {
-            log.error("Error deleting property: {}", e.getMessage(), e);
+            log.error("Error restoring property: {}", e.getMessage(), e);
             if (e instanceof PropertyNotFoundException) {
                 throw e;
             }
-            throw new DatabaseException("Failed to delete property: " + e.getMessage(), e);
+            throw new DatabaseException("Failed to restore property: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Restore many of the owner's deleted properties in one transaction
+     */
+    public BulkPropertyResultDto restoreProperties(List<String> propertyIds, String ownerId) {
+        log.info("Bulk restoring {} properties for owner: {}", propertyIds.size(), ownerId);
+        
+        try {
+            Set<String> requested = new LinkedHashSet<>(propertyIds);
+            PropertyCascadeService.CascadeResult result = propertyCascadeService.restoreProperties(ownerId, requested);
+            recordCascade(ownerId, result, false);
+            return bulkResult(requested, result);
+            
+        } catch (Exception e) {
+            log.error("Error bulk restoring properties: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to restore properties: " + e.getMessage(), e);
         }
     }
 
@@ -232,31 +372,18 @@ public class PropertyService {
     public Page<PropertyResponseDto> searchProperties(PropertySearchCriteriaDto criteria, PaginationDto pagination) {
         log.debug("Searching properties with criteria: {}", criteria);
         
+        if (criteria.isGeoSearch()) {
+            return searchPropertiesNearby(criteria, pagination);
+        }
+        if (useKeywordIndex(criteria)) {
+            return searchPropertiesByKeyword(criteria, pagination);
+        }
+        
         try {
-            Pageable pageable = createPageable(pagination);
+            Page<String> idPage = propertyRepository.searchIds(criteria, createPageable(pagination));
             
-            Page<Property> propertiesPage = propertyRepository.advancedSearch(
-                criteria.getOwnerId(),
-                criteria.getStatus(),
-                criteria.getPropertyType(),
-                criteria.getCity(),
-                criteria.getState(),
-                criteria.getMinRent() != null ? criteria.getMinRent().doubleValue() : null,
-                criteria.getMaxRent() != null ? criteria.getMaxRent().doubleValue() : null,
-                criteria.getMinBedrooms(),
-                criteria.getMinBathrooms() != null ? criteria.getMinBathrooms() : null,
-                criteria.getSearchKeyword(),
-                pageable
-            );
-            
-            return propertiesPage.map(property -> {
-                List<PropertyImage> images = propertyImageRepository.findByPropertyIdAndDeletedAtIsNull(property.getId());
-                List<PropertyUnitResponseDto> units = getUnitsForProperty(property.getId());
-                Double occupancyRate = calculateOccupancyRate(property.getId());
-                BigDecimal totalRevenue = calculateTotalMonthlyRevenue(property.getId());
-                
-                return PropertyResponseDto.fromEntityWithImages(property, images, units, occupancyRate, totalRevenue);
-            });
+            return hydratePage(new PageImpl<>(findAllInOrder(idPage.getContent()),
+                idPage.getPageable(), idPage.getTotalElements()));
             
         } catch (Exception e) {
             log.error("Error searching properties: {}", e.getMessage(), e);
@@ -271,14 +398,7 @@ public class PropertyService {
             Pageable pageable = createPageable(pagination);
             Page<Property> propertiesPage = propertyRepository.findByOwnerIdAndIsDeletedFalse(ownerId, pageable);
             
-            return propertiesPage.map(property -> {
-                List<PropertyImage> images = propertyImageRepository.findByPropertyIdAndDeletedAtIsNull(property.getId());
-                List<PropertyUnitResponseDto> units = getUnitsForProperty(property.getId());
-                Double occupancyRate = calculateOccupancyRate(property.getId());
-                BigDecimal totalRevenue = calculateTotalMonthlyRevenue(property.getId());
-                
-                return PropertyResponseDto.fromEntityWithImages(property, images, units, occupancyRate, totalRevenue);
-            });
+            return hydratePage(propertiesPage);
             
         } catch (Exception e) {
             log.error("Error getting properties for owner: {}", e.getMessage(), e);
@@ -286,6 +406,271 @@ public class PropertyService {
         }
     }
 
+    /**
+     * Search plus facet counts over the whole filtered set, computed in one aggregation query
+     */
+    public PropertySearchResultDto searchPropertiesWithFacets(PropertySearchCriteriaDto criteria, PaginationDto pagination) {
+        log.debug("Searching properties with facets, criteria: {}", criteria);
+        
+        try {
+            if (criteria.isGeoSearch()) {
+                Map<String, Double> matches = findNearbyMatches(criteria);
+                return new PropertySearchResultDto(pageNearby(matches, pagination),
+                    propertyFacetService.computeFacets(matches.keySet()));
+            }
+            if (useKeywordIndex(criteria)) {
+                List<String> matches = findKeywordMatches(criteria);
+                return new PropertySearchResultDto(loadPageInOrder(matches, pagination),
+                    propertyFacetService.computeFacets(matches));
+            }
+            return new PropertySearchResultDto(searchProperties(criteria, pagination),
+                propertyFacetService.computeFacets(criteria));
+            
+        } catch (DatabaseException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error searching properties with facets: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to search properties: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Keyword search through the in-process inverted index: ranked ids from the index, remaining
+     * filters applied in the database by id, results in relevance order.
+     */
+    private Page<PropertyResponseDto> searchPropertiesByKeyword(PropertySearchCriteriaDto criteria, PaginationDto pagination) {
+        log.debug("Searching properties by keyword index: {}", criteria.getSearchKeyword());
+        
+        try {
+            return loadPageInOrder(findKeywordMatches(criteria), pagination);
+            
+        } catch (Exception e) {
+            log.error("Error searching properties by keyword: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to search properties: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Proximity search: geohash-cell and bounding-box prefilter in the database, exact haversine
+     * distance in memory, results ordered by distance. Only the requested page is loaded and hydrated.
+     */
+    private Page<PropertyResponseDto> searchPropertiesNearby(PropertySearchCriteriaDto criteria, PaginationDto pagination) {
+        log.debug("Searching properties within {} miles of ({}, {})",
+            criteria.getRadiusMiles(), criteria.getLatitude(), criteria.getLongitude());
+        
+        try {
+            return pageNearby(findNearbyMatches(criteria), pagination);
+            
+        } catch (Exception e) {
+            log.error("Error searching properties nearby: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to search properties: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * All keyword index matches passing the other filters, in relevance order
+     */
+    private List<String> findKeywordMatches(PropertySearchCriteriaDto criteria) {
+        List<String> rankedIds = propertyKeywordIndex.search(criteria.getSearchKeyword(),
+            propertyKeywordIndex.getMaxMatches());
+        
+        Set<String> filtered = new HashSet<>();
+        for (int from = 0; from < rankedIds.size(); from += ID_BATCH_SIZE) {
+            filtered.addAll(propertyRepository.filterIds(criteria,
+                rankedIds.subList(from, Math.min(from + ID_BATCH_SIZE, rankedIds.size()))));
+        }
+        
+        return rankedIds.stream()
+            .filter(filtered::contains)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * All properties within the radius passing the other filters, mapped to distance and ordered
+     * nearest first (ties broken by id for stable paging)
+     */
+    private Map<String, Double> findNearbyMatches(PropertySearchCriteriaDto criteria) {
+        double latitude = criteria.getLatitude();
+        double longitude = criteria.getLongitude();
+        double radiusMiles = criteria.getRadiusMiles();
+        GeoHash.BoundingBox box = GeoHash.boundingBox(latitude, longitude, radiusMiles);
+        
+        List<Object[]> candidates = propertyRepository.findNearbyCandidates(criteria, !useKeywordIndex(criteria),
+            GeoHash.coveringCells(latitude, longitude, radiusMiles), box);
+        
+        Set<String> keywordMatches = useKeywordIndex(criteria)
+            ? new HashSet<>(propertyKeywordIndex.search(criteria.getSearchKeyword(), Integer.MAX_VALUE))
+            : null;
+        
+        Map<String, Double> distances = new HashMap<>();
+        for (Object[] row : candidates) {
+            if (keywordMatches != null && !keywordMatches.contains(String.valueOf(row[0]))) {
+                continue;
+            }
+            double distance = GeoHash.distanceMiles(latitude, longitude,
+                ((Number) row[1]).doubleValue(), ((Number) row[2]).doubleValue());
+            if (distance <= radiusMiles) {
+                distances.put(String.valueOf(row[0]), distance);
+            }
+        }
+        
+        return distances.entrySet().stream()
+            .sorted(Map.Entry.<String, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private Page<PropertyResponseDto> pageNearby(Map<String, Double> matches, PaginationDto pagination) {
+        Page<PropertyResponseDto> page = loadPageInOrder(new ArrayList<>(matches.keySet()), pagination);
+        page.forEach(dto -> dto.setDistanceMiles(roundMiles(matches.get(dto.getId()))));
+        return page;
+    }
+
+    /**
+     * Keyset variant of searchProperties: seeks past the cursor instead of skipping rows
+     * and returns a Slice, so no COUNT query is issued.
+     */
+    public CursorPageDto<PropertyResponseDto> searchPropertiesByCursor(PropertySearchCriteriaDto criteria, PaginationDto pagination) {
+        log.debug("Searching properties by cursor with criteria: {}", criteria);
+        
+        if (criteria.isGeoSearch()) {
+            throw new IllegalArgumentException("Cursor pagination is not supported for proximity search");
+        }
+        validateCursorSort(pagination);
+        CursorPageDto.Cursor cursor = decodeCursor(pagination);
+        
+        try {
+            Slice<String> idSlice = propertyRepository.searchIdsAfter(criteria,
+                cursor != null ? cursor.getCreatedAt() : null,
+                cursor != null ? cursor.getId() : null,
+                pagination.getLimit());
+            
+            return hydrateSlice(new SliceImpl<>(findAllInOrder(idSlice.getContent()),
+                idSlice.getPageable(), idSlice.hasNext()));
+            
+        } catch (Exception e) {
+            log.error("Error searching properties by cursor: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to search properties: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Keyset variant of getPropertiesByOwner
+     */
+    public CursorPageDto<PropertyResponseDto> getPropertiesByOwnerCursor(String ownerId, PaginationDto pagination) {
+        log.debug("Getting properties by cursor for owner: {}", ownerId);
+        
+        validateCursorSort(pagination);
+        CursorPageDto.Cursor cursor = decodeCursor(pagination);
+        
+        try {
+            Pageable pageable = PageRequest.of(0, pagination.getLimit());
+            Slice<Property> propertiesSlice = cursor == null
+                ? propertyRepository.findOwnerSlice(ownerId, pageable)
+                : propertyRepository.findOwnerSliceAfter(ownerId, cursor.getCreatedAt(), cursor.getId(), pageable);
+            
+            return hydrateSlice(propertiesSlice);
+            
+        } catch (Exception e) {
+            log.error("Error getting properties by cursor for owner: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to get properties: " + e.getMessage(), e);
+        }
+    }
+
+    // Card View Listings
+
+    /**
+     * Card view of searchProperties: same matches and order, but each page is read as card
+     * projections joined to the primary image in one query, with no unit, image or statistics hydration
+     */
+    public Page<PropertyCardDto> searchPropertyCards(PropertySearchCriteriaDto criteria, PaginationDto pagination) {
+        log.debug("Searching property cards with criteria: {}", criteria);
+
+        try {
+            if (criteria.isGeoSearch()) {
+                Map<String, Double> matches = findNearbyMatches(criteria);
+                Page<PropertyCardDto> page = loadCardPageInOrder(new ArrayList<>(matches.keySet()), pagination);
+                page.forEach(card -> card.setDistanceMiles(roundMiles(matches.get(card.getId()))));
+                return page;
+            }
+            if (useKeywordIndex(criteria)) {
+                return loadCardPageInOrder(findKeywordMatches(criteria), pagination);
+            }
+
+            Page<String> idPage = propertyRepository.searchIds(criteria, createPageable(pagination));
+            return new PageImpl<>(findCardsInOrder(idPage.getContent()),
+                idPage.getPageable(), idPage.getTotalElements());
+
+        } catch (Exception e) {
+            log.error("Error searching property cards: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to search properties: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Card view of searchPropertiesByCursor
+     */
+    public CursorPageDto<PropertyCardDto> searchPropertyCardsByCursor(PropertySearchCriteriaDto criteria, PaginationDto pagination) {
+        log.debug("Searching property cards by cursor with criteria: {}", criteria);
+
+        if (criteria.isGeoSearch()) {
+            throw new IllegalArgumentException("Cursor pagination is not supported for proximity search");
+        }
+        validateCursorSort(pagination);
+        CursorPageDto.Cursor cursor = decodeCursor(pagination);
+
+        try {
+            Slice<String> idSlice = propertyRepository.searchIdsAfter(criteria,
+                cursor != null ? cursor.getCreatedAt() : null,
+                cursor != null ? cursor.getId() : null,
+                pagination.getLimit());
+
+            return cardSlice(findCardViewsInOrder(idSlice.getContent()), idSlice.hasNext());
+
+        } catch (Exception e) {
+            log.error("Error searching property cards by cursor: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to search properties: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Card view of getPropertiesByOwner, one projection query plus the page count
+     */
+    public Page<PropertyCardDto> getPropertyCardsByOwner(String ownerId, PaginationDto pagination) {
+        log.debug("Getting property cards for owner: {}", ownerId);
+
+        try {
+            return propertyRepository.findCardsByOwnerId(ownerId, createPageable(pagination))
+                .map(PropertyCardDto::fromView);
+
+        } catch (Exception e) {
+            log.error("Error getting property cards for owner: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to get properties: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Card view of getPropertiesByOwnerCursor
+     */
+    public CursorPageDto<PropertyCardDto> getPropertyCardsByOwnerCursor(String ownerId, PaginationDto pagination) {
+        log.debug("Getting property cards by cursor for owner: {}", ownerId);
+
+        validateCursorSort(pagination);
+        CursorPageDto.Cursor cursor = decodeCursor(pagination);
+
+        try {
+            Pageable pageable = PageRequest.of(0, pagination.getLimit());
+            Slice<PropertyCardView> cards = cursor == null
+                ? propertyRepository.findOwnerCardSlice(ownerId, pageable)
+                : propertyRepository.findOwnerCardSliceAfter(ownerId, cursor.getCreatedAt(), cursor.getId(), pageable);
+
+            return cardSlice(cards.getContent(), cards.hasNext());
+
+        } catch (Exception e) {
+            log.error("Error getting property cards by cursor for owner: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to get properties: " + e.getMessage(), e);
+        }
+    }
+
     // Image Management
 
     public String uploadPropertyImage(String propertyId, String ownerId, MultipartFile file, String imageType, Boolean isPrimary) {
@@ -294,15 +679,12 @@ public class PropertyService {
         Property property = findPropertyByIdAndOwner(propertyId, ownerId);
         
         try {
-            String imageUrl = fileUploadService.uploadPropertyImage(file, propertyId, imageType);
+            FileUploadService.StoredImage stored = fileUploadService.uploadPropertyImage(file, propertyId, imageType);
             
-            // Create image entity
-            PropertyImage image = new PropertyImage();
-            image.setPropertyId(propertyId);
-            image.setImageUrl(imageUrl);
-            image.setImageType(PropertyImage.ImageType.valueOf(imageType.toUpperCase()));
-            image.setIsPrimary(isPrimary != null ? isPrimary : false);
-            image.setDisplayOrder(propertyImageRepository.getNextDisplayOrder(propertyId));
+            // Create image entity; the order is reserved under the property lock this transaction holds
+            PropertyImage image = newPropertyImage(propertyId, stored, PropertyImage.ImageType.valueOf(imageType.toUpperCase()),
+                isPrimary != null ? isPrimary : false);
+            image.setDisplayOrder(lockNextDisplayOrder(propertyId));
             
             PropertyImage savedImage = propertyImageRepository.save(image);
             
@@ -310,9 +692,14 @@ public class PropertyService {
             if (Boolean.TRUE.equals(isPrimary)) {
                 propertyImageRepository.unsetOtherPrimaryImages(propertyId, savedImage.getId());
             }
+            if (stored.thumbnailUrl() == null) {
+                imageRenditionService.enqueue(savedImage.getId(), propertyId, stored.key());
+            }
+            recordImageAdded(savedImage, ownerId);
+            propertyCacheService.evictImages(propertyId);
             
             log.info("Image uploaded successfully: {}", savedImage.getId());
-            return imageUrl;
+            return stored.url();
             
         } catch (Exception e) {
             log.error("Error uploading property image: {}", e.getMessage(), e);
@@ -320,6 +707,90 @@ public class PropertyService {
         }
     }
 
+    /**
+     * Upload a batch of images: one ownership check, parallel S3 uploads, then one transaction that
+     * locks the property, reserves a display-order range and inserts the batch. Uploads run outside
+     * it so no connection is held while files stream to S3; a file that fails is reported without
+     * failing the others.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchImageUploadResultDto uploadPropertyImages(String propertyId, String ownerId, List<MultipartFile> files, String imageType) {
+        log.info("Uploading {} images for property: {}", files.size(), propertyId);
+        long start = System.nanoTime();
+        
+        findPropertyByIdAndOwner(propertyId, ownerId);
+        PropertyImage.ImageType type = PropertyImage.ImageType.valueOf(imageType.toUpperCase());
+        
+        List<FileUploadService.BatchUpload> uploads = fileUploadService.uploadPropertyImages(files, propertyId, imageType);
+        
+        List<PropertyImage> images = new ArrayList<>();
+        List<BatchImageUploadResultDto.FileResult> results = new ArrayList<>(files.size());
+        for (int i = 0; i < uploads.size(); i++) {
+            FileUploadService.BatchUpload upload = uploads.get(i);
+            BatchImageUploadResultDto.FileResult.FileResultBuilder result = BatchImageUploadResultDto.FileResult.builder()
+                .index(i)
+                .fileName(files.get(i).getOriginalFilename())
+                .durationMs(upload.durationMs());
+            if (upload.succeeded()) {
+                images.add(newPropertyImage(propertyId, upload.image(), type, false));
+                result.status(BatchImageUploadResultDto.Status.UPLOADED)
+                    .imageUrl(upload.image().url())
+                    .sizeBytes(upload.image().sizeBytes());
+            } else {
+                result.status(BatchImageUploadResultDto.Status.FAILED).error(upload.error());
+            }
+            results.add(result.build());
+        }
+        
+        try {
+            // Rows, rendition jobs and ImageAdded events commit together
+            List<PropertyImage> savedImages = transactionTemplate.execute(status -> {
+                int displayOrder = lockNextDisplayOrder(propertyId);
+                for (PropertyImage image : images) {
+                    image.setDisplayOrder(displayOrder++);
+                }
+                List<PropertyImage> inserted = propertyImageRepository.saveAll(images);
+                
+                Map<String, String> sourceKeys = new LinkedHashMap<>();
+                Iterator<PropertyImage> saved = inserted.iterator();
+                for (int i = 0; i < uploads.size(); i++) {
+                    if (uploads.get(i).succeeded()) {
+                        PropertyImage savedImage = saved.next();
+                        results.get(i).setImageId(savedImage.getId());
+                        results.get(i).setDisplayOrder(savedImage.getDisplayOrder());
+                        if (uploads.get(i).image().thumbnailUrl() == null) {
+                            sourceKeys.put(savedImage.getId(), uploads.get(i).image().key());
+                        }
+                        recordImageAdded(savedImage, ownerId);
+                    }
+                }
+                imageRenditionService.enqueueAll(propertyId, sourceKeys);
+                return inserted;
+            });
+            if (!savedImages.isEmpty()) {
+                propertyCacheService.evictImages(propertyId);
+            }
+            
+        } catch (Exception e) {
+            log.error("Error saving batch images for property {}: {}", propertyId, e.getMessage(), e);
+            // Uploads ran outside a transaction, so hand back the references they took
+            for (PropertyImage image : images) {
+                releaseImageQuietly(image);
+            }
+            throw new DatabaseException("Failed to save uploaded images: " + e.getMessage(), e);
+        }
+        
+        int uploaded = images.size();
+        log.info("Batch upload for property {}: {} uploaded, {} failed", propertyId, uploaded, files.size() - uploaded);
+        return BatchImageUploadResultDto.builder()
+            .propertyId(propertyId)
+            .uploaded(uploaded)
+            .failed(files.size() - uploaded)
+            .totalDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+            .files(results)
+            .build();
+    }
+
     public void deletePropertyImage(String imageId, String propertyId, String ownerId) {
         log.info("Deleting image: {} for property: {}", imageId, propertyId);
         
@@ -333,12 +804,13 @@ public class PropertyService {
                 throw new UnauthorizedPropertyAccessException("Image does not belong to the specified property");
             }
             
-            // Delete from S3
-            String s3Key = extractS3KeyFromUrl(image.getImageUrl());
-            fileUploadService.deleteFile(s3Key);
+            // Release the stored original; shared originals stay until their last image is gone
+            fileUploadService.releaseImage(image.getContentHash(), image.getImageUrl());
             
             // Soft delete from database
             propertyImageRepository.softDeleteById(imageId);
+            propertyOutbox.record(PropertyEventType.IMAGE_DELETED, propertyId, ownerId, eventData("imageId", imageId));
+            propertyCacheService.evictImages(propertyId);
             
             log.info("Image deleted successfully: {}", imageId);
             
@@ -359,7 +831,11 @@ public class PropertyService {
         Property property = findPropertyByIdAndOwner(propertyId, ownerId);
         
         try {
-            return createUnitInternal(propertyId, unitDto);
+            PropertyResponseDto.PropertyUnitResponseDto unit = createUnitInternal(propertyId, ownerId, unitDto);
+            propertyCacheService.evictUnits(propertyId);
+            propertyKeywordIndex.reindexAfterCommit(propertyId);
+            propertyCacheService.evictStatistics(ownerId);
+            return unit;
             
         } catch (Exception e) {
             log.error("Error creating unit: {}", e.getMessage(), e);
@@ -367,10 +843,28 @@ public class PropertyService {
         }
     }
 
+    /**
+     * Create and update up to 1000 units of a property in one request; rows succeed or fail independently
+     */
+    public BulkUnitResultDto applyUnits(String propertyId, String ownerId, List<BulkUnitRowDto> rows) {
+        log.info("Applying {} unit rows to property: {}", rows.size(), propertyId);
+        
+        try {
+            return propertyUnitBulkService.applyUnits(propertyId, ownerId, rows);
+            
+        } catch (PropertyNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error applying bulk units: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to apply units: " + e.getMessage(), e);
+        }
+    }
+
     public PropertyResponseDto.PropertyUnitResponseDto updateUnit(String unitId, String propertyId, String ownerId, PropertyUnitCreateDto unitDto) {
         log.info("Updating unit: {} for property: {}", unitId, propertyId);
         
         PropertyUnit unit = findUnitByIdAndPropertyAndOwner(unitId, propertyId, ownerId);
+        PropertyUnit.UnitStatus oldStatus = unit.getStatus();
         
         try {
             // Update unit fields
@@ -414,6 +908,13 @@ public class PropertyService {
             if (unitDto.getStatus() != null) unit.setStatus(unitDto.getStatus());
             
             PropertyUnit savedUnit = propertyUnitRepository.save(unit);
+            ownerStatsService.recordUnitChange(ownerId, oldStatus, savedUnit.getStatus());
+            if (oldStatus != PropertyUnit.UnitStatus.RENTED) {
+                recordUnitRentedIfRented(savedUnit, ownerId);
+            }
+            propertyCacheService.evictUnits(propertyId);
+            propertyKeywordIndex.reindexAfterCommit(propertyId);
+            propertyCacheService.evictStatistics(ownerId);
             return propertyUnitMapper.entityToResponseDto(savedUnit);
             
         } catch (Exception e) {
@@ -422,6 +923,45 @@ public class PropertyService {
         }
     }
 
+    /**
+     * Apply a JSON merge patch to a unit as one UPDATE of the patched columns, without loading the unit
+     */
+    public PatchResponseDto patchUnit(String unitId, String propertyId, String ownerId, Map<String, Object> patch,
+                                      Long expectedVersion) {
+        log.info("Patching unit: {} for property: {}", unitId, propertyId);
+        
+        try {
+            PropertyPatchService.PatchedUnit patched =
+                propertyPatchService.patchUnit(unitId, propertyId, ownerId, patch, expectedVersion);
+            propertyCacheService.evictUnits(propertyId);
+            if (patched.oldStatus() != patched.status()) {
+                ownerStatsService.recordUnitChange(ownerId, patched.oldStatus(), patched.status());
+                propertyCacheService.evictStatistics(ownerId);
+                if (patched.status() == PropertyUnit.UnitStatus.RENTED) {
+                    recordUnitRented(propertyId, ownerId, patched.id(), patched.unitNumber(), patched.monthlyRent());
+                }
+            }
+            if (PropertyKeywordIndex.INDEXED_UNIT_FIELDS.stream().anyMatch(patched.changed()::contains)) {
+                propertyKeywordIndex.reindexAfterCommit(propertyId);
+            }
+            
+            return PatchResponseDto.builder()
+                .id(patched.id())
+                .propertyId(patched.propertyId())
+                .version(patched.version())
+                .changed(patched.changed())
+                .status(patched.status().name())
+                .monthlyRent(patched.monthlyRent())
+                .build();
+            
+        } catch (PropertyUnitNotFoundException | InvalidPropertyDataException | PropertyVersionConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error patching unit: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to patch unit: " + e.getMessage(), e);
+        }
+    }
+
     public PropertyResponseDto.PropertyUnitResponseDto getUnit(String unitId, String propertyId, String ownerId) {
         log.debug("Getting unit: {} for property: {}", unitId, propertyId);
         
@@ -429,20 +969,84 @@ public class PropertyService {
         return propertyUnitMapper.entityToResponseDto(unit);
     }
 
+    /**
+     * Keyset page of a property's units ordered by (unitNumber, id), filtered by the supplied criteria.
+     * Costs three queries whatever the page depth: unit ids, the units, and their primary images.
+     */
+    public CursorPageDto<PropertyResponseDto.PropertyUnitResponseDto> listUnits(String propertyId, String ownerId,
+                                                                                UnitSearchCriteriaDto criteria,
+                                                                                PaginationDto pagination) {
+        log.debug("Listing units for property: {} with criteria: {}", propertyId, criteria);
+        
+        findPropertyByIdAndOwner(propertyId, ownerId);
+        String encoded = pagination.getCursor();
+        CursorPageDto.KeyCursor cursor = encoded == null || encoded.isEmpty() ? null : CursorPageDto.decodeKeyCursor(encoded);
+        
+        try {
+            Slice<String> idSlice = propertyUnitRepository.searchUnitIdsAfter(propertyId, criteria,
+                cursor != null ? cursor.getKey() : null, cursor != null ? cursor.getId() : null, pagination.getLimit());
+            List<String> ids = idSlice.getContent();
+            
+            Map<String, PropertyUnit> unitsById = ids.isEmpty() ? Map.of() : propertyUnitRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(PropertyUnit::getId, unit -> unit));
+            List<PropertyUnit> units = ids.stream()
+                .map(unitsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+            
+            Map<String, PropertyImage> primaryByUnit = new HashMap<>();
+            if (!ids.isEmpty()) {
+                for (PropertyImage image : propertyImageRepository.findPrimaryByUnitIdIn(ids)) {
+                    primaryByUnit.putIfAbsent(image.getUnitId(), image);
+                }
+            }
+            
+            List<PropertyResponseDto.PropertyUnitResponseDto> content = new ArrayList<>(units.size());
+            for (PropertyUnit unit : units) {
+                PropertyResponseDto.PropertyUnitResponseDto dto = propertyUnitMapper.entityToResponseDto(unit);
+                PropertyImage primary = primaryByUnit.get(unit.getId());
+                if (primary != null) {
+                    dto.setPrimaryImageUrl(primary.getImageUrl());
+                    dto.setPrimaryThumbnailUrl(primary.getThumbnailUrl());
+                }
+                content.add(dto);
+            }
+            
+            String nextCursor = null;
+            if (idSlice.hasNext() && !units.isEmpty()) {
+                PropertyUnit last = units.get(units.size() - 1);
+                nextCursor = CursorPageDto.encodeKeyCursor(last.getUnitNumber(), last.getId());
+            }
+            return CursorPageDto.<PropertyResponseDto.PropertyUnitResponseDto>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(idSlice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+            
+        } catch (Exception e) {
+            log.error("Error listing units: {}", e.getMessage(), e);
+            throw new DatabaseException("Failed to list units: " + e.getMessage(), e);
+        }
+    }
+
     public void deleteUnit(String unitId, String propertyId, String ownerId) {
         log.info("Deleting unit: {} for property: {}", unitId, propertyId);
         
         PropertyUnit unit = findUnitByIdAndPropertyAndOwner(unitId, propertyId, ownerId);
         
         try {
-            // Soft delete unit
-            int updatedRows = propertyUnitRepository.softDeleteById(unitId);
-            if (updatedRows == 0) {
+            // Soft delete unit and the images attached to it
+            if (!propertyCascadeService.softDeleteUnit(unitId, propertyId)) {
                 throw new PropertyUnitNotFoundException("Unit not found or already deleted");
             }
+            ownerStatsService.recordUnitChange(ownerId, unit.getStatus(), null);
+            propertyOutbox.record(PropertyEventType.UNIT_DELETED, propertyId, ownerId, eventData("unitId", unitId));
             
-            // Delete all unit images
-            propertyImageRepository.softDeleteByPropertyId(unitId); // Unit images are also linked by propertyId
+            propertyCacheService.evictUnits(propertyId);
+            propertyKeywordIndex.reindexAfterCommit(propertyId);
+            propertyCacheService.evictImages(propertyId);
+            propertyCacheService.evictStatistics(ownerId);
             
             log.info("Unit deleted successfully: {}", unitId);
             
@@ -457,6 +1061,118 @@ public class PropertyService {
 
     // Utility Methods
 
+    private PropertyImage newPropertyImage(String propertyId, FileUploadService.StoredImage stored,
+                                           PropertyImage.ImageType imageType, boolean isPrimary) {
+        PropertyImage image = new PropertyImage();
+        image.setPropertyId(propertyId);
+        image.setImageUrl(stored.url());
+        image.setThumbnailUrl(stored.thumbnailUrl());
+        image.setFileSizeBytes(stored.sizeBytes());
+        image.setContentHash(stored.contentHash());
+        image.setWidthPixels(stored.width());
+        image.setHeightPixels(stored.height());
+        image.setFormat(stored.format());
+        image.setImageType(imageType);
+        image.setIsPrimary(isPrimary);
+        return image;
+    }
+
+    private int lockNextDisplayOrder(String propertyId) {
+        return propertyImageRepository.lockNextDisplayOrder(propertyId)
+            .orElseThrow(() -> new PropertyNotFoundException("Property not found or access denied"));
+    }
+
+    private void recordPropertyUpdated(Property property, Property.PropertyStatus oldStatus, BigDecimal oldRent) {
+        recordPropertyUpdated(property.getId(), property.getOwnerId(), property.getName(), property.getVersion(),
+            oldStatus, property.getStatus(), oldRent, property.getMonthlyRent());
+    }
+
+    private void recordPropertyUpdated(String propertyId, String ownerId, String name, Long version,
+                                       Property.PropertyStatus oldStatus, Property.PropertyStatus newStatus,
+                                       BigDecimal oldRent, BigDecimal newRent) {
+        boolean statusChanged = oldStatus != newStatus;
+        boolean rentChanged = oldRent == null ? newRent != null : newRent == null || oldRent.compareTo(newRent) != 0;
+        if (statusChanged) {
+            propertyOutbox.record(PropertyEventType.PROPERTY_STATUS_CHANGED, propertyId, ownerId,
+                eventData("from", oldStatus, "to", newStatus));
+        }
+        if (rentChanged) {
+            propertyOutbox.record(PropertyEventType.PROPERTY_RENT_CHANGED, propertyId, ownerId,
+                eventData("from", oldRent, "to", newRent));
+        }
+        if (!statusChanged && !rentChanged) {
+            propertyOutbox.record(PropertyEventType.PROPERTY_UPDATED, propertyId, ownerId,
+                eventData("name", name, "version", version));
+        }
+    }
+
+    private void recordUnitRentedIfRented(PropertyUnit unit, String ownerId) {
+        if (unit.getStatus() == PropertyUnit.UnitStatus.RENTED) {
+            recordUnitRented(unit.getPropertyId(), ownerId, unit.getId(), unit.getUnitNumber(), unit.getMonthlyRent());
+        }
+    }
+
+    private void recordUnitRented(String propertyId, String ownerId, String unitId, String unitNumber, BigDecimal monthlyRent) {
+        propertyOutbox.record(PropertyEventType.UNIT_RENTED, propertyId, ownerId, eventData(
+            "unitId", unitId,
+            "unitNumber", unitNumber,
+            "monthlyRent", monthlyRent));
+    }
+
+    private void recordImageAdded(PropertyImage image, String ownerId) {
+        propertyOutbox.record(PropertyEventType.IMAGE_ADDED, image.getPropertyId(), ownerId, eventData(
+            "imageId", image.getId(),
+            "imageUrl", image.getImageUrl(),
+            "thumbnailUrl", image.getThumbnailUrl(),
+            "imageType", image.getImageType(),
+            "isPrimary", image.getIsPrimary()));
+    }
+
+    // Statistics, caches, keyword index and events for a cascade delete or restore
+    private void recordCascade(String ownerId, PropertyCascadeService.CascadeResult result, boolean deleted) {
+        if (result.isEmpty()) {
+            return;
+        }
+        ownerStatsService.recordCascade(ownerId, result.properties(), deleted);
+        result.propertyIds().forEach(propertyCacheService::evictAll);
+        propertyCacheService.evictStatistics(ownerId);
+        propertyKeywordIndex.reindexAfterCommit(result.propertyIds());
+        propertyOutbox.recordAll(deleted ? PropertyEventType.PROPERTY_DELETED : PropertyEventType.PROPERTY_RESTORED, ownerId,
+            result.properties().stream()
+                .map(property -> new PropertyOutbox.Event(property.id(),
+                    eventData(deleted ? "unitsDeleted" : "unitsRestored", property.unitStatuses().size())))
+                .collect(Collectors.toList()));
+    }
+
+    private static BulkPropertyResultDto bulkResult(Set<String> requested, PropertyCascadeService.CascadeResult result) {
+        List<String> changed = result.propertyIds();
+        Set<String> changedSet = new HashSet<>(changed);
+        return BulkPropertyResultDto.builder()
+            .requested(requested.size())
+            .propertyIds(changed)
+            .skipped(requested.stream().filter(id -> !changedSet.contains(id)).collect(Collectors.toList()))
+            .units(result.units())
+            .images(result.images())
+            .build();
+    }
+
+    // Event payload fields in order; nulls are kept so consumers see cleared values
+    private static Map<String, Object> eventData(Object... keysAndValues) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            data.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return data;
+    }
+
+    private void releaseImageQuietly(PropertyImage image) {
+        try {
+            fileUploadService.releaseImage(image.getContentHash(), image.getImageUrl());
+        } catch (Exception e) {
+            log.warn("Failed to release stored image {}: {}", image.getImageUrl(), e.getMessage());
+        }
+    }
+
     private Property findPropertyByIdAndOwner(String propertyId, String ownerId) {
         return propertyRepository.findById(propertyId)
             .filter(property -> property.getOwnerId().equals(ownerId))
@@ -477,6 +1193,27 @@ public class PropertyService {
             .orElseThrow(() -> new PropertyUnitNotFoundException("Unit not found or access denied"));
     }
 
+    // Expansions a patch response may ask for, lower-cased; throws on unknown names
+    private static Set<String> patchExpansions(Set<String> expand) {
+        if (expand == null || expand.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> expansions = expand.stream()
+            .map(name -> name.trim().toLowerCase(Locale.ROOT))
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toSet());
+        for (String name : expansions) {
+            if (!PATCH_EXPANSIONS.contains(name)) {
+                throw new InvalidPropertyDataException("Unknown expand: " + name + "; expected one of " + PATCH_EXPANSIONS);
+            }
+        }
+        return expansions;
+    }
+
+    private long counterDelta(Boolean increment, Boolean decrement) {
+        return (Boolean.TRUE.equals(increment) ? 1 : 0) - (Boolean.TRUE.equals(decrement) ? 1 : 0);
+    }
+
     private Pageable createPageable(PaginationDto pagination) {
         Sort.Direction direction = "desc".equalsIgnoreCase(pagination.getOrder()) 
             ? Sort.Direction.DESC : Sort.Direction.ASC;
@@ -485,7 +1222,108 @@ public class PropertyService {
         return PageRequest.of(pagination.getPage() - 1, pagination.getLimit(), sort);
     }
 
-    private PropertyResponseDto.PropertyUnitResponseDto createUnitInternal(String propertyId, PropertyUnitCreateDto unitDto) {
+    private boolean useKeywordIndex(PropertySearchCriteriaDto criteria) {
+        return criteria.getSearchKeyword() != null && !criteria.getSearchKeyword().trim().isEmpty()
+            && propertyKeywordIndex.isReady();
+    }
+
+    /**
+     * Load and hydrate one page of an already ordered id list, preserving that order
+     */
+    private Page<PropertyResponseDto> loadPageInOrder(List<String> orderedIds, PaginationDto pagination) {
+        return pageInOrder(orderedIds, pagination, pageIds -> hydrateProperties(findAllInOrder(pageIds)));
+    }
+
+    /**
+     * Load one page of cards for an already ordered id list, preserving that order
+     */
+    private Page<PropertyCardDto> loadCardPageInOrder(List<String> orderedIds, PaginationDto pagination) {
+        return pageInOrder(orderedIds, pagination, this::findCardsInOrder);
+    }
+
+    private static <T> Page<T> pageInOrder(List<String> orderedIds, PaginationDto pagination,
+                                           Function<List<String>, List<T>> loader) {
+        Pageable pageable = PageRequest.of(pagination.getPage() - 1, pagination.getLimit());
+        int from = Math.min(pagination.getOffset(), orderedIds.size());
+        int to = Math.min(from + pagination.getLimit(), orderedIds.size());
+        List<String> pageIds = orderedIds.subList(from, to);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, orderedIds.size());
+        }
+
+        return new PageImpl<>(loader.apply(pageIds), pageable, orderedIds.size());
+    }
+
+    private List<PropertyCardDto> findCardsInOrder(List<String> ids) {
+        return findCardViewsInOrder(ids).stream()
+            .map(PropertyCardDto::fromView)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Load card projections by id in one query, returned in the order of the given ids
+     */
+    private List<PropertyCardView> findCardViewsInOrder(List<String> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, PropertyCardView> cardsById = propertyRepository.findCardsByIdIn(ids).stream()
+            .collect(Collectors.toMap(PropertyCardView::getId, card -> card, (a, b) -> a));
+        return ids.stream()
+            .map(cardsById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    private static CursorPageDto<PropertyCardDto> cardSlice(List<PropertyCardView> cards, boolean hasNext) {
+        String nextCursor = null;
+        if (hasNext && !cards.isEmpty()) {
+            PropertyCardView last = cards.get(cards.size() - 1);
+            nextCursor = CursorPageDto.encodeCursor(last.getCreatedAt(), last.getId());
+        }
+
+        return CursorPageDto.<PropertyCardDto>builder()
+            .content(cards.stream().map(PropertyCardDto::fromView).collect(Collectors.toList()))
+            .size(cards.size())
+            .hasNext(hasNext)
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    private static double roundMiles(double distanceMiles) {
+        return Math.round(distanceMiles * 100.0) / 100.0;
+    }
+
+    /**
+     * Load properties by id in one query, returned in the order of the given ids
+     */
+    private List<Property> findAllInOrder(List<String> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, Property> propertiesById = propertyRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Property::getId, property -> property));
+        return ids.stream()
+            .map(propertiesById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Cursor mode seeks on (createdAt, id), so it only supports that ordering
+     */
+    private void validateCursorSort(PaginationDto pagination) {
+        if (!"createdAt".equals(pagination.getSortField()) || !"desc".equalsIgnoreCase(pagination.getOrder())) {
+            throw new IllegalArgumentException("Cursor pagination only supports sort=createdAt&order=desc");
+        }
+    }
+
+    private CursorPageDto.Cursor decodeCursor(PaginationDto pagination) {
+        String cursor = pagination.getCursor();
+        return cursor == null || cursor.isEmpty() ? null : CursorPageDto.decodeCursor(cursor);
+    }
+
+    private PropertyResponseDto.PropertyUnitResponseDto createUnitInternal(String propertyId, String ownerId, PropertyUnitCreateDto unitDto) {
         PropertyUnit unit = propertyUnitMapper.createDtoToEntity(unitDto, propertyId);
         
         // Set default unit number if not provided
@@ -495,12 +1333,34 @@ public class PropertyService {
         }
         
         PropertyUnit savedUnit = propertyUnitRepository.save(unit);
+        ownerStatsService.recordUnitChange(ownerId, null, savedUnit.getStatus());
+        recordUnitRentedIfRented(savedUnit, ownerId);
         return propertyUnitMapper.entityToResponseDto(savedUnit);
     }
 
     private List<PropertyResponseDto.PropertyUnitResponseDto> getUnitsForProperty(String propertyId) {
-        List<PropertyUnit> units = propertyUnitRepository.findByPropertyIdAndDeletedAtIsNull(propertyId);
-        return propertyUnitMapper.entitiesToResponseDtos(units);
+        return propertyCacheService.getUnits(propertyId, () -> {
+            List<PropertyUnit> units = propertyUnitRepository.findByPropertyIdAndDeletedAtIsNull(propertyId);
+            return propertyUnitMapper.entitiesToResponseDtos(units);
+        });
+    }
+
+    private List<PropertyImage> getImagesForProperty(String propertyId) {
+        return propertyCacheService.getImages(propertyId,
+            () -> propertyImageRepository.findByPropertyIdAndDeletedAtIsNull(propertyId));
+    }
+
+    /**
+     * Assemble the full property response (images, units, occupancy, revenue)
+     */
+    private PropertyResponseDto buildPropertyResponse(Property property) {
+        String propertyId = property.getId();
+        List<PropertyImage> images = getImagesForProperty(propertyId);
+        List<PropertyResponseDto.PropertyUnitResponseDto> units = getUnitsForProperty(propertyId);
+        Double occupancyRate = calculateOccupancyRate(propertyId);
+        BigDecimal totalRevenue = calculateTotalMonthlyRevenue(propertyId);
+        
+        return PropertyResponseDto.fromEntityWithImages(property, images, units, occupancyRate, totalRevenue);
     }
 
     private Double calculateOccupancyRate(String propertyId) {
@@ -512,6 +1372,70 @@ public class PropertyService {
         return revenue != null ? BigDecimal.valueOf(revenue) : BigDecimal.ZERO;
     }
 
+    /**
+     * Build response DTOs for a page of properties using a fixed number of set-based queries
+     * (images, units, unit aggregates) regardless of page size.
+     */
+    private Page<PropertyResponseDto> hydratePage(Page<Property> propertiesPage) {
+        List<PropertyResponseDto> content = hydrateProperties(propertiesPage.getContent());
+        return new PageImpl<>(content, propertiesPage.getPageable(), propertiesPage.getTotalElements());
+    }
+
+    private CursorPageDto<PropertyResponseDto> hydrateSlice(Slice<Property> propertiesSlice) {
+        List<Property> properties = propertiesSlice.getContent();
+        String nextCursor = null;
+        if (propertiesSlice.hasNext() && !properties.isEmpty()) {
+            Property last = properties.get(properties.size() - 1);
+            nextCursor = CursorPageDto.encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        
+        return CursorPageDto.<PropertyResponseDto>builder()
+            .content(hydrateProperties(properties))
+            .size(properties.size())
+            .hasNext(propertiesSlice.hasNext())
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    private List<PropertyResponseDto> hydrateProperties(List<Property> properties) {
+        if (properties.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        List<String> propertyIds = properties.stream()
+            .map(Property::getId)
+            .collect(Collectors.toList());
+        
+        Map<String, List<PropertyImage>> imagesByProperty = propertyImageRepository
+            .findByPropertyIdInOrderByDisplayOrder(propertyIds).stream()
+            .collect(Collectors.groupingBy(PropertyImage::getPropertyId));
+        
+        Map<String, List<PropertyUnit>> unitsByProperty = propertyUnitRepository
+            .findByPropertyIdInAndDeletedAtIsNull(propertyIds).stream()
+            .collect(Collectors.groupingBy(PropertyUnit::getPropertyId));
+        
+        Map<String, Double> occupancyByProperty = new HashMap<>();
+        Map<String, BigDecimal> revenueByProperty = new HashMap<>();
+        for (Object[] row : propertyUnitRepository.getUnitAggregatesByPropertyIds(propertyIds)) {
+            String propertyId = (String) row[0];
+            if (row[1] != null) {
+                occupancyByProperty.put(propertyId, ((Number) row[1]).doubleValue());
+            }
+            if (row[2] != null) {
+                revenueByProperty.put(propertyId, BigDecimal.valueOf(((Number) row[2]).doubleValue()));
+            }
+        }
+        
+        return properties.stream()
+            .map(property -> PropertyResponseDto.fromEntityWithImages(
+                property,
+                imagesByProperty.getOrDefault(property.getId(), Collections.emptyList()),
+                propertyUnitMapper.entitiesToResponseDtos(unitsByProperty.getOrDefault(property.getId(), Collections.emptyList())),
+                occupancyByProperty.get(property.getId()),
+                revenueByProperty.getOrDefault(property.getId(), BigDecimal.ZERO)))
+            .collect(Collectors.toList());
+    }
+
     private void uploadPropertyImages(String propertyId, String unitId, List<PropertyImageUploadDto> images) {
         for (PropertyImageUploadDto imageDto : images) {
             // This would be called after actual file upload
@@ -521,45 +1445,17 @@ public class PropertyService {
         }
     }
 
-    private String extractS3KeyFromUrl(String url) {
-        // Extract S3 key from public URL
-        // https://bucket.s3.region.amazonaws.com/key -> key
-        String[] parts = url.split("/");
-        return String.join("/", Arrays.copyOfRange(parts, 3, parts.length));
-    }
-
     // Analytics and Statistics
 
     public Map<String, Object> getPropertyStatistics(String ownerId) {
         log.debug("Getting property statistics for owner: {}", ownerId);
         
+        return propertyCacheService.getStatistics(ownerId, () -> computePropertyStatistics(ownerId));
+    }
+
+    private Map<String, Object> computePropertyStatistics(String ownerId) {
         try {
-            Map<String, Object> stats = new HashMap<>();
-            
-            // Property counts by status
-            stats.put("totalProperties", propertyRepository.countByOwnerIdAndStatus(ownerId, Property.PropertyStatus.PUBLISHED));
-            stats.put("draftProperties", propertyRepository.countByOwnerIdAndStatus(ownerId, Property.PropertyStatus.DRAFT));
-            stats.put("rentedProperties", propertyRepository.countByOwnerIdAndStatus(ownerId, Property.PropertyStatus.RENTED));
-            stats.put("maintenanceProperties", propertyRepository.countByOwnerIdAndStatus(ownerId, Property.PropertyStatus.MAINTENANCE));
-            
-            // Financial data
-            Double totalRevenue = propertyRepository.getTotalMonthlyRevenueByOwnerAndStatus(ownerId, Property.PropertyStatus.RENTED);
-            stats.put("totalMonthlyRevenue", totalRevenue != null ? totalRevenue : 0.0);
-            
-            // Calculate occupancy rate across all properties
-            List<Property> properties = propertyRepository.findByOwnerIdAndIsDeletedFalse(ownerId, PageRequest.of(0, 1000)).getContent();
-            if (!properties.isEmpty()) {
-                double totalOccupancyRate = 0.0;
-                for (Property property : properties) {
-                    Double occupancyRate = calculateOccupancyRate(property.getId());
-                    if (occupancyRate != null) {
-                        totalOccupancyRate += occupancyRate;
-                    }
-                }
-                stats.put("averageOccupancyRate", totalOccupancyRate / properties.size());
-            }
-            
-            return stats;
+            return ownerStatsService.getStatistics(ownerId);
             
         } catch (Exception e) {
             log.error("Error getting property statistics: {}", e.getMessage(), e);
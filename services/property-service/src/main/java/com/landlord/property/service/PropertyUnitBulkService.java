@@ -0,0 +1,347 @@
+package com.landlord.property.service;
+
+import com.landlord.property.dto.BulkUnitResultDto;
+import com.landlord.property.dto.BulkUnitRowDto;
+import com.landlord.property.dto.PropertyUnitCreateDto;
+import com.landlord.property.exception.InvalidPropertyDataException;
+import com.landlord.property.exception.PropertyNotFoundException;
+import com.landlord.property.importer.PropertyUnitBulkWriter;
+import com.landlord.property.mapper.PropertyUnitMapper;
+import com.landlord.property.model.PropertyUnit;
+import com.landlord.property.outbox.PropertyEventType;
+import com.landlord.property.outbox.PropertyOutbox;
+import com.landlord.property.search.PropertyKeywordIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Creates and updates many units of one property in a constant number of statements: one to lock
+ * the property and reserve unit numbers, one to lock the units being updated, then one JDBC batch
+ * each for the inserts and the updates. Owner statistics, events, caches and the keyword index are
+ * updated once per request rather than once per unit.
+ */
+@Slf4j
+@Service
+public class PropertyUnitBulkService {
+
+    // Locking the property serialises unit number reservation; the numbers after the current
+    // highest numeric unit number are ours until the transaction ends
+    private static final String LOCK_PROPERTY_SQL =
+        "WITH locked AS (SELECT id FROM properties WHERE id = ? AND owner_id = ? AND deleted_at IS NULL FOR UPDATE) " +
+        "SELECT COALESCE(MAX(CAST(u.unit_number AS INTEGER)), 0) FROM locked " +
+        "LEFT JOIN property_units u ON u.property_id = locked.id AND u.deleted_at IS NULL " +
+        "AND u.unit_number ~ '^[0-9]{1,9}$' GROUP BY locked.id";
+
+    private static final String LOCK_UNITS_SQL =
+        "SELECT id, unit_number, monthly_rent, status, version FROM property_units " +
+        "WHERE property_id = ? AND id = ANY(?) AND deleted_at IS NULL FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PropertyUnitBulkWriter unitWriter;
+    private final PropertyUnitMapper propertyUnitMapper;
+    private final Validator validator;
+    private final OwnerStatsService ownerStatsService;
+    private final PropertyOutbox propertyOutbox;
+    private final PropertyCacheService propertyCacheService;
+    private final PropertyKeywordIndex propertyKeywordIndex;
+
+    @Autowired
+    public PropertyUnitBulkService(JdbcTemplate jdbcTemplate,
+                                   PropertyUnitBulkWriter unitWriter,
+                                   PropertyUnitMapper propertyUnitMapper,
+                                   Validator validator,
+                                   OwnerStatsService ownerStatsService,
+                                   PropertyOutbox propertyOutbox,
+                                   PropertyCacheService propertyCacheService,
+                                   PropertyKeywordIndex propertyKeywordIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.unitWriter = unitWriter;
+        this.propertyUnitMapper = propertyUnitMapper;
+        this.validator = validator;
+        this.ownerStatsService = ownerStatsService;
+        this.propertyOutbox = propertyOutbox;
+        this.propertyCacheService = propertyCacheService;
+        this.propertyKeywordIndex = propertyKeywordIndex;
+    }
+
+    private record LockedUnit(String unitNumber, BigDecimal monthlyRent, PropertyUnit.UnitStatus status, Long version) {
+    }
+
+    /**
+     * Create and update units of the owner's property. Rows that fail validation, name a unit that
+     * does not exist or carry a stale version are reported as failed; the others are written.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BulkUnitResultDto applyUnits(String propertyId, String ownerId, List<BulkUnitRowDto> rows) {
+        long started = System.nanoTime();
+        int nextNumber = lockProperty(propertyId, ownerId);
+
+        List<String> updateIds = new ArrayList<>();
+        for (BulkUnitRowDto row : rows) {
+            if (row.getId() != null) {
+                updateIds.add(row.getId());
+            }
+        }
+        Map<String, LockedUnit> locked = lockUnits(propertyId, updateIds);
+
+        BulkUnitResultDto.RowResult[] results = new BulkUnitResultDto.RowResult[rows.size()];
+        List<PropertyUnit> creates = new ArrayList<>();
+        List<PropertyUnit> updates = new ArrayList<>();
+        List<Integer> updateRows = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            BulkUnitRowDto row = rows.get(i);
+            String error;
+            if (row.getId() == null) {
+                if (row.getUnitNumber() == null || row.getUnitNumber().isBlank()) {
+                    row.setUnitNumber(String.valueOf(nextNumber++));
+                }
+                applyCreateDefaults(row);
+                error = violations(row, false);
+                if (error == null) {
+                    creates.add(newUnit(row, propertyId, ownerId));
+                    results[i] = result(i, BulkUnitResultDto.Status.CREATED, creates.get(creates.size() - 1));
+                }
+            } else {
+                LockedUnit current = locked.get(row.getId());
+                if (current == null) {
+                    error = "Unit not found";
+                } else if (!seenIds.add(row.getId())) {
+                    error = "Unit appears more than once in the request";
+                } else if (row.getVersion() != null && !row.getVersion().equals(current.version())) {
+                    error = "Unit was changed by someone else (version " + current.version() + ")";
+                } else {
+                    error = violations(row, true);
+                }
+                if (error == null) {
+                    updates.add(changedUnit(row, propertyId, current));
+                    updateRows.add(i);
+                }
+            }
+            if (error != null) {
+                results[i] = BulkUnitResultDto.RowResult.builder()
+                    .index(i).status(BulkUnitResultDto.Status.FAILED).unitId(row.getId()).error(error).build();
+            }
+        }
+
+        unitWriter.insert(creates);
+        int[] counts = unitWriter.update(updates);
+        List<PropertyUnit> updated = new ArrayList<>(updates.size());
+        for (int u = 0; u < updates.size(); u++) {
+            int index = updateRows.get(u);
+            PropertyUnit unit = updates.get(u);
+            // Rows are locked, so a miss here means the unit vanished under us; report it, don't fail the batch
+            if (counts[u] == 0) {
+                results[index] = BulkUnitResultDto.RowResult.builder()
+                    .index(index).status(BulkUnitResultDto.Status.FAILED).unitId(unit.getId())
+                    .error("Unit was changed by someone else").build();
+                continue;
+            }
+            unit.setVersion(unit.getVersion() != null ? unit.getVersion() + 1 : 1L);
+            updated.add(unit);
+            results[index] = result(index, BulkUnitResultDto.Status.UPDATED, unit);
+        }
+        publish(propertyId, ownerId, creates, updated, locked);
+
+        BulkUnitResultDto result = BulkUnitResultDto.builder()
+            .propertyId(propertyId)
+            .created(creates.size())
+            .updated(updated.size())
+            .failed(rows.size() - creates.size() - updated.size())
+            .totalDurationMs((System.nanoTime() - started) / 1_000_000)
+            .rows(List.of(results))
+            .build();
+        log.info("Bulk units for property {}: {} created, {} updated, {} failed in {} ms",
+            propertyId, result.getCreated(), result.getUpdated(), result.getFailed(), result.getTotalDurationMs());
+        return result;
+    }
+
+    /**
+     * Create units for a property that was just written (and flushed) in this transaction.
+     * All-or-nothing: any invalid unit rejects the whole set.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<PropertyUnit> createUnits(String propertyId, String ownerId, List<PropertyUnitCreateDto> unitDtos) {
+        int nextNumber = lockProperty(propertyId, ownerId);
+        List<PropertyUnit> units = new ArrayList<>(unitDtos.size());
+        for (int i = 0; i < unitDtos.size(); i++) {
+            PropertyUnitCreateDto unitDto = unitDtos.get(i);
+            if (unitDto.getUnitNumber() == null || unitDto.getUnitNumber().isBlank()) {
+                unitDto.setUnitNumber(String.valueOf(nextNumber++));
+            }
+            String error = violations(unitDto, false);
+            if (error != null) {
+                throw new InvalidPropertyDataException("Unit " + (i + 1) + ": " + error);
+            }
+            units.add(newUnit(unitDto, propertyId, ownerId));
+        }
+        unitWriter.insert(units);
+        publish(propertyId, ownerId, units, List.of(), Map.of());
+        return units;
+    }
+
+    private int lockProperty(String propertyId, String ownerId) {
+        List<Integer> highest = jdbcTemplate.queryForList(LOCK_PROPERTY_SQL, Integer.class, propertyId, ownerId);
+        if (highest.isEmpty()) {
+            throw new PropertyNotFoundException("Property not found or access denied");
+        }
+        return highest.get(0) + 1;
+    }
+
+    private Map<String, LockedUnit> lockUnits(String propertyId, List<String> unitIds) {
+        Map<String, LockedUnit> locked = new HashMap<>();
+        if (unitIds.isEmpty()) {
+            return locked;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOCK_UNITS_SQL);
+            statement.setString(1, propertyId);
+            statement.setArray(2, connection.createArrayOf("varchar", unitIds.toArray()));
+            return statement;
+        }, rs -> {
+            long version = rs.getLong("version");
+            Long storedVersion = rs.wasNull() ? null : version;
+            locked.put(rs.getString("id"), new LockedUnit(
+                rs.getString("unit_number"),
+                rs.getBigDecimal("monthly_rent"),
+                PropertyUnit.UnitStatus.valueOf(rs.getString("status")),
+                storedVersion));
+        });
+        return locked;
+    }
+
+    /**
+     * Fill the fields a create row left out with the defaults of PropertyUnitCreateDto
+     */
+    private static void applyCreateDefaults(BulkUnitRowDto row) {
+        PropertyUnitCreateDto defaults = new PropertyUnitCreateDto();
+        defaultIfNull(row.getUtilitiesIncluded(), row::setUtilitiesIncluded, defaults.getUtilitiesIncluded());
+        defaultIfNull(row.getPetFriendly(), row::setPetFriendly, defaults.getPetFriendly());
+        defaultIfNull(row.getFurnished(), row::setFurnished, defaults.getFurnished());
+        defaultIfNull(row.getParkingAssigned(), row::setParkingAssigned, defaults.getParkingAssigned());
+        defaultIfNull(row.getStorageAssigned(), row::setStorageAssigned, defaults.getStorageAssigned());
+        defaultIfNull(row.getBalcony(), row::setBalcony, defaults.getBalcony());
+        defaultIfNull(row.getTerrace(), row::setTerrace, defaults.getTerrace());
+        defaultIfNull(row.getGardenAccess(), row::setGardenAccess, defaults.getGardenAccess());
+        defaultIfNull(row.getMinimumLeaseMonths(), row::setMinimumLeaseMonths, defaults.getMinimumLeaseMonths());
+        defaultIfNull(row.getMaximumLeaseMonths(), row::setMaximumLeaseMonths, defaults.getMaximumLeaseMonths());
+        defaultIfNull(row.getBackgroundCheckRequired(), row::setBackgroundCheckRequired, defaults.getBackgroundCheckRequired());
+        defaultIfNull(row.getCreditScoreMinimum(), row::setCreditScoreMinimum, defaults.getCreditScoreMinimum());
+        defaultIfNull(row.getIncomeMultipleRequired(), row::setIncomeMultipleRequired, defaults.getIncomeMultipleRequired());
+        defaultIfNull(row.getIsAvailable(), row::setIsAvailable, defaults.getIsAvailable());
+        defaultIfNull(row.getIsPremium(), row::setIsPremium, defaults.getIsPremium());
+        defaultIfNull(row.getStatus(), row::setStatus, defaults.getStatus());
+    }
+
+    private static <T> void defaultIfNull(T value, Consumer<T> setter, T defaultValue) {
+        if (value == null) {
+            setter.accept(defaultValue);
+        }
+    }
+
+    /**
+     * Constraint violations of the row, joined; on update a missing field is not a violation
+     */
+    private String violations(PropertyUnitCreateDto unitDto, boolean partial) {
+        Set<String> messages = new TreeSet<>();
+        for (ConstraintViolation<PropertyUnitCreateDto> violation : validator.validate(unitDto)) {
+            if (partial && violation.getInvalidValue() == null) {
+                continue;
+            }
+            messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return messages.isEmpty() ? null : String.join("; ", messages);
+    }
+
+    private PropertyUnit newUnit(PropertyUnitCreateDto unitDto, String propertyId, String ownerId) {
+        PropertyUnit unit = propertyUnitMapper.createDtoToEntity(unitDto, propertyId);
+        unit.setId(UUID.randomUUID().toString());
+        unit.setCreatedBy(ownerId);
+        unit.setVersion(0L);
+        return unit;
+    }
+
+    private PropertyUnit changedUnit(BulkUnitRowDto row, String propertyId, LockedUnit current) {
+        PropertyUnit unit = propertyUnitMapper.createDtoToEntity(row, propertyId);
+        unit.setId(row.getId());
+        unit.setVersion(current.version());
+        // Set explicitly: the entity's own defaults would otherwise overwrite the stored values
+        unit.setStatus(row.getStatus());
+        unit.setIsAvailable(row.getIsAvailable());
+        unit.setIsPremium(row.getIsPremium());
+        return unit;
+    }
+
+    private static BulkUnitResultDto.RowResult result(int index, BulkUnitResultDto.Status status, PropertyUnit unit) {
+        return BulkUnitResultDto.RowResult.builder()
+            .index(index)
+            .status(status)
+            .unitId(unit.getId())
+            .unitNumber(unit.getUnitNumber())
+            .version(unit.getVersion())
+            .build();
+    }
+
+    /**
+     * One owner statistics delta, one batch of UNIT_RENTED events and one cache eviction for the request
+     */
+    private void publish(String propertyId, String ownerId, List<PropertyUnit> created, List<PropertyUnit> updated,
+                         Map<String, LockedUnit> before) {
+        if (created.isEmpty() && updated.isEmpty()) {
+            return;
+        }
+        List<PropertyUnit.UnitStatus> oldStatuses = new ArrayList<>(updated.size());
+        List<PropertyUnit.UnitStatus> newStatuses = new ArrayList<>(created.size() + updated.size());
+        List<PropertyOutbox.Event> rented = new ArrayList<>();
+        for (PropertyUnit unit : created) {
+            newStatuses.add(unit.getStatus());
+            if (unit.getStatus() == PropertyUnit.UnitStatus.RENTED) {
+                rented.add(rentedEvent(propertyId, unit.getId(), unit.getUnitNumber(), unit.getMonthlyRent()));
+            }
+        }
+        for (PropertyUnit unit : updated) {
+            LockedUnit old = before.get(unit.getId());
+            PropertyUnit.UnitStatus status = unit.getStatus() != null ? unit.getStatus() : old.status();
+            oldStatuses.add(old.status());
+            newStatuses.add(status);
+            if (status == PropertyUnit.UnitStatus.RENTED && old.status() != PropertyUnit.UnitStatus.RENTED) {
+                rented.add(rentedEvent(propertyId, unit.getId(),
+                    unit.getUnitNumber() != null ? unit.getUnitNumber() : old.unitNumber(),
+                    unit.getMonthlyRent() != null ? unit.getMonthlyRent() : old.monthlyRent()));
+            }
+        }
+
+        ownerStatsService.recordUnitChanges(ownerId, oldStatuses, newStatuses);
+        propertyOutbox.recordAll(PropertyEventType.UNIT_RENTED, ownerId, rented);
+        propertyCacheService.evictUnits(propertyId);
+        propertyCacheService.evictStatistics(ownerId);
+        propertyKeywordIndex.reindexAfterCommit(propertyId);
+    }
+
+    private static PropertyOutbox.Event rentedEvent(String propertyId, String unitId, String unitNumber, BigDecimal monthlyRent) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("unitId", unitId);
+        data.put("unitNumber", unitNumber);
+        data.put("monthlyRent", monthlyRent);
+        return new PropertyOutbox.Event(propertyId, data);
+    }
+}
@@ -0,0 +1,180 @@
+package com.landlord.property.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Object store on the local filesystem, for development, offline tests and single-machine
+ * benchmarks. Writes stream into a temp file in the target directory with
+ * {@link FileChannel#transferFrom} and are committed by an atomic rename, so readers never see
+ * a partial object. Reads memory-map the file. Content type and metadata are not kept.
+ */
+@Slf4j
+public class LocalObjectStore implements ObjectStore {
+
+    private static final String TEMP_PREFIX = ".upload-";
+
+    private final Path rootDir;
+    private final String baseUrl;
+
+    public LocalObjectStore(Path rootDir, String baseUrl) {
+        this.rootDir = rootDir.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        try {
+            Files.createDirectories(this.rootDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create storage directory " + this.rootDir, e);
+        }
+        log.info("Storing objects under {}", this.rootDir);
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType, Map<String, String> metadata) {
+        Path target = resolve(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), TEMP_PREFIX, ".tmp");
+
+            // The channel wrapper is not closed: the caller owns the stream
+            ReadableByteChannel source = Channels.newChannel(content);
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long position = 0;
+                while (position < size) {
+                    long transferred = out.transferFrom(source, position, size - position);
+                    if (transferred == 0) {
+                        break;
+                    }
+                    position += transferred;
+                }
+                if (position != size) {
+                    throw new IOException("Expected " + size + " bytes for " + key + " but the stream ended after " + position);
+                }
+            }
+
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Failed to write " + key, e);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) {
+        return get(key, 0, Long.MAX_VALUE);
+    }
+
+    @Override
+    public InputStream get(String key, long offset, long length) {
+        Path path = resolve(key);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long start = Math.min(offset, channel.size());
+            long count = Math.min(length, channel.size() - start);
+            if (count > Integer.MAX_VALUE) {
+                // Too large to map in one buffer; read from the offset to the end instead
+                InputStream in = Files.newInputStream(path);
+                in.skipNBytes(start);
+                return in;
+            }
+            // The mapping stays valid after the channel is closed
+            return new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, start, count));
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + key, e);
+        }
+    }
+
+    @Override
+    public long size(String key) {
+        try {
+            return Files.size(resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + key, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete " + key, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public List<String> list(String prefix) {
+        int slash = prefix.lastIndexOf('/');
+        Path directory = slash == -1 ? rootDir : resolve(prefix.substring(0, slash));
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths
+                .filter(Files::isRegularFile)
+                .filter(path -> !path.getFileName().toString().startsWith(TEMP_PREFIX))
+                .map(this::keyOf)
+                .filter(key -> key.startsWith(prefix))
+                .sorted()
+                .toList();
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list " + prefix, e);
+        }
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return baseUrl + "/" + key;
+    }
+
+    @Override
+    public String keyFromUrl(String url) {
+        if (!url.startsWith(baseUrl + "/")) {
+            throw new IllegalArgumentException("Not a local storage URL: " + url);
+        }
+        return url.substring(baseUrl.length() + 1);
+    }
+
+    private Path resolve(String key) {
+        Path path = rootDir.resolve(key).normalize();
+        if (!path.startsWith(rootDir) || path.equals(rootDir)) {
+            throw new IllegalArgumentException("Invalid object key: " + key);
+        }
+        return path;
+    }
+
+    private String keyOf(Path path) {
+        return rootDir.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to remove temp file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.landlord.property.storage;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blob storage behind {@link com.landlord.property.service.FileUploadService}. Keys are
+ * slash-separated paths such as {@code images/ab/ab12....jpg}. Implementations may throw
+ * unchecked exceptions on I/O or service failures; callers translate them.
+ */
+public interface ObjectStore {
+
+    /**
+     * Store exactly {@code size} bytes read from {@code content} under {@code key}, replacing any
+     * existing object. The object becomes visible only once it is complete. The stream is not closed.
+     */
+    void put(String key, InputStream content, long size, String contentType, Map<String, String> metadata);
+
+    InputStream get(String key);
+
+    /**
+     * {@code length} bytes of the object starting at {@code offset}
+     */
+    InputStream get(String key, long offset, long length);
+
+    /**
+     * Size of the object in bytes
+     */
+    long size(String key);
+
+    void delete(String key);
+
+    boolean exists(String key);
+
+    /**
+     * Keys of all objects starting with {@code prefix}
+     */
+    List<String> list(String prefix);
+
+    String publicUrl(String key);
+
+    /**
+     * Inverse of {@link #publicUrl(String)}
+     */
+    String keyFromUrl(String url);
+}
@@ -0,0 +1,117 @@
+package com.landlord.property.storage;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class S3ObjectStore implements ObjectStore {
+
+    private final S3Client s3Client;
+    private final String bucketName;
+    private final String region;
+
+    public S3ObjectStore(S3Client s3Client, String bucketName, String region) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+        this.region = region;
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType, Map<String, String> metadata) {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .metadata(metadata)
+                .build();
+
+        s3Client.putObject(request, RequestBody.fromInputStream(content, size));
+    }
+
+    @Override
+    public InputStream get(String key) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+
+        return s3Client.getObject(request);
+    }
+
+    @Override
+    public InputStream get(String key, long offset, long length) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .range("bytes=" + offset + "-" + (offset + length - 1))
+                .build();
+
+        return s3Client.getObject(request);
+    }
+
+    @Override
+    public long size(String key) {
+        return s3Client.headObject(HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build())
+            .contentLength();
+    }
+
+    @Override
+    public void delete(String key) {
+        DeleteObjectRequest request = DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+
+        s3Client.deleteObject(request);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build());
+            return true;
+
+        } catch (NoSuchKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public List<String> list(String prefix) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .build();
+
+        return s3Client.listObjectsV2Paginator(request).contents().stream()
+                .map(S3Object::key)
+                .toList();
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, key);
+    }
+
+    @Override
+    public String keyFromUrl(String url) {
+        // https://bucket.s3.region.amazonaws.com/key -> key
+        String[] parts = url.split("/");
+        return String.join("/", Arrays.copyOfRange(parts, 3, parts.length));
+    }
+
+    public void close() {
+        s3Client.close();
+    }
+}
@@ -0,0 +1,174 @@
+package com.landlord.property.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash encoding and radius helpers for proximity search.
+ * A property's geohash is stored at full precision; a radius search matches the 3x3 block of cells,
+ * at the finest precision whose cell still spans the radius, that surrounds the search center.
+ */
+public final class GeoHash {
+
+    public static final int MAX_PRECISION = 12;
+    public static final double EARTH_RADIUS_MILES = 3958.8;
+    public static final int COVERING_CELL_COUNT = 9;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double MILES_PER_DEGREE_LATITUDE = 69.0;
+    private static final int SEARCH_MAX_PRECISION = 9;
+
+    private GeoHash() {
+    }
+
+    /**
+     * Encode a coordinate as a geohash of the given precision (characters)
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Full-precision geohash for storage, or null when the coordinate is incomplete
+     */
+    public static String encode(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        return encode(latitude, longitude, MAX_PRECISION);
+    }
+
+    /**
+     * Great-circle distance in miles
+     */
+    public static double distanceMiles(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+            * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_MILES * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Bounding box enclosing the search circle. Longitude bounds are null when the box
+     * crosses the antimeridian or reaches a pole.
+     */
+    public static BoundingBox boundingBox(double latitude, double longitude, double radiusMiles) {
+        double latDelta = radiusMiles / MILES_PER_DEGREE_LATITUDE;
+        double minLat = Math.max(-90, latitude - latDelta);
+        double maxLat = Math.min(90, latitude + latDelta);
+
+        double lngDelta = longitudeDelta(latitude, latDelta, radiusMiles);
+        Double minLng = longitude - lngDelta;
+        Double maxLng = longitude + lngDelta;
+        if (Double.isInfinite(lngDelta) || minLng < -180 || maxLng > 180) {
+            minLng = null;
+            maxLng = null;
+        }
+        return new BoundingBox(minLat, maxLat, minLng, maxLng);
+    }
+
+    /**
+     * Geohash prefixes whose cells together cover the search circle: the center cell and its
+     * eight neighbours at the finest precision whose cell spans the radius. Empty when no
+     * precision is coarse enough (very large radius or polar search).
+     */
+    public static List<String> coveringCells(double latitude, double longitude, double radiusMiles) {
+        double latDelta = radiusMiles / MILES_PER_DEGREE_LATITUDE;
+        double lngDelta = longitudeDelta(latitude, latDelta, radiusMiles);
+
+        int precision = 0;
+        for (int p = SEARCH_MAX_PRECISION; p >= 1; p--) {
+            if (cellHeight(p) >= latDelta && cellWidth(p) >= lngDelta) {
+                precision = p;
+                break;
+            }
+        }
+        if (precision == 0) {
+            return new ArrayList<>();
+        }
+
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        Set<String> cells = new LinkedHashSet<>();
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                double lat = Math.max(-90, Math.min(90, latitude + dy * height));
+                double lng = wrapLongitude(longitude + dx * width);
+                cells.add(encode(lat, lng, precision));
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+
+    private static double longitudeDelta(double latitude, double latDelta, double radiusMiles) {
+        // Use the latitude edge farthest from the equator, where a degree of longitude is shortest
+        double extremeLat = Math.min(90, Math.abs(latitude) + latDelta);
+        double cos = Math.cos(Math.toRadians(extremeLat));
+        if (cos <= 1e-9) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return radiusMiles / (MILES_PER_DEGREE_LATITUDE * cos);
+    }
+
+    private static double cellHeight(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    private static double cellWidth(int precision) {
+        int lngBits = (5 * precision + 1) / 2;
+        return 360.0 / (1L << lngBits);
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude >= 180) {
+            return longitude - 360;
+        }
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        return longitude;
+    }
+
+    public record BoundingBox(double minLat, double maxLat, Double minLng, Double maxLng) {
+    }
+}
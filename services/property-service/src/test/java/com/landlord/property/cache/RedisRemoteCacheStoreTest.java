@@ -0,0 +1,54 @@
+package com.landlord.property.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisRemoteCacheStoreTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private Cursor<String> cursor;
+
+    @Test
+    void clear_ShouldScanRegionKeysInsteadOfBlockingKeysCall() {
+        // Arrange
+        RedisRemoteCacheStore store = new RedisRemoteCacheStore(redisTemplate, listenerContainer, "invalidation");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn("property-service::units::a", "property-service::units::b");
+
+        // Act
+        store.clear("units");
+
+        // Assert
+        ArgumentCaptor<ScanOptions> options = ArgumentCaptor.forClass(ScanOptions.class);
+        verify(redisTemplate).scan(options.capture());
+        assertEquals("property-service::units::*", options.getValue().getPattern());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(redisTemplate).delete(deleted.capture());
+        assertEquals(List.of("property-service::units::a", "property-service::units::b"), List.copyOf(deleted.getValue()));
+        verify(redisTemplate, never()).keys(any());
+        verify(cursor).close();
+    }
+}
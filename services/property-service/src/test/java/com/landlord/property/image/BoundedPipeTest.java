@@ -0,0 +1,57 @@
+package com.landlord.property.image;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPipeTest {
+
+    @Test
+    void pipe_ShouldDeliverEveryByteInOrderThroughSmallBuffer() throws Exception {
+        // Arrange
+        byte[] content = new byte[1_000_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        BoundedPipe pipe = new BoundedPipe(4096);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+
+        // Act
+        Future<byte[]> received = reader.submit(() -> {
+            try (InputStream in = pipe.source()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                in.transferTo(out);
+                return out.toByteArray();
+            }
+        });
+        try (OutputStream out = pipe.sink()) {
+            for (int offset = 0; offset < content.length; offset += 10_000) {
+                out.write(content, offset, Math.min(10_000, content.length - offset));
+            }
+        }
+
+        // Assert
+        assertArrayEquals(content, received.get(5, TimeUnit.SECONDS));
+        reader.shutdown();
+    }
+
+    @Test
+    void write_AfterReaderCloses_ShouldFailInsteadOfBlocking() throws IOException {
+        // Arrange
+        BoundedPipe pipe = new BoundedPipe(16);
+        pipe.source().close();
+
+        // Act & Assert
+        IOException error = assertThrows(IOException.class, () -> pipe.sink().write(new byte[64]));
+        assertEquals("Pipe reader closed", error.getMessage());
+    }
+}
@@ -0,0 +1,109 @@
+package com.landlord.property.image;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageDecoderTest {
+
+    @Test
+    void decode_ShouldReadHeaderDimensionsAndSubsamplePreview() throws IOException {
+        // Arrange
+        byte[] png = encode(new BufferedImage(3200, 1600, BufferedImage.TYPE_INT_RGB), "png");
+
+        // Act
+        ImageDecoder.DecodedImage decoded = ImageDecoder.decode(new ByteArrayInputStream(png), 400);
+
+        // Assert - 3200 / (400 * 2) = 4x subsampling
+        assertEquals(3200, decoded.width());
+        assertEquals(1600, decoded.height());
+        assertEquals("png", decoded.format());
+        assertEquals(800, decoded.preview().getWidth());
+        assertEquals(400, decoded.preview().getHeight());
+    }
+
+    @Test
+    void decode_ThroughTee_ShouldForwardEveryByteOnce() throws IOException {
+        // Arrange
+        byte[] jpeg = encode(new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB), "jpg");
+        ByteArrayOutputStream branch = new ByteArrayOutputStream();
+
+        // Act
+        ImageDecoder.DecodedImage decoded;
+        long count;
+        try (TeeInputStream tee = new TeeInputStream(new ByteArrayInputStream(jpeg), branch)) {
+            decoded = ImageDecoder.decode(tee, 400);
+            tee.drain();
+            count = tee.getCount();
+        }
+
+        // Assert
+        assertEquals("jpg", decoded.format());
+        assertEquals(jpeg.length, count);
+        assertArrayEquals(jpeg, branch.toByteArray());
+    }
+
+    @Test
+    void decode_WithUnknownFormat_ShouldReturnNull() throws IOException {
+        assertNull(ImageDecoder.decode(new ByteArrayInputStream("not an image".getBytes()), 400));
+    }
+
+    @Test
+    void probe_ShouldReadHeaderWithoutDecodingPixels() throws IOException {
+        // Arrange
+        byte[] png = encode(new BufferedImage(1200, 900, BufferedImage.TYPE_INT_ARGB), "png");
+
+        // Act
+        ImageDecoder.ImageInfo info = ImageDecoder.probe(new ByteArrayInputStream(png));
+
+        // Assert
+        assertEquals(new ImageDecoder.ImageInfo(1200, 900, "png"), info);
+    }
+
+    @Test
+    void encode_JpegFromTransparentSource_ShouldFlattenAlpha() throws IOException {
+        // Arrange
+        BufferedImage transparent = new BufferedImage(64, 48, BufferedImage.TYPE_INT_ARGB);
+
+        // Act
+        byte[] jpeg = ImageDecoder.encode(transparent, "jpg", 0.8f);
+
+        // Assert
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertEquals(64, decoded.getWidth());
+        assertEquals(48, decoded.getHeight());
+    }
+
+    @Test
+    void teeSkip_ShouldReadThroughSoBranchStaysComplete() throws IOException {
+        // Arrange
+        byte[] data = new byte[20000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        ByteArrayOutputStream branch = new ByteArrayOutputStream();
+
+        // Act
+        try (TeeInputStream tee = new TeeInputStream(new ByteArrayInputStream(data), branch)) {
+            assertEquals(15000, tee.skip(15000));
+            tee.drain();
+        }
+
+        // Assert
+        assertArrayEquals(data, branch.toByteArray());
+    }
+
+    // Helper methods
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
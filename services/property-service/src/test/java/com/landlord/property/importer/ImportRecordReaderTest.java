@@ -0,0 +1,135 @@
+package com.landlord.property.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportRecordReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csv_WithNestedColumnsAndUnits_ShouldBuildPropertyAndUnitMaps() throws IOException {
+        // Arrange
+        String csv = "\uFEFFref,name,address.city,unit.unitNumber,unit.monthlyRent\r\n" +
+            "elm,Elm Court,Austin,1A,1200\r\n" +
+            "elm,,,1B,1350\r\n";
+
+        // Act
+        List<ImportRecord> records = readAll(ImportFormat.CSV, csv);
+
+        // Assert
+        assertEquals(2, records.size());
+        ImportRecord first = records.get(0);
+        assertEquals(1, first.rowNumber());
+        assertEquals("elm", first.ref());
+        assertEquals("Elm Court", first.property().get("name"));
+        assertEquals(Map.of("city", "Austin"), first.property().get("address"));
+        assertEquals(List.of(Map.of("unitNumber", "1A", "monthlyRent", "1200")), first.units());
+        assertTrue(records.get(1).property().isEmpty());
+        assertEquals("1B", records.get(1).units().get(0).get("unitNumber"));
+    }
+
+    @Test
+    void csv_WithQuotedCommasQuotesAndLineBreaks_ShouldKeepFieldIntact() throws IOException {
+        // Arrange
+        String csv = "name,description\n" +
+            "\"Oak, Loft\",\"Says \"\"hi\"\"\non two lines\"\n" +
+            "Pine House,Plain\n";
+
+        // Act
+        List<ImportRecord> records = readAll(ImportFormat.CSV, csv);
+
+        // Assert
+        assertEquals(2, records.size());
+        assertEquals("Oak, Loft", records.get(0).property().get("name"));
+        assertEquals("Says \"hi\"\non two lines", records.get(0).property().get("description"));
+        assertEquals(2, records.get(1).rowNumber());
+        assertNull(records.get(0).ref());
+        assertEquals("#1", records.get(0).refOrRowKey());
+    }
+
+    @Test
+    void csv_WithTooManyFields_ShouldReturnErrorRecordAndContinue() throws IOException {
+        // Arrange
+        String csv = "name,description\n" +
+            "A,B,C\n" +
+            "D,E\n";
+
+        // Act
+        List<ImportRecord> records = readAll(ImportFormat.CSV, csv);
+
+        // Assert
+        assertEquals(2, records.size());
+        assertNotNull(records.get(0).error());
+        assertNull(records.get(1).error());
+        assertEquals("D", records.get(1).property().get("name"));
+    }
+
+    @Test
+    void csv_WithUnterminatedQuote_ShouldReturnErrorRecord() throws IOException {
+        // Arrange
+        String csv = "name\n\"never closed\n";
+
+        // Act
+        List<ImportRecord> records = readAll(ImportFormat.CSV, csv);
+
+        // Assert
+        assertEquals(1, records.size());
+        assertEquals("Unterminated quoted field", records.get(0).error());
+    }
+
+    @Test
+    void ndjson_WithUnitsAndMalformedLine_ShouldUseLineNumbers() throws IOException {
+        // Arrange
+        String ndjson = "{\"ref\":\"elm\",\"name\":\"Elm Court\",\"units\":[{\"unitNumber\":\"1A\"},{\"unitNumber\":\"1B\"}]}\n" +
+            "\n" +
+            "{not json\n" +
+            "{\"ref\":\"elm\",\"unit\":{\"unitNumber\":\"1C\"}}\n";
+
+        // Act
+        List<ImportRecord> records = readAll(ImportFormat.NDJSON, ndjson);
+
+        // Assert
+        assertEquals(3, records.size());
+        assertEquals(1, records.get(0).rowNumber());
+        assertEquals("elm", records.get(0).ref());
+        assertEquals(2, records.get(0).units().size());
+        assertFalse(records.get(0).property().containsKey("units"));
+        assertEquals(3, records.get(1).rowNumber());
+        assertNotNull(records.get(1).error());
+        assertEquals(4, records.get(2).rowNumber());
+        assertEquals("1C", records.get(2).units().get(0).get("unitNumber"));
+    }
+
+    @Test
+    void detect_ShouldPreferExplicitFormatThenContentTypeThenExtension() {
+        // Act & Assert
+        assertEquals(ImportFormat.NDJSON, ImportFormat.detect("ndjson", "text/csv", "units.csv"));
+        assertEquals(ImportFormat.CSV, ImportFormat.detect(null, "text/csv", "units.jsonl"));
+        assertEquals(ImportFormat.NDJSON, ImportFormat.detect(null, "application/octet-stream", "units.jsonl"));
+        assertThrows(IllegalArgumentException.class, () -> ImportFormat.detect(null, null, "units.xlsx"));
+    }
+
+    // Helper methods
+
+    private List<ImportRecord> readAll(ImportFormat format, String content) throws IOException {
+        List<ImportRecord> records = new ArrayList<>();
+        try (ImportRecordReader reader = ImportRecordReader.open(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), objectMapper)) {
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
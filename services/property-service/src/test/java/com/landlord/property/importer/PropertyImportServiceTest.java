@@ -0,0 +1,251 @@
+package com.landlord.property.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.landlord.property.dto.PropertyCreateDto;
+import com.landlord.property.dto.PropertyUnitCreateDto;
+import com.landlord.property.importer.PropertyImportService.ImportJob;
+import com.landlord.property.mapper.PropertyMapper;
+import com.landlord.property.mapper.PropertyUnitMapper;
+import com.landlord.property.model.Property;
+import com.landlord.property.model.PropertyUnit;
+import com.landlord.property.outbox.PropertyOutbox;
+import com.landlord.property.repository.PropertyRepository;
+import com.landlord.property.search.PropertyKeywordIndex;
+import com.landlord.property.service.OwnerStatsService;
+import com.landlord.property.service.PropertyCacheService;
+import com.landlord.property.storage.ObjectStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyImportServiceTest {
+
+    private static final String JOB_ID = "job-1";
+    private static final String OWNER_ID = "owner-456";
+    private static final String SOURCE_KEY = "imports/job-1.csv";
+    private static final long LEASE_TOKEN = 7L;
+    private static final long LEASE_MS = 300_000L;
+    private static final String CHECKPOINT = "UPDATE property_import_jobs SET rows_committed";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectStore objectStore;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @Mock
+    private PropertyMapper propertyMapper;
+
+    @Mock
+    private PropertyUnitMapper propertyUnitMapper;
+
+    @Mock
+    private PropertyUnitBulkWriter unitWriter;
+
+    @Mock
+    private OwnerStatsService ownerStatsService;
+
+    @Mock
+    private PropertyOutbox propertyOutbox;
+
+    @Mock
+    private PropertyKeywordIndex propertyKeywordIndex;
+
+    @Mock
+    private PropertyCacheService propertyCacheService;
+
+    private PropertyImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new PropertyImportService(jdbcTemplate, transactionManager, objectStore,
+            new ObjectMapper().findAndRegisterModules(), validator, propertyRepository, propertyMapper,
+            propertyUnitMapper, unitWriter, ownerStatsService, propertyOutbox, propertyKeywordIndex,
+            propertyCacheService, new SimpleMeterRegistry(), 1);
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+
+        lenient().when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+        lenient().when(propertyMapper.createDtoToEntity(any(), eq(OWNER_ID))).thenAnswer(invocation -> {
+            Property property = new Property();
+            property.setName(invocation.<PropertyCreateDto>getArgument(0).getName());
+            return property;
+        });
+        lenient().when(propertyRepository.save(any(Property.class))).thenAnswer(invocation -> {
+            Property property = invocation.getArgument(0);
+            property.setId("property-" + property.getName());
+            return property;
+        });
+        lenient().when(propertyUnitMapper.createDtoToEntity(any(), anyString())).thenAnswer(invocation -> {
+            PropertyUnit unit = new PropertyUnit();
+            unit.setUnitNumber(invocation.<PropertyUnitCreateDto>getArgument(0).getUnitNumber());
+            unit.setPropertyId(invocation.getArgument(1));
+            return unit;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    void run_ShouldCommitEachChunkWithItsCheckpointAndGroupUnitsUnderTheirRef() {
+        // Arrange
+        source("ref,name,unit.unitNumber\n" +
+            "elm,Elm Court,1A\n" +
+            "elm,,1B\n" +
+            "oak,Oak House,1\n");
+
+        // Act
+        importService.run(job(0, 0));
+
+        // Assert - rows 1-2 and row 3 commit separately, each with the checkpoint of its last row
+        List<List<PropertyUnit>> inserted = insertedUnits(2);
+        assertEquals(List.of("1A", "1B"), inserted.get(0).stream().map(PropertyUnit::getUnitNumber).toList());
+        assertTrue(inserted.get(0).stream().allMatch(unit -> "property-Elm Court".equals(unit.getPropertyId())));
+        assertEquals("property-Oak House", inserted.get(1).get(0).getPropertyId());
+        verify(propertyRepository, times(2)).save(any(Property.class));
+        verify(jdbcTemplate).update(startsWith(CHECKPOINT), eq(2L), eq(1), eq(2), eq(0), anyLong(),
+            eq(LEASE_MS), eq(JOB_ID), eq(LEASE_TOKEN));
+        verify(jdbcTemplate).update(startsWith(CHECKPOINT), eq(3L), eq(1), eq(1), eq(0), anyLong(),
+            eq(LEASE_MS), eq(JOB_ID), eq(LEASE_TOKEN));
+        verify(jdbcTemplate).update(contains("SET status = 'COMPLETED'"), eq(JOB_ID), eq(LEASE_TOKEN));
+        verify(transactionManager, times(2)).commit(any());
+        verify(objectStore).delete(SOURCE_KEY);
+    }
+
+    @Test
+    void run_FromCheckpoint_ShouldSkipCommittedRowsAndAddUnitsToStoredRef() throws Exception {
+        // Arrange
+        source("ref,name,unit.unitNumber,unit.monthlyRent\n" +
+            "elm,Elm Court,1,1200\n" +
+            "elm,,2,1200\n" +
+            "elm,,,1500\n");
+        storedRef("elm", "property-elm", 3);
+
+        // Act
+        importService.run(job(2, 0));
+
+        // Assert - only row 3 is applied, numbered after the stored ref's units
+        List<List<PropertyUnit>> inserted = insertedUnits(1);
+        assertEquals(1, inserted.get(0).size());
+        assertEquals("3", inserted.get(0).get(0).getUnitNumber());
+        assertEquals("property-elm", inserted.get(0).get(0).getPropertyId());
+        verify(propertyRepository, never()).save(any(Property.class));
+        verify(jdbcTemplate).update(startsWith(CHECKPOINT), eq(3L), eq(0), eq(1), eq(0), anyLong(),
+            eq(LEASE_MS), eq(JOB_ID), eq(LEASE_TOKEN));
+    }
+
+    @Test
+    void run_WithMoreRejectedRowsThanRecorded_ShouldRecordUpToCapButCountAll() {
+        // Arrange
+        ReflectionTestUtils.setField(importService, "chunkSize", 10);
+        ReflectionTestUtils.setField(importService, "maxRecordedErrors", 2);
+        source("name,description\n" +
+            "A,B,C\n" +
+            "D,E,F\n" +
+            "G,H,I\n");
+
+        // Act
+        importService.run(job(0, 1));
+
+        // Assert - one error was recorded by an earlier run, so only the first row here fits under the cap
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> errors = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO property_import_errors"), errors.capture());
+        assertEquals(1, errors.getValue().size());
+        assertEquals(1L, errors.getValue().get(0)[1]);
+        verify(jdbcTemplate).update(startsWith(CHECKPOINT), eq(3L), eq(0), eq(0), eq(3), anyLong(),
+            eq(LEASE_MS), eq(JOB_ID), eq(LEASE_TOKEN));
+    }
+
+    @Test
+    void run_WhenCheckpointFencedOut_ShouldRollBackChunkAndLeaveJobToNewHolder() {
+        // Arrange
+        source("name,unit.unitNumber\n" +
+            "Elm Court,1\n");
+        when(jdbcTemplate.update(startsWith(CHECKPOINT), any(Object[].class))).thenReturn(0);
+
+        // Act
+        importService.run(job(0, 0));
+
+        // Assert
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(jdbcTemplate, never()).update(contains("SET status = 'COMPLETED'"), any(Object[].class));
+        verify(jdbcTemplate, never()).update(contains("SET status = 'PENDING'"), any(Object[].class));
+        verify(objectStore, never()).delete(anyString());
+    }
+
+    @Test
+    void run_WhenSourceUnreadable_ShouldRetryFencedOnLeaseToken() {
+        // Arrange
+        when(objectStore.get(SOURCE_KEY)).thenThrow(new IllegalStateException("S3 unavailable"));
+
+        // Act
+        importService.run(job(0, 0));
+
+        // Assert
+        verify(jdbcTemplate).update(contains("SET status = 'PENDING'"), eq("S3 unavailable"), eq(30_000L),
+            eq(JOB_ID), eq(LEASE_TOKEN));
+    }
+
+    // Helper methods
+
+    private ImportJob job(long rowsCommitted, long rowsFailed) {
+        return new ImportJob(JOB_ID, OWNER_ID, ImportFormat.CSV, SOURCE_KEY, rowsCommitted, rowsFailed, 1, LEASE_TOKEN);
+    }
+
+    private void source(String csv) {
+        when(objectStore.get(SOURCE_KEY)).thenReturn(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void storedRef(String ref, String propertyId, int nextUnitNumber) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("ref")).thenReturn(ref);
+        when(rs.getString("property_id")).thenReturn(propertyId);
+        when(rs.getInt("next_unit_number")).thenReturn(nextUnitNumber);
+        when(rs.wasNull()).thenReturn(true);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT ref"), any(RowCallbackHandler.class), eq(JOB_ID));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<PropertyUnit>> insertedUnits(int chunks) {
+        ArgumentCaptor<List<PropertyUnit>> captor = ArgumentCaptor.forClass(List.class);
+        verify(unitWriter, times(chunks)).insert(captor.capture());
+        return captor.getAllValues();
+    }
+}
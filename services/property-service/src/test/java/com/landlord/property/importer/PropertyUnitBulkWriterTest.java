@@ -0,0 +1,127 @@
+package com.landlord.property.importer;
+
+import com.landlord.property.model.PropertyUnit;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyUnitBulkWriterTest {
+
+    private static final List<String> COPY_COLUMNS = copyColumns();
+
+    @Test
+    void toCsv_ShouldWriteOneFieldPerCopyColumnInOrder() {
+        // Arrange
+        PropertyUnit unit = unit("unit-1");
+
+        // Act
+        List<String> fields = fields(PropertyUnitBulkWriter.toCsv(List.of(unit)));
+
+        // Assert
+        assertEquals(COPY_COLUMNS.size(), fields.size());
+        assertEquals("\"unit-1\"", field(fields, "id"));
+        assertEquals("\"property-123\"", field(fields, "property_id"));
+        assertEquals("3", field(fields, "floor_number"));
+        assertEquals("true", field(fields, "is_available"));
+        assertEquals("\"RENTED\"", field(fields, "status"));
+    }
+
+    @Test
+    void toCsv_ShouldQuoteStringsAndKeepEmptyStringApartFromNull() {
+        // Arrange
+        PropertyUnit unit = unit("unit-1");
+        unit.setUnitNumber("Unit \"A\", west");
+        unit.setBuildingSection("");
+        unit.setNotes(null);
+
+        // Act
+        List<String> fields = fields(PropertyUnitBulkWriter.toCsv(List.of(unit)));
+
+        // Assert - COPY reads an unquoted empty field as NULL and a quoted one as ''
+        assertEquals("\"Unit \"\"A\"\", west\"", field(fields, "unit_number"));
+        assertEquals("\"\"", field(fields, "building_section"));
+        assertEquals("", field(fields, "notes"));
+        assertEquals("", field(fields, "premium_until"));
+    }
+
+    @Test
+    void toCsv_ShouldWritePlainDecimalsIsoTimestampsAndDefaultVersion() {
+        // Arrange
+        PropertyUnit unit = unit("unit-1");
+        unit.setMonthlyRent(new BigDecimal("1.25E+3"));
+        unit.setBathrooms(new BigDecimal("1.50"));
+        unit.setAvailableFrom(LocalDateTime.of(2024, 3, 1, 9, 30));
+        unit.setVersion(null);
+
+        // Act
+        List<String> fields = fields(PropertyUnitBulkWriter.toCsv(List.of(unit)));
+
+        // Assert
+        assertEquals("1250", field(fields, "monthly_rent"));
+        assertEquals("1.50", field(fields, "bathrooms"));
+        assertEquals("2024-03-01T09:30", field(fields, "available_from"));
+        assertEquals("0", field(fields, "version"));
+    }
+
+    @Test
+    void toCsv_WithSeveralUnits_ShouldEndEveryRowWithNewline() {
+        // Act
+        String csv = PropertyUnitBulkWriter.toCsv(List.of(unit("unit-1"), unit("unit-2")));
+
+        // Assert
+        String[] rows = csv.split("\n", -1);
+        assertEquals(3, rows.length);
+        assertTrue(rows[0].startsWith("\"unit-1\","));
+        assertTrue(rows[1].startsWith("\"unit-2\","));
+        assertEquals("", rows[2]);
+    }
+
+    // Helper methods
+
+    private PropertyUnit unit(String id) {
+        PropertyUnit unit = new PropertyUnit();
+        unit.setId(id);
+        unit.setPropertyId("property-123");
+        unit.setUnitNumber("1A");
+        unit.setFloorNumber(3);
+        unit.setStatus(PropertyUnit.UnitStatus.RENTED);
+        return unit;
+    }
+
+    private static List<String> copyColumns() {
+        String sql = PropertyUnitBulkWriter.COPY_SQL;
+        return Arrays.asList(sql.substring(sql.indexOf('(') + 1, sql.indexOf(')')).split(", "));
+    }
+
+    private String field(List<String> fields, String column) {
+        return fields.get(COPY_COLUMNS.indexOf(column));
+    }
+
+    /**
+     * Split one CSV row on the commas outside quotes, keeping each field's raw text
+     */
+    private List<String> fields(String csv) {
+        String row = csv.substring(0, csv.indexOf('\n'));
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (char c : row.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+                continue;
+            }
+            field.append(c);
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,184 @@
+package com.landlord.property.outbox;
+
+import com.landlord.property.outbox.OutboxRelay.OutboxEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(jdbcTemplate, transactionManager, rabbitTemplate, meterRegistry, "", "property-events");
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRelay.shutdown();
+    }
+
+    @Test
+    void relayBatch_ShouldPublishWithOrderingHeadersAndDeleteConfirmedRows() {
+        // Arrange
+        lockAcquired(true);
+        claim(event(1, "property-a", 1, null), event(2, "property-a", 2, PropertyOutbox.GZIP));
+        confirmAllExcept(Set.of());
+
+        // Act
+        boolean more = outboxRelay.relayBatch();
+
+        // Assert
+        ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate, times(2)).send(eq(""), eq("property-events"), messages.capture(), any(CorrelationData.class));
+        Message second = messages.getAllValues().get(1);
+        assertEquals("event-2", second.getMessageProperties().getMessageId());
+        assertEquals("PROPERTY_UPDATED", second.getMessageProperties().getType());
+        assertEquals("gzip", second.getMessageProperties().getContentEncoding());
+        assertEquals("property-a", second.getMessageProperties().getHeader(OutboxRelay.AGGREGATE_ID_HEADER));
+        assertEquals(2L, (Long) second.getMessageProperties().getHeader(OutboxRelay.SEQUENCE_HEADER));
+        verify(jdbcTemplate).batchUpdate(startsWith("DELETE FROM property_outbox"),
+            argThat((List<Object[]> ids) -> ids.size() == 2 && ids.get(0)[0].equals(1L) && ids.get(1)[0].equals(2L)));
+        assertFalse(more);
+        assertEquals(2.0, meterRegistry.counter("property.outbox.published").count());
+    }
+
+    @Test
+    void relayBatch_WhenEventNacked_ShouldHoldLaterEventsOfSamePropertyOnly() {
+        // Arrange
+        lockAcquired(true);
+        claim(event(1, "property-a", 1, null), event(2, "property-b", 1, null), event(3, "property-a", 2, null));
+        confirmAllExcept(Set.of("event-1"));
+
+        // Act
+        outboxRelay.relayBatch();
+
+        // Assert
+        verify(jdbcTemplate).update(startsWith("UPDATE property_outbox SET attempts"),
+            startsWith("Nacked by broker"), eq(1_000L), eq(1L));
+        // event-3 is never sent ahead of event-1; it stays in the outbox behind it
+        assertEquals(List.of("event-1", "event-2"), sentEventIds(2));
+        verify(jdbcTemplate).batchUpdate(startsWith("DELETE FROM property_outbox"),
+            argThat((List<Object[]> ids) -> ids.size() == 1 && ids.get(0)[0].equals(2L)));
+        assertEquals(1.0, meterRegistry.counter("property.outbox.publish.failures").count());
+    }
+
+    @Test
+    void relayBatch_WhenEventNackedMidProperty_ShouldNotSendItsLaterEvents() {
+        // Arrange
+        lockAcquired(true);
+        claim(event(1, "property-a", 1, null), event(2, "property-a", 2, null),
+            event(3, "property-b", 1, null), event(4, "property-a", 3, null));
+        confirmAllExcept(Set.of("event-2"));
+
+        // Act
+        boolean more = outboxRelay.relayBatch();
+
+        // Assert - event-2 is only sent after event-1 is confirmed, and event-4 never overtakes it
+        assertEquals(List.of("event-1", "event-3", "event-2"), sentEventIds(3));
+        verify(jdbcTemplate).update(startsWith("UPDATE property_outbox SET attempts"),
+            startsWith("Nacked by broker"), eq(1_000L), eq(2L));
+        verify(jdbcTemplate).batchUpdate(startsWith("DELETE FROM property_outbox"),
+            argThat((List<Object[]> ids) -> ids.size() == 2 && ids.get(0)[0].equals(1L) && ids.get(1)[0].equals(3L)));
+        assertFalse(more);
+    }
+
+    @Test
+    void relayBatch_WhenBrokerUnreachable_ShouldStopSendingAndDeleteNothing() {
+        // Arrange
+        lockAcquired(true);
+        claim(event(1, "property-a", 1, null), event(2, "property-b", 1, null));
+        doThrow(new AmqpConnectException(new ConnectException("Connection refused")))
+            .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // Act
+        outboxRelay.relayBatch();
+
+        // Assert
+        verify(rabbitTemplate, times(1)).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        verify(jdbcTemplate, times(2)).update(startsWith("UPDATE property_outbox SET attempts"), any(), anyLong(), anyLong());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void relayBatch_WhenAnotherInstanceHoldsLock_ShouldNotClaimOrPublish() {
+        // Arrange
+        lockAcquired(false);
+
+        // Act
+        boolean more = outboxRelay.relayBatch();
+
+        // Assert
+        assertFalse(more);
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class), anyInt());
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    // Helper methods
+
+    private List<String> sentEventIds(int sends) {
+        ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate, times(sends)).send(anyString(), anyString(), messages.capture(), any(CorrelationData.class));
+        return messages.getAllValues().stream()
+            .map(message -> message.getMessageProperties().getMessageId())
+            .toList();
+    }
+
+    private void lockAcquired(boolean acquired) {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT pg_try_advisory_xact_lock"), eq(Boolean.class), anyLong()))
+            .thenReturn(acquired);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void claim(OutboxEvent... events) {
+        when(jdbcTemplate.query(startsWith("SELECT o.id"), any(RowMapper.class), eq(200))).thenReturn(List.of(events));
+    }
+
+    private void confirmAllExcept(Set<String> nacked) {
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(!nacked.contains(correlation.getId()),
+                nacked.contains(correlation.getId()) ? "queue full" : null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private OutboxEvent event(long id, String propertyId, long sequence, String encoding) {
+        byte[] payload = ("{\"propertyId\":\"" + propertyId + "\"}").getBytes(StandardCharsets.UTF_8);
+        return new OutboxEvent(id, "event-" + id, propertyId, sequence, "PROPERTY_UPDATED", payload, encoding, 0);
+    }
+}
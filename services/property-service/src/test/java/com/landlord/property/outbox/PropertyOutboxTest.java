@@ -0,0 +1,83 @@
+package com.landlord.property.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyOutboxTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private OutboxRelay outboxRelay;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PropertyOutbox propertyOutbox;
+
+    @BeforeEach
+    void setUp() {
+        propertyOutbox = new PropertyOutbox(jdbcTemplate, objectMapper, outboxRelay);
+    }
+
+    @Test
+    void record_WithSmallPayload_ShouldStorePlainJsonEnvelope() throws IOException {
+        // Arrange
+        Map<String, Object> data = Map.of("from", "PUBLISHED", "to", "RENTED");
+
+        // Act
+        propertyOutbox.record(PropertyEventType.PROPERTY_STATUS_CHANGED, "property-123", "owner-456", data);
+
+        // Assert
+        byte[] payload = capturePayload(null);
+        JsonNode envelope = objectMapper.readTree(payload);
+        assertEquals("PROPERTY_STATUS_CHANGED", envelope.get("type").asText());
+        assertEquals("property-123", envelope.get("propertyId").asText());
+        assertEquals("owner-456", envelope.get("ownerId").asText());
+        assertEquals("RENTED", envelope.get("data").get("to").asText());
+        assertNotNull(envelope.get("eventId"));
+    }
+
+    @Test
+    void record_WithLargePayload_ShouldStoreGzippedAndFlagEncoding() throws IOException {
+        // Arrange
+        Map<String, Object> data = Map.of("description", "Spacious two bedroom apartment. ".repeat(100));
+
+        // Act
+        propertyOutbox.record(PropertyEventType.PROPERTY_UPDATED, "property-123", "owner-456", data);
+
+        // Assert
+        byte[] payload = capturePayload(PropertyOutbox.GZIP);
+        assertTrue(payload.length < 1024, "compressed to " + payload.length + " bytes");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            JsonNode envelope = objectMapper.readTree(in);
+            assertEquals(data.get("description"), envelope.get("data").get("description").asText());
+        }
+    }
+
+    // Helper methods
+
+    private byte[] capturePayload(String expectedEncoding) {
+        ArgumentCaptor<byte[]> payload = ArgumentCaptor.forClass(byte[].class);
+        verify(jdbcTemplate).update(startsWith("WITH seq AS (INSERT INTO property_outbox_sequences"),
+            eq("property-123"), anyString(), eq("property-123"), anyString(), payload.capture(),
+            expectedEncoding == null ? isNull() : eq(expectedEncoding));
+        return payload.getValue();
+    }
+}
@@ -0,0 +1,91 @@
+package com.landlord.property.patch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.landlord.property.dto.PropertyUpdateDto;
+import com.landlord.property.exception.InvalidPropertyDataException;
+import com.landlord.property.model.Property;
+import com.landlord.property.patch.MergePatchCompiler.CompiledPatch;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MergePatchCompilerTest {
+
+    private final MergePatchCompiler compiler = new MergePatchCompiler(Property.class, PropertyUpdateDto.class, "p",
+        Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper().findAndRegisterModules());
+
+    @Test
+    void compile_ShouldAssignOnlySuppliedColumnsInPatchOrder() {
+        // Arrange
+        Map<String, Object> patch = new LinkedHashMap<>();
+        patch.put("monthlyRent", 2450.5);
+        patch.put("status", "RENTED");
+        patch.put("address", Map.of("city", "Oakland"));
+
+        // Act
+        CompiledPatch compiled = compiler.compile(patch);
+
+        // Assert
+        assertEquals("monthly_rent = ?, status = ?, city = ?", compiled.assignments());
+        assertEquals(List.of(new BigDecimal("2450.5"), "RENTED", "Oakland"), compiled.args());
+        assertEquals(List.of("monthlyRent", "status", "address.city"), compiled.paths());
+        assertEquals(Property.PropertyStatus.RENTED, compiled.value("status"));
+    }
+
+    @Test
+    void compile_WithNullMember_ShouldClearNullableColumnButNotRequiredOne() {
+        // Arrange
+        Map<String, Object> clearNotes = new HashMap<>();
+        clearNotes.put("notes", null);
+        Map<String, Object> clearName = new HashMap<>();
+        clearName.put("name", null);
+
+        // Act
+        CompiledPatch compiled = compiler.compile(clearNotes);
+
+        // Assert
+        assertEquals("notes = ?", compiled.assignments());
+        assertEquals(Arrays.asList((Object) null), compiled.args());
+        InvalidPropertyDataException e = assertThrows(InvalidPropertyDataException.class, () -> compiler.compile(clearName));
+        assertEquals("Field cannot be removed: name", e.getMessage());
+    }
+
+    @Test
+    void compile_WithReadOnlyUnknownOrInvalidField_ShouldNameTheField() {
+        assertEquals("Field cannot be patched: viewCount", assertThrows(InvalidPropertyDataException.class,
+            () -> compiler.compile(Map.of("viewCount", 5))).getMessage());
+        assertEquals("Unknown field: rent", assertThrows(InvalidPropertyDataException.class,
+            () -> compiler.compile(Map.of("rent", 5))).getMessage());
+        assertEquals("monthlyRent: Monthly rent must be positive", assertThrows(InvalidPropertyDataException.class,
+            () -> compiler.compile(Map.of("monthlyRent", -5))).getMessage());
+        assertEquals("Invalid value for field: status", assertThrows(InvalidPropertyDataException.class,
+            () -> compiler.compile(Map.of("status", "LET"))).getMessage());
+        assertEquals("Field must be an object: address", assertThrows(InvalidPropertyDataException.class,
+            () -> compiler.compile(Map.of("address", "1 Main St"))).getMessage());
+        assertThrows(InvalidPropertyDataException.class, () -> compiler.compile(Map.of()));
+    }
+
+    @Test
+    void compile_WithObjectForJsonColumn_ShouldMergeIntoStoredObject() {
+        // Arrange
+        Map<String, Object> metaData = new LinkedHashMap<>();
+        metaData.put("source", "pricing-bot");
+        metaData.put("campaign", null);
+
+        // Act
+        CompiledPatch compiled = compiler.compile(Map.of("metaData", metaData));
+
+        // Assert
+        assertTrue(compiled.assignments().startsWith("meta_data = (SELECT jsonb_object_agg(e.key, e.value)"));
+        assertTrue(compiled.assignments().contains("jsonb_typeof(p.meta_data) = 'object'"));
+        assertEquals(List.of("{\"source\":\"pricing-bot\",\"campaign\":null}"), compiled.args());
+    }
+}
@@ -0,0 +1,156 @@
+package com.landlord.property.search;
+
+import com.landlord.property.dto.PropertySearchCriteriaDto;
+import com.landlord.property.model.Property;
+import com.landlord.property.search.PropertyCriteriaCompiler.CompiledCriteria;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plan regression test: the compiled WHERE clause must stay sargable so Postgres picks the
+ * owner/status/city indexes. The indexes are the ones Property's @Table mapping declares plus the
+ * properties indexes in database_schema.sql, not a hand-picked set. Skipped when Docker is unavailable.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PropertyCriteriaCompilerExplainTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static final Path SCHEMA = Path.of("..", "..", "database_schema.sql");
+    private static final Pattern SCHEMA_INDEX =
+        Pattern.compile("CREATE INDEX (idx_properties_\\w+) ON properties\\s*\\((.+)\\);");
+
+    private static Connection connection;
+
+    private final PropertyCriteriaCompiler compiler = new PropertyCriteriaCompiler();
+
+    @BeforeAll
+    static void createSchema() throws SQLException, IOException {
+        connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE properties (" +
+                "id VARCHAR(36) PRIMARY KEY, owner_id VARCHAR(36) NOT NULL, name VARCHAR(255), description VARCHAR(500), " +
+                "status VARCHAR(20) NOT NULL, property_type VARCHAR(20), city VARCHAR(100), state VARCHAR(50), " +
+                "zip_code VARCHAR(20), latitude DOUBLE PRECISION, longitude DOUBLE PRECISION, geohash VARCHAR(12), " +
+                "monthly_rent NUMERIC(12, 2), bedrooms INTEGER, created_at TIMESTAMP, deleted_at TIMESTAMP)");
+            // 100 owners, 5 statuses (PUBLISHED is rare), 500 cities
+            statement.execute("INSERT INTO properties (id, owner_id, name, status, property_type, city, state, monthly_rent, bedrooms, created_at) " +
+                "SELECT 'p' || g, 'owner-' || (g % 100), 'Property ' || g, " +
+                "CASE WHEN g % 50 = 0 THEN 'PUBLISHED' ELSE (ARRAY['DRAFT', 'RENTED', 'ARCHIVED', 'INACTIVE'])[g % 4 + 1] END, " +
+                "'APARTMENT', 'City' || (g % 500), 'CA', 500 + g % 4000, g % 5, now() - g * interval '1 minute' " +
+                "FROM generate_series(1, 50000) AS g");
+            for (String index : declaredIndexes()) {
+                statement.execute(index);
+            }
+            statement.execute("ANALYZE properties");
+        }
+    }
+
+    @AfterAll
+    static void closeConnection() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void ownerFilter_ShouldUseOwnerIndex() throws SQLException {
+        PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
+        criteria.setOwnerId("owner-7");
+
+        // Either owner-leading index the entity declares serves an equality on owner_id
+        String plan = explain(criteria);
+        assertTrue(plan.contains("idx_properties_owner_id") || plan.contains("idx_properties_owner_created_at_id"), plan);
+    }
+
+    @Test
+    void statusFilter_ShouldUseStatusIndex() throws SQLException {
+        PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
+        criteria.setStatus(Property.PropertyStatus.PUBLISHED);
+
+        String plan = explain(criteria);
+        assertTrue(plan.contains("idx_properties_status"), plan);
+    }
+
+    @Test
+    void cityFilter_ShouldUseCityIndex() throws SQLException {
+        PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
+        criteria.setCity("CITY42");
+
+        // The plain city index the entity declares cannot serve LOWER(city); the schema's expression index must
+        String plan = explain(criteria);
+        assertTrue(plan.contains("idx_properties_city_lower"), plan);
+    }
+
+    @Test
+    void combinedFilters_ShouldNotFallBackToSeqScan() throws SQLException {
+        PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
+        criteria.setOwnerId("owner-7");
+        criteria.setCity("City107");
+        criteria.setMinRent(BigDecimal.valueOf(1000));
+
+        String plan = explain(criteria);
+        assertFalse(plan.contains("Seq Scan on properties"), plan);
+    }
+
+    /**
+     * CREATE INDEX statements for every index Property's @Table declares, then for each properties
+     * index in database_schema.sql the entity does not already declare under the same name
+     */
+    private static List<String> declaredIndexes() throws IOException {
+        Map<String, String> indexes = new LinkedHashMap<>();
+        for (Index index : Property.class.getAnnotation(Table.class).indexes()) {
+            indexes.put(index.name(), "CREATE INDEX " + index.name() + " ON properties (" + index.columnList() + ")");
+        }
+        Matcher matcher = SCHEMA_INDEX.matcher(Files.readString(SCHEMA));
+        while (matcher.find()) {
+            indexes.putIfAbsent(matcher.group(1), "CREATE INDEX " + matcher.group(1) + " ON properties (" + matcher.group(2) + ")");
+        }
+        assertTrue(indexes.containsKey("idx_properties_city_lower"), "database_schema.sql no longer declares idx_properties_city_lower");
+        return new ArrayList<>(indexes.values());
+    }
+
+    private String explain(PropertySearchCriteriaDto criteria) throws SQLException {
+        CompiledCriteria compiled = compiler.compile(criteria, true);
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "EXPLAIN SELECT p.id FROM properties p WHERE " + compiled.where())) {
+            List<Object> args = compiled.args();
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package com.landlord.property.search;
+
+import com.landlord.property.dto.PropertySearchCriteriaDto;
+import com.landlord.property.model.Property;
+import com.landlord.property.search.PropertyCriteriaCompiler.CompiledCriteria;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyCriteriaCompilerTest {
+
+    private final PropertyCriteriaCompiler compiler = new PropertyCriteriaCompiler();
+
+    @Test
+    void compile_WithNoCriteria_ShouldOnlyExcludeDeletedRows() {
+        CompiledCriteria compiled = compiler.compile(new PropertySearchCriteriaDto(), true);
+
+        assertEquals("p.deleted_at IS NULL", compiled.where());
+        assertTrue(compiled.args().isEmpty());
+        assertEquals(0L, compiled.shape());
+    }
+
+    @Test
+    void compile_ShouldEmitOnlySuppliedPredicatesInParameterOrder() {
+        // Arrange
+        PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
+        criteria.setOwnerId("owner-1");
+        criteria.setStatus(Property.PropertyStatus.PUBLISHED);
+        criteria.setCity("Oakland");
+        criteria.setMaxSecurityDeposit(BigDecimal.valueOf(2000));
+        criteria.setMinLeaseMonths(6);
+        criteria.setPetFriendly(true);
+        criteria.setCreatedTo(LocalDate.of(2024, 3, 31));
+
+        // Act
+        CompiledCriteria compiled = compiler.compile(criteria, true);
+
+        // Assert
+        assertEquals("p.deleted_at IS NULL AND p.owner_id = ? AND p.status = ? AND LOWER(p.city) = LOWER(?) " +
+            "AND p.security_deposit <= ? AND p.pet_friendly = ? AND p.created_at < ? AND p.lease_min_months >= ?",
+            compiled.where());
+        assertEquals(List.of("owner-1", "PUBLISHED", "Oakland", BigDecimal.valueOf(2000), true,
+            Timestamp.valueOf(LocalDate.of(2024, 4, 1).atStartOfDay()), 6), compiled.args());
+        assertFalse(compiled.where().contains("IS NULL OR"));
+    }
+
+    @Test
+    void compile_WithSameFiltersDifferentValues_ShouldReuseCachedShape() {
+        // Arrange
+        PropertySearchCriteriaDto first = new PropertySearchCriteriaDto();
+        first.setCity("Oakland");
+        first.setMinRent(BigDecimal.valueOf(1000));
+        PropertySearchCriteriaDto second = new PropertySearchCriteriaDto();
+        second.setCity("Berkeley");
+        second.setMinRent(BigDecimal.valueOf(2500));
+        PropertySearchCriteriaDto other = new PropertySearchCriteriaDto();
+        other.setCity("Berkeley");
+
+        // Act
+        CompiledCriteria a = compiler.compile(first, true);
+        CompiledCriteria b = compiler.compile(second, true);
+        CompiledCriteria c = compiler.compile(other, true);
+
+        // Assert
+        assertEquals(a.shape(), b.shape());
+        assertSame(a.where(), b.where());
+        assertNotEquals(a.shape(), c.shape());
+        assertEquals(2, compiler.cachedShapes());
+    }
+
+    @Test
+    void compile_WithoutKeyword_ShouldLeaveKeywordToIndex() {
+        // Arrange
+        PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
+        criteria.setSearchKeyword(" Loft ");
+
+        // Act
+        CompiledCriteria withKeyword = compiler.compile(criteria, true);
+        CompiledCriteria withoutKeyword = compiler.compile(criteria, false);
+
+        // Assert
+        assertEquals(List.of("%loft%", "%loft%"), withKeyword.args());
+        assertEquals("p.deleted_at IS NULL", withoutKeyword.where());
+    }
+
+    @Test
+    void compile_WithPresenceFlags_ShouldEmitFlagPredicatesWithoutParameters() {
+        // Arrange
+        PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
+        criteria.setHasImages(true);
+        criteria.setHasSecurityDeposit(false);
+
+        // Act
+        CompiledCriteria compiled = compiler.compile(criteria, true);
+
+        // Assert
+        assertTrue(compiled.where().contains(PropertyCriteriaCompiler.Filter.NO_SECURITY_DEPOSIT.getPredicate()));
+        assertTrue(compiled.where().contains(PropertyCriteriaCompiler.Filter.HAS_IMAGES.getPredicate()));
+        assertFalse(compiled.where().contains("p.security_deposit > 0"));
+        assertTrue(compiled.args().isEmpty());
+    }
+
+    @Test
+    void compile_WithAirConditioning_ShouldBindItsOwnColumnNotCoolingType() {
+        // Arrange
+        PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
+        criteria.setAirConditioning(false);
+
+        // Act
+        CompiledCriteria compiled = compiler.compile(criteria, true);
+
+        // Assert
+        assertTrue(compiled.where().contains("p.air_conditioning = ?"));
+        assertFalse(compiled.where().contains("cooling_type"));
+        assertEquals(List.of(false), compiled.args());
+    }
+
+    @Test
+    void orderBy_ShouldWhitelistColumnsAndAddIdTiebreaker() {
+        assertEquals(" ORDER BY p.monthly_rent ASC, p.id ASC", compiler.orderBy(Sort.by(Sort.Direction.ASC, "monthlyRent")));
+        assertEquals(" ORDER BY p.created_at DESC, p.id DESC", compiler.orderBy(Sort.by(Sort.Direction.DESC, "name; DROP TABLE")));
+        assertEquals(" ORDER BY p.created_at DESC, p.id DESC", compiler.orderBy(Sort.unsorted()));
+    }
+}
@@ -0,0 +1,148 @@
+package com.landlord.property.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PropertyKeywordIndexTest {
+
+    private PropertyKeywordIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PropertyKeywordIndex(null, null);
+        index.index("p1", "Sunny Loft", "Open plan loft near the park", "Oakland", null);
+        index.index("p2", "Garden Apartment", "Quiet unit with a loft bedroom", "Berkeley", null);
+        index.index("p3", "Downtown Studio", "Walk to everything", "Oakland",
+            List.of("[\"dishwasher\", \"washer\"]"));
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        List<String> results = index.search("loft", 10);
+
+        assertEquals(List.of("p1", "p2"), results);
+    }
+
+    @Test
+    void search_ShouldRequireEveryTokenAndMatchPrefixes() {
+        assertEquals(List.of("p1"), index.search("oakl loft", 10));
+        assertEquals(List.of("p3"), index.search("dishwash", 10));
+        assertTrue(index.search("loft berkeley oakland", 10).isEmpty());
+    }
+
+    @Test
+    void index_ShouldReplaceTermsOfExistingProperty() {
+        // Act
+        index.index("p1", "Sunny Bungalow", "Detached house", "Oakland", null);
+
+        // Assert
+        assertEquals(List.of("p2"), index.search("loft", 10));
+        assertEquals(List.of("p1"), index.search("bungalow", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void remove_ShouldDropPropertyFromResults() {
+        // Act
+        index.remove("p3");
+
+        // Assert
+        assertTrue(index.search("dishwasher", 10).isEmpty());
+        assertEquals(List.of("p1"), index.search("oakland", 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void search_ShouldHonourLimit() {
+        assertEquals(1, index.search("loft", 1).size());
+    }
+
+    @Test
+    void postingList_ShouldRoundTripRandomUpdates() {
+        // Arrange
+        Random random = new Random(42);
+        TreeSet<Integer> expected = new TreeSet<>();
+        PostingList postings = PostingList.EMPTY;
+
+        // Act
+        for (int i = 0; i < 5000; i++) {
+            int docId = random.nextInt(50000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(docId);
+                postings = postings.without(docId);
+            } else {
+                expected.add(docId);
+                postings = postings.with(docId);
+            }
+        }
+
+        // Assert
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), postings.toArray());
+        assertEquals(expected.size(), postings.size());
+        assertTrue(postings.byteSize() < expected.size() * 4);
+    }
+
+    @Test
+    void postingList_WithAppendsFromSameList_ShouldKeepEachCopyIntact() {
+        // Arrange
+        PostingList base = PostingList.EMPTY.with(1).with(5);
+
+        // Act - both extend base; only the first may write into its spare capacity
+        PostingList first = base.with(9);
+        PostingList second = base.with(7).with(8);
+
+        // Assert
+        assertArrayEquals(new int[]{1, 5}, base.toArray());
+        assertArrayEquals(new int[]{1, 5, 9}, first.toArray());
+        assertArrayEquals(new int[]{1, 5, 7, 8}, second.toArray());
+        assertArrayEquals(new int[]{1, 5, 9, 12}, first.with(12).toArray());
+    }
+
+    @Test
+    void rebuild_ShouldIndexEveryScannedPropertyWithItsUnitFeatures() throws Exception {
+        // Arrange
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        PropertyKeywordIndex rebuilt = new PropertyKeywordIndex(jdbcTemplate, mock(PlatformTransactionManager.class));
+        ResultSet unit = mock(ResultSet.class);
+        when(unit.getString("property_id")).thenReturn("p3");
+        when(unit.getString("appliances_included")).thenReturn("[\"dishwasher\"]");
+        ResultSet property = mock(ResultSet.class);
+        when(property.getString("id")).thenReturn("p1", "p2", "p3");
+        when(property.getString("name")).thenReturn("Sunny Loft", "Garden Apartment", "Downtown Studio");
+        when(property.getString("description")).thenReturn("Open plan loft", "Quiet unit", "Walk to everything");
+        when(property.getString("city")).thenReturn("Oakland", "Berkeley", "Oakland");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(unit);
+            return null;
+        }).doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < 3; i++) {
+                handler.processRow(property);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        // Act
+        rebuilt.rebuild();
+
+        // Assert
+        assertTrue(rebuilt.isReady());
+        assertEquals(3, rebuilt.size());
+        assertEquals(List.of("p1", "p3"), rebuilt.search("oakland", 10));
+        assertEquals(List.of("p3"), rebuilt.search("dishwasher", 10));
+        assertEquals(List.of("p1"), rebuilt.search("loft", 10));
+    }
+}
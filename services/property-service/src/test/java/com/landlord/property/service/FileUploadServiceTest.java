@@ -0,0 +1,272 @@
+package com.landlord.property.service;
+
+import com.landlord.property.image.ImageDecoder;
+import com.landlord.property.storage.LocalObjectStore;
+import com.landlord.property.storage.ObjectStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileUploadServiceTest {
+
+    private static final long SIMULATED_PUT_LATENCY_MS = 40;
+
+    private static final String BASE_URL = "http://localhost:8080/files";
+
+    @TempDir
+    Path storageDir;
+
+    @Mock
+    private ImageBlobStore imageBlobStore;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ObjectStore objectStore;
+
+    private final List<FileUploadService> services = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Real local store, plus a fixed round trip per put to stand in for a remote backend
+        objectStore = spy(new LocalObjectStore(storageDir, BASE_URL));
+        lenient().doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                invocation.callRealMethod();
+                Thread.sleep(SIMULATED_PUT_LATENCY_MS);
+                return null;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }).when(objectStore).put(anyString(), any(InputStream.class), anyLong(), any(), anyMap());
+        lenient().when(imageBlobStore.register(any())).thenAnswer(invocation -> blob(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(FileUploadService::shutdown);
+    }
+
+    @Test
+    void uploadPropertyImage_ShouldRecordSizeHashAndHeaderFactsFromOneRead() throws IOException {
+        // Arrange
+        byte[] jpeg = jpeg(1600, 1200);
+        FileUploadService service = newService(2);
+        MultipartFile file = spy(new MockMultipartFile("file", "living-room.jpg", "image/jpeg", jpeg));
+
+        // Act
+        FileUploadService.StoredImage stored = service.uploadPropertyImage(file, "property-123", "INTERIOR");
+
+        // Assert
+        assertEquals(jpeg.length, stored.sizeBytes());
+        assertEquals(64, stored.contentHash().length());
+        assertEquals(1600, stored.width());
+        assertEquals(1200, stored.height());
+        assertEquals("jpg", stored.format());
+        assertTrue(stored.key().matches("images/([0-9a-f]{2})/\\1[0-9a-f]{30}\\.jpg"), stored.key());
+        assertEquals(BASE_URL + "/" + stored.key(), stored.url());
+        verify(file, times(1)).getInputStream();
+        verify(objectStore, times(1)).put(anyString(), any(InputStream.class), anyLong(), any(), anyMap());
+        verify(imageBlobStore).register(stored);
+    }
+
+    @Test
+    void uploadPropertyImage_WithKnownBytes_ShouldDropItsObjectAndReferenceExistingOne() throws IOException {
+        // Arrange
+        byte[] jpeg = jpeg(800, 600);
+        FileUploadService service = newService(2);
+        FileUploadService.StoredImage first = service.uploadPropertyImage(
+            new MockMultipartFile("file", "front.jpg", "image/jpeg", jpeg), "property-123", "EXTERIOR");
+        when(imageBlobStore.acquire(first.contentHash())).thenReturn(Optional.of(new ImageBlobStore.Blob(
+            first.contentHash(), first.key(), first.sizeBytes(), 800, 600, "jpg", "https://cdn.example.com/front_400.jpg")));
+
+        // Act
+        FileUploadService.StoredImage duplicate = service.uploadPropertyImage(
+            new MockMultipartFile("file", "copy-of-front.jpeg", "image/jpeg", jpeg), "property-456", "EXTERIOR");
+
+        // Assert
+        assertEquals(first.key(), duplicate.key());
+        assertEquals(first.url(), duplicate.url());
+        assertEquals("https://cdn.example.com/front_400.jpg", duplicate.thumbnailUrl());
+        assertTrue(service.fileExists(first.key()));
+        verify(objectStore, times(2)).put(anyString(), any(InputStream.class), anyLong(), any(), anyMap());
+        verify(objectStore).delete(argThat(key -> !key.equals(first.key())));
+        verify(imageBlobStore, times(1)).register(any());
+        assertEquals(0.5, meterRegistry.get("property.image.dedupe.hit.rate").gauge().value());
+    }
+
+    @Test
+    void releaseImage_ShouldKeepSharedObjectAndDeleteUnregisteredOne() {
+        // Arrange
+        FileUploadService service = newService(1);
+        when(imageBlobStore.release("ab12", "images/ab/ab12.jpg")).thenReturn(true);
+
+        // Act
+        service.releaseImage("ab12", BASE_URL + "/images/ab/ab12.jpg");
+        service.releaseImage(null, BASE_URL + "/properties/p/images/old.jpg");
+
+        // Assert
+        verify(objectStore, never()).delete("images/ab/ab12.jpg");
+        verify(objectStore).delete("properties/p/images/old.jpg");
+    }
+
+    @Test
+    void uploadPropertyImages_WithInvalidFile_ShouldReportItWithoutFailingOthers() throws IOException {
+        // Arrange
+        FileUploadService service = newService(4);
+        List<MultipartFile> files = List.of(
+            new MockMultipartFile("files", "front.jpg", "image/jpeg", jpeg(800, 600)),
+            new MockMultipartFile("files", "notes.txt", "text/plain", "not a photo".getBytes()),
+            new MockMultipartFile("files", "back.jpg", "image/jpeg", jpeg(800, 600)));
+
+        // Act
+        List<FileUploadService.BatchUpload> results = service.uploadPropertyImages(files, "property-123", "EXTERIOR");
+
+        // Assert
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).succeeded());
+        assertFalse(results.get(1).succeeded());
+        assertEquals("File must be an image", results.get(1).error());
+        assertTrue(results.get(2).succeeded());
+        verify(objectStore, times(2)).put(anyString(), any(InputStream.class), anyLong(), any(), anyMap());
+    }
+
+    @Test
+    void uploadAndRender_WithLocalStore_ShouldRoundTripOnOneMachine() throws IOException {
+        // Arrange
+        byte[] jpeg = jpeg(1600, 1200);
+        FileUploadService service = newService(2);
+
+        // Act
+        FileUploadService.StoredImage stored = service.uploadPropertyImage(
+            new MockMultipartFile("file", "kitchen.jpg", "image/jpeg", jpeg), "property-123", "INTERIOR");
+        byte[] downloaded;
+        try (InputStream in = service.downloadFile(stored.key())) {
+            downloaded = in.readAllBytes();
+        }
+        ImageDecoder.DecodedImage decoded = ImageDecoder.decode(new ByteArrayInputStream(downloaded), 400);
+        String renditionUrl = service.uploadRendition(stored.key(), 400, "jpg",
+            ImageDecoder.encode(ImageDecoder.resizeToWidth(decoded.preview(), 400), "jpg", 0.8f));
+
+        // Assert
+        assertArrayEquals(jpeg, downloaded);
+        assertTrue(service.fileExists(service.keyFromUrl(renditionUrl)));
+        assertTrue(Files.isRegularFile(storageDir.resolve(stored.key())));
+    }
+
+    /**
+     * A 30-photo listing against a store with a fixed round trip: one upload slot keeps a single
+     * put in flight, eight slots overlap puts but never exceed the bound. Checks concurrency
+     * rather than wall-clock time so it does not depend on the machine's load.
+     */
+    @Test
+    void uploadPropertyImages_ThirtyPhotoListing_ShouldOverlapTransfersUpToConcurrencyBound() throws IOException {
+        // Arrange
+        byte[] photo = jpeg(1600, 1200);
+        List<MultipartFile> listing = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            listing.add(new MockMultipartFile("files", "photo-" + i + ".jpg", "image/jpeg", photo));
+        }
+        FileUploadService serial = newService(1);
+        FileUploadService parallel = newService(8);
+
+        // Act
+        List<FileUploadService.BatchUpload> serialResults = serial.uploadPropertyImages(listing, "property-123", "INTERIOR");
+        int serialMaxInFlight = maxInFlight.getAndSet(0);
+        List<FileUploadService.BatchUpload> parallelResults = parallel.uploadPropertyImages(listing, "property-123", "INTERIOR");
+        int parallelMaxInFlight = maxInFlight.get();
+
+        // Assert
+        assertTrue(serialResults.stream().allMatch(FileUploadService.BatchUpload::succeeded));
+        assertTrue(parallelResults.stream().allMatch(FileUploadService.BatchUpload::succeeded));
+        assertEquals(1, serialMaxInFlight);
+        assertTrue(parallelMaxInFlight > 1 && parallelMaxInFlight <= 8,
+            "8-way upload had " + parallelMaxInFlight + " puts in flight at most");
+    }
+
+    @Test
+    void uploadPropertyImage_WhenStoredAgainAfterPurgeClaim_ShouldNotReuseTheClaimedKey() throws IOException {
+        // Arrange - the first object's blob row has been claimed, so the same bytes miss the dedupe lookup
+        byte[] jpeg = jpeg(800, 600);
+        FileUploadService service = newService(2);
+        FileUploadService.StoredImage claimed = service.uploadPropertyImage(
+            new MockMultipartFile("file", "front.jpg", "image/jpeg", jpeg), "property-123", "EXTERIOR");
+
+        // Act
+        FileUploadService.StoredImage reuploaded = service.uploadPropertyImage(
+            new MockMultipartFile("file", "front.jpg", "image/jpeg", jpeg), "property-456", "EXTERIOR");
+        service.deleteFile(claimed.key()); // the purge finishing its delete of the claimed object
+
+        // Assert
+        assertEquals(claimed.contentHash(), reuploaded.contentHash());
+        assertNotEquals(claimed.key(), reuploaded.key());
+        assertTrue(service.fileExists(reuploaded.key()));
+    }
+
+    @Test
+    void uploadPropertyImage_WhenConcurrentFirstUploadRegisteredFirst_ShouldShareItsObject() throws IOException {
+        // Arrange
+        byte[] jpeg = jpeg(800, 600);
+        FileUploadService service = newService(2);
+        doAnswer(invocation -> {
+            FileUploadService.StoredImage stored = invocation.getArgument(0);
+            return new ImageBlobStore.Blob(stored.contentHash(), "images/ab/winner.jpg", stored.sizeBytes(),
+                800, 600, "jpg", null);
+        }).when(imageBlobStore).register(any());
+
+        // Act
+        FileUploadService.StoredImage stored = service.uploadPropertyImage(
+            new MockMultipartFile("file", "front.jpg", "image/jpeg", jpeg), "property-123", "EXTERIOR");
+
+        // Assert - the losing upload's object is removed and the winner's is used
+        assertEquals("images/ab/winner.jpg", stored.key());
+        assertEquals(BASE_URL + "/images/ab/winner.jpg", stored.url());
+        verify(objectStore).delete(argThat(key -> key.startsWith("images/") && !key.equals("images/ab/winner.jpg")));
+    }
+
+    // Helper methods
+
+    private ImageBlobStore.Blob blob(FileUploadService.StoredImage stored) {
+        return new ImageBlobStore.Blob(stored.contentHash(), stored.key(), stored.sizeBytes(),
+            stored.width(), stored.height(), stored.format(), stored.thumbnailUrl());
+    }
+
+    private FileUploadService newService(int concurrency) {
+        FileUploadService service = new FileUploadService(objectStore, imageBlobStore, meterRegistry, concurrency);
+        services.add(service);
+        return service;
+    }
+
+    private byte[] jpeg(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,164 @@
+package com.landlord.property.service;
+
+import com.landlord.property.exception.PropertyNotFoundException;
+import com.landlord.property.model.Property;
+import com.landlord.property.model.PropertyImage;
+import com.landlord.property.repository.PropertyImageRepository;
+import com.landlord.property.repository.PropertyRepository;
+import com.landlord.property.storage.LocalObjectStore;
+import com.landlord.property.storage.ObjectStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageContentServiceTest {
+
+    private static final String BASE_URL = "http://localhost:8080/files";
+    private static final String ORIGINAL_KEY = "images/ab/ab12.jpg";
+    private static final String THUMBNAIL_KEY = "images/ab/renditions/ab12_400.jpg";
+
+    @TempDir
+    Path storageDir;
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @Mock
+    private PropertyImageRepository propertyImageRepository;
+
+    private ObjectStore objectStore;
+    private ImageContentService imageContentService;
+
+    @BeforeEach
+    void setUp() {
+        objectStore = spy(new LocalObjectStore(storageDir, BASE_URL));
+        imageContentService = new ImageContentService(propertyRepository, propertyImageRepository, objectStore,
+            1024 * 1024, 64 * 1024);
+
+        Property property = new Property();
+        property.setId("property-123");
+        property.setOwnerId("owner-123");
+        lenient().when(propertyRepository.findById("property-123")).thenReturn(Optional.of(property));
+    }
+
+    @Test
+    void describe_Original_ShouldUseContentHashETagAndStoredSize() {
+        // Arrange
+        givenImage(true);
+
+        // Act
+        ImageContentService.ImageContent content = imageContentService.describe("property-123", "image-1", "owner-123", false);
+
+        // Assert
+        assertEquals(ORIGINAL_KEY, content.key());
+        assertEquals("\"ab12-original\"", content.etag());
+        assertEquals("image/jpeg", content.contentType());
+        assertEquals(5000, content.length());
+        verify(objectStore, never()).size(anyString());
+    }
+
+    @Test
+    void open_WithRange_ShouldReturnOnlyRequestedBytes() throws IOException {
+        // Arrange
+        byte[] original = givenImage(false);
+        ImageContentService.ImageContent content = imageContentService.describe("property-123", "image-1", "owner-123", false);
+
+        // Act
+        byte[] slice;
+        try (InputStream in = imageContentService.open(content, 1000, 500)) {
+            slice = in.readAllBytes();
+        }
+
+        // Assert
+        assertArrayEquals(Arrays.copyOfRange(original, 1000, 1500), slice);
+    }
+
+    @Test
+    void open_HotThumbnail_ShouldReadStoreOnce() throws IOException {
+        // Arrange
+        givenImage(true);
+
+        // Act
+        byte[] first = readThumbnail();
+        byte[] second = readThumbnail();
+
+        // Assert
+        assertArrayEquals(first, second);
+        assertEquals(800, second.length);
+        verify(objectStore, times(1)).get(THUMBNAIL_KEY);
+        verify(objectStore, times(1)).size(THUMBNAIL_KEY);
+    }
+
+    @Test
+    void describe_ForAnotherOwner_ShouldThrowNotFound() {
+        // Act & Assert
+        assertThrows(PropertyNotFoundException.class,
+            () -> imageContentService.describe("property-123", "image-1", "someone-else", false));
+        verifyNoInteractions(propertyImageRepository);
+    }
+
+    @Test
+    void matches_ShouldCompareWeaklyAcrossListedTags() {
+        // Act & Assert
+        assertTrue(ImageContentService.matches("\"ab12-original\"", "\"ab12-original\""));
+        assertTrue(ImageContentService.matches("\"other\", W/\"ab12-original\"", "\"ab12-original\""));
+        assertTrue(ImageContentService.matches("*", "\"ab12-original\""));
+        assertFalse(ImageContentService.matches("\"ab12-thumbnail\"", "\"ab12-original\""));
+        assertFalse(ImageContentService.matches(null, "\"ab12-original\""));
+    }
+
+    // Helper methods
+
+    private byte[] givenImage(boolean withThumbnail) {
+        byte[] original = bytes(5000);
+        store(ORIGINAL_KEY, original);
+
+        PropertyImage image = new PropertyImage();
+        image.setId("image-1");
+        image.setPropertyId("property-123");
+        image.setImageUrl(BASE_URL + "/" + ORIGINAL_KEY);
+        image.setContentHash("ab12");
+        image.setFileSizeBytes((long) original.length);
+        image.setFormat("jpg");
+        if (withThumbnail) {
+            store(THUMBNAIL_KEY, bytes(800));
+            image.setThumbnailUrl(BASE_URL + "/" + THUMBNAIL_KEY);
+        }
+        when(propertyImageRepository.findById("image-1")).thenReturn(Optional.of(image));
+        return original;
+    }
+
+    private byte[] readThumbnail() throws IOException {
+        ImageContentService.ImageContent content = imageContentService.describe("property-123", "image-1", "owner-123", true);
+        try (InputStream in = imageContentService.open(content, 0, content.length())) {
+            return in.readAllBytes();
+        }
+    }
+
+    private void store(String key, byte[] content) {
+        objectStore.put(key, new ByteArrayInputStream(content), content.length, "image/jpeg", Map.of());
+    }
+
+    private byte[] bytes(int length) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        return content;
+    }
+}
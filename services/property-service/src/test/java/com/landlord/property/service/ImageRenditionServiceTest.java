@@ -0,0 +1,168 @@
+package com.landlord.property.service;
+
+import com.landlord.property.exception.FileUploadException;
+import com.landlord.property.model.PropertyImage;
+import com.landlord.property.repository.PropertyImageRepository;
+import com.landlord.property.service.ImageRenditionService.RenditionJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageRenditionServiceTest {
+
+    private static final String SOURCE_KEY = "properties/property-123/images/photo.png";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private FileUploadService fileUploadService;
+
+    @Mock
+    private ImageBlobStore imageBlobStore;
+
+    @Mock
+    private PropertyImageRepository propertyImageRepository;
+
+    @Mock
+    private PropertyCacheService propertyCacheService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ImageRenditionService imageRenditionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        imageRenditionService = new ImageRenditionService(jdbcTemplate, transactionManager, fileUploadService,
+            imageBlobStore, propertyImageRepository, propertyCacheService, meterRegistry,
+            List.of(160, 400, 800), List.of("jpg"), 400, 0.8f, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageRenditionService.shutdown();
+    }
+
+    @Test
+    void process_ShouldUploadLadderLargestFirstAndSetThumbnail() throws IOException {
+        // Arrange
+        when(fileUploadService.downloadFile(SOURCE_KEY)).thenReturn(png(2000, 1000));
+        when(fileUploadService.uploadRendition(eq(SOURCE_KEY), anyInt(), eq("jpg"), any(byte[].class)))
+            .thenAnswer(invocation -> "https://cdn.example.com/photo_" + invocation.getArgument(1) + ".jpg");
+
+        // Act
+        imageRenditionService.process(new RenditionJob("image-1", "property-123", SOURCE_KEY, 1));
+
+        // Assert
+        InOrder inOrder = inOrder(fileUploadService);
+        inOrder.verify(fileUploadService).uploadRendition(eq(SOURCE_KEY), eq(800), eq("jpg"), any(byte[].class));
+        inOrder.verify(fileUploadService).uploadRendition(eq(SOURCE_KEY), eq(400), eq("jpg"), any(byte[].class));
+        inOrder.verify(fileUploadService).uploadRendition(eq(SOURCE_KEY), eq(160), eq("jpg"), any(byte[].class));
+        verify(imageBlobStore).setThumbnailUrl(SOURCE_KEY, "https://cdn.example.com/photo_400.jpg");
+        verify(jdbcTemplate).queryForList(startsWith("UPDATE property_images SET thumbnail_url"), eq(String.class),
+            eq("https://cdn.example.com/photo_400.jpg"), eq("image-1"), eq(SOURCE_KEY));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM image_rendition_jobs"), eq("image-1"));
+        verify(propertyCacheService).evictImages("property-123");
+        assertEquals(1.0, meterRegistry.counter("property.image.renditions.completed").count());
+    }
+
+    @Test
+    void process_WhenSharedOriginalAlreadyRendered_ShouldReuseThumbnailWithoutDownloading() {
+        // Arrange
+        String thumbnailUrl = "https://cdn.example.com/photo_400.jpg";
+        when(imageBlobStore.findThumbnailUrl(SOURCE_KEY)).thenReturn(Optional.of(thumbnailUrl));
+        when(jdbcTemplate.queryForList(startsWith("UPDATE property_images SET thumbnail_url"), eq(String.class),
+            eq(thumbnailUrl), eq("image-2"), eq(SOURCE_KEY))).thenReturn(List.of("property-123", "property-456"));
+
+        // Act
+        imageRenditionService.process(new RenditionJob("image-2", "property-123", SOURCE_KEY, 1));
+
+        // Assert
+        verify(fileUploadService, never()).downloadFile(anyString());
+        verify(jdbcTemplate).update(startsWith("DELETE FROM image_rendition_jobs"), eq("image-2"));
+        verify(propertyCacheService).evictImages("property-123");
+        verify(propertyCacheService).evictImages("property-456");
+    }
+
+    @Test
+    void process_WhenUploadFails_ShouldRescheduleWithBackoff() throws IOException {
+        // Arrange
+        when(fileUploadService.downloadFile(SOURCE_KEY)).thenReturn(png(600, 400));
+        when(fileUploadService.uploadRendition(anyString(), anyInt(), anyString(), any(byte[].class)))
+            .thenThrow(new FileUploadException("S3 unavailable"));
+
+        // Act
+        imageRenditionService.process(new RenditionJob("image-1", "property-123", SOURCE_KEY, 2));
+
+        // Assert - second attempt backs off 30s * 2^2
+        verify(jdbcTemplate).update(contains("SET status = 'PENDING'"), eq("S3 unavailable"), eq(120_000L), eq("image-1"));
+        verify(jdbcTemplate, never()).queryForList(startsWith("UPDATE property_images"), eq(String.class), any(), any(), any());
+        verifyNoInteractions(propertyCacheService);
+    }
+
+    @Test
+    void process_OnFinalAttempt_ShouldParkJobAsFailed() {
+        // Arrange
+        when(fileUploadService.downloadFile(SOURCE_KEY)).thenThrow(new FileUploadException("NoSuchKey"));
+
+        // Act
+        imageRenditionService.process(new RenditionJob("image-1", "property-123", SOURCE_KEY, 5));
+
+        // Assert
+        verify(jdbcTemplate).update(contains("SET status = 'FAILED'"), eq("NoSuchKey"), eq("image-1"));
+        assertEquals(1.0, meterRegistry.counter("property.image.renditions.failed").count());
+    }
+
+    @Test
+    void sweep_ShouldQueueImagesMissingThumbnails() {
+        // Arrange
+        PropertyImage image = new PropertyImage();
+        image.setId("image-9");
+        image.setPropertyId("property-123");
+        image.setImageUrl("https://bucket.s3.us-east-1.amazonaws.com/" + SOURCE_KEY);
+        when(propertyImageRepository.findImagesMissingThumbnails(any()))
+            .thenReturn(new SliceImpl<>(List.of(image), PageRequest.of(0, 500), false));
+        when(fileUploadService.keyFromUrl(image.getImageUrl())).thenReturn(SOURCE_KEY);
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO image_rendition_jobs"), anyList())).thenReturn(new int[]{1});
+
+        // Act
+        imageRenditionService.sweep();
+
+        // Assert
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> args) ->
+            args.size() == 1 && "image-9".equals(args.get(0)[0]) && SOURCE_KEY.equals(args.get(0)[2])));
+    }
+
+    // Helper methods
+
+    private ByteArrayInputStream png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
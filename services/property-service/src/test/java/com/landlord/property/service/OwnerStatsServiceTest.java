@@ -0,0 +1,159 @@
+package com.landlord.property.service;
+
+import com.landlord.property.model.Property;
+import com.landlord.property.model.PropertyUnit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerStatsServiceTest {
+
+    private static final String OWNER_ID = "owner-456";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PropertyCacheService propertyCacheService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OwnerStatsService ownerStatsService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ownerStatsService = new OwnerStatsService(jdbcTemplate, transactionManager, propertyCacheService, meterRegistry);
+    }
+
+    @Test
+    void recordPropertyChange_FromPublishedToRented_ShouldMoveCountAndAddRevenue() {
+        // Act
+        ownerStatsService.recordPropertyChange(OWNER_ID,
+            Property.PropertyStatus.PUBLISHED, BigDecimal.valueOf(2500),
+            Property.PropertyStatus.RENTED, BigDecimal.valueOf(2700));
+
+        // Assert - published -1, rented +1, revenue +2700
+        verify(jdbcTemplate).update(contains("ON CONFLICT (owner_id) DO UPDATE"),
+            eq(OWNER_ID), eq(-1L), eq(0L), eq(1L), eq(0L), eq(BigDecimal.valueOf(2700)), eq(0L), eq(0L));
+    }
+
+    @Test
+    void recordPropertyChange_WithNoCountedChange_ShouldNotWrite() {
+        // Act - rent change on a non-rented property does not affect any rollup column
+        ownerStatsService.recordPropertyChange(OWNER_ID,
+            Property.PropertyStatus.PUBLISHED, BigDecimal.valueOf(2500),
+            Property.PropertyStatus.PUBLISHED, BigDecimal.valueOf(2700));
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void recordUnitsRemoved_ShouldSubtractAllUnitsInOneWrite() {
+        // Act
+        ownerStatsService.recordUnitsRemoved(OWNER_ID, List.of(
+            PropertyUnit.UnitStatus.RENTED, PropertyUnit.UnitStatus.AVAILABLE, PropertyUnit.UnitStatus.RENTED));
+
+        // Assert
+        verify(jdbcTemplate, times(1)).update(anyString(),
+            eq(OWNER_ID), eq(0L), eq(0L), eq(0L), eq(0L), eq(BigDecimal.ZERO), eq(-3L), eq(-2L));
+    }
+
+    @Test
+    void recordCascade_WhenRemoved_ShouldSubtractPropertiesAndUnitsInOneWrite() {
+        // Arrange
+        List<PropertyCascadeService.CascadedProperty> properties = List.of(
+            new PropertyCascadeService.CascadedProperty("property-1", Property.PropertyStatus.RENTED, BigDecimal.valueOf(2700),
+                List.of(PropertyUnit.UnitStatus.RENTED, PropertyUnit.UnitStatus.AVAILABLE)),
+            new PropertyCascadeService.CascadedProperty("property-2", Property.PropertyStatus.PUBLISHED, BigDecimal.valueOf(1500),
+                List.of()));
+
+        // Act
+        ownerStatsService.recordCascade(OWNER_ID, properties, true);
+
+        // Assert
+        verify(jdbcTemplate, times(1)).update(anyString(),
+            eq(OWNER_ID), eq(-1L), eq(0L), eq(-1L), eq(0L), eq(BigDecimal.valueOf(-2700)), eq(-2L), eq(-1L));
+    }
+
+    @Test
+    void getStatistics_ShouldMapRollupRowWithUnitWeightedOccupancy() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(OWNER_ID))).thenReturn(List.of(row(5, 2, 3, 1, "7500.00", 8, 6)));
+
+        // Act
+        Map<String, Object> statistics = ownerStatsService.getStatistics(OWNER_ID);
+
+        // Assert
+        assertEquals(5L, statistics.get("totalProperties"));
+        assertEquals(2L, statistics.get("draftProperties"));
+        assertEquals(3L, statistics.get("rentedProperties"));
+        assertEquals(1L, statistics.get("maintenanceProperties"));
+        assertEquals(7500.0, statistics.get("totalMonthlyRevenue"));
+        assertEquals(75.0, statistics.get("averageOccupancyRate"));
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(OWNER_ID));
+    }
+
+    @Test
+    void reconcileOwner_WithDriftedRow_ShouldReplaceItAndCountRepair() {
+        // Arrange
+        when(jdbcTemplate.queryForMap(contains("FOR UPDATE"), eq(OWNER_ID))).thenReturn(row(4, 0, 0, 0, "0", 0, 0));
+        when(jdbcTemplate.queryForList(contains("p.owner_id = ?"), eq(OWNER_ID))).thenReturn(List.of(row(5, 0, 0, 0, "0.00", 0, 0)));
+
+        // Act
+        boolean repaired = ownerStatsService.reconcileOwner(OWNER_ID);
+
+        // Assert
+        assertTrue(repaired);
+        verify(jdbcTemplate).update(startsWith("UPDATE owner_stats"),
+            eq(5L), eq(0L), eq(0L), eq(0L), eq(BigDecimal.ZERO), eq(0L), eq(0L), eq(OWNER_ID));
+        verify(propertyCacheService).evictStatistics(OWNER_ID);
+        assertEquals(1.0, meterRegistry.counter("property.owner_stats.drift.repaired").count());
+    }
+
+    @Test
+    void reconcileOwner_WithMatchingRow_ShouldLeaveItAlone() {
+        // Arrange
+        when(jdbcTemplate.queryForMap(contains("FOR UPDATE"), eq(OWNER_ID))).thenReturn(row(1, 0, 1, 0, "1200.00", 2, 1));
+        when(jdbcTemplate.queryForList(contains("p.owner_id = ?"), eq(OWNER_ID))).thenReturn(List.of(row(1, 0, 1, 0, "1200", 2, 1)));
+
+        // Act
+        boolean repaired = ownerStatsService.reconcileOwner(OWNER_ID);
+
+        // Assert
+        assertFalse(repaired);
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE owner_stats"), any(Object[].class));
+        verifyNoInteractions(propertyCacheService);
+    }
+
+    // Helper methods
+
+    private Map<String, Object> row(long published, long draft, long rented, long maintenance,
+                                    String revenue, long totalUnits, long rentedUnits) {
+        return Map.of(
+            "published_count", published,
+            "draft_count", draft,
+            "rented_count", rented,
+            "maintenance_count", maintenance,
+            "rented_revenue", new BigDecimal(revenue),
+            "total_units", totalUnits,
+            "rented_units", rentedUnits);
+    }
+}
@@ -0,0 +1,137 @@
+package com.landlord.property.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyCounterServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PropertyCounterService counterService;
+
+    @BeforeEach
+    void setUp() {
+        counterService = new PropertyCounterService(jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void flush_ShouldCoalesceDeltasIntoOneBatchAndDrainThem() {
+        // Arrange
+        counterService.recordView("property-1");
+        counterService.recordView("property-1");
+        counterService.recordInquiry("property-1");
+        counterService.recordFavorite("property-2");
+        counterService.adjust("property-3", 1, 0, 0);
+        counterService.adjust("property-3", -1, 0, 0);
+
+        // Act
+        counterService.flush();
+        counterService.flush();
+
+        // Assert - one batch with a row per changed property, nothing left for the second flush
+        List<Object[]> batch = captureBatch(1).get(0);
+        assertEquals(2, batch.size());
+        assertArrayEquals(new Object[]{2L, 1L, 0L, "property-1"}, row(batch, "property-1"));
+        assertArrayEquals(new Object[]{0L, 0L, 1L, "property-2"}, row(batch, "property-2"));
+    }
+
+    @Test
+    void flush_WhenBatchFails_ShouldRequeueDeltasForNextFlush() {
+        // Arrange
+        counterService.recordView("property-1");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new DataAccessResourceFailureException("connection reset"))
+            .thenReturn(new int[]{1});
+
+        // Act
+        counterService.flush();
+        counterService.recordView("property-1");
+        counterService.flush();
+
+        // Assert - the failed delta is flushed with the new one, not lost or doubled
+        List<List<Object[]>> batches = captureBatch(2);
+        assertArrayEquals(new Object[]{2L, 0L, 0L, "property-1"}, batches.get(1).get(0));
+    }
+
+    @Test
+    void recordView_ConcurrentWithFlush_ShouldFlushEveryIncrementExactlyOnce() throws Exception {
+        // Arrange
+        AtomicLong flushedViews = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batch.forEach(row -> flushedViews.addAndGet((Long) row[0]));
+            return new int[batch.size()];
+        });
+        int threads = 8;
+        int viewsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < viewsPerThread; i++) {
+                        counterService.recordView("property-" + (i % 4));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            counterService.flush();
+        }
+        counterService.flush();
+        executor.shutdown();
+
+        // Assert
+        assertEquals((long) threads * viewsPerThread, flushedViews.get());
+    }
+
+    // Helper methods
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> captureBatch(int times) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(times)).batchUpdate(anyString(), captor.capture());
+        return new ArrayList<>(captor.getAllValues());
+    }
+
+    private Object[] row(List<Object[]> batch, String propertyId) {
+        return batch.stream()
+            .filter(row -> propertyId.equals(row[3]))
+            .findFirst()
+            .orElseThrow();
+    }
+}
@@ -0,0 +1,84 @@
+package com.landlord.property.service;
+
+import com.landlord.property.dto.PropertySearchCriteriaDto;
+import com.landlord.property.model.Property;
+import com.landlord.property.search.PropertyCriteriaCompiler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyFacetServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private PropertyCriteriaCompiler criteriaCompiler = new PropertyCriteriaCompiler();
+
+    @InjectMocks
+    private PropertyFacetService propertyFacetService;
+
+    @Test
+    void computeFacets_ShouldIssueSingleGroupingSetsQueryWithSuppliedFiltersOnly() {
+        // Arrange
+        PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
+        criteria.setStatus(Property.PropertyStatus.PUBLISHED);
+        criteria.setMinRent(BigDecimal.valueOf(1500));
+
+        // Act
+        Map<String, Map<String, Long>> facets = propertyFacetService.computeFacets(criteria);
+
+        // Assert
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(1)).query(sql.capture(), any(RowCallbackHandler.class), eq("PUBLISHED"), eq(BigDecimal.valueOf(1500)));
+        assertTrue(sql.getValue().contains("GROUPING SETS"));
+        assertTrue(sql.getValue().contains("p.status = ?"));
+        assertTrue(sql.getValue().contains("p.monthly_rent >= ?"));
+        assertFalse(sql.getValue().contains("p.owner_id"));
+        assertEquals(List.of(PropertyFacetService.PROPERTY_TYPE, PropertyFacetService.STATUS, PropertyFacetService.BEDROOMS,
+            PropertyFacetService.RENT_BAND, PropertyFacetService.CITY), List.copyOf(facets.keySet()));
+    }
+
+    @Test
+    void facetCollector_ShouldSortByCountAndCapCities() {
+        // Arrange
+        PropertyFacetService.FacetCollector collector = new PropertyFacetService.FacetCollector();
+        collector.add(PropertyFacetService.PROPERTY_TYPE, "HOUSE", 3);
+        collector.add(PropertyFacetService.PROPERTY_TYPE, "APARTMENT", 7);
+        collector.add(PropertyFacetService.CITY, "Oakland", 5);
+        collector.add(PropertyFacetService.CITY, "Berkeley", 9);
+        collector.add(PropertyFacetService.CITY, "Alameda", 1);
+        collector.add(PropertyFacetService.RENT_BAND, null, 2);
+
+        // Act
+        Map<String, Map<String, Long>> facets = collector.toFacets(2);
+
+        // Assert
+        assertEquals(List.of("APARTMENT", "HOUSE"), List.copyOf(facets.get(PropertyFacetService.PROPERTY_TYPE).keySet()));
+        assertEquals(List.of("Berkeley", "Oakland"), List.copyOf(facets.get(PropertyFacetService.CITY).keySet()));
+        assertEquals(2L, facets.get(PropertyFacetService.RENT_BAND).get("unknown"));
+    }
+
+    @Test
+    void computeFacets_WithNoMatchingIds_ShouldSkipQuery() {
+        Map<String, Map<String, Long>> facets = propertyFacetService.computeFacets(List.<String>of());
+
+        assertTrue(facets.get(PropertyFacetService.STATUS).isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,88 @@
+package com.landlord.property.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.landlord.property.exception.InvalidPropertyDataException;
+import com.landlord.property.exception.PropertyUnitNotFoundException;
+import com.landlord.property.exception.PropertyVersionConflictException;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyPatchServiceTest {
+
+    private static final String PROPERTY_ID = "property-123";
+    private static final String OWNER_ID = "owner-456";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Validator validator;
+
+    private PropertyPatchService patchService;
+
+    @BeforeEach
+    void setUp() {
+        patchService = new PropertyPatchService(jdbcTemplate, validator, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void patchProperty_WithStaleVersion_ShouldUpdateOnlyPatchedColumnsAndReportCurrentVersion() {
+        // Arrange
+        Map<String, Object> patch = new LinkedHashMap<>();
+        patch.put("monthlyRent", 2450);
+        patch.put("status", "RENTED");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(PROPERTY_ID), eq(OWNER_ID))).thenReturn(List.of(5L));
+
+        // Act
+        PropertyVersionConflictException e = assertThrows(PropertyVersionConflictException.class,
+            () -> patchService.patchProperty(PROPERTY_ID, OWNER_ID, patch, 3L));
+
+        // Assert
+        assertEquals(5L, e.getCurrentVersion());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertTrue(sql.getValue().contains("SET monthly_rent = ?, status = ?, updated_at = CURRENT_TIMESTAMP"));
+        assertTrue(sql.getValue().endsWith("AND COALESCE(p.version, 0) = ? " +
+            "RETURNING p.id, p.name, old.old_status, p.status, old.old_rent, p.monthly_rent, p.version, p.updated_at"));
+        assertArrayEquals(new Object[]{PROPERTY_ID, OWNER_ID, BigDecimal.valueOf(2450), "RENTED", 3L}, args.getValue());
+    }
+
+    @Test
+    void patchProperty_WithOneCoordinate_ShouldRejectBeforeWriting() {
+        // Act & Assert
+        assertThrows(InvalidPropertyDataException.class,
+            () -> patchService.patchProperty(PROPERTY_ID, OWNER_ID, Map.of("latitude", 37.8), null));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void patchUnit_WhenUnitNotVisible_ShouldThrowNotFound() {
+        // Arrange
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("unit-1"), eq(PROPERTY_ID), eq(OWNER_ID)))
+            .thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(PropertyUnitNotFoundException.class,
+            () -> patchService.patchUnit("unit-1", PROPERTY_ID, OWNER_ID, Map.of("status", "RENTED"), null));
+    }
+}
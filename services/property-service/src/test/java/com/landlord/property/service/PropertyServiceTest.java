@@ -1,6 +1,7 @@
 package com.landlord.property.service;
 
 import com.landlord.property.dto.*;
+import com.landlord.property.exception.InvalidPropertyDataException;
 import com.landlord.property.exception.PropertyNotFoundException;
 import com.landlord.property.exception.UnauthorizedPropertyAccessException;
 import com.landlord.property.mapper.PropertyImageMapper;
@@ -8,16 +9,25 @@ import com.landlord.property.mapper.PropertyMapper;
 import com.landlord.property.mapper.PropertyUnitMapper;
 import com.landlord.property.model.Property;
 import com.landlord.property.model.PropertyImage;
+import com.landlord.property.model.PropertyUnit;
+import com.landlord.property.outbox.PropertyEventType;
+import com.landlord.property.outbox.PropertyOutbox;
+import com.landlord.property.repository.PropertyCardView;
 import com.landlord.property.repository.PropertyImageRepository;
 import com.landlord.property.repository.PropertyRepository;
 import com.landlord.property.repository.PropertyUnitRepository;
+import com.landlord.property.search.PropertyKeywordIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.*;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
@@ -25,7 +35,9 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -55,6 +67,41 @@ class PropertyServiceTest {
     @Mock
     private FileUploadService fileUploadService;
 
+    @Mock
+    private PropertyCounterService propertyCounterService;
+
+    @Mock
+    private PropertyKeywordIndex propertyKeywordIndex;
+
+    @Mock
+    private PropertyFacetService propertyFacetService;
+
+    @Mock
+    private OwnerStatsService ownerStatsService;
+
+    @Mock
+    private ImageRenditionService imageRenditionService;
+
+    @Mock
+    private PropertyOutbox propertyOutbox;
+
+    @Mock
+    private PropertyCascadeService propertyCascadeService;
+
+    @Mock
+    private PropertyUnitBulkService propertyUnitBulkService;
+
+    @Mock
+    private PropertyPatchService propertyPatchService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private PropertyCacheService propertyCacheService = new PropertyCacheService(
+        new ConcurrentMapCacheManager(PropertyCacheService.PROPERTIES, PropertyCacheService.UNITS,
+            PropertyCacheService.IMAGES, PropertyCacheService.STATISTICS));
+
     @InjectMocks
     private PropertyService propertyService;
 
@@ -97,9 +144,9 @@ class PropertyServiceTest {
         
         when(propertyMapper.createDtoToEntity(createDto, testOwnerId)).thenReturn(testProperty);
         when(propertyRepository.save(testProperty)).thenReturn(testProperty);
-        when(propertyUnitMapper.createDtoToEntity(unitDto, testPropertyId)).thenReturn(createTestUnit());
-        when(propertyUnitRepository.save(any())).thenReturn(createTestUnit());
-        when(propertyUnitMapper.entityToResponseDto(any())).thenReturn(createTestUnitResponseDto());
+        when(propertyUnitBulkService.createUnits(testPropertyId, testOwnerId, createDto.getUnits()))
+            .thenReturn(List.of(createTestUnit()));
+        when(propertyUnitMapper.entitiesToResponseDtos(anyList())).thenReturn(List.of(createTestUnitResponseDto()));
 
         // Act
         PropertyResponseDto result = propertyService.createProperty(createDto, testOwnerId);
@@ -107,7 +154,11 @@ class PropertyServiceTest {
         // Assert
         assertNotNull(result);
         verify(propertyRepository).save(testProperty);
-        verify(propertyUnitRepository).save(any());
+        // Property row is flushed before the units are batch-inserted against it
+        InOrder inOrder = inOrder(propertyRepository, propertyUnitBulkService);
+        inOrder.verify(propertyRepository).flush();
+        inOrder.verify(propertyUnitBulkService).createUnits(testPropertyId, testOwnerId, createDto.getUnits());
+        verify(propertyUnitRepository, never()).save(any());
     }
 
     @Test
@@ -146,7 +197,32 @@ class PropertyServiceTest {
         // Assert
         assertNotNull(result);
         verify(propertyRepository).findById(testPropertyId);
-        verify(propertyRepository).save(testProperty); // For view count increment
+        verify(propertyCounterService).recordView(testPropertyId);
+        verify(propertyRepository, never()).save(any()); // Views are flushed in batches, not per read
+    }
+
+    @Test
+    void getProperty_ShouldServeRepeatReadsFromCacheUntilUpdated() {
+        // Arrange
+        when(propertyRepository.findById(testPropertyId)).thenReturn(Optional.of(testProperty));
+        when(propertyRepository.save(testProperty)).thenReturn(testProperty);
+        when(propertyImageRepository.findByPropertyIdAndDeletedAtIsNull(testPropertyId)).thenReturn(Collections.emptyList());
+        when(propertyUnitRepository.getOccupancyRateByPropertyId(testPropertyId)).thenReturn(85.0);
+
+        // Act
+        propertyService.getProperty(testPropertyId, testOwnerId);
+        propertyService.getProperty(testPropertyId, testOwnerId);
+        propertyService.updateProperty(testPropertyId, testOwnerId, updateDto);
+        PropertyResponseDto result = propertyService.getProperty(testPropertyId, testOwnerId);
+
+        // Assert
+        assertEquals("Updated Test Property", result.getName());
+        verify(propertyCacheService).evictProperty(testPropertyId);
+        verify(propertyCounterService, times(3)).recordView(testPropertyId);
+        // Images are cached separately and survive a property-only update
+        verify(propertyImageRepository, times(1)).findByPropertyIdAndDeletedAtIsNull(testPropertyId);
+        // Aggregates are recomputed for the initial load, the update response and the reload
+        verify(propertyUnitRepository, times(3)).getOccupancyRateByPropertyId(testPropertyId);
     }
 
     @Test
@@ -163,20 +239,151 @@ class PropertyServiceTest {
     }
 
     @Test
-    void deleteProperty_ShouldDeletePropertySuccessfully() {
+    void deleteProperty_ShouldCascadeAndRecordStatsOnce() {
         // Arrange
-        when(propertyRepository.findById(testPropertyId)).thenReturn(Optional.of(testProperty));
-        when(propertyRepository.softDeleteById(testPropertyId)).thenReturn(1);
-        when(propertyImageRepository.softDeleteByPropertyId(testPropertyId)).thenReturn(2);
-        when(propertyUnitRepository.findByPropertyIdAndDeletedAtIsNull(testPropertyId)).thenReturn(Arrays.asList(createTestUnit()));
+        PropertyCascadeService.CascadeResult result = cascadeResult(testPropertyId, createTestUnit().getStatus());
+        when(propertyCascadeService.softDeleteProperties(testOwnerId, List.of(testPropertyId))).thenReturn(result);
 
         // Act
         propertyService.deleteProperty(testPropertyId, testOwnerId);
 
         // Assert
-        verify(propertyRepository).softDeleteById(testPropertyId);
-        verify(propertyImageRepository).softDeleteByPropertyId(testPropertyId);
-        verify(propertyUnitRepository).findByPropertyIdAndDeletedAtIsNull(testPropertyId);
+        verify(ownerStatsService).recordCascade(testOwnerId, result.properties(), true);
+        verify(propertyKeywordIndex).reindexAfterCommit(List.of(testPropertyId));
+        verify(propertyOutbox).recordAll(eq(PropertyEventType.PROPERTY_DELETED), eq(testOwnerId), anyList());
+        verifyNoInteractions(propertyUnitRepository, propertyImageRepository);
+    }
+
+    @Test
+    void deleteProperty_WhenNothingDeleted_ShouldThrowNotFound() {
+        // Arrange
+        when(propertyCascadeService.softDeleteProperties(testOwnerId, List.of(testPropertyId)))
+            .thenReturn(new PropertyCascadeService.CascadeResult(List.of(), 0));
+
+        // Act & Assert
+        assertThrows(PropertyNotFoundException.class, () -> propertyService.deleteProperty(testPropertyId, testOwnerId));
+        verifyNoInteractions(ownerStatsService, propertyOutbox);
+    }
+
+    @Test
+    void deleteProperties_ShouldDeduplicateIdsAndReportSkipped() {
+        // Arrange
+        PropertyCascadeService.CascadeResult result = cascadeResult(testPropertyId);
+        when(propertyCascadeService.softDeleteProperties(eq(testOwnerId), anyCollection())).thenReturn(result);
+
+        // Act
+        BulkPropertyResultDto bulk = propertyService.deleteProperties(
+            List.of(testPropertyId, "property-gone", testPropertyId), testOwnerId);
+
+        // Assert
+        assertEquals(2, bulk.getRequested());
+        assertEquals(List.of(testPropertyId), bulk.getPropertyIds());
+        assertEquals(List.of("property-gone"), bulk.getSkipped());
+        verify(ownerStatsService, times(1)).recordCascade(testOwnerId, result.properties(), true);
+    }
+
+    @Test
+    void restoreProperties_ShouldRecordRestoredEvents() {
+        // Arrange
+        PropertyCascadeService.CascadeResult result = cascadeResult(testPropertyId, createTestUnit().getStatus());
+        when(propertyCascadeService.restoreProperties(eq(testOwnerId), anyCollection())).thenReturn(result);
+
+        // Act
+        BulkPropertyResultDto bulk = propertyService.restoreProperties(List.of(testPropertyId), testOwnerId);
+
+        // Assert
+        assertEquals(1, bulk.getUnits());
+        verify(ownerStatsService).recordCascade(testOwnerId, result.properties(), false);
+        verify(propertyOutbox).recordAll(eq(PropertyEventType.PROPERTY_RESTORED), eq(testOwnerId), anyList());
+    }
+
+    @Test
+    void deleteUnit_ShouldCascadeToUnitImages() {
+        // Arrange
+        PropertyUnit unit = createTestUnit();
+        when(propertyUnitRepository.findById(unit.getId())).thenReturn(Optional.of(unit));
+        when(propertyRepository.findById(testPropertyId)).thenReturn(Optional.of(testProperty));
+        when(propertyCascadeService.softDeleteUnit(unit.getId(), testPropertyId)).thenReturn(true);
+
+        // Act
+        propertyService.deleteUnit(unit.getId(), testPropertyId, testOwnerId);
+
+        // Assert
+        verify(ownerStatsService).recordUnitChange(testOwnerId, unit.getStatus(), null);
+        verify(propertyImageRepository, never()).softDeleteByPropertyId(anyString());
+    }
+
+    @Test
+    void updateProperty_WithStatusChange_ShouldApplyOwnerStatsDelta() {
+        // Arrange
+        BigDecimal oldRent = testProperty.getMonthlyRent();
+        updateDto.setStatus(Property.PropertyStatus.RENTED);
+        when(propertyRepository.findById(testPropertyId)).thenReturn(Optional.of(testProperty));
+        when(propertyRepository.save(testProperty)).thenReturn(testProperty);
+        when(propertyImageRepository.findByPropertyIdAndDeletedAtIsNull(testPropertyId)).thenReturn(Collections.emptyList());
+
+        // Act
+        propertyService.updateProperty(testPropertyId, testOwnerId, updateDto);
+
+        // Assert
+        verify(ownerStatsService).recordPropertyChange(testOwnerId, Property.PropertyStatus.PUBLISHED, oldRent,
+            Property.PropertyStatus.RENTED, BigDecimal.valueOf(2700.00));
+    }
+
+    @Test
+    void updateProperty_WithStatusAndRentChange_ShouldRecordBothEventsInOrder() {
+        // Arrange
+        BigDecimal oldRent = testProperty.getMonthlyRent();
+        updateDto.setStatus(Property.PropertyStatus.RENTED);
+        when(propertyRepository.findById(testPropertyId)).thenReturn(Optional.of(testProperty));
+        when(propertyRepository.save(testProperty)).thenReturn(testProperty);
+        when(propertyImageRepository.findByPropertyIdAndDeletedAtIsNull(testPropertyId)).thenReturn(Collections.emptyList());
+
+        // Act
+        propertyService.updateProperty(testPropertyId, testOwnerId, updateDto);
+
+        // Assert
+        InOrder inOrder = inOrder(propertyOutbox);
+        inOrder.verify(propertyOutbox).record(PropertyEventType.PROPERTY_STATUS_CHANGED, testPropertyId, testOwnerId,
+            Map.of("from", Property.PropertyStatus.PUBLISHED, "to", Property.PropertyStatus.RENTED));
+        inOrder.verify(propertyOutbox).record(PropertyEventType.PROPERTY_RENT_CHANGED, testPropertyId, testOwnerId,
+            Map.of("from", oldRent, "to", BigDecimal.valueOf(2700.00)));
+        verify(propertyOutbox, never()).record(eq(PropertyEventType.PROPERTY_UPDATED), any(), any(), any());
+    }
+
+    @Test
+    void patchProperty_WithRentOnly_ShouldRecordRentEventWithoutReloadingOrReindexing() {
+        // Arrange
+        Map<String, Object> patch = Map.of("monthlyRent", 2450);
+        when(propertyPatchService.patchProperty(testPropertyId, testOwnerId, patch, 3L)).thenReturn(
+            new PropertyPatchService.PatchedProperty(testPropertyId, "Test Property", List.of("monthlyRent"),
+                Property.PropertyStatus.PUBLISHED, Property.PropertyStatus.PUBLISHED,
+                BigDecimal.valueOf(2500), BigDecimal.valueOf(2450), 4L, LocalDateTime.now()));
+        when(propertyUnitRepository.getOccupancyRateByPropertyId(testPropertyId)).thenReturn(50.0);
+        when(propertyUnitRepository.getTotalMonthlyRevenueByPropertyId(testPropertyId)).thenReturn(2450.0);
+
+        // Act
+        PatchResponseDto result = propertyService.patchProperty(testPropertyId, testOwnerId, patch, 3L, Set.of("Stats"));
+
+        // Assert
+        assertEquals(4L, result.getVersion());
+        assertEquals(List.of("monthlyRent"), result.getChanged());
+        assertEquals(50.0, result.getOccupancyRate());
+        assertNull(result.getUnits());
+        assertNull(result.getImages());
+        verify(propertyOutbox).record(PropertyEventType.PROPERTY_RENT_CHANGED, testPropertyId, testOwnerId,
+            Map.of("from", BigDecimal.valueOf(2500), "to", BigDecimal.valueOf(2450)));
+        verify(propertyCacheService).evictProperty(testPropertyId);
+        verify(propertyKeywordIndex, never()).reindexAfterCommit(anyString());
+        verifyNoInteractions(propertyRepository, propertyImageRepository);
+    }
+
+    @Test
+    void patchProperty_WithUnknownExpand_ShouldRejectBeforePatching() {
+        // Act & Assert
+        assertThrows(InvalidPropertyDataException.class, () -> propertyService.patchProperty(
+            testPropertyId, testOwnerId, Map.of("monthlyRent", 2450), null, Set.of("owner")));
+        verifyNoInteractions(propertyPatchService);
     }
 
     @Test
@@ -186,14 +393,13 @@ class PropertyServiceTest {
         PaginationDto pagination = new PaginationDto(1, 20, "createdAt", "desc");
         Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
         
-        Page<Property> propertiesPage = new PageImpl<>(Arrays.asList(testProperty), pageable, 1);
-        when(propertyRepository.advancedSearch(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), eq(pageable)))
-            .thenReturn(propertiesPage);
-        when(propertyImageRepository.findByPropertyIdAndDeletedAtIsNull(testPropertyId)).thenReturn(Collections.emptyList());
-        when(propertyUnitMapper.entitiesToResponseDtos(Collections.emptyList())).thenReturn(Collections.emptyList());
-        when(propertyUnitRepository.getOccupancyRateByPropertyId(testPropertyId)).thenReturn(85.0);
-        when(propertyUnitRepository.getTotalMonthlyRevenueByPropertyId(testPropertyId)).thenReturn(2500.0);
-        when(propertyMapper.entityToResponseDto(testProperty)).thenReturn(responseDto);
+        Page<String> idPage = new PageImpl<>(List.of(testPropertyId), pageable, 1);
+        when(propertyRepository.searchIds(criteria, pageable)).thenReturn(idPage);
+        when(propertyRepository.findAllById(List.of(testPropertyId))).thenReturn(List.of(testProperty));
+        when(propertyImageRepository.findByPropertyIdInOrderByDisplayOrder(List.of(testPropertyId))).thenReturn(Collections.emptyList());
+        when(propertyUnitRepository.findByPropertyIdInAndDeletedAtIsNull(List.of(testPropertyId))).thenReturn(Collections.emptyList());
+        when(propertyUnitRepository.getUnitAggregatesByPropertyIds(List.of(testPropertyId)))
+            .thenReturn(Collections.singletonList(new Object[]{testPropertyId, 85.0, 2500.0}));
 
         // Act
         Page<PropertyResponseDto> result = propertyService.searchProperties(criteria, pagination);
@@ -201,7 +407,164 @@ class PropertyServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(propertyRepository).advancedSearch(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), eq(pageable));
+        assertEquals(85.0, result.getContent().get(0).getOccupancyRate());
+        assertEquals(BigDecimal.valueOf(2500.0), result.getContent().get(0).getTotalMonthlyRevenue());
+        verify(propertyRepository).searchIds(criteria, pageable);
+    }
+
+    @Test
+    void getPropertiesByOwner_StatementCountShouldNotGrowWithPageSize() {
+        // Arrange
+        lenient().when(propertyImageRepository.findByPropertyIdInOrderByDisplayOrder(anyCollection())).thenReturn(Collections.emptyList());
+        lenient().when(propertyUnitRepository.findByPropertyIdInAndDeletedAtIsNull(anyCollection())).thenReturn(Collections.emptyList());
+        lenient().when(propertyUnitRepository.getUnitAggregatesByPropertyIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        // Act
+        int smallPageStatements = countStatementsForOwnerPage(1);
+        int mediumPageStatements = countStatementsForOwnerPage(10);
+        int largePageStatements = countStatementsForOwnerPage(100);
+
+        // Assert
+        assertEquals(4, smallPageStatements); // page query + images + units + unit aggregates
+        assertEquals(smallPageStatements, mediumPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+        verify(propertyImageRepository, never()).findByPropertyIdAndDeletedAtIsNull(any());
+        verify(propertyUnitRepository, never()).getOccupancyRateByPropertyId(any());
+    }
+
+    @Test
+    void searchProperties_WithKeyword_ShouldUseIndexRankingInsteadOfLikeScan() {
+        // Arrange
+        PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
+        criteria.setSearchKeyword("loft");
+        PaginationDto pagination = new PaginationDto(1, 20, "createdAt", "desc");
+
+        Property best = createTestProperty();
+        best.setId("best");
+        Property second = createTestProperty();
+        second.setId("second");
+        when(propertyKeywordIndex.isReady()).thenReturn(true);
+        when(propertyKeywordIndex.getMaxMatches()).thenReturn(10000);
+        when(propertyKeywordIndex.search("loft", 10000)).thenReturn(List.of("best", "filtered-out", "second"));
+        when(propertyRepository.filterIds(criteria, List.of("best", "filtered-out", "second")))
+            .thenReturn(List.of("second", "best"));
+        when(propertyRepository.findAllById(List.of("best", "second"))).thenReturn(List.of(second, best));
+        lenient().when(propertyImageRepository.findByPropertyIdInOrderByDisplayOrder(anyCollection())).thenReturn(Collections.emptyList());
+        lenient().when(propertyUnitRepository.findByPropertyIdInAndDeletedAtIsNull(anyCollection())).thenReturn(Collections.emptyList());
+        lenient().when(propertyUnitRepository.getUnitAggregatesByPropertyIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        // Act
+        Page<PropertyResponseDto> result = propertyService.searchProperties(criteria, pagination);
+
+        // Assert - relevance order from the index is preserved
+        assertEquals(2, result.getTotalElements());
+        assertEquals("best", result.getContent().get(0).getId());
+        assertEquals("second", result.getContent().get(1).getId());
+        verify(propertyRepository, never()).searchIds(any(), any());
+    }
+
+    @Test
+    void searchPropertiesWithFacets_ShouldComputeFacetsOverKeywordMatchesNotJustPage() {
+        // Arrange
+        PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
+        criteria.setSearchKeyword("loft");
+        PaginationDto pagination = new PaginationDto(1, 1, "createdAt", "desc");
+        Map<String, Map<String, Long>> facets = Map.of(PropertyFacetService.PROPERTY_TYPE, Map.of("APARTMENT", 2L));
+
+        when(propertyKeywordIndex.isReady()).thenReturn(true);
+        when(propertyKeywordIndex.getMaxMatches()).thenReturn(10000);
+        when(propertyKeywordIndex.search("loft", 10000)).thenReturn(List.of(testPropertyId, "other"));
+        when(propertyRepository.filterIds(eq(criteria), anyCollection()))
+            .thenReturn(List.of(testPropertyId, "other"));
+        when(propertyRepository.findAllById(List.of(testPropertyId))).thenReturn(List.of(testProperty));
+        when(propertyFacetService.computeFacets(List.of(testPropertyId, "other"))).thenReturn(facets);
+        lenient().when(propertyImageRepository.findByPropertyIdInOrderByDisplayOrder(anyCollection())).thenReturn(Collections.emptyList());
+        lenient().when(propertyUnitRepository.findByPropertyIdInAndDeletedAtIsNull(anyCollection())).thenReturn(Collections.emptyList());
+        lenient().when(propertyUnitRepository.getUnitAggregatesByPropertyIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        // Act
+        PropertySearchResultDto result = propertyService.searchPropertiesWithFacets(criteria, pagination);
+
+        // Assert
+        assertEquals(1, result.getResults().getNumberOfElements());
+        assertEquals(2, result.getResults().getTotalElements());
+        assertEquals(facets, result.getFacets());
+        verify(propertyFacetService, never()).computeFacets(any(PropertySearchCriteriaDto.class));
+    }
+
+    @Test
+    void searchProperties_WithRadius_ShouldReturnNearestFirstWithDistance() {
+        // Arrange - candidates from the geohash/bounding-box prefilter, one outside the exact radius
+        PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
+        criteria.setLatitude(37.7749);
+        criteria.setLongitude(-122.4194);
+        criteria.setRadiusMiles(5.0);
+        PaginationDto pagination = new PaginationDto(1, 20, "createdAt", "desc");
+
+        Property near = createTestProperty();
+        near.setId("near");
+        Property far = createTestProperty();
+        far.setId("far");
+        when(propertyRepository.findNearbyCandidates(eq(criteria), eq(true), argThat(cells -> !cells.isEmpty()), any()))
+            .thenReturn(List.of(
+                new Object[]{"far", 37.80, -122.45},
+                new Object[]{"outside", 37.85, -122.52},
+                new Object[]{"near", 37.775, -122.42}));
+        when(propertyRepository.findAllById(List.of("near", "far"))).thenReturn(List.of(far, near));
+        lenient().when(propertyImageRepository.findByPropertyIdInOrderByDisplayOrder(anyCollection())).thenReturn(Collections.emptyList());
+        lenient().when(propertyUnitRepository.findByPropertyIdInAndDeletedAtIsNull(anyCollection())).thenReturn(Collections.emptyList());
+        lenient().when(propertyUnitRepository.getUnitAggregatesByPropertyIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        // Act
+        Page<PropertyResponseDto> result = propertyService.searchProperties(criteria, pagination);
+
+        // Assert
+        assertEquals(2, result.getTotalElements());
+        assertEquals("near", result.getContent().get(0).getId());
+        assertEquals("far", result.getContent().get(1).getId());
+        assertTrue(result.getContent().get(0).getDistanceMiles() < result.getContent().get(1).getDistanceMiles());
+        assertTrue(result.getContent().get(1).getDistanceMiles() <= 5.0);
+        verify(propertyRepository, never()).searchIds(any(), any());
+    }
+
+    @Test
+    void getPropertiesByOwnerCursor_ShouldSeekPastLastRowOfPreviousSlice() {
+        // Arrange
+        testProperty.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        PaginationDto pagination = new PaginationDto(1, 1, "createdAt", "desc");
+        pagination.setMode("cursor");
+        when(propertyRepository.findOwnerSlice(eq(testOwnerId), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(testProperty), PageRequest.of(0, 1), true));
+        when(propertyRepository.findOwnerSliceAfter(eq(testOwnerId), eq(testProperty.getCreatedAt()), eq(testPropertyId), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(Collections.emptyList(), PageRequest.of(0, 1), false));
+        lenient().when(propertyImageRepository.findByPropertyIdInOrderByDisplayOrder(anyCollection())).thenReturn(Collections.emptyList());
+        lenient().when(propertyUnitRepository.findByPropertyIdInAndDeletedAtIsNull(anyCollection())).thenReturn(Collections.emptyList());
+        lenient().when(propertyUnitRepository.getUnitAggregatesByPropertyIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        // Act
+        CursorPageDto<PropertyResponseDto> firstPage = propertyService.getPropertiesByOwnerCursor(testOwnerId, pagination);
+        pagination.setCursor(firstPage.getNextCursor());
+        CursorPageDto<PropertyResponseDto> secondPage = propertyService.getPropertiesByOwnerCursor(testOwnerId, pagination);
+
+        // Assert
+        assertTrue(firstPage.isHasNext());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(1, firstPage.getSize());
+        assertFalse(secondPage.isHasNext());
+        assertNull(secondPage.getNextCursor());
+        verify(propertyRepository, never()).count();
+        verify(propertyRepository, never()).findByOwnerIdAndIsDeletedFalse(any(), any());
+    }
+
+    @Test
+    void getPropertiesByOwnerCursor_WithUnsupportedSort_ShouldThrowException() {
+        // Arrange
+        PaginationDto pagination = new PaginationDto(1, 20, "monthlyRent", "asc");
+        pagination.setMode("cursor");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> propertyService.getPropertiesByOwnerCursor(testOwnerId, pagination));
+        verifyNoInteractions(propertyRepository);
     }
 
     @Test
@@ -214,11 +577,14 @@ class PropertyServiceTest {
         when(mockFile.isEmpty()).thenReturn(false);
         
         when(propertyRepository.findById(testPropertyId)).thenReturn(Optional.of(testProperty));
-        when(fileUploadService.uploadPropertyImage(mockFile, testPropertyId, "INTERIOR")).thenReturn("https://example.com/image.jpg");
+        when(fileUploadService.uploadPropertyImage(mockFile, testPropertyId, "INTERIOR")).thenReturn(
+            new FileUploadService.StoredImage("properties/key.jpg", "https://example.com/image.jpg", null,
+                1024000L, "ab12", 4032, 3024, "jpg"));
         
         PropertyImage mockImage = new PropertyImage();
+        mockImage.setId("image-1");
         when(propertyImageRepository.save(any(PropertyImage.class))).thenReturn(mockImage);
-        when(propertyImageRepository.getNextDisplayOrder(testPropertyId)).thenReturn(1);
+        when(propertyImageRepository.lockNextDisplayOrder(testPropertyId)).thenReturn(Optional.of(1));
 
         // Act
         String result = propertyService.uploadPropertyImage(testPropertyId, testOwnerId, mockFile, "INTERIOR", false);
@@ -228,7 +594,177 @@ class PropertyServiceTest {
         assertEquals("https://example.com/image.jpg", result);
         verify(propertyRepository).findById(testPropertyId);
         verify(fileUploadService).uploadPropertyImage(mockFile, testPropertyId, "INTERIOR");
-        verify(propertyImageRepository).save(any(PropertyImage.class));
+        verify(propertyImageRepository).save(argThat(image ->
+            image.getWidthPixels() == 4032 && image.getHeightPixels() == 3024 && "jpg".equals(image.getFormat())
+                && image.getFileSizeBytes() == 1024000L && "ab12".equals(image.getContentHash())
+                && image.getThumbnailUrl() == null && image.getDisplayOrder() == 1));
+        verify(imageRenditionService).enqueue("image-1", testPropertyId, "properties/key.jpg");
+    }
+
+    @Test
+    void uploadPropertyImage_WithDuplicateOfRenderedImage_ShouldReuseThumbnailWithoutQueueingJob() {
+        // Arrange
+        MultipartFile mockFile = mock(MultipartFile.class);
+        when(propertyRepository.findById(testPropertyId)).thenReturn(Optional.of(testProperty));
+        when(fileUploadService.uploadPropertyImage(mockFile, testPropertyId, "EXTERIOR")).thenReturn(
+            new FileUploadService.StoredImage("images/ab/ab12.jpg", "https://example.com/ab12.jpg",
+                "https://example.com/renditions/ab12_400.jpg", 1024000L, "ab12", 4032, 3024, "jpg"));
+
+        PropertyImage mockImage = new PropertyImage();
+        mockImage.setId("image-2");
+        when(propertyImageRepository.save(any(PropertyImage.class))).thenReturn(mockImage);
+        when(propertyImageRepository.lockNextDisplayOrder(testPropertyId)).thenReturn(Optional.of(2));
+
+        // Act
+        propertyService.uploadPropertyImage(testPropertyId, testOwnerId, mockFile, "EXTERIOR", false);
+
+        // Assert
+        verify(propertyImageRepository).save(argThat(image ->
+            "https://example.com/renditions/ab12_400.jpg".equals(image.getThumbnailUrl())));
+        verifyNoInteractions(imageRenditionService);
+    }
+
+    @Test
+    void uploadPropertyImages_WithOneFailedFile_ShouldReserveOrderUnderPropertyLockAndInsertInOneBatch() {
+        // Arrange
+        MultipartFile first = mock(MultipartFile.class);
+        MultipartFile broken = mock(MultipartFile.class);
+        MultipartFile third = mock(MultipartFile.class);
+        when(first.getOriginalFilename()).thenReturn("front.jpg");
+        when(broken.getOriginalFilename()).thenReturn("broken.jpg");
+        when(third.getOriginalFilename()).thenReturn("back.jpg");
+        List<MultipartFile> files = List.of(first, broken, third);
+
+        when(propertyRepository.findById(testPropertyId)).thenReturn(Optional.of(testProperty));
+        when(fileUploadService.uploadPropertyImages(files, testPropertyId, "EXTERIOR")).thenReturn(List.of(
+            new FileUploadService.BatchUpload(storedImage("front"), null, 120),
+            new FileUploadService.BatchUpload(null, "Failed to upload image: timeout", 3000),
+            new FileUploadService.BatchUpload(storedImage("back"), null, 95)));
+        when(propertyImageRepository.lockNextDisplayOrder(testPropertyId)).thenReturn(Optional.of(4));
+        when(propertyImageRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<PropertyImage> images = invocation.getArgument(0);
+            for (PropertyImage image : images) {
+                image.setId("id-" + image.getDisplayOrder());
+            }
+            return images;
+        });
+
+        // Act
+        BatchImageUploadResultDto result = propertyService.uploadPropertyImages(testPropertyId, testOwnerId, files, "EXTERIOR");
+
+        // Assert
+        assertEquals(2, result.getUploaded());
+        assertEquals(1, result.getFailed());
+        assertEquals(BatchImageUploadResultDto.Status.UPLOADED, result.getFiles().get(0).getStatus());
+        assertEquals(4, result.getFiles().get(0).getDisplayOrder());
+        assertEquals("id-4", result.getFiles().get(0).getImageId());
+        assertEquals(BatchImageUploadResultDto.Status.FAILED, result.getFiles().get(1).getStatus());
+        assertEquals("Failed to upload image: timeout", result.getFiles().get(1).getError());
+        assertEquals(3000, result.getFiles().get(1).getDurationMs());
+        assertEquals(5, result.getFiles().get(2).getDisplayOrder());
+        verify(propertyRepository, times(1)).findById(testPropertyId);
+        // The range is reserved inside the insert transaction, after the uploads, so its lock covers the insert
+        InOrder reservation = inOrder(fileUploadService, transactionManager, propertyImageRepository);
+        reservation.verify(fileUploadService).uploadPropertyImages(files, testPropertyId, "EXTERIOR");
+        reservation.verify(transactionManager).getTransaction(any());
+        reservation.verify(propertyImageRepository, times(1)).lockNextDisplayOrder(testPropertyId);
+        reservation.verify(propertyImageRepository, times(1)).saveAll(argThat((List<PropertyImage> images) -> images.size() == 2));
+        reservation.verify(transactionManager).commit(any());
+        verify(propertyImageRepository, never()).getNextDisplayOrder(anyString());
+        verify(propertyOutbox, times(2)).record(eq(PropertyEventType.IMAGE_ADDED), eq(testPropertyId), eq(testOwnerId), anyMap());
+        verify(transactionManager).commit(any());
+        verify(propertyImageRepository, never()).save(any(PropertyImage.class));
+        verify(imageRenditionService).enqueueAll(testPropertyId, Map.of(
+            "id-4", "properties/front.jpg",
+            "id-5", "properties/back.jpg"));
+    }
+
+    @Test
+    void listUnits_ShouldKeepKeysetOrderAttachThumbnailsAndEncodeNextCursor() {
+        // Arrange
+        PropertyUnit first = createTestUnit();
+        PropertyUnit second = createTestUnit();
+        second.setId("unit-456");
+        second.setUnitNumber("1B");
+        PaginationDto pagination = new PaginationDto(1, 2, "createdAt", "desc");
+        pagination.setCursor(CursorPageDto.encodeKeyCursor("1", "unit-000"));
+        PropertyImage thumbnail = new PropertyImage();
+        thumbnail.setUnitId(second.getId());
+        thumbnail.setThumbnailUrl("https://cdn/thumb.jpg");
+        UnitSearchCriteriaDto criteria = new UnitSearchCriteriaDto();
+        when(propertyRepository.findById(testPropertyId)).thenReturn(Optional.of(testProperty));
+        when(propertyUnitRepository.searchUnitIdsAfter(testPropertyId, criteria, "1", "unit-000", 2))
+            .thenReturn(new SliceImpl<>(List.of("unit-123", "unit-456"), PageRequest.of(0, 2), true));
+        when(propertyUnitRepository.findAllById(List.of("unit-123", "unit-456"))).thenReturn(List.of(second, first));
+        when(propertyImageRepository.findPrimaryByUnitIdIn(List.of("unit-123", "unit-456"))).thenReturn(List.of(thumbnail));
+        when(propertyUnitMapper.entityToResponseDto(any())).thenAnswer(invocation -> {
+            PropertyUnit unit = invocation.getArgument(0);
+            return PropertyResponseDto.PropertyUnitResponseDto.builder().id(unit.getId()).build();
+        });
+
+        // Act
+        CursorPageDto<PropertyResponseDto.PropertyUnitResponseDto> page =
+            propertyService.listUnits(testPropertyId, testOwnerId, criteria, pagination);
+
+        // Assert
+        assertEquals("unit-123", page.getContent().get(0).getId());
+        assertNull(page.getContent().get(0).getPrimaryThumbnailUrl());
+        assertEquals("https://cdn/thumb.jpg", page.getContent().get(1).getPrimaryThumbnailUrl());
+        CursorPageDto.KeyCursor next = CursorPageDto.decodeKeyCursor(page.getNextCursor());
+        assertEquals("1B", next.getKey());
+        assertEquals("unit-456", next.getId());
+    }
+
+    @Test
+    void searchPropertyCards_WithKeyword_ShouldReadCardsInRankOrderWithoutHydration() {
+        // Arrange
+        PropertySearchCriteriaDto criteria = new PropertySearchCriteriaDto();
+        criteria.setSearchKeyword("loft");
+        PaginationDto pagination = new PaginationDto(1, 20, "createdAt", "desc");
+        pagination.setView("card");
+        when(propertyKeywordIndex.isReady()).thenReturn(true);
+        when(propertyKeywordIndex.getMaxMatches()).thenReturn(10000);
+        when(propertyKeywordIndex.search("loft", 10000)).thenReturn(List.of("best", "second"));
+        when(propertyRepository.filterIds(criteria, List.of("best", "second"))).thenReturn(List.of("second", "best"));
+        when(propertyRepository.findCardsByIdIn(List.of("best", "second"))).thenReturn(List.of(
+            createTestCard("second", "https://cdn/second.jpg", LocalDateTime.now()),
+            createTestCard("best", null, LocalDateTime.now())));
+
+        // Act
+        Page<PropertyCardDto> result = propertyService.searchPropertyCards(criteria, pagination);
+
+        // Assert - one projection query, relevance order kept, nothing else loaded
+        assertEquals(2, result.getTotalElements());
+        assertEquals("best", result.getContent().get(0).getId());
+        assertNull(result.getContent().get(0).getThumbnailUrl());
+        assertEquals("https://cdn/second.jpg", result.getContent().get(1).getThumbnailUrl());
+        assertEquals("Austin", result.getContent().get(1).getCity());
+        verify(propertyRepository, never()).findAllById(any());
+        verifyNoInteractions(propertyImageRepository, propertyUnitRepository);
+    }
+
+    @Test
+    void getPropertyCardsByOwnerCursor_ShouldEncodeNextCursorFromLastCard() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 0);
+        PaginationDto pagination = new PaginationDto(1, 2, "createdAt", "desc");
+        pagination.setView("card");
+        Pageable pageable = PageRequest.of(0, 2);
+        when(propertyRepository.findOwnerCardSlice(testOwnerId, pageable)).thenReturn(new SliceImpl<>(List.of(
+            createTestCard("newest", null, createdAt.plusDays(1)),
+            createTestCard("older", null, createdAt)), pageable, true));
+
+        // Act
+        CursorPageDto<PropertyCardDto> page = propertyService.getPropertyCardsByOwnerCursor(testOwnerId, pagination);
+
+        // Assert
+        assertEquals(2, page.getSize());
+        assertTrue(page.isHasNext());
+        CursorPageDto.Cursor next = CursorPageDto.decodeCursor(page.getNextCursor());
+        assertEquals(createdAt, next.getCreatedAt());
+        assertEquals("older", next.getId());
+        verify(propertyRepository, never()).findOwnerSlice(any(), any());
+        verifyNoInteractions(propertyImageRepository, propertyUnitRepository);
     }
 
     @Test
@@ -253,17 +789,15 @@ class PropertyServiceTest {
     }
 
     @Test
-    void getPropertyStatistics_ShouldReturnStatistics() {
+    void getPropertyStatistics_ShouldReadRollupInsteadOfRecounting() {
         // Arrange
-        when(propertyRepository.countByOwnerIdAndStatus(testOwnerId, Property.PropertyStatus.PUBLISHED)).thenReturn(5L);
-        when(propertyRepository.countByOwnerIdAndStatus(testOwnerId, Property.PropertyStatus.DRAFT)).thenReturn(2L);
-        when(propertyRepository.countByOwnerIdAndStatus(testOwnerId, Property.PropertyStatus.RENTED)).thenReturn(3L);
-        when(propertyRepository.countByOwnerIdAndStatus(testOwnerId, Property.PropertyStatus.MAINTENANCE)).thenReturn(1L);
-        when(propertyRepository.getTotalMonthlyRevenueByOwnerAndStatus(testOwnerId, Property.PropertyStatus.RENTED)).thenReturn(7500.0);
-        
-        List<Property> properties = Arrays.asList(testProperty);
-        when(propertyRepository.findByOwnerIdAndIsDeletedFalse(testOwnerId, any(Pageable.class))).thenReturn(new PageImpl<>(properties));
-        when(propertyUnitRepository.getOccupancyRateByPropertyId(testPropertyId)).thenReturn(85.0);
+        Map<String, Object> statistics = Map.of(
+            "totalProperties", 5L,
+            "draftProperties", 2L,
+            "rentedProperties", 3L,
+            "maintenanceProperties", 1L,
+            "totalMonthlyRevenue", 7500.0);
+        when(ownerStatsService.getStatistics(testOwnerId)).thenReturn(statistics);
 
         // Act
         Map<String, Object> result = propertyService.getPropertyStatistics(testOwnerId);
@@ -275,6 +809,8 @@ class PropertyServiceTest {
         assertEquals(3L, result.get("rentedProperties"));
         assertEquals(1L, result.get("maintenanceProperties"));
         assertEquals(7500.0, result.get("totalMonthlyRevenue"));
+        verify(propertyRepository, never()).countByOwnerIdAndStatus(any(), any());
+        verify(propertyUnitRepository, never()).getOccupancyRateByPropertyId(any());
     }
 
     // Helper methods
@@ -336,6 +872,11 @@ class PropertyServiceTest {
         return dto;
     }
 
+    private PropertyCascadeService.CascadeResult cascadeResult(String propertyId, PropertyUnit.UnitStatus... unitStatuses) {
+        return new PropertyCascadeService.CascadeResult(List.of(new PropertyCascadeService.CascadedProperty(
+            propertyId, Property.PropertyStatus.PUBLISHED, BigDecimal.valueOf(2500.00), List.of(unitStatuses))), 0);
+    }
+
     private com.landlord.property.model.PropertyUnit createTestUnit() {
         com.landlord.property.model.PropertyUnit unit = new com.landlord.property.model.PropertyUnit();
         unit.setId("unit-123");
@@ -375,4 +916,42 @@ class PropertyServiceTest {
                 .status(com.landlord.property.model.PropertyUnit.UnitStatus.AVAILABLE)
                 .build();
     }
-}
\ No newline at end of file
+
+    private int countStatementsForOwnerPage(int pageSize) {
+        clearInvocations(propertyRepository, propertyUnitRepository, propertyImageRepository);
+
+        List<Property> properties = new java.util.ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            Property property = createTestProperty();
+            property.setId("property-" + i);
+            properties.add(property);
+        }
+        PaginationDto pagination = new PaginationDto(1, pageSize, "createdAt", "desc");
+        when(propertyRepository.findByOwnerIdAndIsDeletedFalse(eq(testOwnerId), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(properties));
+
+        Page<PropertyResponseDto> result = propertyService.getPropertiesByOwner(testOwnerId, pagination);
+        assertEquals(pageSize, result.getNumberOfElements());
+
+        return mockingDetails(propertyRepository).getInvocations().size()
+            + mockingDetails(propertyUnitRepository).getInvocations().size()
+            + mockingDetails(propertyImageRepository).getInvocations().size();
+    }
+
+    private PropertyCardView createTestCard(String id, String thumbnailUrl, LocalDateTime createdAt) {
+        return new PropertyCardView() {
+            @Override public String getId() { return id; }
+            @Override public String getName() { return "Card " + id; }
+            @Override public BigDecimal getMonthlyRent() { return BigDecimal.valueOf(2500); }
+            @Override public String getCity() { return "Austin"; }
+            @Override public Integer getBedrooms() { return 2; }
+            @Override public String getThumbnailUrl() { return thumbnailUrl; }
+            @Override public LocalDateTime getCreatedAt() { return createdAt; }
+        };
+    }
+
+    private FileUploadService.StoredImage storedImage(String name) {
+        return new FileUploadService.StoredImage("properties/" + name + ".jpg", "https://example.com/" + name + ".jpg", null,
+            2048L, "hash-" + name, 1600, 1200, "jpg");
+    }
+}
@@ -0,0 +1,201 @@
+package com.landlord.property.service;
+
+import com.landlord.property.dto.BulkUnitResultDto;
+import com.landlord.property.dto.BulkUnitRowDto;
+import com.landlord.property.exception.PropertyNotFoundException;
+import com.landlord.property.importer.PropertyUnitBulkWriter;
+import com.landlord.property.mapper.PropertyUnitMapper;
+import com.landlord.property.model.PropertyUnit;
+import com.landlord.property.outbox.PropertyEventType;
+import com.landlord.property.outbox.PropertyOutbox;
+import com.landlord.property.search.PropertyKeywordIndex;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyUnitBulkServiceTest {
+
+    private static final String PROPERTY_ID = "property-123";
+    private static final String OWNER_ID = "owner-456";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PropertyUnitBulkWriter unitWriter;
+
+    @Mock
+    private PropertyUnitMapper propertyUnitMapper;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private OwnerStatsService ownerStatsService;
+
+    @Mock
+    private PropertyOutbox propertyOutbox;
+
+    @Mock
+    private PropertyCacheService propertyCacheService;
+
+    @Mock
+    private PropertyKeywordIndex propertyKeywordIndex;
+
+    private PropertyUnitBulkService bulkService;
+
+    @BeforeEach
+    void setUp() {
+        bulkService = new PropertyUnitBulkService(jdbcTemplate, unitWriter, propertyUnitMapper, validator,
+            ownerStatsService, propertyOutbox, propertyCacheService, propertyKeywordIndex);
+        lenient().when(propertyUnitMapper.createDtoToEntity(any(), eq(PROPERTY_ID))).thenAnswer(invocation -> {
+            BulkUnitRowDto row = invocation.getArgument(0);
+            PropertyUnit unit = new PropertyUnit();
+            unit.setPropertyId(PROPERTY_ID);
+            unit.setUnitNumber(row.getUnitNumber());
+            unit.setMonthlyRent(row.getMonthlyRent());
+            unit.setStatus(row.getStatus());
+            return unit;
+        });
+    }
+
+    @Test
+    void applyUnits_WithNewUnits_ShouldNumberAfterHighestAndInsertInOneBatch() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(PROPERTY_ID), eq(OWNER_ID))).thenReturn(List.of(12));
+        when(unitWriter.update(anyList())).thenReturn(new int[0]);
+
+        // Act
+        BulkUnitResultDto result = bulkService.applyUnits(PROPERTY_ID, OWNER_ID, List.of(
+            newRow(null, PropertyUnit.UnitStatus.RENTED), newRow("PH", null), newRow(" ", null)));
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PropertyUnit>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(unitWriter, times(1)).insert(inserted.capture());
+        assertEquals(List.of("13", "PH", "14"), inserted.getValue().stream().map(PropertyUnit::getUnitNumber).toList());
+        assertEquals(3, result.getCreated());
+        assertEquals(BulkUnitResultDto.Status.CREATED, result.getRows().get(1).getStatus());
+        assertEquals(0L, result.getRows().get(1).getVersion());
+        verify(ownerStatsService, times(1)).recordUnitChanges(OWNER_ID, List.of(), List.of(
+            PropertyUnit.UnitStatus.RENTED, PropertyUnit.UnitStatus.AVAILABLE, PropertyUnit.UnitStatus.AVAILABLE));
+        verify(propertyOutbox).recordAll(eq(PropertyEventType.UNIT_RENTED), eq(OWNER_ID), argThat(events -> events.size() == 1));
+        verify(propertyCacheService, times(1)).evictUnits(PROPERTY_ID);
+    }
+
+    @Test
+    void applyUnits_WithUnknownDuplicateOrStaleRows_ShouldFailOnlyThoseRows() throws Exception {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(PROPERTY_ID), eq(OWNER_ID))).thenReturn(List.of(0));
+        lockedUnits(new String[]{"unit-1", "unit-2"}, new long[]{3, 5});
+        when(unitWriter.update(anyList())).thenReturn(new int[]{1});
+
+        // Act
+        BulkUnitResultDto result = bulkService.applyUnits(PROPERTY_ID, OWNER_ID, List.of(
+            updateRow("unit-1", 3L, PropertyUnit.UnitStatus.RENTED),
+            updateRow("unit-1", null, null),
+            updateRow("unit-9", null, null),
+            updateRow("unit-2", 4L, null)));
+
+        // Assert
+        assertEquals(1, result.getUpdated());
+        assertEquals(3, result.getFailed());
+        assertEquals(BulkUnitResultDto.Status.UPDATED, result.getRows().get(0).getStatus());
+        assertEquals(4L, result.getRows().get(0).getVersion());
+        assertEquals("Unit appears more than once in the request", result.getRows().get(1).getError());
+        assertEquals("Unit not found", result.getRows().get(2).getError());
+        assertTrue(result.getRows().get(3).getError().contains("version 5"));
+        verify(ownerStatsService).recordUnitChanges(OWNER_ID,
+            List.of(PropertyUnit.UnitStatus.AVAILABLE), List.of(PropertyUnit.UnitStatus.RENTED));
+        verify(propertyOutbox).recordAll(eq(PropertyEventType.UNIT_RENTED), eq(OWNER_ID), argThat(events -> events.size() == 1));
+    }
+
+    @Test
+    void applyUnits_WhenPropertyNotOwned_ShouldThrowNotFound() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(PROPERTY_ID), eq(OWNER_ID))).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(PropertyNotFoundException.class,
+            () -> bulkService.applyUnits(PROPERTY_ID, OWNER_ID, List.of(newRow("1A", null))));
+        verifyNoInteractions(unitWriter, ownerStatsService, propertyOutbox);
+    }
+
+    @Test
+    void applyUnits_WithUpdateOfRentOnly_ShouldBindNullForEveryOtherColumn() throws Exception {
+        // Arrange - the real mapper and writer, so the bound statement arguments are what the database sees
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(PROPERTY_ID), eq(OWNER_ID))).thenReturn(List.of(0));
+        lockedUnits(new String[]{"unit-1", "unit-2"}, new long[]{3, 5});
+        doAnswer(invocation -> PropertyUnitMapper.INSTANCE.createDtoToEntity(invocation.getArgument(0), PROPERTY_ID))
+            .when(propertyUnitMapper).createDtoToEntity(any(), eq(PROPERTY_ID));
+        JdbcTemplate writerJdbcTemplate = mock(JdbcTemplate.class);
+        when(writerJdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        PropertyUnitBulkWriter writer = new PropertyUnitBulkWriter(writerJdbcTemplate);
+        when(unitWriter.update(anyList())).thenAnswer(invocation -> writer.update(invocation.getArgument(0)));
+        BulkUnitRowDto row = new BulkUnitRowDto();
+        row.setId("unit-1");
+        row.setMonthlyRent(new BigDecimal("1450"));
+
+        // Act
+        BulkUnitResultDto result = bulkService.applyUnits(PROPERTY_ID, OWNER_ID, List.of(row));
+
+        // Assert - every SET argument but the rent is null, so COALESCE keeps the stored value
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(writerJdbcTemplate).batchUpdate(anyString(), batch.capture());
+        List<Object> bound = Arrays.asList(batch.getValue().get(0));
+        List<Object> setArgs = bound.subList(0, bound.size() - 3);
+        assertEquals(List.of(new BigDecimal("1450")), setArgs.stream().filter(Objects::nonNull).toList());
+        assertEquals(Arrays.asList("unit-1", PROPERTY_ID, 3L), bound.subList(bound.size() - 3, bound.size()));
+        assertEquals(1, result.getUpdated());
+    }
+
+    // Helper methods
+
+    private BulkUnitRowDto newRow(String unitNumber, PropertyUnit.UnitStatus status) {
+        BulkUnitRowDto row = new BulkUnitRowDto();
+        row.setUnitNumber(unitNumber);
+        row.setMonthlyRent(BigDecimal.valueOf(1500));
+        row.setStatus(status);
+        return row;
+    }
+
+    private BulkUnitRowDto updateRow(String id, Long version, PropertyUnit.UnitStatus status) {
+        BulkUnitRowDto row = new BulkUnitRowDto();
+        row.setId(id);
+        row.setVersion(version);
+        row.setStatus(status);
+        return row;
+    }
+
+    private void lockedUnits(String[] ids, long[] versions) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("id")).thenReturn(ids[0], ids[1]);
+        when(rs.getLong("version")).thenReturn(versions[0], versions[1]);
+        when(rs.getString("status")).thenReturn("AVAILABLE");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+}
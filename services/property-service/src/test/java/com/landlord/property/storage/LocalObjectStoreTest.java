@@ -0,0 +1,108 @@
+package com.landlord.property.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalObjectStoreTest {
+
+    private static final String BASE_URL = "http://localhost:8080/files";
+
+    @TempDir
+    Path rootDir;
+
+    private LocalObjectStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalObjectStore(rootDir, BASE_URL);
+    }
+
+    @Test
+    void put_ThenGet_ShouldRoundTripBytes() throws IOException {
+        // Arrange
+        byte[] content = bytes(300_000);
+
+        // Act
+        store.put("images/ab/ab12.jpg", new ByteArrayInputStream(content), content.length, "image/jpeg", Map.of());
+        byte[] read;
+        try (InputStream in = store.get("images/ab/ab12.jpg")) {
+            read = in.readAllBytes();
+        }
+
+        // Assert
+        assertArrayEquals(content, read);
+        assertTrue(store.exists("images/ab/ab12.jpg"));
+    }
+
+    @Test
+    void put_WhenStreamEndsEarly_ShouldLeaveNothingBehind() throws IOException {
+        // Arrange
+        byte[] content = bytes(1000);
+
+        // Act & Assert
+        assertThrows(UncheckedIOException.class, () ->
+            store.put("images/ab/short.jpg", new ByteArrayInputStream(content), 2000, "image/jpeg", Map.of()));
+        assertFalse(store.exists("images/ab/short.jpg"));
+        try (Stream<Path> files = Files.walk(rootDir)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void list_ShouldReturnKeysWithPrefix() {
+        // Arrange
+        put("images/ab/renditions/ab12_160.jpg");
+        put("images/ab/renditions/ab12_400.jpg");
+        put("images/ab/renditions/ab99_400.jpg");
+
+        // Act
+        List<String> keys = store.list("images/ab/renditions/ab12_");
+
+        // Assert
+        assertEquals(List.of("images/ab/renditions/ab12_160.jpg", "images/ab/renditions/ab12_400.jpg"), keys);
+    }
+
+    @Test
+    void publicUrl_ShouldRoundTripThroughKeyFromUrl() {
+        // Act
+        String url = store.publicUrl("images/ab/ab12.jpg");
+
+        // Assert
+        assertEquals(BASE_URL + "/images/ab/ab12.jpg", url);
+        assertEquals("images/ab/ab12.jpg", store.keyFromUrl(url));
+    }
+
+    @Test
+    void get_WithKeyOutsideRoot_ShouldReject() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> store.get("../outside.jpg"));
+    }
+
+    // Helper methods
+
+    private void put(String key) {
+        byte[] content = bytes(10);
+        store.put(key, new ByteArrayInputStream(content), content.length, "image/jpeg", Map.of());
+    }
+
+    private byte[] bytes(int length) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        return content;
+    }
+}
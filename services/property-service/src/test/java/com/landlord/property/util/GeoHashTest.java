@@ -0,0 +1,54 @@
+package com.landlord.property.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoHashTest {
+
+    @Test
+    void encode_ShouldMatchReferenceGeohash() {
+        assertEquals("ezs42", GeoHash.encode(42.6, -5.6, 5));
+        assertEquals("9q8yyk8ytpx", GeoHash.encode(37.7749, -122.4194, 11));
+    }
+
+    @Test
+    void distanceMiles_ShouldComputeHaversineDistance() {
+        // San Francisco to Los Angeles is roughly 347 miles
+        double distance = GeoHash.distanceMiles(37.7749, -122.4194, 34.0522, -118.2437);
+
+        assertEquals(347, distance, 2);
+    }
+
+    @Test
+    void coveringCells_ShouldContainEveryPointWithinRadius() {
+        // Arrange
+        double latitude = 37.7749;
+        double longitude = -122.4194;
+        double radiusMiles = 5;
+
+        // Act
+        List<String> cells = GeoHash.coveringCells(latitude, longitude, radiusMiles);
+
+        // Assert - sample points on the circle edge must fall in one of the cells
+        assertFalse(cells.isEmpty());
+        assertTrue(cells.size() <= GeoHash.COVERING_CELL_COUNT);
+        int precision = cells.get(0).length();
+        for (int bearing = 0; bearing < 360; bearing += 15) {
+            double lat = latitude + (radiusMiles / 69.0) * Math.cos(Math.toRadians(bearing));
+            double lng = longitude + (radiusMiles / (69.0 * Math.cos(Math.toRadians(latitude)))) * Math.sin(Math.toRadians(bearing));
+            assertTrue(cells.contains(GeoHash.encode(lat, lng, precision)), "Edge point at bearing " + bearing + " not covered");
+        }
+    }
+
+    @Test
+    void boundingBox_AcrossAntimeridian_ShouldDropLongitudeBounds() {
+        GeoHash.BoundingBox box = GeoHash.boundingBox(0, 179.9, 50);
+
+        assertNull(box.minLng());
+        assertNull(box.maxLng());
+        assertTrue(box.minLat() < 0 && box.maxLat() > 0);
+    }
+}